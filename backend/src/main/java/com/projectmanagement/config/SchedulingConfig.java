@@ -0,0 +1,14 @@
+package com.projectmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the periodic maintenance jobs declared with @Scheduled (expired uploads, refresh
+ * tokens, task board tombstones). They share Spring Boot's task scheduler, configured
+ * through the spring.task.scheduling properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
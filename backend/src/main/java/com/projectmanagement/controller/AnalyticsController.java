@@ -2,6 +2,7 @@ package com.projectmanagement.controller;
 
 import com.projectmanagement.dto.ApiResponse;
 import com.projectmanagement.dto.analytics.*;
+import com.projectmanagement.service.AnalyticsRollupService;
 import com.projectmanagement.service.AnalyticsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,10 +24,12 @@ public class AnalyticsController {
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsRollupService analyticsRollupService;
 
     @Autowired
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, AnalyticsRollupService analyticsRollupService) {
         this.analyticsService = analyticsService;
+        this.analyticsRollupService = analyticsRollupService;
     }
 
     /**
@@ -156,19 +159,21 @@ public class AnalyticsController {
 
     /**
      * Get time tracking data
-     * GET /analytics/time-tracking
+     * GET /analytics/time-tracking?bucket=DAY|WEEK|MONTH
      */
     @GetMapping("/analytics/time-tracking")
     @PreAuthorize("@securityService.isTeamMember()")
     public ResponseEntity<ApiResponse<AnalyticsDataResponse.TimeTrackingData>> getTimeTrackingData(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) Long projectId) {
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "DAY") String bucket) {
         
-        logger.info("Getting time tracking data with filters - startDate: {}, endDate: {}, projectId: {}", 
-                startDate, endDate, projectId);
+        logger.info("Getting time tracking data with filters - startDate: {}, endDate: {}, projectId: {}, bucket: {}", 
+                startDate, endDate, projectId, bucket);
 
-        AnalyticsDataResponse.TimeTrackingData response = analyticsService.getTimeTrackingData(startDate, endDate, projectId);
+        AnalyticsDataResponse.TimeTrackingData response = analyticsService.getTimeTrackingData(
+                startDate, endDate, projectId, TimeBucket.fromString(bucket));
 
         ApiResponse<AnalyticsDataResponse.TimeTrackingData> apiResponse = new ApiResponse<>(
                 true,
@@ -181,19 +186,21 @@ public class AnalyticsController {
 
     /**
      * Get task completion data
-     * GET /analytics/task-completion
+     * GET /analytics/task-completion?bucket=DAY|WEEK|MONTH
      */
     @GetMapping("/analytics/task-completion")
     @PreAuthorize("@securityService.isTeamMember()")
     public ResponseEntity<ApiResponse<AnalyticsDataResponse.TaskCompletionData>> getTaskCompletionData(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) Long projectId) {
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "DAY") String bucket) {
         
-        logger.info("Getting task completion data with filters - startDate: {}, endDate: {}, projectId: {}", 
-                startDate, endDate, projectId);
+        logger.info("Getting task completion data with filters - startDate: {}, endDate: {}, projectId: {}, bucket: {}", 
+                startDate, endDate, projectId, bucket);
 
-        AnalyticsDataResponse.TaskCompletionData response = analyticsService.getTaskCompletionData(startDate, endDate, projectId);
+        AnalyticsDataResponse.TaskCompletionData response = analyticsService.getTaskCompletionData(
+                startDate, endDate, projectId, TimeBucket.fromString(bucket));
 
         ApiResponse<AnalyticsDataResponse.TaskCompletionData> apiResponse = new ApiResponse<>(
                 true,
@@ -228,4 +235,24 @@ public class AnalyticsController {
 
         return ResponseEntity.ok(apiResponse);
     }
+
+    /**
+     * Rebuild the daily analytics rollups from time logs and tasks
+     * POST /analytics/rollups/rebuild
+     */
+    @PostMapping("/analytics/rollups/rebuild")
+    @PreAuthorize("@securityService.canAccessAdminEndpoints()")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRollups() {
+        logger.info("Rebuilding analytics rollups");
+
+        int rows = analyticsRollupService.rebuild();
+
+        ApiResponse<Integer> apiResponse = new ApiResponse<>(
+                true,
+                rows,
+                "Analytics rollups rebuilt successfully"
+        );
+
+        return ResponseEntity.ok(apiResponse);
+    }
 } 
\ No newline at end of file
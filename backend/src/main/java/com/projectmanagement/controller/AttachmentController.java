@@ -1,22 +1,43 @@
 package com.projectmanagement.controller;
 
 import com.projectmanagement.dto.ApiResponse;
+import com.projectmanagement.dto.attachment.AttachmentArchive;
 import com.projectmanagement.dto.attachment.AttachmentDownloadResponse;
 import com.projectmanagement.dto.attachment.AttachmentListResponse;
 import com.projectmanagement.dto.attachment.AttachmentResponse;
+import com.projectmanagement.dto.attachment.AttachmentStorageReport;
+import com.projectmanagement.dto.attachment.AttachmentThumbnailResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadChunkResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadInitiateRequest;
+import com.projectmanagement.dto.attachment.AttachmentUploadResponse;
+import com.projectmanagement.service.AttachmentArchiveService;
+import com.projectmanagement.service.AttachmentBlobService;
 import com.projectmanagement.service.AttachmentService;
+import com.projectmanagement.service.AttachmentThumbnailService;
+import com.projectmanagement.service.AttachmentUploadService;
+import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller for attachment management endpoints
@@ -27,10 +48,24 @@ public class AttachmentController {
 
     private static final Logger logger = LoggerFactory.getLogger(AttachmentController.class);
 
+    // Optional hex encoded SHA-256 of a chunk or, on completion, of the whole file
+    static final String CONTENT_SHA256_HEADER = "X-Content-SHA256";
+
     private final AttachmentService attachmentService;
+    private final AttachmentBlobService attachmentBlobService;
+    private final AttachmentThumbnailService attachmentThumbnailService;
+    private final AttachmentUploadService attachmentUploadService;
+    private final AttachmentArchiveService attachmentArchiveService;
 
-    public AttachmentController(AttachmentService attachmentService) {
+    public AttachmentController(AttachmentService attachmentService, AttachmentBlobService attachmentBlobService,
+                                AttachmentThumbnailService attachmentThumbnailService,
+                                AttachmentUploadService attachmentUploadService,
+                                AttachmentArchiveService attachmentArchiveService) {
         this.attachmentService = attachmentService;
+        this.attachmentBlobService = attachmentBlobService;
+        this.attachmentThumbnailService = attachmentThumbnailService;
+        this.attachmentUploadService = attachmentUploadService;
+        this.attachmentArchiveService = attachmentArchiveService;
     }
 
     /**
@@ -56,27 +91,282 @@ public class AttachmentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
     }
 
+    /**
+     * Start a chunked upload to a task, for files too large for a single request
+     * POST /tasks/{taskId}/attachments/uploads
+     */
+    @PostMapping("/tasks/{taskId}/attachments/uploads")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<ApiResponse<AttachmentUploadResponse>> initiateUpload(
+            @PathVariable Long taskId,
+            @Valid @RequestBody AttachmentUploadInitiateRequest request) {
+
+        logger.info("Initiating chunked upload for task ID: {}", taskId);
+
+        AttachmentUploadResponse response = attachmentUploadService.initiateUpload(taskId, request);
+
+        ApiResponse<AttachmentUploadResponse> apiResponse = new ApiResponse<>(
+                true,
+                response,
+                "Upload initiated successfully"
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(apiResponse);
+    }
+
+    /**
+     * Upload one chunk as the raw request body; chunks may be sent in parallel and resent
+     * PUT /attachments/uploads/{uploadId}/chunks/{chunkNumber}
+     */
+    @PutMapping(value = "/attachments/uploads/{uploadId}/chunks/{chunkNumber}",
+                consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<ApiResponse<AttachmentUploadChunkResponse>> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int chunkNumber,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            @RequestHeader(value = CONTENT_SHA256_HEADER, required = false) String checksum,
+            InputStream content) {
+
+        logger.info("Uploading chunk {} of upload {}", chunkNumber, uploadId);
+
+        AttachmentUploadChunkResponse response = attachmentUploadService.uploadChunk(
+                uploadId, chunkNumber, content, contentLength != null ? contentLength : -1, checksum);
+
+        ApiResponse<AttachmentUploadChunkResponse> apiResponse = new ApiResponse<>(
+                true,
+                response,
+                "Chunk uploaded successfully"
+        );
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    /**
+     * Get the state of a chunked upload, including the chunks received so far
+     * GET /attachments/uploads/{uploadId}
+     */
+    @GetMapping("/attachments/uploads/{uploadId}")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<ApiResponse<AttachmentUploadResponse>> getUpload(@PathVariable String uploadId) {
+        logger.info("Getting chunked upload {}", uploadId);
+
+        AttachmentUploadResponse response = attachmentUploadService.getUpload(uploadId);
+
+        ApiResponse<AttachmentUploadResponse> apiResponse = new ApiResponse<>(
+                true,
+                response,
+                "Upload retrieved successfully"
+        );
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    /**
+     * Start assembling the received chunks into an attachment; poll the upload until it is COMPLETED
+     * POST /attachments/uploads/{uploadId}/complete
+     */
+    @PostMapping("/attachments/uploads/{uploadId}/complete")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<ApiResponse<AttachmentUploadResponse>> completeUpload(
+            @PathVariable String uploadId,
+            @RequestHeader(value = CONTENT_SHA256_HEADER, required = false) String checksum) {
+
+        logger.info("Completing chunked upload {}", uploadId);
+
+        AttachmentUploadResponse response = attachmentUploadService.completeUpload(uploadId, checksum);
+
+        ApiResponse<AttachmentUploadResponse> apiResponse = new ApiResponse<>(
+                true,
+                response,
+                "Upload is being completed"
+        );
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(apiResponse);
+    }
+
+    /**
+     * Abort a chunked upload and discard its chunks
+     * DELETE /attachments/uploads/{uploadId}
+     */
+    @DeleteMapping("/attachments/uploads/{uploadId}")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<ApiResponse<Void>> abortUpload(@PathVariable String uploadId) {
+        logger.info("Aborting chunked upload {}", uploadId);
+
+        attachmentUploadService.abortUpload(uploadId);
+
+        ApiResponse<Void> apiResponse = new ApiResponse<>(
+                true,
+                null,
+                "Upload aborted successfully"
+        );
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
     /**
      * Download attachment file
      * GET /attachments/{id}/download
+     * 
+     * The content is streamed from attachment storage after the headers are sent.
+     * Supports single and multiple byte ranges (206 Partial Content), If-Range, and
+     * If-None-Match against a strong ETag derived from the stored SHA-256 checksum.
      */
     @GetMapping("/attachments/{id}/download")
     @PreAuthorize("@securityService.isTeamMember()")
-    public ResponseEntity<ByteArrayResource> downloadAttachment(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadAttachment(@PathVariable Long id, WebRequest webRequest) {
         logger.info("Downloading attachment with ID: {}", id);
 
         AttachmentDownloadResponse downloadResponse = attachmentService.downloadAttachment(id);
+        long fileSize = downloadResponse.getFileSize();
+        String eTag = contentETag(downloadResponse);
 
-        ByteArrayResource resource = new ByteArrayResource(downloadResponse.getFileData());
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(downloadResponse.getFileType()));
         headers.setContentDispositionFormData("attachment", downloadResponse.getFileName());
-        headers.setContentLength(downloadResponse.getFileSize());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (eTag != null) {
+            headers.setETag(eTag);
+        }
 
-        return ResponseEntity.ok()
+        String rangeHeader = webRequest.getHeader(HttpHeaders.RANGE);
+        List<HttpRange> httpRanges = ifRangeMatches(webRequest.getHeader(HttpHeaders.IF_RANGE), eTag)
+                ? parseRanges(rangeHeader, id)
+                : List.of();
+        if (httpRanges.isEmpty()) {
+            headers.setContentType(MediaType.parseMediaType(downloadResponse.getFileType()));
+            headers.setContentLength(fileSize);
+            StreamingResponseBody body = outputStream -> attachmentService.transferContent(
+                    downloadResponse, 0, fileSize, Channels.newChannel(outputStream));
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(body);
+        }
+
+        List<long[]> ranges;
+        try {
+            ranges = resolveRanges(httpRanges, fileSize);
+        } catch (IllegalArgumentException e) {
+            logger.info("Unsatisfiable range '{}' for attachment ID: {}", rangeHeader, id);
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .headers(headers)
+                    .build();
+        }
+
+        if (ranges.size() == 1) {
+            long start = ranges.get(0)[0];
+            long end = ranges.get(0)[1];
+            headers.setContentType(MediaType.parseMediaType(downloadResponse.getFileType()));
+            headers.setContentLength(end - start + 1);
+            headers.set(HttpHeaders.CONTENT_RANGE, contentRange(start, end, fileSize));
+            StreamingResponseBody body = outputStream -> attachmentService.transferContent(
+                    downloadResponse, start, end - start + 1, Channels.newChannel(outputStream));
+            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .headers(headers)
+                    .body(body);
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        headers.setContentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary));
+        StreamingResponseBody body = outputStream -> {
+            WritableByteChannel channel = Channels.newChannel(outputStream);
+            for (long[] range : ranges) {
+                String partHeaders = "\r\n--" + boundary + "\r\n" +
+                        HttpHeaders.CONTENT_TYPE + ": " + downloadResponse.getFileType() + "\r\n" +
+                        HttpHeaders.CONTENT_RANGE + ": " + contentRange(range[0], range[1], fileSize) + "\r\n\r\n";
+                outputStream.write(partHeaders.getBytes(StandardCharsets.US_ASCII));
+                attachmentService.transferContent(downloadResponse, range[0], range[1] - range[0] + 1, channel);
+            }
+            outputStream.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        };
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
                 .headers(headers)
-                .body(resource);
+                .body(body);
+    }
+
+    /**
+     * Download all attachments of a project as a ZIP archive
+     * GET /projects/{projectId}/attachments/archive?manifest=true
+     * 
+     * The archive is written while it is sent, without a Content-Length, so the response
+     * uses chunked transfer encoding and memory use is independent of the archive size.
+     */
+    @GetMapping("/projects/{projectId}/attachments/archive")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<StreamingResponseBody> downloadProjectArchive(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "true") boolean manifest) {
+
+        logger.info("Downloading attachment archive for project ID: {}", projectId);
+
+        return archiveResponse(attachmentArchiveService.getProjectArchive(projectId), manifest);
+    }
+
+    /**
+     * Download all attachments of a milestone as a ZIP archive
+     * GET /milestones/{milestoneId}/attachments/archive?manifest=true
+     */
+    @GetMapping("/milestones/{milestoneId}/attachments/archive")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<StreamingResponseBody> downloadMilestoneArchive(
+            @PathVariable Long milestoneId,
+            @RequestParam(defaultValue = "true") boolean manifest) {
+
+        logger.info("Downloading attachment archive for milestone ID: {}", milestoneId);
+
+        return archiveResponse(attachmentArchiveService.getMilestoneArchive(milestoneId), manifest);
+    }
+
+    /**
+     * Download all attachments of a task as a ZIP archive
+     * GET /tasks/{taskId}/attachments/archive?manifest=true
+     */
+    @GetMapping("/tasks/{taskId}/attachments/archive")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<StreamingResponseBody> downloadTaskArchive(
+            @PathVariable Long taskId,
+            @RequestParam(defaultValue = "true") boolean manifest) {
+
+        logger.info("Downloading attachment archive for task ID: {}", taskId);
+
+        return archiveResponse(attachmentArchiveService.getTaskArchive(taskId), manifest);
+    }
+
+    /**
+     * Get a JPEG thumbnail of an image attachment
+     * GET /attachments/{id}/thumbnail?size=256
+     * 
+     * Thumbnails are generated in the background after upload and never change for a given
+     * content, so they are cached privately for a year and revalidated against the ETag.
+     */
+    @GetMapping("/attachments/{id}/thumbnail")
+    @PreAuthorize("@securityService.isTeamMember()")
+    public ResponseEntity<StreamingResponseBody> getThumbnail(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "256") int size,
+            WebRequest webRequest) {
+
+        logger.info("Getting {}px thumbnail for attachment ID: {}", size, id);
+
+        AttachmentThumbnailResponse thumbnail = attachmentThumbnailService.getThumbnail(id, size);
+        String eTag = "\"" + thumbnail.getChecksum() + "-" + size + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        StreamingResponseBody body = outputStream -> attachmentThumbnailService.writeThumbnail(thumbnail, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(body);
     }
 
     /**
@@ -102,17 +392,28 @@ public class AttachmentController {
     /**
      * Get paginated attachments for a task
      * GET /tasks/{taskId}/attachments
+     * 
+     * Passing a cursor (empty for the first page) switches to cursor pagination: pages are read by
+     * keyset, page is ignored, nextCursor links the following page and totals are only counted
+     * with includeTotal=true.
      */
     @GetMapping("/tasks/{taskId}/attachments")
     @PreAuthorize("@securityService.isTeamMember()")
     public ResponseEntity<ApiResponse<AttachmentListResponse>> getTaskAttachments(
             @PathVariable Long taskId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         logger.info("Getting attachments for task ID: {} (page: {}, size: {})", taskId, page, size);
 
-        AttachmentListResponse response = attachmentService.getTaskAttachments(taskId, page, size);
+        AttachmentListResponse response;
+        if (cursor != null) {
+            response = attachmentService.getTaskAttachmentsByCursor(taskId, cursor, size, includeTotal);
+        } else {
+            response = attachmentService.getTaskAttachments(taskId, page, size);
+        }
 
         ApiResponse<AttachmentListResponse> apiResponse = new ApiResponse<>(
                 true,
@@ -164,4 +465,137 @@ public class AttachmentController {
 
         return ResponseEntity.ok(apiResponse);
     }
+
+    /**
+     * Report logical and physical attachment storage
+     * GET /attachments/storage/report
+     */
+    @GetMapping("/attachments/storage/report")
+    @PreAuthorize("@securityService.canAccessAdminEndpoints()")
+    public ResponseEntity<ApiResponse<AttachmentStorageReport>> getStorageReport() {
+        logger.info("Getting attachment storage report");
+
+        AttachmentStorageReport report = attachmentBlobService.getStorageReport();
+
+        ApiResponse<AttachmentStorageReport> apiResponse = new ApiResponse<>(
+                true,
+                report,
+                "Attachment storage report retrieved successfully"
+        );
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    /**
+     * Remove unreferenced attachment contents and report the space reclaimed
+     * POST /attachments/storage/gc
+     */
+    @PostMapping("/attachments/storage/gc")
+    @PreAuthorize("@securityService.canAccessAdminEndpoints()")
+    public ResponseEntity<ApiResponse<AttachmentStorageReport>> collectGarbage() {
+        logger.info("Collecting unreferenced attachment content");
+
+        AttachmentStorageReport report = attachmentBlobService.collectGarbage();
+
+        ApiResponse<AttachmentStorageReport> apiResponse = new ApiResponse<>(
+                true,
+                report,
+                "Unreferenced attachment content collected successfully"
+        );
+
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    /**
+     * Queue thumbnail generation for image attachments, e.g. ones uploaded before thumbnails existed
+     * POST /attachments/thumbnails/generate?regenerate=false
+     */
+    @PostMapping("/attachments/thumbnails/generate")
+    @PreAuthorize("@securityService.canAccessAdminEndpoints()")
+    public ResponseEntity<ApiResponse<Integer>> generateThumbnails(
+            @RequestParam(defaultValue = "false") boolean regenerate) {
+
+        logger.info("Scheduling thumbnail generation (regenerate: {})", regenerate);
+
+        int scheduled = attachmentThumbnailService.scheduleMissing(regenerate);
+
+        ApiResponse<Integer> apiResponse = new ApiResponse<>(
+                true,
+                scheduled,
+                "Thumbnail generation scheduled successfully"
+        );
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(apiResponse);
+    }
+
+    /**
+     * Stream a resolved archive as application/zip; errors after this point can only abort the response
+     */
+    private ResponseEntity<StreamingResponseBody> archiveResponse(AttachmentArchive archive, boolean manifest) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", archive.getFileName());
+        headers.setCacheControl(CacheControl.noStore());
+
+        StreamingResponseBody body = outputStream ->
+                attachmentArchiveService.writeArchive(archive, manifest, outputStream);
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(body);
+    }
+
+    /**
+     * Strong ETag for attachment content; attachments are immutable, so the content hash identifies them
+     */
+    private String contentETag(AttachmentDownloadResponse downloadResponse) {
+        return downloadResponse.getChecksum() != null ? "\"" + downloadResponse.getChecksum() + "\"" : null;
+    }
+
+    /**
+     * A Range header is honoured only when there is no If-Range or it strongly matches the current ETag.
+     * If-Range dates are not supported, so they always fall back to the full content.
+     */
+    private boolean ifRangeMatches(String ifRange, String eTag) {
+        return ifRange == null || (eTag != null && eTag.equals(ifRange.trim()));
+    }
+
+    /**
+     * Parse a Range header, treating a missing or malformed header as a request for the full content
+     */
+    private List<HttpRange> parseRanges(String rangeHeader, Long id) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            logger.info("Ignoring malformed range '{}' for attachment ID: {}", rangeHeader, id);
+            return List.of();
+        }
+    }
+
+    /**
+     * Resolve parsed ranges into inclusive [start, end] offsets
+     *
+     * @throws IllegalArgumentException if a range starts past the end of the content,
+     *         or the ranges add up to more than the content itself
+     */
+    private List<long[]> resolveRanges(List<HttpRange> httpRanges, long fileSize) {
+        List<long[]> ranges = new ArrayList<>();
+        long total = 0;
+        for (HttpRange httpRange : httpRanges) {
+            long start = httpRange.getRangeStart(fileSize);
+            long end = httpRange.getRangeEnd(fileSize);
+            if (start >= fileSize || start > end) {
+                throw new IllegalArgumentException("Range not satisfiable: " + httpRange);
+            }
+            total += end - start + 1;
+            ranges.add(new long[]{start, end});
+        }
+        if (ranges.size() > 1 && total > fileSize) {
+            throw new IllegalArgumentException("Too many or overlapping ranges");
+        }
+        return ranges;
+    }
+
+    private String contentRange(long start, long end, long fileSize) {
+        return "bytes " + start + "-" + end + "/" + fileSize;
+    }
 } 
\ No newline at end of file
@@ -54,17 +54,28 @@ public class CommentController {
     /**
      * Get all comments for a task with pagination
      * GET /tasks/{taskId}/comments
+     * 
+     * Passing a cursor (empty for the first page) switches to cursor pagination: pages are read by
+     * keyset, page is ignored, nextCursor links the following page and totals are only counted
+     * with includeTotal=true.
      */
     @GetMapping("/tasks/{taskId}/comments")
     @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER') or hasRole('QA')")
     public ResponseEntity<ApiResponse<CommentListResponse>> getTaskComments(
             @PathVariable Long taskId,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "20") int size) {
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
         logger.info("Getting comments for task ID: {}, page: {}, size: {}", taskId, page, size);
 
-        CommentListResponse comments = commentService.getTaskComments(taskId, page, size);
+        CommentListResponse comments;
+        if (cursor != null) {
+            comments = commentService.getTaskCommentsByCursor(taskId, cursor, size, includeTotal);
+        } else {
+            comments = commentService.getTaskComments(taskId, page, size);
+        }
 
         ApiResponse<CommentListResponse> response = new ApiResponse<>(
                 true,
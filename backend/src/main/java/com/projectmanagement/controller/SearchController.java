@@ -0,0 +1,76 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.dto.ApiResponse;
+import com.projectmanagement.dto.search.SearchResponse;
+import com.projectmanagement.dto.search.TypeaheadResponse;
+import com.projectmanagement.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for cross-entity search
+ */
+@RestController
+@RequestMapping
+public class SearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Search tasks, comments and projects, best match first
+     * GET /search?q=...&types=task,comment,project&projectId=...&limit=20
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER') or hasRole('QA')")
+    public ResponseEntity<ApiResponse<SearchResponse>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String types,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        logger.info("Searching for '{}' in types: {}, project ID: {}", query, types, projectId);
+
+        SearchResponse results = searchService.search(query, types, projectId, limit);
+
+        ApiResponse<SearchResponse> response = new ApiResponse<>(
+                true,
+                results,
+                "Search completed successfully"
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Suggest users, projects and tasks for pickers as the user types, prefix matches first
+     * GET /search/typeahead?q=...&types=user,project,task&limit=5
+     */
+    @GetMapping("/search/typeahead")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER') or hasRole('QA')")
+    public ResponseEntity<ApiResponse<TypeaheadResponse>> typeahead(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String types,
+            @RequestParam(defaultValue = "5") int limit) {
+
+        logger.info("Typeahead for '{}' in types: {}", query, types);
+
+        TypeaheadResponse suggestions = searchService.typeahead(query, types, limit);
+
+        ApiResponse<TypeaheadResponse> response = new ApiResponse<>(
+                true,
+                suggestions,
+                "Suggestions retrieved successfully"
+        );
+
+        return ResponseEntity.ok(response);
+    }
+}
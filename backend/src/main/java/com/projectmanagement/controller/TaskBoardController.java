@@ -5,9 +5,13 @@ import com.projectmanagement.dto.task.TaskBoardResponse;
 import com.projectmanagement.service.TaskBoardService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
 
 /**
  * Controller for task board (Kanban) functionality
@@ -27,18 +31,31 @@ public class TaskBoardController {
     /**
      * Get task board for a project
      * GET /projects/{projectId}/board
+     * 
+     * Responds 304 when If-None-Match carries the ETag of the current board revision.
+     * With sinceRevision, returns only the tasks changed or removed since that revision.
      */
     @GetMapping("/projects/{projectId}/board")
     @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER') or hasRole('QA')")
     public ResponseEntity<ApiResponse<TaskBoardResponse>> getTaskBoard(
             @PathVariable Long projectId,
             @RequestParam(value = "groupBy", defaultValue = "STATUS") String groupBy,
-            @RequestParam(value = "milestoneId", required = false) Long milestoneId) {
+            @RequestParam(value = "milestoneId", required = false) Long milestoneId,
+            @RequestParam(value = "sinceRevision", required = false) Long sinceRevision,
+            WebRequest webRequest) {
+
+        logger.info("Getting task board for project ID: {}, groupBy: {}, milestoneId: {}, sinceRevision: {}", 
+                   projectId, groupBy, milestoneId, sinceRevision);
 
-        logger.info("Getting task board for project ID: {}, groupBy: {}, milestoneId: {}", 
-                   projectId, groupBy, milestoneId);
+        // Cheap revision check before loading any tasks
+        String eTag = boardETag(projectId, taskBoardService.getBoardRevision(projectId), groupBy, milestoneId, sinceRevision);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
-        TaskBoardResponse board = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
+        TaskBoardResponse board = sinceRevision != null
+                ? taskBoardService.getTaskBoardDelta(projectId, groupBy, milestoneId, sinceRevision)
+                : taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
 
         ApiResponse<TaskBoardResponse> response = new ApiResponse<>(
                 true,
@@ -46,6 +63,19 @@ public class TaskBoardController {
                 "Task board retrieved successfully"
         );
 
-        return ResponseEntity.ok(response);
+        if (board.getRevision() == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok()
+                .eTag(boardETag(projectId, board.getRevision(), groupBy, milestoneId, sinceRevision))
+                .body(response);
+    }
+
+    /**
+     * Weak ETag for a board representation. Includes the date because overdue flags change at midnight.
+     */
+    private String boardETag(Long projectId, long revision, String groupBy, Long milestoneId, Long sinceRevision) {
+        return "W/\"board-" + projectId + "-" + revision + "-" + groupBy.toUpperCase().trim() +
+               "-" + milestoneId + "-" + sinceRevision + "-" + LocalDate.now() + "\"";
     }
 } 
\ No newline at end of file
@@ -6,11 +6,13 @@ import com.projectmanagement.service.TaskService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -51,6 +53,12 @@ public class TaskController {
     /**
      * Get all tasks for a project with optional filtering
      * GET /projects/{projectId}/tasks
+     * 
+     * Filters combine: status, priority, assigneeId, milestoneId, the deadlineFrom/deadlineTo range
+     * (inclusive) and search may be given together and are all applied in one query.
+     * Passing a cursor (empty for the first page) switches to cursor pagination: pages are read by
+     * keyset, page is ignored, nextCursor links the following page and totals are only counted
+     * with includeTotal=true.
      */
     @GetMapping("/projects/{projectId}/tasks")
     @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER') or hasRole('QA')")
@@ -60,14 +68,25 @@ public class TaskController {
             @RequestParam(required = false) String priority,
             @RequestParam(required = false) Long assigneeId,
             @RequestParam(required = false) Long milestoneId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
             @RequestParam(required = false) String search,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-
-        logger.info("Getting tasks for project ID: {} with filters - status: {}, priority: {}, assigneeId: {}, milestoneId: {}, search: {}, page: {}, size: {}",
-                   projectId, status, priority, assigneeId, milestoneId, search, page, size);
-
-        TaskListResponse tasks = taskService.getProjectTasks(projectId, status, priority, assigneeId, milestoneId, search, page, size);
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        logger.info("Getting tasks for project ID: {} with filters - status: {}, priority: {}, assigneeId: {}, milestoneId: {}, deadline: {} - {}, search: {}, page: {}, size: {}",
+                   projectId, status, priority, assigneeId, milestoneId, deadlineFrom, deadlineTo, search, page, size);
+
+        TaskListResponse tasks;
+        if (cursor != null) {
+            tasks = taskService.getProjectTasksByCursor(projectId, status, priority, assigneeId, milestoneId,
+                    deadlineFrom, deadlineTo, search, cursor, size, includeTotal);
+        } else {
+            tasks = taskService.getProjectTasks(projectId, status, priority, assigneeId, milestoneId,
+                    deadlineFrom, deadlineTo, search, page, size);
+        }
 
         ApiResponse<TaskListResponse> response = new ApiResponse<>(
                 true,
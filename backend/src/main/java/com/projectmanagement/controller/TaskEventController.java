@@ -0,0 +1,47 @@
+package com.projectmanagement.controller;
+
+import com.projectmanagement.service.TaskBoardService;
+import com.projectmanagement.service.TaskEventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller for live task updates over Server-Sent Events
+ */
+@RestController
+@RequestMapping
+public class TaskEventController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventController.class);
+
+    private final TaskBoardService taskBoardService;
+    private final TaskEventService taskEventService;
+
+    public TaskEventController(TaskBoardService taskBoardService, TaskEventService taskEventService) {
+        this.taskBoardService = taskBoardService;
+        this.taskEventService = taskEventService;
+    }
+
+    /**
+     * Stream task events for a project
+     * GET /projects/{projectId}/events
+     * 
+     * Event IDs are board revisions, so a reconnecting client's Last-Event-ID tells
+     * whether it missed anything; if so, the first event is RESYNC instead of CONNECTED.
+     */
+    @GetMapping(value = "/projects/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('PROJECT_MANAGER') or hasRole('TEAM_LEAD') or hasRole('DEVELOPER') or hasRole('QA')")
+    public SseEmitter streamTaskEvents(
+            @PathVariable Long projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        logger.info("Opening task event stream for project ID: {}, lastEventId: {}", projectId, lastEventId);
+
+        // The revision is read after the subscriber is registered, so no event falls in between
+        return taskEventService.subscribe(projectId, () -> taskBoardService.getBoardRevision(projectId), lastEventId);
+    }
+}
@@ -97,6 +97,10 @@ public class TimeLogController {
     /**
      * Get time logs for a user
      * GET /users/{userId}/time-logs
+     * 
+     * Passing a cursor (empty for the first page) switches to cursor pagination: pages are read by
+     * keyset, page is ignored, nextCursor links the following page and totals are only counted
+     * with includeTotal=true.
      */
     @GetMapping("/users/{userId}/time-logs")
     @PreAuthorize("@securityService.isTeamMember()")
@@ -106,12 +110,17 @@ public class TimeLogController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) Long projectId) {
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
         logger.info("Getting time logs for user ID: {} (page: {}, size: {})", userId, page, size);
 
         TimeLogListResponse response;
-        if (startDate != null || endDate != null || projectId != null) {
+        if (cursor != null) {
+            response = timeLogService.getUserTimeLogsByCursor(userId, startDate, endDate, projectId, cursor, size,
+                    includeTotal);
+        } else if (startDate != null || endDate != null || projectId != null) {
             response = timeLogService.getUserTimeLogsWithFilters(userId, startDate, endDate, projectId, page, size);
         } else {
             response = timeLogService.getUserTimeLogs(userId, page, size);
@@ -114,6 +114,8 @@ public class AnalyticsDataResponse {
         private int completedTasks;
         private BigDecimal averageCompletionTime;
         private BigDecimal productivityScore;
+        private BigDecimal medianCompletionTime;
+        private BigDecimal p90CompletionTime;
 
         public PerformanceData() {}
 
@@ -155,6 +157,22 @@ public class AnalyticsDataResponse {
         public void setProductivityScore(BigDecimal productivityScore) {
             this.productivityScore = productivityScore;
         }
+
+        public BigDecimal getMedianCompletionTime() {
+            return medianCompletionTime;
+        }
+
+        public void setMedianCompletionTime(BigDecimal medianCompletionTime) {
+            this.medianCompletionTime = medianCompletionTime;
+        }
+
+        public BigDecimal getP90CompletionTime() {
+            return p90CompletionTime;
+        }
+
+        public void setP90CompletionTime(BigDecimal p90CompletionTime) {
+            this.p90CompletionTime = p90CompletionTime;
+        }
     }
 
     /**
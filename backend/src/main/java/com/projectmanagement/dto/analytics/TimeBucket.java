@@ -0,0 +1,54 @@
+package com.projectmanagement.dto.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size for analytics time-series charts
+ */
+public enum TimeBucket {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Get the first day of the bucket containing the given date.
+     * Weeks start on Monday (ISO-8601).
+     */
+    public LocalDate truncate(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * Get the chart label for a bucket starting at the given date
+     */
+    public String label(LocalDate bucketStart) {
+        if (this == MONTH) {
+            return YearMonth.from(bucketStart).toString();
+        }
+        return bucketStart.toString();
+    }
+
+    /**
+     * Parse a bucket parameter, defaulting to DAY when missing or invalid
+     */
+    public static TimeBucket fromString(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DAY;
+        }
+        try {
+            return TimeBucket.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return DAY;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.projectmanagement.dto.attachment;
+
+/**
+ * DTO for a ZIP archive of the attachments in a project, milestone or task.
+ * Access is checked when it is created; the attachments are read page by page while streaming.
+ */
+public class AttachmentArchive {
+
+    public enum Scope {
+        PROJECT,
+        MILESTONE,
+        TASK
+    }
+
+    private final String fileName;
+    private final Scope scope;
+    private final Long scopeId;
+
+    public AttachmentArchive(String fileName, Scope scope, Long scopeId) {
+        this.fileName = fileName;
+        this.scope = scope;
+        this.scopeId = scopeId;
+    }
+
+    /**
+     * File name offered to the client for the archive
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * ID of the project, milestone or task whose attachments are archived
+     */
+    public Long getScopeId() {
+        return scopeId;
+    }
+}
@@ -11,24 +11,37 @@ public class AttachmentDownloadResponse {
     private final String fileName;
     private final String fileType;
     private final Long fileSize;
-    private final byte[] fileData;
+    private final String storageKey;
+    private final String checksum;
     private final Long taskId;
     private final AttachmentUploaderResponse uploadedBy;
     private final LocalDateTime uploadedAt;
 
     public AttachmentDownloadResponse(Long id, String fileName, String fileType, Long fileSize, 
-                                    byte[] fileData, Long taskId, AttachmentUploaderResponse uploadedBy, 
-                                    LocalDateTime uploadedAt) {
+                                    String storageKey, String checksum, Long taskId,
+                                    AttachmentUploaderResponse uploadedBy, LocalDateTime uploadedAt) {
         this.id = id;
         this.fileName = fileName;
         this.fileType = fileType;
         this.fileSize = fileSize;
-        this.fileData = fileData;
+        this.storageKey = storageKey;
+        this.checksum = checksum;
         this.taskId = taskId;
         this.uploadedBy = uploadedBy;
         this.uploadedAt = uploadedAt;
     }
 
+    /**
+     * Projection constructor used by the download query, which selects only the
+     * attachment columns and the uploader name instead of loading the Attachment entity
+     */
+    public AttachmentDownloadResponse(Long id, String fileName, String fileType, Long fileSize,
+                                    String storageKey, String checksum, Long taskId, Long uploaderId,
+                                    String uploaderFirstName, String uploaderLastName, LocalDateTime uploadedAt) {
+        this(id, fileName, fileType, fileSize, storageKey, checksum, taskId,
+                new AttachmentUploaderResponse(uploaderId, uploaderFirstName + " " + uploaderLastName), uploadedAt);
+    }
+
     // Getters
     public Long getId() {
         return id;
@@ -46,8 +59,18 @@ public class AttachmentDownloadResponse {
         return fileSize;
     }
 
-    public byte[] getFileData() {
-        return fileData;
+    /**
+     * Key of the content in the attachment store
+     */
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    /**
+     * Hex encoded SHA-256 of the content
+     */
+    public String getChecksum() {
+        return checksum;
     }
 
     public Long getTaskId() {
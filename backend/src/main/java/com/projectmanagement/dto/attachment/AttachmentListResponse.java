@@ -15,6 +15,10 @@ public class AttachmentListResponse {
     private boolean hasNext;
     private boolean hasPrevious;
     private Long totalStorageUsed;
+    // Distinct stored contents counted once; lower than totalStorageUsed when attachments share content
+    private Long physicalStorageUsed;
+    // Opaque cursor for the next page in cursor mode; null on the last page and in page-number mode
+    private String nextCursor;
 
     // Constructors
     public AttachmentListResponse() {}
@@ -96,6 +100,22 @@ public class AttachmentListResponse {
         this.totalStorageUsed = totalStorageUsed;
     }
 
+    public Long getPhysicalStorageUsed() {
+        return physicalStorageUsed;
+    }
+
+    public void setPhysicalStorageUsed(Long physicalStorageUsed) {
+        this.physicalStorageUsed = physicalStorageUsed;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     @Override
     public String toString() {
         return "AttachmentListResponse{" +
@@ -107,6 +127,8 @@ public class AttachmentListResponse {
                 ", hasNext=" + hasNext +
                 ", hasPrevious=" + hasPrevious +
                 ", totalStorageUsed=" + totalStorageUsed +
+                ", physicalStorageUsed=" + physicalStorageUsed +
+                ", nextCursor='" + nextCursor + '\'' +
                 '}';
     }
 } 
\ No newline at end of file
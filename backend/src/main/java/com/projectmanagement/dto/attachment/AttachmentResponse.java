@@ -29,6 +29,17 @@ public class AttachmentResponse {
         this.uploadedAt = uploadedAt;
     }
 
+    /**
+     * Projection constructor used by the metadata queries, which select only the
+     * attachment columns and the uploader name instead of loading Attachment entities
+     */
+    public AttachmentResponse(Long id, String fileName, String fileType, Long fileSize, Long taskId,
+                            Long uploaderId, String uploaderFirstName, String uploaderLastName,
+                            LocalDateTime uploadedAt) {
+        this(id, fileName, fileType, fileSize, taskId,
+                new AttachmentUploaderResponse(uploaderId, uploaderFirstName + " " + uploaderLastName), uploadedAt);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,71 @@
+package com.projectmanagement.dto.attachment;
+
+/**
+ * DTO for the attachment storage report: how much space deduplication saves,
+ * and how much a garbage collection run reclaimed
+ */
+public class AttachmentStorageReport {
+
+    private final long attachmentCount;
+    private final long blobCount;
+    private final long logicalBytes;
+    private final long physicalBytes;
+    private final int blobsCollected;
+    private final long bytesReclaimed;
+
+    public AttachmentStorageReport(long attachmentCount, long blobCount, long logicalBytes, long physicalBytes,
+                                   int blobsCollected, long bytesReclaimed) {
+        this.attachmentCount = attachmentCount;
+        this.blobCount = blobCount;
+        this.logicalBytes = logicalBytes;
+        this.physicalBytes = physicalBytes;
+        this.blobsCollected = blobsCollected;
+        this.bytesReclaimed = bytesReclaimed;
+    }
+
+    public long getAttachmentCount() {
+        return attachmentCount;
+    }
+
+    /**
+     * Number of distinct contents held in the attachment store
+     */
+    public long getBlobCount() {
+        return blobCount;
+    }
+
+    /**
+     * Sum of the sizes of all attachments
+     */
+    public long getLogicalBytes() {
+        return logicalBytes;
+    }
+
+    /**
+     * Bytes actually held in the attachment store
+     */
+    public long getPhysicalBytes() {
+        return physicalBytes;
+    }
+
+    /**
+     * Bytes not stored thanks to deduplication
+     */
+    public long getDeduplicatedBytes() {
+        return Math.max(0, logicalBytes - physicalBytes);
+    }
+
+    /**
+     * Unreferenced contents removed by this run
+     */
+    public int getBlobsCollected() {
+        return blobsCollected;
+    }
+
+    /**
+     * Bytes freed in the attachment store by this run
+     */
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+}
@@ -0,0 +1,32 @@
+package com.projectmanagement.dto.attachment;
+
+/**
+ * DTO for the storage used by a set of attachments.
+ * Logical bytes count every attachment; physical bytes count each distinct stored content once.
+ */
+public class AttachmentStorageUsage {
+
+    private final long logicalBytes;
+    private final long physicalBytes;
+
+    public AttachmentStorageUsage(Long logicalBytes, Long physicalBytes) {
+        this.logicalBytes = logicalBytes != null ? logicalBytes : 0L;
+        this.physicalBytes = physicalBytes != null ? physicalBytes : 0L;
+    }
+
+    public long getLogicalBytes() {
+        return logicalBytes;
+    }
+
+    public long getPhysicalBytes() {
+        return physicalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "AttachmentStorageUsage{" +
+                "logicalBytes=" + logicalBytes +
+                ", physicalBytes=" + physicalBytes +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.projectmanagement.dto.attachment;
+
+/**
+ * DTO for a thumbnail of an image attachment
+ */
+public class AttachmentThumbnailResponse {
+
+    private final Long attachmentId;
+    private final int size;
+    private final String storageKey;
+    private final String checksum;
+
+    public AttachmentThumbnailResponse(Long attachmentId, int size, String storageKey, String checksum) {
+        this.attachmentId = attachmentId;
+        this.size = size;
+        this.storageKey = storageKey;
+        this.checksum = checksum;
+    }
+
+    public Long getAttachmentId() {
+        return attachmentId;
+    }
+
+    /**
+     * Maximum width and height in pixels
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Key of the thumbnail in the attachment store
+     */
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    /**
+     * Hex encoded SHA-256 of the original content
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+}
@@ -0,0 +1,32 @@
+package com.projectmanagement.dto.attachment;
+
+/**
+ * DTO for a received chunk of a chunked attachment upload
+ */
+public class AttachmentUploadChunkResponse {
+
+    private final Integer chunkNumber;
+    private final Long size;
+    private final String checksum;
+
+    public AttachmentUploadChunkResponse(Integer chunkNumber, Long size, String checksum) {
+        this.chunkNumber = chunkNumber;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    public Integer getChunkNumber() {
+        return chunkNumber;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    /**
+     * Hex encoded SHA-256 of the chunk as stored
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+}
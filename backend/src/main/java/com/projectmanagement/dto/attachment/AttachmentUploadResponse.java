@@ -0,0 +1,140 @@
+package com.projectmanagement.dto.attachment;
+
+import com.projectmanagement.entity.UploadSessionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the state of a chunked attachment upload.
+ * Clients resume an interrupted upload by sending the chunks not listed in receivedChunks,
+ * and poll it after completing until the status is COMPLETED (attachmentId is set) or
+ * ACTIVE again (failureReason says why assembly failed).
+ */
+public class AttachmentUploadResponse {
+
+    private String uploadId;
+    private Long taskId;
+    private String fileName;
+    private Long fileSize;
+    private Long chunkSize;
+    private Integer chunkCount;
+    private List<Integer> receivedChunks;
+    private LocalDateTime expiresAt;
+    private UploadSessionStatus status;
+    private Long attachmentId;
+    private String failureReason;
+
+    // Constructors
+    public AttachmentUploadResponse() {}
+
+    public AttachmentUploadResponse(String uploadId, Long taskId, String fileName, Long fileSize, Long chunkSize,
+                                    Integer chunkCount, List<Integer> receivedChunks, LocalDateTime expiresAt) {
+        this.uploadId = uploadId;
+        this.taskId = taskId;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount;
+        this.receivedChunks = receivedChunks;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Integer getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(Integer chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    /**
+     * Numbers of the chunks received so far, ascending
+     */
+    public List<Integer> getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(List<Integer> receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public UploadSessionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UploadSessionStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * ID of the attachment the upload was assembled into, once completed
+     */
+    public Long getAttachmentId() {
+        return attachmentId;
+    }
+
+    public void setAttachmentId(Long attachmentId) {
+        this.attachmentId = attachmentId;
+    }
+
+    /**
+     * Why the last completion failed, while the upload is active again
+     */
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+}
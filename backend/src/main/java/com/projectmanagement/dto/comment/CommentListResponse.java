@@ -14,6 +14,8 @@ public class CommentListResponse {
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Opaque cursor for the next page in cursor mode; null on the last page and in page-number mode
+    private String nextCursor;
 
     // Constructors
     public CommentListResponse() {}
@@ -86,6 +88,14 @@ public class CommentListResponse {
         this.hasPrevious = hasPrevious;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     @Override
     public String toString() {
         return "CommentListResponse{" +
@@ -96,6 +106,7 @@ public class CommentListResponse {
                 ", pageSize=" + pageSize +
                 ", hasNext=" + hasNext +
                 ", hasPrevious=" + hasPrevious +
+                ", nextCursor='" + nextCursor + '\'' +
                 '}';
     }
 } 
\ No newline at end of file
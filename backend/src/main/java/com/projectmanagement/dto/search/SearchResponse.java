@@ -0,0 +1,25 @@
+package com.projectmanagement.dto.search;
+
+import java.util.List;
+
+/**
+ * DTO for cross-entity search results, best match first
+ */
+public class SearchResponse {
+
+    private final String query;
+    private final List<SearchResultResponse> results;
+
+    public SearchResponse(String query, List<SearchResultResponse> results) {
+        this.query = query;
+        this.results = results;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<SearchResultResponse> getResults() {
+        return results;
+    }
+}
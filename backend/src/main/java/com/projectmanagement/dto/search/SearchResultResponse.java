@@ -0,0 +1,80 @@
+package com.projectmanagement.dto.search;
+
+import com.projectmanagement.search.SearchType;
+
+/**
+ * DTO for one ranked search match
+ */
+public class SearchResultResponse {
+
+    private final SearchType type;
+    private final Long id;
+    private final String title;
+    private final String snippet;
+    private final Long projectId;
+    private final Long taskId;
+    private final double score;
+
+    public SearchResultResponse(SearchType type, Long id, String title, String snippet, Long projectId, Long taskId,
+                                double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.snippet = snippet;
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.score = score;
+    }
+
+    public SearchType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Task title, project name, or for a comment the title of its task
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Excerpt of the matched description or comment text
+     */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Task the match belongs to; null for projects
+     */
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Relevance; higher is better, comparable within one response only
+     */
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResultResponse{" +
+                "type=" + type +
+                ", id=" + id +
+                ", title='" + title + '\'' +
+                ", projectId=" + projectId +
+                ", taskId=" + taskId +
+                ", score=" + score +
+                '}';
+    }
+}
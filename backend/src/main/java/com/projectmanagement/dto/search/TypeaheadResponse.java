@@ -0,0 +1,25 @@
+package com.projectmanagement.dto.search;
+
+import java.util.List;
+
+/**
+ * DTO for typeahead suggestions, grouped by type and best match first within each type
+ */
+public class TypeaheadResponse {
+
+    private final String query;
+    private final List<TypeaheadSuggestion> suggestions;
+
+    public TypeaheadResponse(String query, List<TypeaheadSuggestion> suggestions) {
+        this.query = query;
+        this.suggestions = suggestions;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<TypeaheadSuggestion> getSuggestions() {
+        return suggestions;
+    }
+}
@@ -0,0 +1,72 @@
+package com.projectmanagement.dto.search;
+
+import com.projectmanagement.search.SuggestionType;
+
+/**
+ * DTO for one typeahead match
+ */
+public class TypeaheadSuggestion {
+
+    private final SuggestionType type;
+    private final Long id;
+    private final String label;
+    private final String detail;
+    private final Long projectId;
+    private final double score;
+
+    public TypeaheadSuggestion(SuggestionType type, Long id, String label, String detail, Long projectId,
+                               double score) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.detail = detail;
+        this.projectId = projectId;
+        this.score = score;
+    }
+
+    public SuggestionType getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * User full name, project name or task title
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Secondary text: the user's email or the task's project name; null for projects
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Project of a project or task suggestion; null for users
+     */
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Relevance within the suggestion's type; prefix matches score highest
+     */
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "TypeaheadSuggestion{" +
+                "type=" + type +
+                ", id=" + id +
+                ", label='" + label + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,45 @@
+package com.projectmanagement.dto.task;
+
+/**
+ * DTO for a task added, changed or moved on the task board since a revision,
+ * together with the column it now belongs to
+ */
+public class TaskBoardChange {
+    
+    private String columnIdentifier;
+    private String columnDisplayName;
+    private TaskBoardItem task;
+    
+    public TaskBoardChange() {}
+    
+    public TaskBoardChange(String columnIdentifier, String columnDisplayName, TaskBoardItem task) {
+        this.columnIdentifier = columnIdentifier;
+        this.columnDisplayName = columnDisplayName;
+        this.task = task;
+    }
+    
+    // Getters and Setters
+    public String getColumnIdentifier() {
+        return columnIdentifier;
+    }
+    
+    public void setColumnIdentifier(String columnIdentifier) {
+        this.columnIdentifier = columnIdentifier;
+    }
+    
+    public String getColumnDisplayName() {
+        return columnDisplayName;
+    }
+    
+    public void setColumnDisplayName(String columnDisplayName) {
+        this.columnDisplayName = columnDisplayName;
+    }
+    
+    public TaskBoardItem getTask() {
+        return task;
+    }
+    
+    public void setTask(TaskBoardItem task) {
+        this.task = task;
+    }
+}
@@ -31,7 +31,26 @@ public class TaskBoardItem {
         this.deadline = deadline;
         this.overdue = overdue;
     }
-    
+
+    /**
+     * Projection constructor used by the board query, which selects only the
+     * board columns and the assignee name instead of loading Task entities
+     */
+    public TaskBoardItem(Long id, String title, TaskPriority priority, TaskStatus status,
+                        Long assigneeId, String assigneeFirstName, String assigneeLastName, LocalDate deadline) {
+        this.id = id;
+        this.title = title;
+        this.priority = priority;
+        this.status = status;
+        this.assignee = assigneeId != null
+                ? new TaskAssigneeResponse(assigneeId, assigneeFirstName + " " + assigneeLastName)
+                : null;
+        this.deadline = deadline;
+        // Same rule as Task.isOverdue()
+        this.overdue = deadline != null && deadline.isBefore(LocalDate.now())
+                && status != TaskStatus.DONE && status != TaskStatus.CANCELLED;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
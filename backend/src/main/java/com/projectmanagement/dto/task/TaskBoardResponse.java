@@ -3,12 +3,18 @@ package com.projectmanagement.dto.task;
 import java.util.List;
 
 /**
- * DTO for task board (Kanban) response
+ * DTO for task board (Kanban) response.
+ * A full board carries columns; a delta (sinceRevision set) carries only
+ * the tasks changed and removed since that revision.
  */
 public class TaskBoardResponse {
     
     private String groupBy;
     private List<TaskBoardColumn> columns;
+    private Long revision;
+    private Long sinceRevision;
+    private List<TaskBoardChange> changes;
+    private List<Long> removedTaskIds;
     
     public TaskBoardResponse() {}
     
@@ -17,6 +23,20 @@ public class TaskBoardResponse {
         this.columns = columns;
     }
     
+    public TaskBoardResponse(String groupBy, List<TaskBoardColumn> columns, Long revision) {
+        this(groupBy, columns);
+        this.revision = revision;
+    }
+    
+    public static TaskBoardResponse delta(String groupBy, Long revision, Long sinceRevision,
+                                          List<TaskBoardChange> changes, List<Long> removedTaskIds) {
+        TaskBoardResponse response = new TaskBoardResponse(groupBy, null, revision);
+        response.setSinceRevision(sinceRevision);
+        response.setChanges(changes);
+        response.setRemovedTaskIds(removedTaskIds);
+        return response;
+    }
+    
     // Getters and Setters
     public String getGroupBy() {
         return groupBy;
@@ -33,4 +53,36 @@ public class TaskBoardResponse {
     public void setColumns(List<TaskBoardColumn> columns) {
         this.columns = columns;
     }
+    
+    public Long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+    
+    public Long getSinceRevision() {
+        return sinceRevision;
+    }
+    
+    public void setSinceRevision(Long sinceRevision) {
+        this.sinceRevision = sinceRevision;
+    }
+    
+    public List<TaskBoardChange> getChanges() {
+        return changes;
+    }
+    
+    public void setChanges(List<TaskBoardChange> changes) {
+        this.changes = changes;
+    }
+    
+    public List<Long> getRemovedTaskIds() {
+        return removedTaskIds;
+    }
+    
+    public void setRemovedTaskIds(List<Long> removedTaskIds) {
+        this.removedTaskIds = removedTaskIds;
+    }
 } 
\ No newline at end of file
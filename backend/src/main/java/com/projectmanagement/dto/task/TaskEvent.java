@@ -0,0 +1,88 @@
+package com.projectmanagement.dto.task;
+
+import com.projectmanagement.entity.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an event on a project's task event stream.
+ * The revision is the project's task board revision after the change.
+ */
+public class TaskEvent {
+    
+    private TaskEventType type;
+    private Long projectId;
+    private Long taskId;
+    private Long revision;
+    private TaskStatus previousStatus;
+    private TaskBoardItem task;
+    private LocalDateTime occurredAt;
+    
+    public TaskEvent() {}
+    
+    public TaskEvent(TaskEventType type, Long projectId, Long taskId, Long revision, TaskBoardItem task) {
+        this.type = type;
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.revision = revision;
+        this.task = task;
+        this.occurredAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public TaskEventType getType() {
+        return type;
+    }
+    
+    public void setType(TaskEventType type) {
+        this.type = type;
+    }
+    
+    public Long getProjectId() {
+        return projectId;
+    }
+    
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+    
+    public Long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+    
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public void setPreviousStatus(TaskStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+    
+    public TaskBoardItem getTask() {
+        return task;
+    }
+    
+    public void setTask(TaskBoardItem task) {
+        this.task = task;
+    }
+    
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+    
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
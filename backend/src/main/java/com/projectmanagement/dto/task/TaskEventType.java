@@ -0,0 +1,15 @@
+package com.projectmanagement.dto.task;
+
+/**
+ * Types of events sent on a project's task event stream
+ */
+public enum TaskEventType {
+    // Sent once when a subscriber connects
+    CONNECTED,
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_STATUS_CHANGED,
+    TASK_DELETED,
+    // The subscriber missed events and should reload the board (or request a delta from its last revision)
+    RESYNC
+}
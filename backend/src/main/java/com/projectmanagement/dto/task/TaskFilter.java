@@ -0,0 +1,73 @@
+package com.projectmanagement.dto.task;
+
+import com.projectmanagement.entity.TaskPriority;
+import com.projectmanagement.entity.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Validated criteria for listing a project's tasks. Every field is optional;
+ * the criteria that are set are combined with AND.
+ */
+public class TaskFilter {
+
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final Long assigneeId;
+    private final Long milestoneId;
+    private final LocalDate deadlineFrom;
+    private final LocalDate deadlineTo;
+    private final String search;
+
+    public TaskFilter(TaskStatus status, TaskPriority priority, Long assigneeId, Long milestoneId,
+                      LocalDate deadlineFrom, LocalDate deadlineTo, String search) {
+        this.status = status;
+        this.priority = priority;
+        this.assigneeId = assigneeId;
+        this.milestoneId = milestoneId;
+        this.deadlineFrom = deadlineFrom;
+        this.deadlineTo = deadlineTo;
+        this.search = search;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public Long getMilestoneId() {
+        return milestoneId;
+    }
+
+    public LocalDate getDeadlineFrom() {
+        return deadlineFrom;
+    }
+
+    public LocalDate getDeadlineTo() {
+        return deadlineTo;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskFilter{" +
+                "status=" + status +
+                ", priority=" + priority +
+                ", assigneeId=" + assigneeId +
+                ", milestoneId=" + milestoneId +
+                ", deadlineFrom=" + deadlineFrom +
+                ", deadlineTo=" + deadlineTo +
+                ", search='" + search + '\'' +
+                '}';
+    }
+}
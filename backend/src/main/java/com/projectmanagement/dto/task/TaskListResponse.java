@@ -11,6 +11,8 @@ public class TaskListResponse {
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
+    // Opaque cursor for the next page in cursor mode; null on the last page and in page-number mode
+    private String nextCursor;
 
     // Constructors
     public TaskListResponse() {}
@@ -83,6 +85,14 @@ public class TaskListResponse {
         this.hasPrevious = hasPrevious;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
     @Override
     public String toString() {
         return "TaskListResponse{" +
@@ -93,6 +103,7 @@ public class TaskListResponse {
                 ", pageSize=" + pageSize +
                 ", hasNext=" + hasNext +
                 ", hasPrevious=" + hasPrevious +
+                ", nextCursor='" + nextCursor + '\'' +
                 '}';
     }
 } 
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.projectmanagement.dto.task;
 import com.projectmanagement.entity.TaskPriority;
 import com.projectmanagement.entity.TaskStatus;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,7 +29,7 @@ public class TaskResponse {
     private boolean overdue;
     private int commentCount;
     private int attachmentCount;
-    private long totalTimeLogged;
+    private BigDecimal totalTimeLogged = BigDecimal.ZERO;
 
     // Constructors
     public TaskResponse() {}
@@ -206,11 +207,11 @@ public class TaskResponse {
         this.attachmentCount = attachmentCount;
     }
 
-    public long getTotalTimeLogged() {
+    public BigDecimal getTotalTimeLogged() {
         return totalTimeLogged;
     }
 
-    public void setTotalTimeLogged(long totalTimeLogged) {
+    public void setTotalTimeLogged(BigDecimal totalTimeLogged) {
         this.totalTimeLogged = totalTimeLogged;
     }
 
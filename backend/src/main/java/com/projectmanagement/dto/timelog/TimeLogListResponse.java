@@ -16,10 +16,18 @@ public class TimeLogListResponse {
     private final boolean hasNext;
     private final boolean hasPrevious;
     private final BigDecimal totalHours;
+    // Opaque cursor for the next page in cursor mode; null on the last page and in page-number mode
+    private final String nextCursor;
 
     public TimeLogListResponse(List<TimeLogResponse> timeLogs, int totalElements, int totalPages, 
                               int currentPage, int pageSize, boolean hasNext, boolean hasPrevious, 
                               BigDecimal totalHours) {
+        this(timeLogs, totalElements, totalPages, currentPage, pageSize, hasNext, hasPrevious, totalHours, null);
+    }
+
+    public TimeLogListResponse(List<TimeLogResponse> timeLogs, int totalElements, int totalPages, 
+                              int currentPage, int pageSize, boolean hasNext, boolean hasPrevious, 
+                              BigDecimal totalHours, String nextCursor) {
         this.timeLogs = timeLogs;
         this.totalElements = totalElements;
         this.totalPages = totalPages;
@@ -28,6 +36,7 @@ public class TimeLogListResponse {
         this.hasNext = hasNext;
         this.hasPrevious = hasPrevious;
         this.totalHours = totalHours;
+        this.nextCursor = nextCursor;
     }
 
     // Getters
@@ -63,6 +72,10 @@ public class TimeLogListResponse {
         return totalHours;
     }
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
     @Override
     public String toString() {
         return "TimeLogListResponse{" +
@@ -74,6 +87,7 @@ public class TimeLogListResponse {
                 ", hasNext=" + hasNext +
                 ", hasPrevious=" + hasPrevious +
                 ", totalHours=" + totalHours +
+                ", nextCursor='" + nextCursor + '\'' +
                 '}';
     }
 } 
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.projectmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated analytics totals for one (day, project, user) combination.
+ * Maintained incrementally by {@link com.projectmanagement.service.AnalyticsRollupService}.
+ */
+@Entity
+@Table(name = "analytics_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_analytics_daily_rollups_date_project_user",
+                                             columnNames = {"rollup_date", "project_id", "user_id"}))
+public class AnalyticsDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // Time log author, or task assignee for completions (null for unassigned tasks)
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "hours_logged", nullable = false, precision = 12, scale = 2)
+    private BigDecimal hoursLogged = BigDecimal.ZERO;
+
+    @Column(name = "time_log_count", nullable = false)
+    private Integer timeLogCount = 0;
+
+    @Column(name = "tasks_completed", nullable = false)
+    private Integer tasksCompleted = 0;
+
+    // Constructors
+    public AnalyticsDailyRollup() {
+    }
+
+    public AnalyticsDailyRollup(LocalDate rollupDate, Long projectId, Long userId,
+                                BigDecimal hoursLogged, Integer timeLogCount, Integer tasksCompleted) {
+        this.rollupDate = rollupDate;
+        this.projectId = projectId;
+        this.userId = userId;
+        this.hoursLogged = hoursLogged;
+        this.timeLogCount = timeLogCount;
+        this.tasksCompleted = tasksCompleted;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getHoursLogged() {
+        return hoursLogged;
+    }
+
+    public void setHoursLogged(BigDecimal hoursLogged) {
+        this.hoursLogged = hoursLogged;
+    }
+
+    public Integer getTimeLogCount() {
+        return timeLogCount;
+    }
+
+    public void setTimeLogCount(Integer timeLogCount) {
+        this.timeLogCount = timeLogCount;
+    }
+
+    public Integer getTasksCompleted() {
+        return tasksCompleted;
+    }
+
+    public void setTasksCompleted(Integer tasksCompleted) {
+        this.tasksCompleted = tasksCompleted;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalyticsDailyRollup{" +
+                "id=" + id +
+                ", rollupDate=" + rollupDate +
+                ", projectId=" + projectId +
+                ", userId=" + userId +
+                ", hoursLogged=" + hoursLogged +
+                ", timeLogCount=" + timeLogCount +
+                ", tasksCompleted=" + tasksCompleted +
+                '}';
+    }
+}
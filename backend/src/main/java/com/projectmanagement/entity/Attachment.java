@@ -38,9 +38,13 @@ public class Attachment {
     @Column(name = "file_size", nullable = false)
     private Long fileSize;
 
-    @Lob
-    @Column(name = "file_data", nullable = false, columnDefinition = "BLOB")
-    private byte[] fileData;
+    // Key of the content in the attachment store
+    @Column(name = "storage_key", length = 512)
+    private String storageKey;
+
+    // Hex encoded SHA-256 of the content
+    @Column(name = "checksum", length = 64)
+    private String checksum;
 
     @Column(name = "uploaded_at", nullable = false, updatable = false)
     private LocalDateTime uploadedAt;
@@ -50,12 +54,14 @@ public class Attachment {
         this.uploadedAt = LocalDateTime.now();
     }
 
-    public Attachment(String fileName, String fileType, Long fileSize, byte[] fileData, Task task, User uploadedBy) {
+    public Attachment(String fileName, String fileType, Long fileSize, String storageKey, String checksum,
+                      Task task, User uploadedBy) {
         this();
         this.fileName = fileName;
         this.fileType = fileType;
         this.fileSize = fileSize;
-        this.fileData = fileData;
+        this.storageKey = storageKey;
+        this.checksum = checksum;
         this.task = task;
         this.uploadedBy = uploadedBy;
     }
@@ -109,12 +115,20 @@ public class Attachment {
         this.fileSize = fileSize;
     }
 
-    public byte[] getFileData() {
-        return fileData;
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public String getChecksum() {
+        return checksum;
     }
 
-    public void setFileData(byte[] fileData) {
-        this.fileData = fileData;
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
     }
 
     public LocalDateTime getUploadedAt() {
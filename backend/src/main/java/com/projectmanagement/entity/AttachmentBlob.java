@@ -0,0 +1,122 @@
+package com.projectmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored attachment content, shared by every attachment with the same SHA-256 checksum.
+ * Reference counts are maintained by {@link com.projectmanagement.service.AttachmentBlobService}.
+ */
+@Entity
+@Table(name = "attachment_blobs",
+       uniqueConstraints = {
+           @UniqueConstraint(name = "uk_attachment_blobs_checksum", columnNames = "checksum"),
+           @UniqueConstraint(name = "uk_attachment_blobs_storage_key", columnNames = "storage_key")
+       })
+public class AttachmentBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hex encoded SHA-256 of the content
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    // Key of the content in the attachment store
+    @Column(name = "storage_key", nullable = false, length = 512)
+    private String storageKey;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    // Number of attachments pointing at this content; adjusted in place, never written from the entity
+    @Column(name = "reference_count", nullable = false, updatable = false)
+    private Integer referenceCount = 0;
+
+    // Null until thumbnails have been attempted; set by a targeted update from the thumbnail workers
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnail_status", length = 20, updatable = false)
+    private ThumbnailStatus thumbnailStatus;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public AttachmentBlob() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public AttachmentBlob(String checksum, String storageKey, Long size, Integer referenceCount) {
+        this();
+        this.checksum = checksum;
+        this.storageKey = storageKey;
+        this.size = size;
+        this.referenceCount = referenceCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Integer getReferenceCount() {
+        return referenceCount;
+    }
+
+    public void setReferenceCount(Integer referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+
+    public ThumbnailStatus getThumbnailStatus() {
+        return thumbnailStatus;
+    }
+
+    public void setThumbnailStatus(ThumbnailStatus thumbnailStatus) {
+        this.thumbnailStatus = thumbnailStatus;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AttachmentBlob{" +
+                "id=" + id +
+                ", checksum='" + checksum + '\'' +
+                ", storageKey='" + storageKey + '\'' +
+                ", size=" + size +
+                ", referenceCount=" + referenceCount +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.projectmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A received chunk of an {@link AttachmentUploadSession}
+ */
+@Entity
+@Table(name = "attachment_upload_chunks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_attachment_upload_chunks_number",
+                                             columnNames = {"session_id", "chunk_number"}))
+public class AttachmentUploadChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    // 1-based position of the chunk in the file
+    @Column(name = "chunk_number", nullable = false)
+    private Integer chunkNumber;
+
+    @Column(name = "size", nullable = false)
+    private Long size;
+
+    // Hex encoded SHA-256 of the chunk
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "uploaded_at", nullable = false)
+    private LocalDateTime uploadedAt;
+
+    // Constructors
+    public AttachmentUploadChunk() {
+        this.uploadedAt = LocalDateTime.now();
+    }
+
+    public AttachmentUploadChunk(Long sessionId, Integer chunkNumber, Long size, String checksum) {
+        this();
+        this.sessionId = sessionId;
+        this.chunkNumber = chunkNumber;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Integer getChunkNumber() {
+        return chunkNumber;
+    }
+
+    public void setChunkNumber(Integer chunkNumber) {
+        this.chunkNumber = chunkNumber;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(LocalDateTime uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+}
@@ -0,0 +1,200 @@
+package com.projectmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A chunked attachment upload in progress.
+ * Chunks are written to the attachment store as they arrive and assembled into an
+ * attachment by {@link com.projectmanagement.service.AttachmentUploadService} in the background
+ * on completion; a completed session keeps the attachment ID until it expires.
+ */
+@Entity
+@Table(name = "attachment_upload_sessions",
+       uniqueConstraints = @UniqueConstraint(name = "uk_attachment_upload_sessions_upload_id", columnNames = "upload_id"))
+public class AttachmentUploadSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Random public identifier, so sessions cannot be enumerated
+    @Column(name = "upload_id", nullable = false, length = 36)
+    private String uploadId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Original file name as sent by the client
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    // Size of every chunk except the last
+    @Column(name = "chunk_size", nullable = false)
+    private Long chunkSize;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount;
+
+    // Changed only by conditional updates, so concurrent completions cannot both proceed
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20, updatable = false)
+    private UploadSessionStatus status = UploadSessionStatus.ACTIVE;
+
+    // Set together with the status once the upload has been assembled into an attachment
+    @Column(name = "attachment_id", updatable = false)
+    private Long attachmentId;
+
+    // Why the last completion failed; the session is active again and completion can be retried
+    @Column(name = "failure_reason", length = 500, updatable = false)
+    private String failureReason;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public AttachmentUploadSession() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public AttachmentUploadSession(String uploadId, Long taskId, Long userId, String fileName, Long fileSize,
+                                   Long chunkSize, Integer chunkCount, LocalDateTime expiresAt) {
+        this();
+        this.uploadId = uploadId;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Long chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Integer getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(Integer chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public UploadSessionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UploadSessionStatus status) {
+        this.status = status;
+    }
+
+    public Long getAttachmentId() {
+        return attachmentId;
+    }
+
+    public void setAttachmentId(Long attachmentId) {
+        this.attachmentId = attachmentId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    // Helper methods
+
+    /**
+     * Expected size of a chunk; the last chunk holds the remainder
+     */
+    public long getExpectedChunkSize(int chunkNumber) {
+        return chunkNumber < chunkCount ? chunkSize : fileSize - chunkSize * (chunkCount - 1);
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt.isBefore(now);
+    }
+}
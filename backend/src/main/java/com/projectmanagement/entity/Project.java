@@ -53,6 +53,14 @@ public class Project {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    // Only changed through ProjectRepository.incrementBoardRevision, never by entity updates
+    @Column(name = "board_revision", nullable = false, updatable = false)
+    private Long boardRevision = 0L;
+    
+    // Newest revision whose deletion tombstones have been pruned; deltas from before it are incomplete
+    @Column(name = "board_revision_horizon", nullable = false, updatable = false)
+    private Long boardRevisionHorizon = 0L;
+    
     // Relationships
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProjectMember> members = new ArrayList<>();
@@ -148,6 +156,22 @@ public class Project {
         this.updatedAt = updatedAt;
     }
     
+    public Long getBoardRevision() {
+        return boardRevision;
+    }
+    
+    public void setBoardRevision(Long boardRevision) {
+        this.boardRevision = boardRevision;
+    }
+    
+    public Long getBoardRevisionHorizon() {
+        return boardRevisionHorizon;
+    }
+    
+    public void setBoardRevisionHorizon(Long boardRevisionHorizon) {
+        this.boardRevisionHorizon = boardRevisionHorizon;
+    }
+    
     public List<ProjectMember> getMembers() {
         return members;
     }
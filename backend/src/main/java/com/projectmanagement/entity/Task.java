@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -64,6 +65,24 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Project board revision at which this task last changed
+    @Column(name = "board_revision", nullable = false)
+    private Long boardRevision = 0L;
+
+    // Activity totals maintained by the comment, attachment and time log services with atomic updates,
+    // so they are never written from a (possibly stale) loaded entity
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private Integer commentCount = 0;
+
+    @Column(name = "attachment_count", nullable = false, updatable = false)
+    private Integer attachmentCount = 0;
+
+    @Column(name = "time_logged_hours", nullable = false, updatable = false, precision = 10, scale = 2)
+    private BigDecimal timeLoggedHours = BigDecimal.ZERO;
+
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
@@ -84,7 +103,7 @@ public class Task {
         this.title = title;
         this.description = description;
         this.priority = priority;
-        this.status = status;
+        setStatus(status);
         this.createdBy = createdBy;
     }
 
@@ -157,7 +176,16 @@ public class Task {
         return status;
     }
 
+    /**
+     * Set the status, stamping completedAt when the task transitions to DONE
+     * and clearing it when the task leaves DONE
+     */
     public void setStatus(TaskStatus status) {
+        if (status == TaskStatus.DONE && this.status != TaskStatus.DONE) {
+            this.completedAt = LocalDateTime.now();
+        } else if (status != TaskStatus.DONE) {
+            this.completedAt = null;
+        }
         this.status = status;
     }
 
@@ -185,6 +213,22 @@ public class Task {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Long getBoardRevision() {
+        return boardRevision;
+    }
+
+    public void setBoardRevision(Long boardRevision) {
+        this.boardRevision = boardRevision;
+    }
+
     public List<Comment> getComments() {
         return comments;
     }
@@ -231,16 +275,30 @@ public class Task {
     }
 
     public int getCommentCount() {
-        return comments != null ? comments.size() : 0;
+        return commentCount != null ? commentCount : 0;
+    }
+
+    public void setCommentCount(Integer commentCount) {
+        this.commentCount = commentCount;
     }
 
     public int getAttachmentCount() {
-        return attachments != null ? attachments.size() : 0;
+        return attachmentCount != null ? attachmentCount : 0;
+    }
+
+    public void setAttachmentCount(Integer attachmentCount) {
+        this.attachmentCount = attachmentCount;
+    }
+
+    /**
+     * Total hours logged on this task
+     */
+    public BigDecimal getTotalTimeLogged() {
+        return timeLoggedHours != null ? timeLoggedHours : BigDecimal.ZERO;
     }
 
-    public long getTotalTimeLogged() {
-        // TODO: Implement when TimeLog entity is fully implemented in BE-016
-        return timeLogs != null ? timeLogs.size() : 0;
+    public void setTotalTimeLogged(BigDecimal timeLoggedHours) {
+        this.timeLoggedHours = timeLoggedHours;
     }
 
     @PreUpdate
@@ -0,0 +1,84 @@
+package com.projectmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted task, kept so task board deltas can report the removal.
+ * Written by {@link com.projectmanagement.service.TaskBoardRevisionService}.
+ */
+@Entity
+@Table(name = "task_board_tombstones")
+public class TaskBoardTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // Project board revision at which the task was deleted
+    @Column(name = "revision", nullable = false)
+    private Long revision;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public TaskBoardTombstone() {
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    public TaskBoardTombstone(Long taskId, Long projectId, Long revision) {
+        this();
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.revision = revision;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
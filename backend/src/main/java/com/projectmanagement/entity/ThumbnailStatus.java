@@ -0,0 +1,6 @@
+package com.projectmanagement.entity;
+
+public enum ThumbnailStatus {
+    READY,
+    UNSUPPORTED
+}
@@ -0,0 +1,7 @@
+package com.projectmanagement.entity;
+
+public enum UploadSessionStatus {
+    ACTIVE,
+    COMPLETING,
+    COMPLETED
+}
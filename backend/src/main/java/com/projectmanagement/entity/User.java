@@ -60,6 +60,10 @@ public class User {
     @Column(name = "preferences", columnDefinition = "TEXT")
     private String preferences;
 
+    // Carried in access tokens; incrementing it revokes every token issued before
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
     // Relationships
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Comment> comments = new HashSet<>();
@@ -173,6 +177,14 @@ public class User {
         this.preferences = preferences;
     }
 
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public Set<Comment> getComments() {
         return comments;
     }
@@ -0,0 +1,15 @@
+package com.projectmanagement.exception;
+
+/**
+ * Exception thrown when a request cannot be completed in time or a dependency is unavailable
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+    
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
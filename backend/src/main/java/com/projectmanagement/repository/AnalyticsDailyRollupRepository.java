@@ -0,0 +1,67 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.entity.AnalyticsDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsDailyRollupRepository extends JpaRepository<AnalyticsDailyRollup, Long> {
+
+    // Incremental maintenance (returns number of rows updated, 0 when the row does not exist yet)
+    @Modifying
+    @Query("UPDATE AnalyticsDailyRollup r SET r.hoursLogged = r.hoursLogged + :hours, " +
+           "r.timeLogCount = r.timeLogCount + :timeLogs, r.tasksCompleted = r.tasksCompleted + :tasksCompleted " +
+           "WHERE r.rollupDate = :date AND r.projectId = :projectId AND r.userId = :userId")
+    int applyDelta(@Param("date") LocalDate date, @Param("projectId") Long projectId, @Param("userId") Long userId,
+                   @Param("hours") BigDecimal hours, @Param("timeLogs") int timeLogs, @Param("tasksCompleted") int tasksCompleted);
+
+    // The unique key does not cover a NULL user everywhere, so exactly one of any duplicate empty rows is updated
+    @Modifying
+    @Query("UPDATE AnalyticsDailyRollup r SET r.hoursLogged = r.hoursLogged + :hours, " +
+           "r.timeLogCount = r.timeLogCount + :timeLogs, r.tasksCompleted = r.tasksCompleted + :tasksCompleted " +
+           "WHERE r.id = (SELECT MIN(u.id) FROM AnalyticsDailyRollup u " +
+           "WHERE u.rollupDate = :date AND u.projectId = :projectId AND u.userId IS NULL)")
+    int applyDeltaWithoutUser(@Param("date") LocalDate date, @Param("projectId") Long projectId,
+                              @Param("hours") BigDecimal hours, @Param("timeLogs") int timeLogs, @Param("tasksCompleted") int tasksCompleted);
+
+    // Rebuild (PostgreSQL): wait at most this long for writers in progress before giving up
+    @Query(value = "SELECT set_config('lock_timeout', '10s', true)", nativeQuery = true)
+    String limitLockWaitForRebuild();
+
+    // Blocks rollup writes, but not reads, until the rebuild commits
+    @Modifying
+    @Query(value = "LOCK TABLE analytics_daily_rollups IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    // Rebuild from the source tables
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO analytics_daily_rollups (rollup_date, project_id, user_id, hours_logged, time_log_count, tasks_completed) " +
+                   "SELECT r.rollup_date, r.project_id, r.user_id, SUM(r.hours), SUM(r.logs), SUM(r.completed) FROM (" +
+                   "SELECT tl.date AS rollup_date, t.project_id AS project_id, tl.user_id AS user_id, " +
+                   "tl.hours AS hours, 1 AS logs, 0 AS completed " +
+                   "FROM time_logs tl JOIN tasks t ON t.id = tl.task_id " +
+                   "UNION ALL " +
+                   "SELECT CAST(t.completed_at AS DATE), t.project_id, t.assignee_id, 0, 0, 1 " +
+                   "FROM tasks t WHERE t.status = 'DONE' AND t.completed_at IS NOT NULL" +
+                   ") r GROUP BY r.rollup_date, r.project_id, r.user_id",
+           nativeQuery = true)
+    int backfillFromSourceTables();
+
+    // Completed tasks per day
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.tasksCompleted), 0) FROM AnalyticsDailyRollup r " +
+           "WHERE r.projectId = :projectId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate")
+    List<Object[]> getCompletedTasksPerDayByProjectAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.tasksCompleted), 0) FROM AnalyticsDailyRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate")
+    List<Object[]> getCompletedTasksPerDayByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
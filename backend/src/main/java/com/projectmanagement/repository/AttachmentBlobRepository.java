@@ -0,0 +1,54 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.entity.AttachmentBlob;
+import com.projectmanagement.entity.ThumbnailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, Long> {
+
+    Optional<AttachmentBlob> findByChecksum(String checksum);
+
+    Optional<AttachmentBlob> findByStorageKey(String storageKey);
+
+    // Reference counts, adjusted in place so concurrent uploads and deletes do not lose updates
+    @Modifying
+    @Query("UPDATE AttachmentBlob b SET b.referenceCount = b.referenceCount + 1 WHERE b.checksum = :checksum")
+    int incrementReferenceCount(@Param("checksum") String checksum);
+
+    @Modifying
+    @Query("UPDATE AttachmentBlob b SET b.referenceCount = b.referenceCount - 1 WHERE b.storageKey = :storageKey")
+    int decrementReferenceCount(@Param("storageKey") String storageKey);
+
+    // Delete a blob only if nothing references it any more; an upload that re-referenced it in the meantime wins
+    @Modifying
+    @Query("DELETE FROM AttachmentBlob b WHERE b.id = :id AND b.referenceCount <= 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+
+    // Blobs left unreferenced, e.g. when collection after a delete could not reach the store
+    @Query("SELECT b FROM AttachmentBlob b WHERE b.referenceCount <= 0 ORDER BY b.id")
+    List<AttachmentBlob> findUnreferenced();
+
+    // Runs on the thumbnail workers, outside any service transaction
+    @Transactional
+    @Modifying
+    @Query("UPDATE AttachmentBlob b SET b.thumbnailStatus = :status WHERE b.storageKey = :storageKey")
+    int updateThumbnailStatus(@Param("storageKey") String storageKey, @Param("status") ThumbnailStatus status);
+
+    // Image contents that still need thumbnails, or all image contents when regenerating
+    @Query("SELECT DISTINCT b.storageKey FROM AttachmentBlob b, Attachment a WHERE a.storageKey = b.storageKey " +
+           "AND a.fileType LIKE 'image/%' AND (:regenerate = true OR b.thumbnailStatus IS NULL)")
+    List<String> findImageStorageKeysForThumbnails(@Param("regenerate") boolean regenerate);
+
+    // Bytes actually held in the attachment store for deduplicated content
+    @Query("SELECT COALESCE(SUM(b.size), 0) FROM AttachmentBlob b")
+    Long getTotalStoredBytes();
+}
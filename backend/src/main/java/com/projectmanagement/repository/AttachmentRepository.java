@@ -1,5 +1,8 @@
 package com.projectmanagement.repository;
 
+import com.projectmanagement.dto.attachment.AttachmentDownloadResponse;
+import com.projectmanagement.dto.attachment.AttachmentResponse;
+import com.projectmanagement.dto.attachment.AttachmentStorageUsage;
 import com.projectmanagement.entity.Attachment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,7 +11,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
@@ -57,6 +62,81 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     @Query("SELECT a FROM Attachment a JOIN FETCH a.uploadedBy WHERE a.task.id = :taskId ORDER BY a.uploadedAt DESC")
     Page<Attachment> findByTaskIdWithUploader(@Param("taskId") Long taskId, Pageable pageable);
     
+    // Metadata-only reads: select the listed columns and the uploader name in one statement,
+    // without loading Attachment or User entities
+    @Query(value = "SELECT new com.projectmanagement.dto.attachment.AttachmentResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.task.id, u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.task.id = :taskId ORDER BY a.uploadedAt DESC, a.id DESC",
+           countQuery = "SELECT COUNT(a) FROM Attachment a WHERE a.task.id = :taskId")
+    Page<AttachmentResponse> findMetadataByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+    
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.task.id, u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.task.id = :taskId ORDER BY a.uploadedAt DESC, a.id DESC")
+    List<AttachmentResponse> findMetadataByTaskId(@Param("taskId") Long taskId);
+    
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.task.id, u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u ORDER BY a.uploadedAt DESC, a.id DESC")
+    List<AttachmentResponse> findRecentMetadata(Pageable pageable);
+    
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.task.id, u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.id = :id")
+    Optional<AttachmentResponse> findMetadataById(@Param("id") Long id);
+    
+    // Keyset pages of a task's attachment metadata, newest first: the first page, then the rows after an
+    // (uploadedAt, id) cursor. Callers limit with PageRequest.of(0, size + 1), no count query is run
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.task.id, u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.task.id = :taskId ORDER BY a.uploadedAt DESC, a.id DESC")
+    List<AttachmentResponse> findMetadataPageByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+    
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.task.id, u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.task.id = :taskId " +
+           "AND (a.uploadedAt < :afterUploadedAt OR (a.uploadedAt = :afterUploadedAt AND a.id < :afterId)) " +
+           "ORDER BY a.uploadedAt DESC, a.id DESC")
+    List<AttachmentResponse> findMetadataPageByTaskIdAfter(@Param("taskId") Long taskId,
+                                                           @Param("afterUploadedAt") LocalDateTime afterUploadedAt,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentDownloadResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.storageKey, a.checksum, a.task.id, " +
+           "u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.id = :id")
+    Optional<AttachmentDownloadResponse> findDownloadById(@Param("id") Long id);
+    
+    // Download metadata of the attachments in a scope, for archive exports; one page in task
+    // then attachment order, after the last row of the previous page (0, 0 for the first)
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentDownloadResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.storageKey, a.checksum, a.task.id, " +
+           "u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.task.project.id = :projectId " +
+           "AND (a.task.id > :afterTaskId OR (a.task.id = :afterTaskId AND a.id > :afterId)) " +
+           "ORDER BY a.task.id, a.id")
+    List<AttachmentDownloadResponse> findDownloadsByProjectId(@Param("projectId") Long projectId,
+                                                              @Param("afterTaskId") Long afterTaskId,
+                                                              @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentDownloadResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.storageKey, a.checksum, a.task.id, " +
+           "u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.task.milestone.id = :milestoneId " +
+           "AND (a.task.id > :afterTaskId OR (a.task.id = :afterTaskId AND a.id > :afterId)) " +
+           "ORDER BY a.task.id, a.id")
+    List<AttachmentDownloadResponse> findDownloadsByMilestoneId(@Param("milestoneId") Long milestoneId,
+                                                                @Param("afterTaskId") Long afterTaskId,
+                                                                @Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentDownloadResponse(" +
+           "a.id, a.fileName, a.fileType, a.fileSize, a.storageKey, a.checksum, a.task.id, " +
+           "u.id, u.firstName, u.lastName, a.uploadedAt) " +
+           "FROM Attachment a JOIN a.uploadedBy u WHERE a.task.id = :taskId AND a.id > :afterId " +
+           "ORDER BY a.id")
+    List<AttachmentDownloadResponse> findDownloadsByTaskId(@Param("taskId") Long taskId,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+    
     // Check if attachment exists by task and file name
     boolean existsByTask_IdAndFileName(Long taskId, String fileName);
     
@@ -73,9 +153,21 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     @Query("SELECT a FROM Attachment a WHERE a.fileSize > :sizeThreshold")
     List<Attachment> findLargeAttachments(@Param("sizeThreshold") Long sizeThreshold);
     
-    // Get total storage used by task
-    @Query("SELECT COALESCE(SUM(a.fileSize), 0) FROM Attachment a WHERE a.task.id = :taskId")
-    Long getTotalStorageUsedByTask(@Param("taskId") Long taskId);
+    // Storage keys of a task's attachments, for releasing their contents when the task is deleted
+    @Query("SELECT a.storageKey FROM Attachment a WHERE a.task.id = :taskId AND a.storageKey IS NOT NULL")
+    List<String> findStorageKeysByTaskId(@Param("taskId") Long taskId);
+    
+    // Get total storage used by task: every attachment (logical), and each distinct stored content once (physical)
+    @Query("SELECT new com.projectmanagement.dto.attachment.AttachmentStorageUsage(" +
+           "COALESCE(SUM(a.fileSize), 0L), " +
+           "COALESCE(SUM(CASE WHEN NOT EXISTS (SELECT e.id FROM Attachment e WHERE e.task.id = :taskId " +
+           "AND e.storageKey = a.storageKey AND e.id < a.id) THEN a.fileSize ELSE 0L END), 0L)) " +
+           "FROM Attachment a WHERE a.task.id = :taskId")
+    AttachmentStorageUsage getTotalStorageUsedByTask(@Param("taskId") Long taskId);
+    
+    // Get total storage used by all attachments
+    @Query("SELECT COALESCE(SUM(a.fileSize), 0) FROM Attachment a")
+    Long getTotalStorageUsed();
     
     // Get total storage used by uploader
     @Query("SELECT COALESCE(SUM(a.fileSize), 0) FROM Attachment a WHERE a.uploadedBy.id = :uploadedById")
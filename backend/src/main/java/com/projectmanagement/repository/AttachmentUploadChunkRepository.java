@@ -0,0 +1,23 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.entity.AttachmentUploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentUploadChunkRepository extends JpaRepository<AttachmentUploadChunk, Long> {
+
+    List<AttachmentUploadChunk> findBySessionIdOrderByChunkNumber(Long sessionId);
+
+    Optional<AttachmentUploadChunk> findBySessionIdAndChunkNumber(Long sessionId, Integer chunkNumber);
+
+    @Modifying
+    @Query("DELETE FROM AttachmentUploadChunk c WHERE c.sessionId = :sessionId")
+    int deleteBySessionId(@Param("sessionId") Long sessionId);
+}
@@ -0,0 +1,52 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.entity.AttachmentUploadSession;
+import com.projectmanagement.entity.UploadSessionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentUploadSessionRepository extends JpaRepository<AttachmentUploadSession, Long> {
+
+    Optional<AttachmentUploadSession> findByUploadId(String uploadId);
+
+    // Compare-and-set on the status; only one caller can move a session out of a given state
+    @Transactional
+    @Modifying
+    @Query("UPDATE AttachmentUploadSession s SET s.status = :to WHERE s.id = :id AND s.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") UploadSessionStatus from, @Param("to") UploadSessionStatus to);
+
+    // Keeps the session until keepUntil, so the client can poll for the attachment ID
+    @Modifying
+    @Query("UPDATE AttachmentUploadSession s SET s.status = 'COMPLETED', s.attachmentId = :attachmentId, " +
+           "s.failureReason = NULL, s.expiresAt = :keepUntil WHERE s.id = :id AND s.status = 'COMPLETING'")
+    int markCompleted(@Param("id") Long id, @Param("attachmentId") Long attachmentId,
+                      @Param("keepUntil") LocalDateTime keepUntil);
+
+    // Makes a failed completion retryable and records why it failed
+    @Transactional
+    @Modifying
+    @Query("UPDATE AttachmentUploadSession s SET s.status = 'ACTIVE', s.failureReason = :reason " +
+           "WHERE s.id = :id AND s.status = 'COMPLETING'")
+    int markFailed(@Param("id") Long id, @Param("reason") String reason);
+
+    @Modifying
+    @Query("DELETE FROM AttachmentUploadSession s WHERE s.id = :id AND s.status = :status")
+    int deleteIfStatus(@Param("id") Long id, @Param("status") UploadSessionStatus status);
+
+    // Active and completed sessions past their expiry, and completions that never finished (e.g. the server stopped)
+    @Query("SELECT s FROM AttachmentUploadSession s WHERE " +
+           "(s.status IN ('ACTIVE', 'COMPLETED') AND s.expiresAt < :now) OR " +
+           "(s.status = 'COMPLETING' AND s.expiresAt < :stalledBefore) " +
+           "ORDER BY s.id")
+    List<AttachmentUploadSession> findExpired(@Param("now") LocalDateTime now,
+                                              @Param("stalledBefore") LocalDateTime stalledBefore);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,6 +20,18 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     // Find comments by task with pagination, ordered by creation date (newest first)
     Page<Comment> findByTask_IdOrderByCreatedAtDesc(Long taskId, Pageable pageable);
 
+    // Keyset pages of a task's comments, newest first: the first page, then the rows after a (createdAt, id) cursor.
+    // Callers limit with PageRequest.of(0, size + 1), no count query is run
+    @Query("SELECT c FROM Comment c WHERE c.task.id = :taskId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.task.id = :taskId " +
+           "AND (c.createdAt < :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id < :afterId)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByTaskIdAfter(@Param("taskId") Long taskId,
+                                        @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                        @Param("afterId") Long afterId, Pageable pageable);
+
     // Find comments by user
     List<Comment> findByUser_IdOrderByCreatedAtDesc(Long userId);
 
@@ -19,6 +19,10 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     // Find by user
     List<ProjectMember> findByUserId(Long userId);
     
+    // Project IDs and roles of a user's memberships, as [projectId, role] rows
+    @Query("SELECT pm.project.id, pm.role FROM ProjectMember pm WHERE pm.user.id = :userId")
+    List<Object[]> findProjectRolesByUserId(@Param("userId") Long userId);
+    
     // Find by project and user (check if user is member of project)
     Optional<ProjectMember> findByProjectIdAndUserId(Long projectId, Long userId);
     
@@ -6,11 +6,13 @@ import com.projectmanagement.entity.ProjectMemberRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -123,4 +125,23 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find projects with no milestones
     @Query("SELECT p FROM Project p WHERE SIZE(p.milestones) = 0")
     List<Project> findProjectsWithNoMilestones();
+
+    // Task board revisions (the UPDATE row lock serializes concurrent task writers per project)
+    @Modifying
+    @Query("UPDATE Project p SET p.boardRevision = p.boardRevision + 1 WHERE p.id = :projectId")
+    int incrementBoardRevision(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.boardRevision FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findBoardRevision(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.boardRevisionHorizon FROM Project p WHERE p.id = :projectId")
+    Optional<Long> findBoardRevisionHorizon(@Param("projectId") Long projectId);
+
+    // Raise each project's horizon to the newest of its tombstones that are about to be pruned
+    @Modifying
+    @Query("UPDATE Project p SET p.boardRevisionHorizon = (SELECT MAX(tb.revision) FROM TaskBoardTombstone tb " +
+           "WHERE tb.projectId = p.id AND tb.deletedAt < :cutoff) " +
+           "WHERE p.boardRevisionHorizon < (SELECT MAX(old.revision) FROM TaskBoardTombstone old " +
+           "WHERE old.projectId = p.id AND old.deletedAt < :cutoff)")
+    int raiseBoardRevisionHorizons(@Param("cutoff") LocalDateTime cutoff);
 } 
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.entity.TaskBoardTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskBoardTombstoneRepository extends JpaRepository<TaskBoardTombstone, Long> {
+
+    @Query("SELECT tb.taskId FROM TaskBoardTombstone tb WHERE tb.projectId = :projectId AND tb.revision > :sinceRevision")
+    List<Long> findTaskIdsDeletedSince(@Param("projectId") Long projectId, @Param("sinceRevision") Long sinceRevision);
+
+    @Modifying
+    @Query("DELETE FROM TaskBoardTombstone tb WHERE tb.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,21 +1,26 @@
 package com.projectmanagement.repository;
 
+import com.projectmanagement.dto.task.TaskBoardItem;
 import com.projectmanagement.entity.Task;
 import com.projectmanagement.entity.TaskPriority;
 import com.projectmanagement.entity.TaskStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
     // Basic project tasks queries
     List<Task> findByProjectId(Long projectId);
@@ -24,41 +29,32 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     long countByProjectId(Long projectId);
     
+    // Project of a task, for permission checks that do not need the task itself
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findProjectIdById(@Param("taskId") Long taskId);
+    
+    // Filtered, sorted task lists are built with TaskSpecifications through JpaSpecificationExecutor
+    
     // Status-based queries
     List<Task> findByProjectIdAndStatus(Long projectId, TaskStatus status);
     
-    Page<Task> findByProjectIdAndStatus(Long projectId, TaskStatus status, Pageable pageable);
-    
     long countByProjectIdAndStatus(Long projectId, TaskStatus status);
     
     // Priority-based queries
     List<Task> findByProjectIdAndPriority(Long projectId, TaskPriority priority);
     
-    Page<Task> findByProjectIdAndPriority(Long projectId, TaskPriority priority, Pageable pageable);
-    
     long countByProjectIdAndPriority(Long projectId, TaskPriority priority);
     
     // Assignee-based queries
     List<Task> findByProjectIdAndAssigneeId(Long projectId, Long assigneeId);
     
-    Page<Task> findByProjectIdAndAssigneeId(Long projectId, Long assigneeId, Pageable pageable);
-    
     long countByProjectIdAndAssigneeId(Long projectId, Long assigneeId);
     
     // Milestone-based queries
     List<Task> findByProjectIdAndMilestoneId(Long projectId, Long milestoneId);
     
-    Page<Task> findByProjectIdAndMilestoneId(Long projectId, Long milestoneId, Pageable pageable);
-    
     long countByProjectIdAndMilestoneId(Long projectId, Long milestoneId);
     
-    // Combined filters
-    Page<Task> findByProjectIdAndStatusAndPriority(Long projectId, TaskStatus status, TaskPriority priority, Pageable pageable);
-    
-    Page<Task> findByProjectIdAndStatusAndAssigneeId(Long projectId, TaskStatus status, Long assigneeId, Pageable pageable);
-    
-    Page<Task> findByProjectIdAndPriorityAndAssigneeId(Long projectId, TaskPriority priority, Long assigneeId, Pageable pageable);
-    
     // Search queries
     @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND " +
            "(LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -132,11 +128,21 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
                                                @Param("endDate") LocalDate endDate);
     
     // Task Board queries
-    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
+    // Board columns only, with the assignee name joined in, so no Task or User entities are loaded
+    @Query("SELECT new com.projectmanagement.dto.task.TaskBoardItem(" +
+           "t.id, t.title, t.priority, t.status, a.id, a.firstName, a.lastName, t.deadline) " +
+           "FROM Task t LEFT JOIN t.assignee a WHERE t.project.id = :projectId " +
            "AND (:milestoneId IS NULL OR t.milestone.id = :milestoneId) " +
            "ORDER BY t.priority DESC, t.deadline ASC")
-    List<Task> findTasksForBoardByProjectId(@Param("projectId") Long projectId, 
-                                           @Param("milestoneId") Long milestoneId);
+    List<TaskBoardItem> findBoardItemsByProjectId(@Param("projectId") Long projectId, 
+                                                  @Param("milestoneId") Long milestoneId);
+    
+    // Tasks changed after a board revision, across all milestones so moves out of a milestone are visible
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignee WHERE t.project.id = :projectId " +
+           "AND t.boardRevision > :sinceRevision " +
+           "ORDER BY t.priority DESC, t.deadline ASC")
+    List<Task> findTasksForBoardByProjectIdChangedSince(@Param("projectId") Long projectId,
+                                                        @Param("sinceRevision") Long sinceRevision);
     
     @Query("SELECT t FROM Task t WHERE t.project.id = :projectId " +
            "AND t.status = :status " +
@@ -207,10 +213,10 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.project.id = :projectId AND t.createdAt BETWEEN :startDate AND :endDate")
     long countByAssigneeIdAndProjectIdAndCreatedAtBetween(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.status = :status AND t.updatedAt BETWEEN :startDate AND :endDate")
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.status = :status AND t.completedAt BETWEEN :startDate AND :endDate")
     long countByAssigneeIdAndStatusAndCompletedAtBetween(@Param("userId") Long userId, @Param("status") TaskStatus status, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.project.id = :projectId AND t.status = :status AND t.updatedAt BETWEEN :startDate AND :endDate")
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.project.id = :projectId AND t.status = :status AND t.completedAt BETWEEN :startDate AND :endDate")
     long countByAssigneeIdAndProjectIdAndStatusAndCompletedAtBetween(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("status") TaskStatus status, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
     @Query("SELECT COUNT(t) FROM Task t WHERE t.assignee.id = :userId AND t.deadline < :currentDate AND t.status NOT IN ('DONE', 'CANCELLED')")
@@ -220,9 +226,46 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     long countOverdueTasksByUserAndProject(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("currentDate") LocalDate currentDate);
     
     // Additional analytics methods
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status AND t.updatedAt BETWEEN :startDate AND :endDate")
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status AND t.completedAt BETWEEN :startDate AND :endDate")
     long countByProjectIdAndStatusAndCompletedAtBetween(@Param("projectId") Long projectId, @Param("status") TaskStatus status, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.status = :status AND t.updatedAt BETWEEN :startDate AND :endDate")
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.status = :status AND t.completedAt BETWEEN :startDate AND :endDate")
     long countByStatusAndCompletedAtBetween(@Param("status") TaskStatus status, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-} 
\ No newline at end of file
+
+    // Completion time metrics (durations in seconds; a task without a deadline counts as on time)
+    @Query("SELECT COUNT(t), AVG((t.completedAt - t.createdAt) by second), " +
+           "SUM(CASE WHEN t.deadline IS NULL OR CAST(t.completedAt AS LocalDate) <= t.deadline THEN 1 ELSE 0 END) " +
+           "FROM Task t WHERE t.project.id = :projectId AND t.status = 'DONE' AND t.completedAt BETWEEN :startDate AND :endDate")
+    List<Object[]> getCompletionSummaryByProjectAndCompletedAtBetween(@Param("projectId") Long projectId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT COUNT(t), AVG((t.completedAt - t.createdAt) by second), " +
+           "SUM(CASE WHEN t.deadline IS NULL OR CAST(t.completedAt AS LocalDate) <= t.deadline THEN 1 ELSE 0 END) " +
+           "FROM Task t WHERE t.status = 'DONE' AND t.completedAt BETWEEN :startDate AND :endDate")
+    List<Object[]> getCompletionSummaryByCompletedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    // Nearest-rank median and 90th percentile of completion time
+    @Query("SELECT MIN(CASE WHEN d.rn >= 0.5 * d.cnt THEN d.secs END), MIN(CASE WHEN d.rn >= 0.9 * d.cnt THEN d.secs END) " +
+           "FROM (SELECT (t.completedAt - t.createdAt) by second AS secs, " +
+           "ROW_NUMBER() OVER (ORDER BY (t.completedAt - t.createdAt) by second) AS rn, COUNT(*) OVER () AS cnt " +
+           "FROM Task t WHERE t.project.id = :projectId AND t.status = 'DONE' AND t.completedAt BETWEEN :startDate AND :endDate) d")
+    List<Object[]> getCompletionTimePercentilesByProjectAndCompletedAtBetween(@Param("projectId") Long projectId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT MIN(CASE WHEN d.rn >= 0.5 * d.cnt THEN d.secs END), MIN(CASE WHEN d.rn >= 0.9 * d.cnt THEN d.secs END) " +
+           "FROM (SELECT (t.completedAt - t.createdAt) by second AS secs, " +
+           "ROW_NUMBER() OVER (ORDER BY (t.completedAt - t.createdAt) by second) AS rn, COUNT(*) OVER () AS cnt " +
+           "FROM Task t WHERE t.status = 'DONE' AND t.completedAt BETWEEN :startDate AND :endDate) d")
+    List<Object[]> getCompletionTimePercentilesByCompletedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    // Activity totals, adjusted in place so concurrent writers do not lose updates
+    @Modifying
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + :delta WHERE t.id = :taskId")
+    int adjustCommentCount(@Param("taskId") Long taskId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.attachmentCount = t.attachmentCount + :delta WHERE t.id = :taskId")
+    int adjustAttachmentCount(@Param("taskId") Long taskId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.timeLoggedHours = t.timeLoggedHours + :hours WHERE t.id = :taskId")
+    int adjustTimeLoggedHours(@Param("taskId") Long taskId, @Param("hours") BigDecimal hours);
+}
@@ -0,0 +1,72 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.task.TaskFilter;
+import com.projectmanagement.entity.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria queries for task lists. Only the filters that are actually set become predicates,
+ * so each combination produces its own plain WHERE clause that the database can match
+ * against the composite (project_id, column, created_at) indexes.
+ */
+public final class TaskSpecifications {
+
+    /**
+     * Newest first, with the id as tie-breaker so pages are stable
+     */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Tasks of a project matching every criterion set in the filter
+     */
+    public static Specification<Task> matching(Long projectId, TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("project").get("id"), projectId));
+
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            if (filter.getAssigneeId() != null) {
+                predicates.add(cb.equal(root.get("assignee").get("id"), filter.getAssigneeId()));
+            }
+            if (filter.getMilestoneId() != null) {
+                predicates.add(cb.equal(root.get("milestone").get("id"), filter.getMilestoneId()));
+            }
+            if (filter.getDeadlineFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("deadline"), filter.getDeadlineFrom()));
+            }
+            if (filter.getDeadlineTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("deadline"), filter.getDeadlineTo()));
+            }
+            if (filter.getSearch() != null) {
+                String pattern = "%" + filter.getSearch().toLowerCase() + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("title")), pattern),
+                        cb.like(cb.lower(root.get("description")), pattern)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Tasks positioned after a (createdAt, id) cursor in {@link #NEWEST_FIRST} order
+     */
+    public static Specification<Task> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -35,6 +35,39 @@ public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
     
     Page<TimeLog> findByUser_IdOrderByDateDesc(Long userId, Pageable pageable);
     
+    // Keyset pages of a user's time logs, newest first: the first page, then the rows after a (date, id) cursor.
+    // Project and date filters are optional; callers limit with PageRequest.of(0, size + 1), no count query is run
+    @Query("SELECT t FROM TimeLog t WHERE t.user.id = :userId " +
+           "AND (:projectId IS NULL OR t.task.project.id = :projectId) " +
+           "AND (:startDate IS NULL OR t.date >= :startDate) AND (:endDate IS NULL OR t.date <= :endDate) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TimeLog> findPageByUserId(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                   @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                   Pageable pageable);
+    
+    @Query("SELECT t FROM TimeLog t WHERE t.user.id = :userId " +
+           "AND (:projectId IS NULL OR t.task.project.id = :projectId) " +
+           "AND (:startDate IS NULL OR t.date >= :startDate) AND (:endDate IS NULL OR t.date <= :endDate) " +
+           "AND (t.date < :afterDate OR (t.date = :afterDate AND t.id < :afterId)) " +
+           "ORDER BY t.date DESC, t.id DESC")
+    List<TimeLog> findPageByUserIdAfter(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                        @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                        Pageable pageable);
+    
+    @Query("SELECT COUNT(t) FROM TimeLog t WHERE t.user.id = :userId " +
+           "AND (:projectId IS NULL OR t.task.project.id = :projectId) " +
+           "AND (:startDate IS NULL OR t.date >= :startDate) AND (:endDate IS NULL OR t.date <= :endDate)")
+    long countByUserIdAndFilters(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                 @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    @Query("SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t WHERE t.user.id = :userId " +
+           "AND (:projectId IS NULL OR t.task.project.id = :projectId) " +
+           "AND (:startDate IS NULL OR t.date >= :startDate) AND (:endDate IS NULL OR t.date <= :endDate)")
+    BigDecimal getTotalHoursByUserIdAndFilters(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+    
     // Find time logs by user and task
     List<TimeLog> findByUser_IdAndTask_Id(Long userId, Long taskId);
     
@@ -152,41 +185,47 @@ public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
     @Query("SELECT t FROM TimeLog t WHERE t.hours > :maxHours")
     List<TimeLog> findTimeLogsWithHighHours(@Param("maxHours") BigDecimal maxHours);
     
-    // Analytics queries
-    @Query("SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t WHERE t.task.project.id = :projectId AND t.date BETWEEN :startDate AND :endDate")
+    // Per-day, per-user totals for a task (used to reverse rollups when a task is deleted)
+    @Query("SELECT t.date, t.user.id, COALESCE(SUM(t.hours), 0), COUNT(t) FROM TimeLog t " +
+           "WHERE t.task.id = :taskId GROUP BY t.date, t.user.id")
+    List<Object[]> getHoursPerDayAndUserByTask(@Param("taskId") Long taskId);
+    
+    // Analytics queries (served from the analytics_daily_rollups table)
+    @Query("SELECT COALESCE(SUM(r.hoursLogged), 0) FROM AnalyticsDailyRollup r WHERE r.projectId = :projectId AND r.rollupDate BETWEEN :startDate AND :endDate")
     BigDecimal getTotalHoursByProjectAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate")
+    @Query("SELECT COALESCE(SUM(r.hoursLogged), 0) FROM AnalyticsDailyRollup r WHERE r.userId = :userId AND r.rollupDate BETWEEN :startDate AND :endDate")
     BigDecimal getTotalHoursByUserAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t WHERE t.user.id = :userId AND t.task.project.id = :projectId AND t.date BETWEEN :startDate AND :endDate")
+    @Query("SELECT COALESCE(SUM(r.hoursLogged), 0) FROM AnalyticsDailyRollup r WHERE r.userId = :userId AND r.projectId = :projectId AND r.rollupDate BETWEEN :startDate AND :endDate")
     BigDecimal getTotalHoursByUserAndProjectAndDateRange(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT t.user.id, CONCAT(t.user.firstName, ' ', t.user.lastName), " +
-           "COALESCE(SUM(t.hours), 0), " +
-           "COALESCE(AVG(t.hours), 0), " +
-           "COUNT(DISTINCT CASE WHEN t.task.status = 'DONE' THEN t.task.id END) " +
-           "FROM TimeLog t " +
-           "WHERE t.task.project.id = :projectId AND t.date BETWEEN :startDate AND :endDate " +
-           "GROUP BY t.user.id, t.user.firstName, t.user.lastName")
+    @Query("SELECT u.id, CONCAT(u.firstName, ' ', u.lastName), " +
+           "COALESCE(SUM(r.hoursLogged), 0), " +
+           "SUM(r.hoursLogged) / NULLIF(SUM(r.timeLogCount), 0), " +
+           "COALESCE(SUM(r.tasksCompleted), 0) " +
+           "FROM AnalyticsDailyRollup r JOIN User u ON u.id = r.userId " +
+           "WHERE r.projectId = :projectId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY u.id, u.firstName, u.lastName")
     List<Object[]> getUserPerformanceByProjectAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT t.date, COALESCE(SUM(t.hours), 0), " +
-           "COUNT(DISTINCT CASE WHEN t.task.status = 'DONE' THEN t.task.id END), " +
-           "COUNT(DISTINCT t.task.id) " +
-           "FROM TimeLog t " +
-           "WHERE t.user.id = :userId AND t.date BETWEEN :startDate AND :endDate " +
-           "GROUP BY t.date ORDER BY t.date")
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.hoursLogged), 0), " +
+           "COALESCE(SUM(r.tasksCompleted), 0), " +
+           "COALESCE(SUM(r.timeLogCount), 0) " +
+           "FROM AnalyticsDailyRollup r " +
+           "WHERE r.userId = :userId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
     List<Object[]> getDailyPerformanceByUserAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT t.date, COALESCE(SUM(t.hours), 0), " +
-           "COUNT(DISTINCT CASE WHEN t.task.status = 'DONE' THEN t.task.id END), " +
-           "COUNT(DISTINCT t.task.id) " +
-           "FROM TimeLog t " +
-           "WHERE t.user.id = :userId AND t.task.project.id = :projectId AND t.date BETWEEN :startDate AND :endDate " +
-           "GROUP BY t.date ORDER BY t.date")
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.hoursLogged), 0), " +
+           "COALESCE(SUM(r.tasksCompleted), 0), " +
+           "COALESCE(SUM(r.timeLogCount), 0) " +
+           "FROM AnalyticsDailyRollup r " +
+           "WHERE r.userId = :userId AND r.projectId = :projectId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
     List<Object[]> getDailyPerformanceByUserAndProjectAndDateRange(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
+    // Distinct task counts are not additive across days, so this one still reads time_logs
     @Query("SELECT t.task.project.id, t.task.project.name, COALESCE(SUM(t.hours), 0), " +
            "COUNT(DISTINCT t.task.id), " +
            "COUNT(DISTINCT CASE WHEN t.task.status = 'COMPLETED' THEN t.task.id END) " +
@@ -196,28 +235,32 @@ public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
     List<Object[]> getProjectPerformanceByUserAndDateRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
     // Additional analytics methods
-    @Query("SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t WHERE t.task.project.id = :projectId AND t.date = :date")
-    BigDecimal getTotalHoursByProjectAndDate(@Param("projectId") Long projectId, @Param("date") LocalDate date);
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.hoursLogged), 0) FROM AnalyticsDailyRollup r " +
+           "WHERE r.projectId = :projectId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate")
+    List<Object[]> getHoursPerDayByProjectAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t WHERE t.date = :date")
-    BigDecimal getTotalHoursByDate(@Param("date") LocalDate date);
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.hoursLogged), 0) FROM AnalyticsDailyRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate")
+    List<Object[]> getHoursPerDayByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT COALESCE(SUM(t.hours), 0) FROM TimeLog t WHERE t.date BETWEEN :startDate AND :endDate")
+    @Query("SELECT COALESCE(SUM(r.hoursLogged), 0) FROM AnalyticsDailyRollup r WHERE r.rollupDate BETWEEN :startDate AND :endDate")
     BigDecimal getTotalHoursByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT t.date, COALESCE(SUM(t.hours), 0), " +
-           "COUNT(DISTINCT CASE WHEN t.task.status = 'DONE' THEN t.task.id END), " +
-           "COUNT(DISTINCT t.task.id) " +
-           "FROM TimeLog t " +
-           "WHERE t.date BETWEEN :startDate AND :endDate " +
-           "GROUP BY t.date ORDER BY t.date")
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.hoursLogged), 0), " +
+           "COALESCE(SUM(r.tasksCompleted), 0), " +
+           "COALESCE(SUM(r.timeLogCount), 0) " +
+           "FROM AnalyticsDailyRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
     List<Object[]> getDailyPerformanceByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
-    @Query("SELECT t.date, COALESCE(SUM(t.hours), 0), " +
-           "COUNT(DISTINCT CASE WHEN t.task.status = 'DONE' THEN t.task.id END), " +
-           "COUNT(DISTINCT t.task.id) " +
-           "FROM TimeLog t " +
-           "WHERE t.task.project.id = :projectId AND t.date BETWEEN :startDate AND :endDate " +
-           "GROUP BY t.date ORDER BY t.date")
+    @Query("SELECT r.rollupDate, COALESCE(SUM(r.hoursLogged), 0), " +
+           "COALESCE(SUM(r.tasksCompleted), 0), " +
+           "COALESCE(SUM(r.timeLogCount), 0) " +
+           "FROM AnalyticsDailyRollup r " +
+           "WHERE r.projectId = :projectId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
     List<Object[]> getDailyPerformanceByProjectAndDateRange(@Param("projectId") Long projectId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 } 
\ No newline at end of file
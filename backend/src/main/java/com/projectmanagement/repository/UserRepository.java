@@ -19,6 +19,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Find the current token version of an active user
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id AND u.isActive = true")
+    Optional<Integer> findActiveTokenVersionById(@Param("id") Long id);
+
     /**
      * Check if user exists by email
      */
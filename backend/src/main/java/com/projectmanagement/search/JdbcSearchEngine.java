@@ -0,0 +1,242 @@
+package com.projectmanagement.search;
+
+import com.projectmanagement.dto.search.SearchResultResponse;
+import com.projectmanagement.dto.search.TypeaheadSuggestion;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs one top-N query per searched type and merges the results by score.
+ * Subclasses supply the dialect-specific match, score and snippet expressions; snippets are
+ * only computed for the rows that made the per-type limit. Typeahead suggestions are
+ * case-insensitive substring matches on lower-cased names, which PostgreSQL serves from
+ * trigram indexes on the same expressions. Terms shorter than a trigram only match name
+ * prefixes in name order, so a btree index can return the first rows without a sort.
+ */
+abstract class JdbcSearchEngine implements SearchEngine {
+
+    // Shortest term a trigram index can serve; shorter terms would scan the whole index
+    static final int MIN_SUBSTRING_LENGTH = 3;
+
+    /**
+     * Columns and joins of a searchable table
+     */
+    static final class Source {
+        final String from;
+        final String id;
+        final String title;
+        final String body;
+        final String projectId;
+        final String taskId;
+        final String vector;
+        final List<String> textColumns;
+
+        Source(String from, String id, String title, String body, String projectId, String taskId, String vector,
+               List<String> textColumns) {
+            this.from = from;
+            this.id = id;
+            this.title = title;
+            this.body = body;
+            this.projectId = projectId;
+            this.taskId = taskId;
+            this.vector = vector;
+            this.textColumns = textColumns;
+        }
+    }
+
+    private static final String MEMBER_PROJECTS =
+            "SELECT pm.project_id FROM project_members pm WHERE pm.user_id = :memberId";
+
+    private static final Map<SearchType, Source> SOURCES = Map.of(
+            SearchType.TASK, new Source("tasks t", "t.id", "t.title", "t.description", "t.project_id", "t.id",
+                    "t.search_vector", List.of("t.title", "t.description")),
+            SearchType.COMMENT, new Source("comments c JOIN tasks t ON t.id = c.task_id", "c.id", "t.title",
+                    "c.content", "t.project_id", "c.task_id", "c.search_vector", List.of("c.content")),
+            SearchType.PROJECT, new Source("projects p", "p.id", "p.name", "p.description", "p.id",
+                    "CAST(NULL AS BIGINT)", "p.search_vector", List.of("p.name", "p.description")));
+
+    /**
+     * Columns of a table offered by typeahead; name columns are the lower-cased, indexed expressions
+     */
+    static final class SuggestionSource {
+        final String from;
+        final String id;
+        final String label;
+        final String detail;
+        final String projectId;
+        final String filter;
+        final String scope;
+        final List<String> nameColumns;
+
+        SuggestionSource(String from, String id, String label, String detail, String projectId, String filter,
+                         String scope, List<String> nameColumns) {
+            this.from = from;
+            this.id = id;
+            this.label = label;
+            this.detail = detail;
+            this.projectId = projectId;
+            this.filter = filter;
+            this.scope = scope;
+            this.nameColumns = nameColumns;
+        }
+    }
+
+    private static final Map<SuggestionType, SuggestionSource> SUGGESTION_SOURCES = Map.of(
+            SuggestionType.USER, new SuggestionSource("users u", "u.id", "u.first_name || ' ' || u.last_name",
+                    "u.email", "CAST(NULL AS BIGINT)", "u.is_active = TRUE",
+                    "u.id IN (SELECT m.user_id FROM project_members m WHERE m.project_id IN ("
+                            + MEMBER_PROJECTS + "))",
+                    List.of("LOWER(u.first_name || ' ' || u.last_name)", "LOWER(u.email)")),
+            SuggestionType.PROJECT, new SuggestionSource("projects p", "p.id", "p.name", "CAST(NULL AS VARCHAR(255))",
+                    "p.id", null, "p.id IN (" + MEMBER_PROJECTS + ")", List.of("LOWER(p.name)")),
+            SuggestionType.TASK, new SuggestionSource("tasks t JOIN projects p ON p.id = t.project_id", "t.id",
+                    "t.title", "p.name", "t.project_id", null, "t.project_id IN (" + MEMBER_PROJECTS + ")",
+                    List.of("LOWER(t.title)")));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    protected JdbcSearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SearchResultResponse> search(String query, Set<SearchType> types, Long projectId, Long memberId,
+                                             int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", queryParameter(query))
+                .addValue("projectId", projectId)
+                .addValue("memberId", memberId)
+                .addValue("limit", limit);
+
+        List<SearchResultResponse> results = new ArrayList<>();
+        for (SearchType type : types) {
+            results.addAll(jdbcTemplate.query(sql(SOURCES.get(type), projectId != null, memberId != null), parameters,
+                    (rs, rowNum) -> new SearchResultResponse(type, rs.getLong("id"), rs.getString("title"),
+                            rs.getString("snippet"), rs.getLong("project_id"),
+                            rs.getObject("task_id") != null ? rs.getLong("task_id") : null, rs.getDouble("score"))));
+        }
+        results.sort(Comparator.comparingDouble(SearchResultResponse::getScore).reversed());
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    @Override
+    public List<TypeaheadSuggestion> suggest(String text, Set<SuggestionType> types, Long memberId, int limit) {
+        String escaped = escapeLike(text.toLowerCase());
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("term", text.toLowerCase())
+                .addValue("pattern", "%" + escaped + "%")
+                .addValue("prefix", escaped + "%")
+                .addValue("memberId", memberId)
+                .addValue("limit", limit);
+
+        boolean prefixOnly = text.length() < MIN_SUBSTRING_LENGTH;
+
+        List<TypeaheadSuggestion> suggestions = new ArrayList<>();
+        for (SuggestionType type : types) {
+            suggestions.addAll(jdbcTemplate.query(suggestionSql(SUGGESTION_SOURCES.get(type), memberId != null, prefixOnly),
+                    parameters, (rs, rowNum) -> new TypeaheadSuggestion(type, rs.getLong("id"), rs.getString("label"),
+                            rs.getString("detail"),
+                            rs.getObject("project_id") != null ? rs.getLong("project_id") : null,
+                            rs.getDouble("score"))));
+        }
+        return suggestions;
+    }
+
+    private String suggestionSql(SuggestionSource source, boolean forMember, boolean prefixOnly) {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(source.id).append(" AS id, ")
+                .append(source.label).append(" AS label, ")
+                .append(source.detail).append(" AS detail, ")
+                .append(source.projectId).append(" AS project_id, ")
+                .append(suggestionScore(source.nameColumns.get(0))).append(" AS score FROM ")
+                .append(source.from).append(" WHERE (");
+        for (int i = 0; i < source.nameColumns.size(); i++) {
+            String column = source.nameColumns.get(i);
+            sql.append(i > 0 ? " OR " : "")
+                    .append(prefixOnly ? prefixColumn(column) + " LIKE :prefix" : column + " LIKE :pattern")
+                    .append(" ESCAPE '\\'");
+        }
+        sql.append(")");
+        if (source.filter != null) {
+            sql.append(" AND ").append(source.filter);
+        }
+        if (forMember) {
+            sql.append(" AND ").append(source.scope);
+        }
+        if (prefixOnly) {
+            // Every row is a prefix match; name order lets the database stop after the first :limit rows
+            sql.append(" ORDER BY ").append(prefixColumn(source.nameColumns.get(0))).append(", ");
+        } else {
+            sql.append(" ORDER BY score DESC, label, ");
+        }
+        return sql.append(source.id).append(" LIMIT :limit").toString();
+    }
+
+    private String sql(Source source, boolean inProject, boolean forMember) {
+        StringBuilder inner = new StringBuilder("SELECT ")
+                .append(source.id).append(" AS id, ")
+                .append(source.title).append(" AS title, ")
+                .append(source.body).append(" AS body, ")
+                .append(source.projectId).append(" AS project_id, ")
+                .append(source.taskId).append(" AS task_id, ")
+                .append(score(source)).append(" AS score FROM ")
+                .append(source.from).append(" WHERE ").append(match(source));
+        if (inProject) {
+            inner.append(" AND ").append(source.projectId).append(" = :projectId");
+        }
+        if (forMember) {
+            inner.append(" AND ").append(source.projectId)
+                    .append(" IN (").append(MEMBER_PROJECTS).append(")");
+        }
+        inner.append(" ORDER BY score DESC, ").append(source.id).append(" DESC LIMIT :limit");
+
+        return "SELECT r.id, r.title, " + snippet("r.body") + " AS snippet, r.project_id, r.task_id, r.score " +
+               "FROM (" + inner + ") r ORDER BY r.score DESC, r.id DESC";
+    }
+
+    /**
+     * Escape LIKE wildcards so user input only matches literally; backslash is the escape character
+     */
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Value bound to the :query parameter
+     */
+    protected abstract String queryParameter(String query);
+
+    /**
+     * Condition selecting the rows that match :query
+     */
+    protected abstract String match(Source source);
+
+    /**
+     * Relevance of a matching row
+     */
+    protected abstract String score(Source source);
+
+    /**
+     * Excerpt of the body column shown with a result
+     */
+    protected abstract String snippet(String bodyColumn);
+
+    /**
+     * Relevance of a typeahead match on a lower-cased name column; :term is the lower-cased text,
+     * :prefix the escaped text followed by a wildcard
+     */
+    protected abstract String suggestionScore(String nameColumn);
+
+    /**
+     * Lower-cased name column as compared and ordered by prefix matches of short terms
+     */
+    protected String prefixColumn(String nameColumn) {
+        return nameColumn;
+    }
+}
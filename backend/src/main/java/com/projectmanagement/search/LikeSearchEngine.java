@@ -0,0 +1,57 @@
+package com.projectmanagement.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Portable fallback that matches the whole query as a case-insensitive substring.
+ * It cannot use an index and only distinguishes title matches from body matches, so it is
+ * meant for databases without full-text search such as H2 in tests.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "like")
+public class LikeSearchEngine extends JdbcSearchEngine {
+
+    private static final int SNIPPET_LENGTH = 200;
+
+    public LikeSearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    @Override
+    protected String queryParameter(String query) {
+        return "%" + escapeLike(query.toLowerCase()) + "%";
+    }
+
+    @Override
+    protected String match(Source source) {
+        StringBuilder match = new StringBuilder("(");
+        for (String column : source.textColumns) {
+            if (match.length() > 1) {
+                match.append(" OR ");
+            }
+            match.append(like(column));
+        }
+        return match.append(")").toString();
+    }
+
+    @Override
+    protected String score(Source source) {
+        return "CASE WHEN " + like(source.title) + " THEN 1.0 ELSE 0.5 END";
+    }
+
+    @Override
+    protected String snippet(String bodyColumn) {
+        return "SUBSTRING(" + bodyColumn + ", 1, " + SNIPPET_LENGTH + ")";
+    }
+
+    @Override
+    protected String suggestionScore(String nameColumn) {
+        return "CASE WHEN " + nameColumn + " LIKE :prefix ESCAPE '\\' THEN 1.0 ELSE 0.5 END";
+    }
+
+    private static String like(String column) {
+        return "LOWER(" + column + ") LIKE :query ESCAPE '\\'";
+    }
+}
@@ -0,0 +1,55 @@
+package com.projectmanagement.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Full-text search over the generated search_vector columns, served from their GIN indexes.
+ * Queries use web search syntax ("quoted phrases", -excluded, or), are stemmed in English and
+ * ranked with title and name matches weighted above description matches. Typeahead ranks
+ * prefix matches first, then by trigram similarity; one- and two-character terms are served
+ * in name order from btree indexes in the "C" collation, where LIKE prefixes are index ranges.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres", matchIfMissing = true)
+public class PostgresSearchEngine extends JdbcSearchEngine {
+
+    private static final String TS_QUERY = "websearch_to_tsquery('english', :query)";
+
+    public PostgresSearchEngine(NamedParameterJdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    @Override
+    protected String queryParameter(String query) {
+        return query;
+    }
+
+    @Override
+    protected String match(Source source) {
+        return source.vector + " @@ " + TS_QUERY;
+    }
+
+    @Override
+    protected String score(Source source) {
+        return "ts_rank(" + source.vector + ", " + TS_QUERY + ")";
+    }
+
+    @Override
+    protected String snippet(String bodyColumn) {
+        return "ts_headline('english', COALESCE(" + bodyColumn + ", ''), " + TS_QUERY +
+               ", 'MaxFragments=1, MinWords=5, MaxWords=20')";
+    }
+
+    @Override
+    protected String suggestionScore(String nameColumn) {
+        return "CASE WHEN " + nameColumn + " LIKE :prefix ESCAPE '\\' THEN 1.0 ELSE 0.0 END + similarity(" +
+               nameColumn + ", :term)";
+    }
+
+    @Override
+    protected String prefixColumn(String nameColumn) {
+        return nameColumn + " COLLATE \"C\"";
+    }
+}
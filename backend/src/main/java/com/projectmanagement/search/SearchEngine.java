@@ -0,0 +1,38 @@
+package com.projectmanagement.search;
+
+import com.projectmanagement.dto.search.SearchResultResponse;
+import com.projectmanagement.dto.search.TypeaheadSuggestion;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Backend for cross-entity text search and typeahead suggestions.
+ * The PostgreSQL engine uses the indexed tsvector and trigram indexes; the LIKE engine scans
+ * and exists for databases without full-text support, such as the H2 database used by tests.
+ */
+public interface SearchEngine {
+
+    /**
+     * Find the best matches for a query
+     *
+     * @param query Text entered by the user
+     * @param types Kinds of records to search
+     * @param projectId Only search this project, or null for every project
+     * @param memberId Only search projects this user is a member of, or null for no restriction
+     * @param limit Maximum number of results
+     * @return Matches ordered by descending score
+     */
+    List<SearchResultResponse> search(String query, Set<SearchType> types, Long projectId, Long memberId, int limit);
+
+    /**
+     * Suggest records whose name contains the typed text, prefix matches first
+     *
+     * @param text Text typed so far
+     * @param types Kinds of records to suggest, returned in declaration order
+     * @param memberId Only suggest from projects this user is a member of (and users sharing one), or null
+     * @param limit Maximum number of suggestions per type
+     * @return Suggestions grouped by type, best match first within each type
+     */
+    List<TypeaheadSuggestion> suggest(String text, Set<SuggestionType> types, Long memberId, int limit);
+}
@@ -0,0 +1,10 @@
+package com.projectmanagement.search;
+
+/**
+ * Kinds of records covered by cross-entity search
+ */
+public enum SearchType {
+    TASK,
+    COMMENT,
+    PROJECT
+}
@@ -0,0 +1,10 @@
+package com.projectmanagement.search;
+
+/**
+ * Kinds of records offered by typeahead pickers
+ */
+public enum SuggestionType {
+    USER,
+    PROJECT,
+    TASK
+}
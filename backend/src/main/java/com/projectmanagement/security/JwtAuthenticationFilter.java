@@ -2,11 +2,8 @@ package com.projectmanagement.security;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -26,10 +23,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    @Autowired
-    private JwtTokenProvider jwtTokenProvider;
-    @Autowired
-    private UserDetailsService userDetailsService;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final TokenVersionCache tokenVersionCache;
+
+    public JwtAuthenticationFilter(JwtTokenVerifier jwtTokenVerifier, TokenVersionCache tokenVersionCache) {
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.tokenVersionCache = tokenVersionCache;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -38,15 +38,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.extractUsername(jwt);
+            // The principal comes from the token's claims; only its version is checked against the user
+            AuthenticatedUser user = StringUtils.hasText(jwt) ? jwtTokenVerifier.verify(request, jwt) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (user != null && tokenVersionCache.isCurrent(user.getId(), user.getTokenVersion())) {
                 UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+            } else if (user != null) {
+                logger.debug("Rejected revoked access token for user ID: {}", user.getId());
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -14,6 +14,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -24,6 +25,13 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    // Access token claims that let requests be authenticated without loading the user
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    // Refresh token claim naming the rotation family; the token's own ID is the standard jti
+    public static final String CLAIM_FAMILY = "fam";
+
     @Value("${jwt.secret.key}")
     private String jwtSecret;
 
@@ -33,14 +41,32 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh.expiration.time}")
     private long jwtRefreshExpirationTime;
 
+    // Built once from the secret on first use; both are immutable and thread-safe
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     /**
      * Generate JWT token for authentication
      */
     public String generateToken(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return generateToken(user);
+        }
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         return generateToken(userDetails.getUsername());
     }
 
+    /**
+     * Generate access token carrying the user's ID, role and token version
+     */
+    public String generateToken(AuthenticatedUser user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        return generateToken(user.getUsername(), claims);
+    }
+
     /**
      * Generate JWT token for user
      */
@@ -65,7 +91,16 @@ public class JwtTokenProvider {
      * Generate refresh token
      */
     public String generateRefreshToken(String username) {
+        return generateRefreshToken(username, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Generate refresh token with the given token ID in a rotation family
+     */
+    public String generateRefreshToken(String username, String tokenId, String familyId) {
         return Jwts.builder()
+                .setId(tokenId)
+                .claim(CLAIM_FAMILY, familyId)
                 .setSubject(username)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtRefreshExpirationTime))
@@ -73,6 +108,43 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Read the principal from a signed access token.
+     * Returns null when the token is invalid or expired, or lacks the user claims
+     * (refresh tokens and tokens issued before the claims were introduced).
+     */
+    public AuthenticatedUser getAuthenticatedUser(String token) {
+        try {
+            return toAuthenticatedUser(parseClaims(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Verify a token's signature and expiry and return its claims
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return getParser().parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Principal carried by verified access token claims, or null when the user claims are missing
+     */
+    public AuthenticatedUser toAuthenticatedUser(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), null, role,
+                tokenVersion.intValue(), true);
+    }
+
     /**
      * Extract username from token
      */
@@ -99,11 +171,7 @@ public class JwtTokenProvider {
      * Extract all claims from token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token);
     }
 
     /**
@@ -126,10 +194,7 @@ public class JwtTokenProvider {
      */
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
@@ -141,8 +206,26 @@ public class JwtTokenProvider {
      * Get signing key from secret
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Get the parser for tokens signed with the signing key
+     */
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 
     /**
@@ -0,0 +1,115 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.util.TtlCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Verifies access tokens for incoming requests.
+ * A token is parsed at most once per request: its principal is kept as a request attribute.
+ * Recently verified tokens are also kept in a small bounded cache keyed by their signature,
+ * so clients repeating the same token skip the HMAC check and JSON parsing until it expires.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifier.class);
+
+    static final String PRINCIPAL_ATTRIBUTE = JwtTokenVerifier.class.getName() + ".PRINCIPAL";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TtlCache<String, Verified> verified;
+
+    @Autowired
+    public JwtTokenVerifier(JwtTokenProvider jwtTokenProvider,
+                            @Value("${app.security.jwt.verified-cache-ttl-seconds:300}") long ttlSeconds,
+                            @Value("${app.security.jwt.verified-cache-max-entries:10000}") int maxEntries) {
+        this(jwtTokenProvider, Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    public JwtTokenVerifier(JwtTokenProvider jwtTokenProvider, Duration ttl, int maxEntries) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.verified = new TtlCache<>(ttl, maxEntries);
+    }
+
+    /**
+     * Principal of the request's access token, or null when the token is invalid, expired or not an access token
+     */
+    public AuthenticatedUser verify(HttpServletRequest request, String token) {
+        Object attribute = request.getAttribute(PRINCIPAL_ATTRIBUTE);
+        if (attribute instanceof AuthenticatedUser principal) {
+            return principal;
+        }
+
+        AuthenticatedUser principal = verify(token);
+        if (principal != null) {
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * Principal of an access token, or null when the token is invalid, expired or not an access token
+     */
+    public AuthenticatedUser verify(String token) {
+        String signature = signatureOf(token);
+        if (signature == null) {
+            return null;
+        }
+
+        Verified cached = verified.getIfPresent(signature);
+        // The signature only selects the entry; the whole token must match what was verified
+        if (cached != null && cached.token.equals(token)) {
+            if (cached.expiresAtMillis > System.currentTimeMillis()) {
+                return cached.principal;
+            }
+            verified.invalidate(signature);
+            return null;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtTokenProvider.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+
+        AuthenticatedUser principal = jwtTokenProvider.toAuthenticatedUser(claims);
+        if (principal != null && claims.getExpiration() != null) {
+            verified.put(signature, new Verified(token, principal, claims.getExpiration().getTime()));
+        }
+        return principal;
+    }
+
+    /**
+     * Signature segment of a compact JWS, or null when the token does not have three segments
+     */
+    private static String signatureOf(String token) {
+        int last = token.lastIndexOf('.');
+        if (last <= 0 || last == token.length() - 1 || token.indexOf('.') == last) {
+            return null;
+        }
+        return token.substring(last + 1);
+    }
+
+    private static final class Verified {
+        private final String token;
+        private final AuthenticatedUser principal;
+        private final long expiresAtMillis;
+
+        private Verified(String token, AuthenticatedUser principal, long expiresAtMillis) {
+            this.token = token;
+            this.principal = principal;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
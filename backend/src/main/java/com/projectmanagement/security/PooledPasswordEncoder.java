@@ -0,0 +1,171 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt password encoder that hashes on a dedicated bounded pool.
+ * At most one hash per pool thread runs at a time, so a login burst cannot take every CPU
+ * from the rest of the application; when the queue is full, or a hash does not start in time,
+ * the request fails fast with {@link ServiceUnavailableException} instead of piling up.
+ * The work factor is calibrated at startup to the slowest strength, between the configured
+ * minimum and maximum, that still hashes within the target duration.
+ */
+@Component
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledPasswordEncoder.class);
+
+    // Timed hashes whose median sets the cost of the minimum strength
+    private static final int CALIBRATION_SAMPLES = 5;
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Duration waitTimeout;
+    private final ThreadPoolTaskExecutor ownedPool;
+
+    @Autowired
+    public PooledPasswordEncoder(@Value("${app.security.bcrypt.strength:10}") int minStrength,
+                                 @Value("${app.security.bcrypt.max-strength:16}") int maxStrength,
+                                 @Value("${app.security.bcrypt.target-hash-ms:0}") long targetHashMs,
+                                 @Value("${app.security.bcrypt.executor.threads:0}") int threads,
+                                 @Value("${app.security.bcrypt.executor.queue-capacity:100}") int queueCapacity,
+                                 @Value("${app.security.bcrypt.executor.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        pool.setCorePoolSize(poolSize);
+        pool.setMaxPoolSize(poolSize);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("password-hash-");
+        pool.setDaemon(true);
+        pool.initialize();
+
+        this.delegate = new BCryptPasswordEncoder(calibrateStrength(minStrength, maxStrength,
+                Duration.ofMillis(targetHashMs)));
+        this.executor = pool.getThreadPoolExecutor();
+        this.ownedPool = pool;
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+    }
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, Duration waitTimeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.waitTimeout = waitTimeout;
+        this.ownedPool = null;
+    }
+
+    /**
+     * Highest strength from minStrength up to maxStrength whose hash is expected to take no longer
+     * than the target; each step doubles the cost. The cost of minStrength is the median of several
+     * timed hashes, after a warm-up hash at the same strength. A zero target keeps the minimum.
+     */
+    static int calibrateStrength(int minStrength, int maxStrength, Duration target) {
+        if (target.isZero() || minStrength >= maxStrength) {
+            return minStrength;
+        }
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        // Warm up so the measured hashes are not dominated by class loading and JIT compilation
+        encoder.encode("calibration");
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        long nanos = median(samples);
+
+        int strength = minStrength;
+        while (strength < maxStrength && nanos * 2 <= target.toNanos()) {
+            strength++;
+            nanos *= 2;
+        }
+        logger.info("BCrypt strength calibrated to {} (about {} ms per hash, target {} ms; "
+                        + "strength {} samples {} ms)", strength, TimeUnit.NANOSECONDS.toMillis(nanos),
+                target.toMillis(), minStrength, Arrays.stream(samples).map(TimeUnit.NANOSECONDS::toMillis)
+                        .boxed().toList());
+        return strength;
+    }
+
+    /**
+     * Middle value of the samples, so a single hash slowed or sped up by other load does not set the strength
+     */
+    static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hashes made with a lower strength than the current one are re-hashed after a successful login
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing queue is full; rejecting request");
+            throw new ServiceUnavailableException("Too many authentication requests, please try again later", e);
+        }
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A queued hash that has not started yet is dropped instead of run for nobody
+            future.cancel(true);
+            logger.warn("Password hashing did not complete within {} ms", waitTimeout.toMillis());
+            throw new ServiceUnavailableException("Too many authentication requests, please try again later", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.entity.ProjectMemberRole;
+import com.projectmanagement.repository.ProjectMemberRepository;
+import com.projectmanagement.util.TransactionHooks;
+import com.projectmanagement.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user cache of project memberships: for each user, a map of project ID to the user's role in it.
+ * A user's map is loaded with one query on first use and evicted when their memberships change,
+ * so per-project permission checks need no queries on hot endpoints. Changes made on another
+ * instance are seen once the entry expires.
+ */
+@Component
+public class ProjectMembershipCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectMembershipCache.class);
+
+    private final ProjectMemberRepository projectMemberRepository;
+    private final TtlCache<Long, Map<Long, ProjectMemberRole>> memberships;
+
+    @Autowired
+    public ProjectMembershipCache(ProjectMemberRepository projectMemberRepository,
+                                  @Value("${app.security.membership-cache.ttl-seconds:300}") long ttlSeconds,
+                                  @Value("${app.security.membership-cache.max-entries:10000}") int maxEntries) {
+        this(projectMemberRepository, Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    public ProjectMembershipCache(ProjectMemberRepository projectMemberRepository, Duration ttl, int maxEntries) {
+        this.projectMemberRepository = projectMemberRepository;
+        this.memberships = new TtlCache<>(ttl, maxEntries);
+    }
+
+    /**
+     * Roles of a user by project ID
+     */
+    public Map<Long, ProjectMemberRole> getProjectRoles(Long userId) {
+        return memberships.get(userId, this::load);
+    }
+
+    /**
+     * Role of a user in a project, or null when the user is not a member
+     */
+    public ProjectMemberRole getRole(Long userId, Long projectId) {
+        return getProjectRoles(userId).get(projectId);
+    }
+
+    public boolean isMember(Long userId, Long projectId) {
+        return getRole(userId, projectId) != null;
+    }
+
+    /**
+     * Check if a user is a PROJECT_MANAGER or TEAM_LEAD of a project
+     */
+    public boolean canEditProject(Long userId, Long projectId) {
+        ProjectMemberRole role = getRole(userId, projectId);
+        return role == ProjectMemberRole.PROJECT_MANAGER || role == ProjectMemberRole.TEAM_LEAD;
+    }
+
+    /**
+     * Evict the memberships of users once the current transaction commits.
+     * Evicting earlier could re-cache memberships read before the change is visible.
+     */
+    public void evictAfterCommit(Collection<Long> userIds) {
+        TransactionHooks.afterCommit(() -> evict(userIds));
+    }
+
+    public void evict(Collection<Long> userIds) {
+        logger.debug("Evicting cached project memberships for users: {}", userIds);
+        userIds.forEach(memberships::invalidate);
+    }
+
+    private Map<Long, ProjectMemberRole> load(Long userId) {
+        List<Object[]> rows = projectMemberRepository.findProjectRolesByUserId(userId);
+        Map<Long, ProjectMemberRole> roles = new HashMap<>();
+        for (Object[] row : rows) {
+            roles.put((Long) row[0], (ProjectMemberRole) row[1]);
+        }
+        return Map.copyOf(roles);
+    }
+}
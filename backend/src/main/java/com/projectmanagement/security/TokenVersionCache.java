@@ -0,0 +1,64 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.util.TransactionHooks;
+import com.projectmanagement.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Revocation check for access tokens.
+ * Every token carries the user's token version at issue time; bumping the version on the
+ * user (password change, role change, deactivation) rejects all tokens issued before.
+ * Current versions are cached briefly, so a revocation made on another instance takes
+ * effect within the cache TTL while most requests need no database round trip.
+ */
+@Component
+public class TokenVersionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionCache.class);
+
+    // Cached for users that no longer exist or are deactivated, so none of their tokens match
+    static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final TtlCache<Long, Integer> versions;
+
+    @Autowired
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${app.security.token-version.cache-ttl-seconds:30}") long ttlSeconds,
+                             @Value("${app.security.token-version.cache-max-entries:10000}") int maxEntries) {
+        this(userRepository, Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    public TokenVersionCache(UserRepository userRepository, Duration ttl, int maxEntries) {
+        this.userRepository = userRepository;
+        this.versions = new TtlCache<>(ttl, maxEntries);
+    }
+
+    /**
+     * Check that a token's version is still the user's current one
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        int current = versions.get(userId, id -> userRepository.findActiveTokenVersionById(id).orElse(REVOKED));
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    /**
+     * Forget a user's cached version once the current transaction commits.
+     * Evicting earlier could re-cache the old version before the new one is visible.
+     */
+    public void evictAfterCommit(Long userId) {
+        TransactionHooks.afterCommit(() -> evict(userId));
+    }
+
+    public void evict(Long userId) {
+        logger.debug("Evicting cached token version for user ID: {}", userId);
+        versions.invalidate(userId);
+    }
+}
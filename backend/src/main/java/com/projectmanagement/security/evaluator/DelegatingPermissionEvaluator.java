@@ -0,0 +1,42 @@
+package com.projectmanagement.security.evaluator;
+
+import com.projectmanagement.entity.Task;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+
+/**
+ * Routes hasPermission checks to the evaluator of the target's domain type.
+ * Tasks, and IDs with target type "Task", go to the task evaluator; everything else,
+ * including bare IDs, goes to the project evaluator.
+ */
+public class DelegatingPermissionEvaluator implements PermissionEvaluator {
+
+    static final String TASK_TYPE = "Task";
+
+    private final ProjectPermissionEvaluator projectPermissionEvaluator;
+    private final TaskPermissionEvaluator taskPermissionEvaluator;
+
+    public DelegatingPermissionEvaluator(ProjectPermissionEvaluator projectPermissionEvaluator,
+                                         TaskPermissionEvaluator taskPermissionEvaluator) {
+        this.projectPermissionEvaluator = projectPermissionEvaluator;
+        this.taskPermissionEvaluator = taskPermissionEvaluator;
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (targetDomainObject instanceof Task) {
+            return taskPermissionEvaluator.hasPermission(authentication, targetDomainObject, permission);
+        }
+        return projectPermissionEvaluator.hasPermission(authentication, targetDomainObject, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        if (TASK_TYPE.equals(targetType)) {
+            return taskPermissionEvaluator.hasPermission(authentication, targetId, targetType, permission);
+        }
+        return projectPermissionEvaluator.hasPermission(authentication, targetId, targetType, permission);
+    }
+}
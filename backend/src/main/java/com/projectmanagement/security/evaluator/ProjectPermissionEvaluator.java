@@ -1,6 +1,9 @@
 package com.projectmanagement.security.evaluator;
 
+import com.projectmanagement.entity.Project;
 import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.security.AuthenticatedUser;
+import com.projectmanagement.security.ProjectMembershipCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.access.PermissionEvaluator;
@@ -20,14 +23,24 @@ public class ProjectPermissionEvaluator implements PermissionEvaluator {
     
     private static final Logger logger = LoggerFactory.getLogger(ProjectPermissionEvaluator.class);
     
+    private final ProjectMembershipCache membershipCache;
+    
+    public ProjectPermissionEvaluator(ProjectMembershipCache membershipCache) {
+        this.membershipCache = membershipCache;
+    }
+    
     @Override
     public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
         
-        // For now, we'll implement basic role-based logic
-        // In a real implementation, this would check project membership from database
+        // Checks against a specific project use the user's membership in it
+        Long projectId = projectIdOf(targetDomainObject);
+        if (projectId != null) {
+            return hasProjectPermission(authentication, projectId, permission.toString());
+        }
+        
         String permissionStr = permission.toString();
         
         if ("EDIT".equals(permissionStr)) {
@@ -45,14 +58,26 @@ public class ProjectPermissionEvaluator implements PermissionEvaluator {
             return false;
         }
         
-        // For now, we'll implement basic role-based logic
-        // In a real implementation, this would check project membership from database
-        String permissionStr = permission.toString();
+        Long projectId = projectIdOf(targetId);
+        return projectId != null && hasProjectPermission(authentication, projectId, permission.toString());
+    }
+    
+    /**
+     * Admins have every permission; otherwise project managers and team leads of the project
+     * can edit it and any member can view it
+     */
+    private boolean hasProjectPermission(Authentication authentication, Long projectId, String permission) {
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        if (!(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            return false;
+        }
         
-        if ("EDIT".equals(permissionStr)) {
-            return hasEditPermission(authentication);
-        } else if ("VIEW".equals(permissionStr)) {
-            return hasViewPermission(authentication);
+        if ("EDIT".equals(permission)) {
+            return membershipCache.canEditProject(user.getId(), projectId);
+        } else if ("VIEW".equals(permission)) {
+            return membershipCache.isMember(user.getId(), projectId);
         }
         
         return false;
@@ -77,24 +102,30 @@ public class ProjectPermissionEvaluator implements PermissionEvaluator {
                                      "ROLE_ADMIN".equals(authority.getAuthority()));
     }
     
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+    
+    private static Long projectIdOf(Object target) {
+        if (target instanceof Project project) {
+            return project.getId();
+        }
+        if (target instanceof Number id) {
+            return id.longValue();
+        }
+        return null;
+    }
+    
     /**
      * Check if user can edit a specific project
-     * This method will be enhanced in BE-008 when we have project entities
      */
     public boolean canEditProject(Authentication authentication, Long projectId) {
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new UnauthorizedException("User not authenticated");
         }
         
-        // For now, implement basic role-based logic
-        // In BE-008, this will check project membership from database
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        
-        boolean hasPermission = authorities.stream()
-                .anyMatch(authority -> "ROLE_PROJECT_MANAGER".equals(authority.getAuthority()) ||
-                                     "ROLE_ADMIN".equals(authority.getAuthority()));
-        
-        if (!hasPermission) {
+        if (!hasProjectPermission(authentication, projectId, "EDIT")) {
             logger.warn("User {} attempted to edit project {} without permission", 
                        authentication.getName(), projectId);
             throw new UnauthorizedException("Insufficient permissions to edit project");
@@ -102,4 +133,4 @@ public class ProjectPermissionEvaluator implements PermissionEvaluator {
         
         return true;
     }
-} 
\ No newline at end of file
+}
@@ -1,35 +1,69 @@
 package com.projectmanagement.security.evaluator;
 
+import com.projectmanagement.entity.Task;
 import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.security.AuthenticatedUser;
+import com.projectmanagement.security.ProjectMembershipCache;
+import com.projectmanagement.util.TransactionHooks;
+import com.projectmanagement.util.TtlCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Collection;
 
 /**
  * Permission evaluator for task-level access control
- * Handles task edit permissions based on user roles and task assignment
+ * Handles task edit permissions based on user roles and membership of the task's project
  */
 @Component
 public class TaskPermissionEvaluator implements PermissionEvaluator {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskPermissionEvaluator.class);
     
+    private final ProjectMembershipCache membershipCache;
+    private final TaskRepository taskRepository;
+    // A task never moves to another project, so entries only change when the task is deleted
+    private final TtlCache<Long, Long> taskProjects;
+    
+    @Autowired
+    public TaskPermissionEvaluator(ProjectMembershipCache membershipCache, TaskRepository taskRepository,
+                                   @Value("${app.security.task-project-cache.ttl-seconds:1800}") long ttlSeconds,
+                                   @Value("${app.security.task-project-cache.max-entries:10000}") int maxEntries) {
+        this(membershipCache, taskRepository, Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+    
+    public TaskPermissionEvaluator(ProjectMembershipCache membershipCache, TaskRepository taskRepository,
+                                   Duration ttl, int maxEntries) {
+        this.membershipCache = membershipCache;
+        this.taskRepository = taskRepository;
+        this.taskProjects = new TtlCache<>(ttl, maxEntries);
+    }
+    
     @Override
     public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
         
-        // For now, we'll implement basic role-based logic
-        // In a real implementation, this would check task assignment from database
         String permissionStr = permission.toString();
         
+        // Checks against a specific task use the user's membership in the task's project
+        if (targetDomainObject instanceof Task task && task.getProject() != null) {
+            return isTaskPermission(permissionStr) && hasProjectPermission(authentication, task.getProject().getId());
+        }
+        if (targetDomainObject instanceof Number taskId) {
+            return isTaskPermission(permissionStr) && hasTaskPermission(authentication, taskId.longValue());
+        }
+        
         if ("EDIT".equals(permissionStr)) {
             return hasEditPermission(authentication);
         } else if ("VIEW".equals(permissionStr)) {
@@ -45,17 +79,32 @@ public class TaskPermissionEvaluator implements PermissionEvaluator {
             return false;
         }
         
-        // For now, we'll implement basic role-based logic
-        // In a real implementation, this would check task assignment from database
-        String permissionStr = permission.toString();
-        
-        if ("EDIT".equals(permissionStr)) {
-            return hasEditPermission(authentication);
-        } else if ("VIEW".equals(permissionStr)) {
-            return hasViewPermission(authentication);
+        return targetId instanceof Number taskId && isTaskPermission(permission.toString())
+                && hasTaskPermission(authentication, taskId.longValue());
+    }
+    
+    private boolean hasTaskPermission(Authentication authentication, Long taskId) {
+        if (isAdmin(authentication)) {
+            return true;
         }
-        
-        return false;
+        Long projectId = taskProjects.get(taskId, id -> taskRepository.findProjectIdById(id).orElse(null));
+        if (projectId == null) {
+            // Not cached, so a task created later with this ID is not denied
+            taskProjects.invalidate(taskId);
+            return false;
+        }
+        return hasProjectPermission(authentication, projectId);
+    }
+    
+    /**
+     * Admins and every member of the task's project can view and edit its tasks
+     */
+    private boolean hasProjectPermission(Authentication authentication, Long projectId) {
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        return authentication.getPrincipal() instanceof AuthenticatedUser user
+                && membershipCache.isMember(user.getId(), projectId);
     }
     
     private boolean hasEditPermission(Authentication authentication) {
@@ -78,25 +127,31 @@ public class TaskPermissionEvaluator implements PermissionEvaluator {
                                      "ROLE_ADMIN".equals(authority.getAuthority()));
     }
     
+    private static boolean isTaskPermission(String permission) {
+        return "EDIT".equals(permission) || "VIEW".equals(permission);
+    }
+    
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+    
+    /**
+     * Forget a deleted task's project once the deletion commits
+     */
+    public void evictAfterCommit(Long taskId) {
+        TransactionHooks.afterCommit(() -> taskProjects.invalidate(taskId));
+    }
+    
     /**
      * Check if user can edit a specific task
-     * This method will be enhanced in BE-010 when we have task entities
      */
     public boolean canEditTask(Authentication authentication, Long taskId) {
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new UnauthorizedException("User not authenticated");
         }
         
-        // For now, implement basic role-based logic
-        // In BE-010, this will check task assignment from database
-        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
-        
-        boolean hasPermission = authorities.stream()
-                .anyMatch(authority -> "ROLE_PROJECT_MANAGER".equals(authority.getAuthority()) ||
-                                     "ROLE_TEAM_MEMBER".equals(authority.getAuthority()) ||
-                                     "ROLE_ADMIN".equals(authority.getAuthority()));
-        
-        if (!hasPermission) {
+        if (!hasTaskPermission(authentication, taskId)) {
             logger.warn("User {} attempted to edit task {} without permission", 
                        authentication.getName(), taskId);
             throw new UnauthorizedException("Insufficient permissions to edit task");
@@ -104,4 +159,4 @@ public class TaskPermissionEvaluator implements PermissionEvaluator {
         
         return true;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.projectmanagement.security.refresh;
+
+import com.projectmanagement.entity.RefreshToken;
+import com.projectmanagement.repository.RefreshTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token store in the refresh_tokens table, shared by every instance of the application.
+ * Rotation is a conditional update on the token's primary key, so concurrent refreshes
+ * on different instances cannot both consume the same token.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.refresh-tokens.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public DatabaseRefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    @Transactional
+    public void save(RefreshTokenRecord token) {
+        refreshTokenRepository.save(new RefreshToken(token.getTokenHash(), token.getFamilyId(), token.getUserId(),
+                token.getExpiresAt()));
+    }
+
+    /**
+     * Runs in its own transaction: a family revoked on reuse must stay revoked when the caller
+     * then rejects the request and rolls back
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public RotationResult rotate(String tokenHash, RefreshTokenRecord successor, LocalDateTime now) {
+        if (refreshTokenRepository.markUsed(tokenHash, now) == 1) {
+            save(successor);
+            return RotationResult.ROTATED;
+        }
+
+        RefreshToken current = refreshTokenRepository.findById(tokenHash).orElse(null);
+        if (current == null) {
+            return RotationResult.UNKNOWN;
+        }
+        if (current.getRevokedAt() != null) {
+            return RotationResult.REVOKED;
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            return RotationResult.EXPIRED;
+        }
+        refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+        return RotationResult.REUSED;
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.revokeByUserId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(LocalDateTime now) {
+        return refreshTokenRepository.deleteExpired(now);
+    }
+}
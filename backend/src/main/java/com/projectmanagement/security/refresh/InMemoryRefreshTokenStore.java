@@ -0,0 +1,124 @@
+package com.projectmanagement.security.refresh;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Refresh token store held in memory, for single-instance deployments.
+ * Tokens are lost on restart, which logs every session out.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.refresh-tokens.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Comparator<Entry> BY_EXPIRY = Comparator.comparing((Entry entry) -> entry.record.getExpiresAt())
+            .thenComparing(entry -> entry.record.getTokenHash());
+
+    private final ConcurrentHashMap<String, Entry> tokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Family> families = new ConcurrentHashMap<>();
+    // Ordered by expiry so cleanup only visits expired tokens
+    private final ConcurrentSkipListSet<Entry> byExpiry = new ConcurrentSkipListSet<>(BY_EXPIRY);
+
+    @Override
+    public void save(RefreshTokenRecord token) {
+        Family family = families.computeIfAbsent(token.getFamilyId(), id -> new Family(token.getUserId()));
+        family.extendTo(token.getExpiresAt());
+        Entry entry = new Entry(token, false);
+        tokens.put(token.getTokenHash(), entry);
+        byExpiry.add(entry);
+    }
+
+    @Override
+    public RotationResult rotate(String tokenHash, RefreshTokenRecord successor, LocalDateTime now) {
+        Entry current = tokens.get(tokenHash);
+        if (current == null) {
+            return RotationResult.UNKNOWN;
+        }
+        Family family = families.get(current.record.getFamilyId());
+        if (family == null || family.revoked) {
+            return RotationResult.REVOKED;
+        }
+        if (!current.record.getExpiresAt().isAfter(now)) {
+            return RotationResult.EXPIRED;
+        }
+        // Losing the race to mark the token used is reuse as well
+        if (current.used || !tokens.replace(tokenHash, current, new Entry(current.record, true))) {
+            family.revoked = true;
+            return RotationResult.REUSED;
+        }
+        save(successor);
+        return RotationResult.ROTATED;
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        Family family = families.get(familyId);
+        if (family != null) {
+            family.revoked = true;
+        }
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId) {
+        // Rare (password changes), so a scan of the families is acceptable
+        families.values().forEach(family -> {
+            if (family.userId.equals(userId)) {
+                family.revoked = true;
+            }
+        });
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int removed = 0;
+        Iterator<Entry> expired = byExpiry.iterator();
+        while (expired.hasNext()) {
+            Entry entry = expired.next();
+            if (entry.record.getExpiresAt().isAfter(now)) {
+                break;
+            }
+            expired.remove();
+            // The token may have been marked used since; remove whichever entry is current
+            tokens.remove(entry.record.getTokenHash());
+            removed++;
+        }
+        families.values().removeIf(family -> !family.expiresAt.isAfter(now));
+        return removed;
+    }
+
+    /**
+     * Stored token; replaced by a used copy on rotation so the mark is a compare-and-set
+     */
+    private static final class Entry {
+        private final RefreshTokenRecord record;
+        private final boolean used;
+
+        private Entry(RefreshTokenRecord record, boolean used) {
+            this.record = record;
+            this.used = used;
+        }
+    }
+
+    private static final class Family {
+        private final Long userId;
+        private volatile boolean revoked;
+        // Expiry of the family's newest token; the family is kept until then to recognise revoked tokens
+        private volatile LocalDateTime expiresAt = LocalDateTime.MIN;
+
+        private Family(Long userId) {
+            this.userId = userId;
+        }
+
+        private synchronized void extendTo(LocalDateTime tokenExpiresAt) {
+            if (tokenExpiresAt.isAfter(expiresAt)) {
+                expiresAt = tokenExpiresAt;
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.projectmanagement.security.refresh;
+
+import java.time.LocalDateTime;
+
+/**
+ * An issued refresh token as kept by a {@link RefreshTokenStore}.
+ * Only the SHA-256 of the token's ID is stored, never the token itself.
+ */
+public final class RefreshTokenRecord {
+
+    private final String tokenHash;
+    private final String familyId;
+    private final Long userId;
+    private final LocalDateTime expiresAt;
+
+    public RefreshTokenRecord(String tokenHash, String familyId, Long userId, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.projectmanagement.security.refresh;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Store of issued refresh tokens.
+ * Each refresh rotates the presented token: it is marked used and replaced by a successor in the
+ * same family (the chain of tokens descending from one login). Presenting a used token again means
+ * it was copied, so the whole family is revoked and the session has to log in again.
+ * Implementations look tokens up by the hash of their ID in constant time.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Store a token issued at login, starting a new family
+     */
+    void save(RefreshTokenRecord token);
+
+    /**
+     * Atomically mark an active token as used and store its successor.
+     * Of concurrent rotations of the same token at most one succeeds; the others count as reuse.
+     */
+    RotationResult rotate(String tokenHash, RefreshTokenRecord successor, LocalDateTime now);
+
+    /**
+     * Revoke every token of a family
+     */
+    void revokeFamily(String familyId);
+
+    /**
+     * Revoke every token issued to a user, ending all of their sessions
+     */
+    void revokeAllForUser(Long userId);
+
+    /**
+     * Remove tokens past their expiry
+     *
+     * @return Number of tokens removed
+     */
+    int deleteExpired(LocalDateTime now);
+
+    /**
+     * Hex encoded SHA-256 of a token ID, the key tokens are stored under
+     */
+    static String hashTokenId(String tokenId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.projectmanagement.security.refresh;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes expired refresh tokens from the configured store
+ */
+@Component
+public class RefreshTokenSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenSweeper.class);
+
+    private final RefreshTokenStore refreshTokenStore;
+
+    public RefreshTokenSweeper(RefreshTokenStore refreshTokenStore) {
+        this.refreshTokenStore = refreshTokenStore;
+    }
+
+    /**
+     * Remove expired refresh tokens
+     *
+     * @return Number of tokens removed
+     */
+    public int sweep() {
+        int removed = refreshTokenStore.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            logger.info("Removed {} expired refresh tokens", removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Scheduled sweep; a failure is logged and the next run retries
+     */
+    @Scheduled(initialDelayString = "${app.security.refresh-tokens.sweep-interval-minutes:60}",
+               fixedRateString = "${app.security.refresh-tokens.sweep-interval-minutes:60}",
+               timeUnit = TimeUnit.MINUTES)
+    public void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            logger.error("Failed to remove expired refresh tokens", e);
+        }
+    }
+}
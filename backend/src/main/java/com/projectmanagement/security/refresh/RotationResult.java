@@ -0,0 +1,17 @@
+package com.projectmanagement.security.refresh;
+
+/**
+ * Outcome of presenting a refresh token for rotation
+ */
+public enum RotationResult {
+    /** The token was active; it is now used and its successor is stored */
+    ROTATED,
+    /** The token was never issued by this store, or has been cleaned up */
+    UNKNOWN,
+    /** The token is past its expiry */
+    EXPIRED,
+    /** The token's family was revoked, e.g. by logout */
+    REVOKED,
+    /** The token was already used: it has leaked, so its whole family is now revoked */
+    REUSED
+}
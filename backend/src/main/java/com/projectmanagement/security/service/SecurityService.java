@@ -3,6 +3,7 @@ package com.projectmanagement.security.service;
 import com.projectmanagement.entity.User;
 import com.projectmanagement.exception.UnauthorizedException;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.AuthenticatedUser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
@@ -134,11 +135,14 @@ public class SecurityService {
     }
 
     /**
-     * Get current user's ID from database
+     * Get current user's ID, read from the token's principal when available instead of the database
      */
     public Long getCurrentUserId() {
-        String username = getCurrentUsername();
-        User user = userRepository.findByEmail(username)
+        Authentication authentication = getCurrentAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        User user = userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
         return user.getId();
     }
@@ -147,8 +151,13 @@ public class SecurityService {
      * Get current user entity
      */
     public User getCurrentUser() {
-        String username = getCurrentUsername();
-        return userRepository.findByEmail(username)
+        Authentication authentication = getCurrentAuthentication();
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            // Primary key lookups are served from the persistence context when the user is already loaded
+            return userRepository.findById(user.getId())
+                    .orElseThrow(() -> new UnauthorizedException("User not found"));
+        }
+        return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new UnauthorizedException("User not found"));
     }
     
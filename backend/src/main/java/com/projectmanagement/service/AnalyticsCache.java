@@ -0,0 +1,134 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.util.TransactionHooks;
+import com.projectmanagement.util.TtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Shared cache for computed analytics responses.
+ * Entries are keyed by section, project and user so writes can evict only what they affect.
+ */
+@Component
+public class AnalyticsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsCache.class);
+
+    private final TtlCache<Key, Object> cache;
+
+    @Autowired
+    public AnalyticsCache(@Value("${app.analytics.cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.analytics.cache.max-entries:500}") int maxEntries) {
+        this(Duration.ofSeconds(ttlSeconds), maxEntries);
+    }
+
+    public AnalyticsCache(Duration ttl, int maxEntries) {
+        this.cache = new TtlCache<>(ttl, maxEntries);
+    }
+
+    /**
+     * Get a cached response, computing it once if missing
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    /**
+     * Evict entries affected by a write to a project and/or users once the current transaction commits.
+     * Entries computed before the commit could otherwise be re-cached with stale data.
+     */
+    public void evictAfterCommit(Long projectId, Collection<Long> userIds) {
+        TransactionHooks.afterCommit(() -> evict(projectId, userIds));
+    }
+
+    /**
+     * Evict entries affected by a write to a project and/or users
+     */
+    public void evict(Long projectId, Collection<Long> userIds) {
+        logger.debug("Evicting analytics cache entries for project ID: {} and users: {}", projectId, userIds);
+        cache.invalidateIf(key -> key.isAffectedBy(projectId, userIds));
+    }
+
+    /**
+     * Evict every entry once the current transaction commits
+     */
+    public void evictAllAfterCommit() {
+        TransactionHooks.afterCommit(this::evictAll);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Cache key: the analytics section, its project/user scope (null = all) and remaining parameters
+     */
+    public static final class Key {
+        private final String section;
+        private final Long projectId;
+        private final Long userId;
+        private final List<Object> params;
+
+        private Key(String section, Long projectId, Long userId, Object... params) {
+            this.section = section;
+            this.projectId = projectId;
+            this.userId = userId;
+            this.params = Arrays.asList(params);
+        }
+
+        /**
+         * Key for data aggregated over a project, or over all projects when projectId is null
+         */
+        public static Key forProject(String section, Long projectId, Object... params) {
+            return new Key(section, projectId, null, params);
+        }
+
+        /**
+         * Key for data about one user, optionally restricted to a project.
+         * Any write by the user evicts it, since a project-scoped response may still include
+         * figures from the user's other projects.
+         */
+        public static Key forUser(String section, Long userId, Long projectId, Object... params) {
+            return new Key(section, projectId, userId, params);
+        }
+
+        boolean isAffectedBy(Long changedProjectId, Collection<Long> changedUserIds) {
+            if (userId != null) {
+                return changedUserIds != null && changedUserIds.contains(userId);
+            }
+            return projectId == null || projectId.equals(changedProjectId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return section.equals(key.section) &&
+                    Objects.equals(projectId, key.projectId) &&
+                    Objects.equals(userId, key.userId) &&
+                    params.equals(key.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(section, projectId, userId, params);
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" + section + ", projectId=" + projectId + ", userId=" + userId + ", params=" + params + '}';
+        }
+    }
+}
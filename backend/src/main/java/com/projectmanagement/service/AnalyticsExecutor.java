@@ -0,0 +1,111 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent analytics sections concurrently on a dedicated bounded pool.
+ * The caller's security context is propagated to the worker threads, and each
+ * section times out on its own, measured from when it was submitted.
+ */
+@Component
+public class AnalyticsExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsExecutor.class);
+
+    private final Executor executor;
+    private final Duration sectionTimeout;
+    private final ThreadPoolTaskExecutor ownedPool;
+
+    @Autowired
+    public AnalyticsExecutor(@Value("${app.analytics.executor.threads:4}") int threads,
+                             @Value("${app.analytics.executor.queue-capacity:100}") int queueCapacity,
+                             @Value("${app.analytics.executor.section-timeout-ms:10000}") long sectionTimeoutMs) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("analytics-");
+        pool.setDaemon(true);
+        // When saturated, run the section on the request thread instead of failing
+        pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.initialize();
+
+        this.executor = pool;
+        this.ownedPool = pool;
+        this.sectionTimeout = Duration.ofMillis(sectionTimeoutMs);
+    }
+
+    public AnalyticsExecutor(Executor executor, Duration sectionTimeout) {
+        this.executor = executor;
+        this.sectionTimeout = sectionTimeout;
+        this.ownedPool = null;
+    }
+
+    /**
+     * Start a section on the pool with the caller's security context
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> section) {
+        SecurityContext callerContext = SecurityContextHolder.getContext();
+        return CompletableFuture.supplyAsync(() -> {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(callerContext);
+            try {
+                return section.get();
+            } finally {
+                SecurityContextHolder.setContext(previous);
+            }
+        }, executor).orTimeout(sectionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wait for a section started with {@link #submit}, rethrowing its exception as-is
+     *
+     * @throws ServiceUnavailableException if the section did not finish within the section timeout
+     */
+    public <T> T await(CompletableFuture<T> future, String sectionName) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while computing analytics section: " + sectionName, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                logger.warn("Analytics section '{}' timed out after {} ms", sectionName, sectionTimeout.toMillis());
+                throw new ServiceUnavailableException("Analytics section timed out: " + sectionName, cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Analytics section failed: " + sectionName, cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+}
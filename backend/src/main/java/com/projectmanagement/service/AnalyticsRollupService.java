@@ -0,0 +1,199 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.entity.AnalyticsDailyRollup;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.TaskStatus;
+import com.projectmanagement.entity.TimeLog;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.repository.AnalyticsDailyRollupRepository;
+import com.projectmanagement.repository.TimeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the analytics_daily_rollups table and evicts the cached analytics
+ * a write affects. Callers invoke these methods inside their own write
+ * transaction so the rollups commit or roll back together with the source rows.
+ */
+@Service
+@Transactional
+public class AnalyticsRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    private final AnalyticsDailyRollupRepository rollupRepository;
+    private final TimeLogRepository timeLogRepository;
+    private final AnalyticsCache analyticsCache;
+
+    private final TransactionTemplate newTransaction;
+
+    public AnalyticsRollupService(AnalyticsDailyRollupRepository rollupRepository, TimeLogRepository timeLogRepository,
+                                  AnalyticsCache analyticsCache, PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.timeLogRepository = timeLogRepository;
+        this.analyticsCache = analyticsCache;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Add a newly created time log to the rollups
+     */
+    public void timeLogCreated(TimeLog timeLog) {
+        applyDelta(timeLog.getDate(), timeLog.getTask().getProject().getId(), timeLog.getUser().getId(),
+                timeLog.getHours(), 1, 0);
+        analyticsCache.evictAfterCommit(timeLog.getTask().getProject().getId(), List.of(timeLog.getUser().getId()));
+    }
+
+    /**
+     * Remove a deleted time log from the rollups
+     */
+    public void timeLogDeleted(TimeLog timeLog) {
+        applyDelta(timeLog.getDate(), timeLog.getTask().getProject().getId(), timeLog.getUser().getId(),
+                timeLog.getHours().negate(), -1, 0);
+        analyticsCache.evictAfterCommit(timeLog.getTask().getProject().getId(), List.of(timeLog.getUser().getId()));
+    }
+
+    /**
+     * Record a newly created task (counts as a completion when created as DONE)
+     */
+    public void taskCreated(Task task) {
+        if (task.getStatus() == TaskStatus.DONE) {
+            applyDelta(completedDate(task), task.getProject().getId(), assigneeId(task), BigDecimal.ZERO, 0, 1);
+        }
+        analyticsCache.evictAfterCommit(task.getProject().getId(), Arrays.asList(assigneeId(task)));
+    }
+
+    /**
+     * Re-file a task's completion after an update.
+     * A DONE task counts as completed on its completedAt day, so only a transition
+     * into or out of DONE, or a reassignment of a DONE task, changes the rollups.
+     *
+     * @param wasDone whether the task was DONE before the update
+     * @param previousAssigneeId assignee before the update
+     * @param previousCompletedDate completion day before the update (ignored unless wasDone)
+     */
+    public void taskUpdated(Task task, boolean wasDone, Long previousAssigneeId, LocalDate previousCompletedDate) {
+        Long projectId = task.getProject().getId();
+        boolean isDone = task.getStatus() == TaskStatus.DONE;
+        boolean unchanged = wasDone && isDone && Objects.equals(previousAssigneeId, assigneeId(task));
+        if (!unchanged) {
+            if (wasDone) {
+                applyDelta(previousCompletedDate, projectId, previousAssigneeId, BigDecimal.ZERO, 0, -1);
+            }
+            if (isDone) {
+                applyDelta(completedDate(task), projectId, assigneeId(task), BigDecimal.ZERO, 0, 1);
+            }
+        }
+        analyticsCache.evictAfterCommit(projectId, Arrays.asList(previousAssigneeId, assigneeId(task)));
+    }
+
+    /**
+     * Remove a task that is about to be deleted, including its cascaded time logs
+     */
+    public void taskDeleted(Task task) {
+        Long projectId = task.getProject().getId();
+        if (task.getStatus() == TaskStatus.DONE) {
+            applyDelta(completedDate(task), projectId, assigneeId(task), BigDecimal.ZERO, 0, -1);
+        }
+
+        List<Long> affectedUserIds = new ArrayList<>();
+        affectedUserIds.add(assigneeId(task));
+
+        List<Object[]> timeLogTotals = timeLogRepository.getHoursPerDayAndUserByTask(task.getId());
+        for (Object[] row : timeLogTotals) {
+            LocalDate date = (LocalDate) row[0];
+            Long userId = (Long) row[1];
+            BigDecimal hours = (BigDecimal) row[2];
+            int count = ((Number) row[3]).intValue();
+            applyDelta(date, projectId, userId, hours.negate(), -count, 0);
+            affectedUserIds.add(userId);
+        }
+        analyticsCache.evictAfterCommit(projectId, affectedUserIds);
+    }
+
+    /**
+     * Rebuild all rollups from the time_logs and tasks tables.
+     * Use after a bulk import or to repair drift. Rollup writes wait until the rebuild commits, so
+     * a write whose source row the backfill missed applies its delta on top of the rebuilt rows.
+     *
+     * @return number of rollup rows written
+     */
+    public int rebuild() {
+        logger.info("Rebuilding analytics daily rollups");
+
+        try {
+            rollupRepository.limitLockWaitForRebuild();
+            rollupRepository.lockForRebuild();
+        } catch (PessimisticLockingFailureException e) {
+            throw new ServiceUnavailableException("Analytics rollups are being updated, please try again later", e);
+        }
+        rollupRepository.deleteAllInBatch();
+        int rows = rollupRepository.backfillFromSourceTables();
+        analyticsCache.evictAllAfterCommit();
+
+        logger.info("Rebuilt analytics daily rollups: {} rows", rows);
+        return rows;
+    }
+
+    /**
+     * Day a task was completed, falling back to today for a DONE task without completedAt
+     */
+    public static LocalDate completedDate(Task task) {
+        return task.getCompletedAt() != null ? task.getCompletedAt().toLocalDate() : LocalDate.now();
+    }
+
+    private static Long assigneeId(Task task) {
+        return task.getAssignee() != null ? task.getAssignee().getId() : null;
+    }
+
+    /**
+     * Update the row for (date, project, user) in place, creating it first if it does not exist yet.
+     * Only that row is locked until the transaction ends.
+     */
+    private void applyDelta(LocalDate date, Long projectId, Long userId, BigDecimal hours, int timeLogs, int tasksCompleted) {
+        if (update(date, projectId, userId, hours, timeLogs, tasksCompleted) > 0) {
+            return;
+        }
+        insertEmptyRow(date, projectId, userId);
+        if (update(date, projectId, userId, hours, timeLogs, tasksCompleted) == 0) {
+            throw new IllegalStateException("Analytics rollup row for " + date + ", project ID " + projectId
+                    + " and user ID " + userId + " disappeared");
+        }
+    }
+
+    private int update(LocalDate date, Long projectId, Long userId, BigDecimal hours, int timeLogs, int tasksCompleted) {
+        return userId != null
+                ? rollupRepository.applyDelta(date, projectId, userId, hours, timeLogs, tasksCompleted)
+                : rollupRepository.applyDeltaWithoutUser(date, projectId, hours, timeLogs, tasksCompleted);
+    }
+
+    /**
+     * Create an all-zero row in its own transaction. Concurrent first writers meet on the unique key
+     * instead of failing their transactions, and then update the same row; a zero row left behind by
+     * a rolled back write adds nothing to the totals.
+     */
+    private void insertEmptyRow(LocalDate date, Long projectId, Long userId) {
+        try {
+            newTransaction.executeWithoutResult(status -> rollupRepository.saveAndFlush(
+                    new AnalyticsDailyRollup(date, projectId, userId, BigDecimal.ZERO, 0, 0)));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Analytics rollup row for {}, project ID {} and user ID {} was created concurrently",
+                    date, projectId, userId);
+        }
+    }
+}
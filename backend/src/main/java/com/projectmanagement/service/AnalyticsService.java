@@ -8,6 +8,7 @@ import com.projectmanagement.entity.TimeLog;
 import com.projectmanagement.entity.User;
 import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.repository.AnalyticsDailyRollupRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.TimeLogRepository;
@@ -24,7 +25,12 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -39,17 +45,24 @@ public class AnalyticsService {
     private final TaskRepository taskRepository;
     private final TimeLogRepository timeLogRepository;
     private final UserRepository userRepository;
+    private final AnalyticsDailyRollupRepository rollupRepository;
     private final SecurityService securityService;
+    private final AnalyticsCache analyticsCache;
+    private final AnalyticsExecutor analyticsExecutor;
 
     @Autowired
     public AnalyticsService(ProjectRepository projectRepository, TaskRepository taskRepository,
                            TimeLogRepository timeLogRepository, UserRepository userRepository,
-                           SecurityService securityService) {
+                           AnalyticsDailyRollupRepository rollupRepository, SecurityService securityService,
+                           AnalyticsCache analyticsCache, AnalyticsExecutor analyticsExecutor) {
         this.projectRepository = projectRepository;
         this.taskRepository = taskRepository;
         this.timeLogRepository = timeLogRepository;
         this.userRepository = userRepository;
+        this.rollupRepository = rollupRepository;
         this.securityService = securityService;
+        this.analyticsCache = analyticsCache;
+        this.analyticsExecutor = analyticsExecutor;
     }
 
     /**
@@ -73,6 +86,14 @@ public class AnalyticsService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = calculateStartDate(endDate, period);
 
+        return analyticsCache.get(AnalyticsCache.Key.forProject("projectAnalytics", projectId, startDate, endDate),
+                () -> computeProjectAnalytics(projectId, startDate, endDate));
+    }
+
+    /**
+     * Compute project analytics for a resolved date range
+     */
+    private ProjectAnalyticsResponse computeProjectAnalytics(Long projectId, LocalDate startDate, LocalDate endDate) {
         // Get project statistics
         int totalTasks = (int) taskRepository.countByProjectId(projectId);
         int completedTasks = (int) taskRepository.countByProjectIdAndStatus(projectId, TaskStatus.DONE);
@@ -124,14 +145,40 @@ public class AnalyticsService {
             endDate = LocalDate.now();
         }
 
+        LocalDate from = startDate;
+        LocalDate to = endDate;
+        return analyticsCache.get(AnalyticsCache.Key.forUser("userPerformance", userId, projectId, from, to),
+                () -> computeUserPerformance(user, from, to, projectId));
+    }
+
+    /**
+     * Compute user performance analytics for a resolved date range
+     */
+    private UserPerformanceAnalyticsResponse computeUserPerformance(User user, LocalDate startDate, LocalDate endDate, Long projectId) {
+        Long userId = user.getId();
+
+        // Independent read-only sections run concurrently
+        CompletableFuture<BigDecimal> hoursSection = analyticsExecutor.submit(
+                () -> getTotalHoursForUser(userId, startDate, endDate, projectId));
+        CompletableFuture<Long> assignedSection = analyticsExecutor.submit(
+                () -> getTotalTasksAssignedForUser(userId, startDate, endDate, projectId));
+        CompletableFuture<Long> completedSection = analyticsExecutor.submit(
+                () -> getCompletedTasksForUser(userId, startDate, endDate, projectId));
+        CompletableFuture<Long> overdueSection = analyticsExecutor.submit(
+                () -> getOverdueTasksForUser(userId, startDate, endDate, projectId));
+        CompletableFuture<List<DailyPerformanceResponse>> dailySection = analyticsExecutor.submit(
+                () -> getDailyPerformanceForUser(userId, startDate, endDate, projectId));
+        CompletableFuture<List<ProjectPerformanceResponse>> projectSection = analyticsExecutor.submit(
+                () -> getProjectPerformanceForUser(userId, startDate, endDate));
+
         // Get user statistics
-        BigDecimal totalHoursLogged = getTotalHoursForUser(userId, startDate, endDate, projectId);
+        BigDecimal totalHoursLogged = analyticsExecutor.await(hoursSection, "totalHours");
         BigDecimal averageHoursPerDay = calculateAverageHoursPerDay(totalHoursLogged, startDate, endDate);
 
         // Get task statistics
-        int totalTasksAssigned = (int) getTotalTasksAssignedForUser(userId, startDate, endDate, projectId);
-        int tasksCompleted = (int) getCompletedTasksForUser(userId, startDate, endDate, projectId);
-        int tasksOverdue = (int) getOverdueTasksForUser(userId, startDate, endDate, projectId);
+        int totalTasksAssigned = analyticsExecutor.await(assignedSection, "tasksAssigned").intValue();
+        int tasksCompleted = analyticsExecutor.await(completedSection, "tasksCompleted").intValue();
+        int tasksOverdue = analyticsExecutor.await(overdueSection, "tasksOverdue").intValue();
 
         // Calculate completion rate
         BigDecimal completionRate = totalTasksAssigned > 0 
@@ -139,10 +186,10 @@ public class AnalyticsService {
                 : BigDecimal.ZERO;
 
         // Get daily performance data
-        List<DailyPerformanceResponse> dailyPerformance = getDailyPerformanceForUser(userId, startDate, endDate, projectId);
+        List<DailyPerformanceResponse> dailyPerformance = analyticsExecutor.await(dailySection, "dailyPerformance");
 
         // Get project performance data
-        List<ProjectPerformanceResponse> projectPerformance = getProjectPerformanceForUser(userId, startDate, endDate);
+        List<ProjectPerformanceResponse> projectPerformance = analyticsExecutor.await(projectSection, "projectPerformance");
 
         return new UserPerformanceAnalyticsResponse(
                 userId,
@@ -332,16 +379,7 @@ public class AnalyticsService {
             }
         }
 
-        // Get time tracking data
-        AnalyticsDataResponse.TimeTrackingData timeTracking = getTimeTrackingData(startDate, endDate, projectId);
-        
-        // Get task completion data
-        AnalyticsDataResponse.TaskCompletionData taskCompletion = getTaskCompletionData(startDate, endDate, projectId);
-        
-        // Get performance data
-        AnalyticsDataResponse.PerformanceData performance = getPerformanceMetrics(startDate, endDate, projectId);
-
-        return new AnalyticsDataResponse(timeTracking, taskCompletion, performance);
+        return getCachedAnalyticsData(startDate, endDate, projectId);
     }
 
     /**
@@ -369,16 +407,28 @@ public class AnalyticsService {
             }
         }
 
-        // Get time tracking data for project
-        AnalyticsDataResponse.TimeTrackingData timeTracking = getTimeTrackingData(startDate, endDate, projectId);
-        
-        // Get task completion data for project
-        AnalyticsDataResponse.TaskCompletionData taskCompletion = getTaskCompletionData(startDate, endDate, projectId);
-        
-        // Get performance data for project
-        AnalyticsDataResponse.PerformanceData performance = getPerformanceMetrics(startDate, endDate, projectId);
+        return getCachedAnalyticsData(startDate, endDate, projectId);
+    }
 
-        return new AnalyticsDataResponse(timeTracking, taskCompletion, performance);
+    /**
+     * Get the combined analytics sections for a resolved date range, shared by
+     * the general and project-specific endpoints
+     */
+    private AnalyticsDataResponse getCachedAnalyticsData(LocalDate startDate, LocalDate endDate, Long projectId) {
+        return analyticsCache.get(AnalyticsCache.Key.forProject("analytics", projectId, startDate, endDate), () -> {
+            // The three sections are independent and run concurrently
+            CompletableFuture<AnalyticsDataResponse.TimeTrackingData> timeTracking =
+                    analyticsExecutor.submit(() -> getTimeTrackingData(startDate, endDate, projectId));
+            CompletableFuture<AnalyticsDataResponse.TaskCompletionData> taskCompletion =
+                    analyticsExecutor.submit(() -> getTaskCompletionData(startDate, endDate, projectId));
+            CompletableFuture<AnalyticsDataResponse.PerformanceData> performance =
+                    analyticsExecutor.submit(() -> getPerformanceMetrics(startDate, endDate, projectId));
+
+            return new AnalyticsDataResponse(
+                    analyticsExecutor.await(timeTracking, "timeTracking"),
+                    analyticsExecutor.await(taskCompletion, "taskCompletion"),
+                    analyticsExecutor.await(performance, "performance"));
+        });
     }
 
     /**
@@ -410,14 +460,27 @@ public class AnalyticsService {
      * @return TimeTrackingData
      */
     public AnalyticsDataResponse.TimeTrackingData getTimeTrackingData(LocalDate startDate, LocalDate endDate, Long projectId) {
-        logger.info("Getting time tracking data with filters - startDate: {}, endDate: {}, projectId: {}", 
-                startDate, endDate, projectId);
+        return getTimeTrackingData(startDate, endDate, projectId, TimeBucket.DAY);
+    }
+
+    /**
+     * Get time tracking data grouped into day, week or month buckets
+     * @param startDate Start date
+     * @param endDate End date
+     * @param projectId Project filter
+     * @param bucket Bucket size for the chart
+     * @return TimeTrackingData
+     */
+    public AnalyticsDataResponse.TimeTrackingData getTimeTrackingData(LocalDate startDate, LocalDate endDate, Long projectId,
+                                                                      TimeBucket bucket) {
+        logger.info("Getting time tracking data with filters - startDate: {}, endDate: {}, projectId: {}, bucket: {}", 
+                startDate, endDate, projectId, bucket);
 
         // Generate labels for the date range
-        List<String> labels = generateDateLabels(startDate, endDate);
+        List<String> labels = generateDateLabels(startDate, endDate, bucket);
         
         // Get time tracking data
-        List<Number> timeData = getTimeTrackingDataForDateRange(startDate, endDate, projectId);
+        List<Number> timeData = getTimeTrackingDataForDateRange(startDate, endDate, projectId, bucket);
         
         // Create dataset
         AnalyticsDataResponse.Dataset dataset = new AnalyticsDataResponse.Dataset(
@@ -438,14 +501,27 @@ public class AnalyticsService {
      * @return TaskCompletionData
      */
     public AnalyticsDataResponse.TaskCompletionData getTaskCompletionData(LocalDate startDate, LocalDate endDate, Long projectId) {
-        logger.info("Getting task completion data with filters - startDate: {}, endDate: {}, projectId: {}", 
-                startDate, endDate, projectId);
+        return getTaskCompletionData(startDate, endDate, projectId, TimeBucket.DAY);
+    }
+
+    /**
+     * Get task completion data grouped into day, week or month buckets
+     * @param startDate Start date
+     * @param endDate End date
+     * @param projectId Project filter
+     * @param bucket Bucket size for the chart
+     * @return TaskCompletionData
+     */
+    public AnalyticsDataResponse.TaskCompletionData getTaskCompletionData(LocalDate startDate, LocalDate endDate, Long projectId,
+                                                                          TimeBucket bucket) {
+        logger.info("Getting task completion data with filters - startDate: {}, endDate: {}, projectId: {}, bucket: {}", 
+                startDate, endDate, projectId, bucket);
 
         // Generate labels for the date range
-        List<String> labels = generateDateLabels(startDate, endDate);
+        List<String> labels = generateDateLabels(startDate, endDate, bucket);
         
         // Get task completion data
-        List<Number> completionData = getTaskCompletionDataForDateRange(startDate, endDate, projectId);
+        List<Number> completionData = getTaskCompletionDataForDateRange(startDate, endDate, projectId, bucket);
         
         // Create dataset
         AnalyticsDataResponse.Dataset dataset = new AnalyticsDataResponse.Dataset(
@@ -469,127 +545,147 @@ public class AnalyticsService {
         logger.info("Getting performance metrics with filters - startDate: {}, endDate: {}, projectId: {}", 
                 startDate, endDate, projectId);
 
+        return analyticsCache.get(AnalyticsCache.Key.forProject("performance", projectId, startDate, endDate),
+                () -> computePerformanceMetrics(startDate, endDate, projectId));
+    }
+
+    /**
+     * Compute performance metrics for a date range
+     */
+    private AnalyticsDataResponse.PerformanceData computePerformanceMetrics(LocalDate startDate, LocalDate endDate, Long projectId) {
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.atTime(23, 59, 59);
+
         // Get total hours logged
         BigDecimal totalHours = getTotalHoursForDateRange(startDate, endDate, projectId);
-        
-        // Get completed tasks
-        int completedTasks = getCompletedTasksForDateRange(startDate, endDate, projectId);
-        
-        // Calculate average completion time (in hours)
-        BigDecimal averageCompletionTime = calculateAverageCompletionTime(startDate, endDate, projectId);
-        
-        // Calculate productivity score (0-100)
-        BigDecimal productivityScore = calculateProductivityScore(startDate, endDate, projectId);
 
-        return new AnalyticsDataResponse.PerformanceData(
+        // Completed count, average completion time and on-time count in one aggregate
+        Object[] summary = firstRow(projectId != null
+                ? taskRepository.getCompletionSummaryByProjectAndCompletedAtBetween(projectId, start, end)
+                : taskRepository.getCompletionSummaryByCompletedAtBetween(start, end), 3);
+        int completedTasks = summary[0] != null ? ((Number) summary[0]).intValue() : 0;
+        BigDecimal averageCompletionTime = secondsToHours((Number) summary[1]);
+
+        // Productivity score (0-100): share of completed tasks finished on or before their deadline
+        BigDecimal productivityScore = completedTasks > 0 && summary[2] != null
+                ? BigDecimal.valueOf(((Number) summary[2]).longValue() * 100.0 / completedTasks).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        Object[] percentiles = firstRow(projectId != null
+                ? taskRepository.getCompletionTimePercentilesByProjectAndCompletedAtBetween(projectId, start, end)
+                : taskRepository.getCompletionTimePercentilesByCompletedAtBetween(start, end), 2);
+
+        AnalyticsDataResponse.PerformanceData performance = new AnalyticsDataResponse.PerformanceData(
                 totalHours,
                 completedTasks,
                 averageCompletionTime,
                 productivityScore
         );
+        performance.setMedianCompletionTime(secondsToHours((Number) percentiles[0]));
+        performance.setP90CompletionTime(secondsToHours((Number) percentiles[1]));
+        return performance;
     }
 
     /**
-     * Generate date labels for charts
+     * First row of a single-row aggregate query, or an all-null row when none was returned
      */
-    private List<String> generateDateLabels(LocalDate startDate, LocalDate endDate) {
-        List<String> labels = new ArrayList<>();
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            labels.add(current.toString());
-            current = current.plusDays(1);
-        }
-        return labels;
+    private Object[] firstRow(List<Object[]> rows, int columns) {
+        return rows != null && !rows.isEmpty() && rows.get(0) != null ? rows.get(0) : new Object[columns];
     }
 
     /**
-     * Get time tracking data for date range
+     * Convert a duration in seconds to hours, zero when there is no value
      */
-    private List<Number> getTimeTrackingDataForDateRange(LocalDate startDate, LocalDate endDate, Long projectId) {
-        List<Number> data = new ArrayList<>();
-        LocalDate current = startDate;
-        
-        while (!current.isAfter(endDate)) {
-            BigDecimal hours;
-            if (projectId != null) {
-                hours = timeLogRepository.getTotalHoursByProjectAndDate(projectId, current);
-            } else {
-                hours = timeLogRepository.getTotalHoursByDate(current);
-            }
-            data.add(hours != null ? hours : 0);
-            current = current.plusDays(1);
+    private BigDecimal secondsToHours(Number seconds) {
+        if (seconds == null) {
+            return BigDecimal.ZERO;
         }
-        
-        return data;
+        return BigDecimal.valueOf(seconds.doubleValue()).divide(BigDecimal.valueOf(3600), 2, RoundingMode.HALF_UP);
     }
 
     /**
-     * Get task completion data for date range
+     * Generate bucket labels for charts
      */
-    private List<Number> getTaskCompletionDataForDateRange(LocalDate startDate, LocalDate endDate, Long projectId) {
-        List<Number> data = new ArrayList<>();
+    private List<String> generateDateLabels(LocalDate startDate, LocalDate endDate, TimeBucket bucket) {
+        List<String> labels = new ArrayList<>();
+        LocalDate previousBucket = null;
         LocalDate current = startDate;
-        
         while (!current.isAfter(endDate)) {
-            long completedTasks;
-            if (projectId != null) {
-                completedTasks = taskRepository.countByProjectIdAndStatusAndCompletedAtBetween(
-                        projectId, TaskStatus.DONE, 
-                        current.atStartOfDay(), current.atTime(23, 59, 59));
-            } else {
-                completedTasks = taskRepository.countByStatusAndCompletedAtBetween(
-                        TaskStatus.DONE, 
-                        current.atStartOfDay(), current.atTime(23, 59, 59));
+            LocalDate currentBucket = bucket.truncate(current);
+            if (!currentBucket.equals(previousBucket)) {
+                labels.add(bucket.label(currentBucket));
+                previousBucket = currentBucket;
             }
-            data.add(completedTasks);
             current = current.plusDays(1);
         }
-        
-        return data;
+        return labels;
     }
 
     /**
-     * Get total hours for date range
+     * Get time tracking data for date range from the daily rollups
      */
-    private BigDecimal getTotalHoursForDateRange(LocalDate startDate, LocalDate endDate, Long projectId) {
+    private List<Number> getTimeTrackingDataForDateRange(LocalDate startDate, LocalDate endDate, Long projectId,
+                                                         TimeBucket bucket) {
+        List<Object[]> dailyHours;
         if (projectId != null) {
-            return timeLogRepository.getTotalHoursByProjectAndDateRange(projectId, startDate, endDate);
+            dailyHours = timeLogRepository.getHoursPerDayByProjectAndDateRange(projectId, startDate, endDate);
         } else {
-            return timeLogRepository.getTotalHoursByDateRange(startDate, endDate);
+            dailyHours = timeLogRepository.getHoursPerDayByDateRange(startDate, endDate);
         }
+
+        Map<LocalDate, BigDecimal> hoursByDate = new HashMap<>();
+        for (Object[] row : dailyHours) {
+            BigDecimal hours = (BigDecimal) row[1];
+            hoursByDate.put((LocalDate) row[0], hours != null ? hours : BigDecimal.ZERO);
+        }
+
+        return new ArrayList<>(toSeries(hoursByDate, startDate, endDate, bucket, BigDecimal.ZERO, BigDecimal::add));
     }
 
     /**
-     * Get completed tasks for date range
+     * Get task completion data for date range from the daily rollups
      */
-    private int getCompletedTasksForDateRange(LocalDate startDate, LocalDate endDate, Long projectId) {
+    private List<Number> getTaskCompletionDataForDateRange(LocalDate startDate, LocalDate endDate, Long projectId,
+                                                           TimeBucket bucket) {
+        List<Object[]> dailyCounts;
         if (projectId != null) {
-            return (int) taskRepository.countByProjectIdAndStatusAndCompletedAtBetween(
-                    projectId, TaskStatus.DONE, 
-                    startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+            dailyCounts = rollupRepository.getCompletedTasksPerDayByProjectAndDateRange(projectId, startDate, endDate);
         } else {
-            return (int) taskRepository.countByStatusAndCompletedAtBetween(
-                    TaskStatus.DONE, 
-                    startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+            dailyCounts = rollupRepository.getCompletedTasksPerDayByDateRange(startDate, endDate);
         }
+
+        Map<LocalDate, Long> countsByDate = new HashMap<>();
+        for (Object[] row : dailyCounts) {
+            countsByDate.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+
+        return new ArrayList<>(toSeries(countsByDate, startDate, endDate, bucket, 0L, Long::sum));
     }
 
     /**
-     * Calculate average completion time
+     * Fold per-day totals into one value per bucket, filling days without rows with zero
      */
-    private BigDecimal calculateAverageCompletionTime(LocalDate startDate, LocalDate endDate, Long projectId) {
-        // This is a simplified calculation - in a real implementation, you'd calculate
-        // the average time between task creation and completion
-        return BigDecimal.valueOf(8.5); // Default to 8.5 hours
+    private <T> List<T> toSeries(Map<LocalDate, T> dailyTotals, LocalDate startDate, LocalDate endDate,
+                                 TimeBucket bucket, T zero, BinaryOperator<T> sum) {
+        Map<LocalDate, T> buckets = new LinkedHashMap<>();
+        LocalDate current = startDate;
+        while (!current.isAfter(endDate)) {
+            T value = dailyTotals.getOrDefault(current, zero);
+            buckets.merge(bucket.truncate(current), value, sum);
+            current = current.plusDays(1);
+        }
+        return new ArrayList<>(buckets.values());
     }
 
     /**
-     * Calculate productivity score
+     * Get total hours for date range
      */
-    private BigDecimal calculateProductivityScore(LocalDate startDate, LocalDate endDate, Long projectId) {
-        // This is a simplified calculation - in a real implementation, you'd calculate
-        // a productivity score based on various metrics
-        return BigDecimal.valueOf(85.0); // Default to 85%
+    private BigDecimal getTotalHoursForDateRange(LocalDate startDate, LocalDate endDate, Long projectId) {
+        if (projectId != null) {
+            return timeLogRepository.getTotalHoursByProjectAndDateRange(projectId, startDate, endDate);
+        } else {
+            return timeLogRepository.getTotalHoursByDateRange(startDate, endDate);
+        }
     }
 
     /**
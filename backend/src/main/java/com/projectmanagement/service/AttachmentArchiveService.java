@@ -0,0 +1,239 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentArchive;
+import com.projectmanagement.dto.attachment.AttachmentDownloadResponse;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.repository.AttachmentRepository;
+import com.projectmanagement.repository.MilestoneRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports the attachments of a project, milestone or task as one ZIP archive.
+ * Attachments are read in pages, each in its own short query, and their contents are read
+ * from the attachment store one entry at a time and written straight to the response; the
+ * manifest is spooled to a temporary file. Memory use does not depend on the number or
+ * size of the files.
+ */
+@Service
+@Transactional
+public class AttachmentArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentArchiveService.class);
+
+    static final String MANIFEST_NAME = "manifest.csv";
+    static final int PAGE_SIZE = 500;
+
+    // Content that is already compressed is stored without spending CPU on deflating it again
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp",
+            "application/zip", "application/gzip", "application/x-7z-compressed", "application/x-rar-compressed");
+
+    private final AttachmentRepository attachmentRepository;
+    private final ProjectRepository projectRepository;
+    private final MilestoneRepository milestoneRepository;
+    private final TaskRepository taskRepository;
+    private final SecurityService securityService;
+    private final AttachmentStore attachmentStore;
+
+    public AttachmentArchiveService(AttachmentRepository attachmentRepository, ProjectRepository projectRepository,
+                                    MilestoneRepository milestoneRepository, TaskRepository taskRepository,
+                                    SecurityService securityService, AttachmentStore attachmentStore) {
+        this.attachmentRepository = attachmentRepository;
+        this.projectRepository = projectRepository;
+        this.milestoneRepository = milestoneRepository;
+        this.taskRepository = taskRepository;
+        this.securityService = securityService;
+        this.attachmentStore = attachmentStore;
+    }
+
+    /**
+     * Check access to the attachments of every task in a project
+     */
+    @Transactional(readOnly = true)
+    public AttachmentArchive getProjectArchive(Long projectId) {
+        logger.info("Preparing attachment archive for project ID: {}", projectId);
+
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId);
+        }
+        checkAccess();
+
+        return new AttachmentArchive("project-" + projectId + "-attachments.zip", AttachmentArchive.Scope.PROJECT, projectId);
+    }
+
+    /**
+     * Check access to the attachments of every task in a milestone
+     */
+    @Transactional(readOnly = true)
+    public AttachmentArchive getMilestoneArchive(Long milestoneId) {
+        logger.info("Preparing attachment archive for milestone ID: {}", milestoneId);
+
+        if (!milestoneRepository.existsById(milestoneId)) {
+            throw new ResourceNotFoundException("Milestone not found with ID: " + milestoneId);
+        }
+        checkAccess();
+
+        return new AttachmentArchive("milestone-" + milestoneId + "-attachments.zip", AttachmentArchive.Scope.MILESTONE, milestoneId);
+    }
+
+    /**
+     * Check access to the attachments of a task
+     */
+    @Transactional(readOnly = true)
+    public AttachmentArchive getTaskArchive(Long taskId) {
+        logger.info("Preparing attachment archive for task ID: {}", taskId);
+
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with ID: " + taskId);
+        }
+        checkAccess();
+
+        return new AttachmentArchive("task-" + taskId + "-attachments.zip", AttachmentArchive.Scope.TASK, taskId);
+    }
+
+    /**
+     * Write an archive as a ZIP stream, one folder per task, optionally followed by a CSV
+     * manifest of entry paths, sizes, checksums and uploaders. Runs outside any transaction
+     * so no database connection is held while streaming.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeArchive(AttachmentArchive archive, boolean includeManifest, OutputStream outputStream)
+            throws IOException {
+        logger.info("Streaming attachment archive {}", archive.getFileName());
+
+        Path manifestFile = includeManifest ? Files.createTempFile("attachment-manifest-", ".csv") : null;
+        try (Writer manifest = includeManifest
+                ? Files.newBufferedWriter(manifestFile, StandardCharsets.UTF_8) : Writer.nullWriter()) {
+            ZipOutputStream zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+            manifest.write("path,size,sha256,uploaded_by,uploaded_at\n");
+            // Names only collide within a task folder, and pages arrive grouped by task
+            Set<String> usedNames = new HashSet<>();
+            Long currentTaskId = null;
+            int entries = 0;
+
+            List<AttachmentDownloadResponse> page = nextPage(archive, null);
+            while (!page.isEmpty()) {
+                for (AttachmentDownloadResponse attachment : page) {
+                    if (!attachment.getTaskId().equals(currentTaskId)) {
+                        usedNames.clear();
+                        currentTaskId = attachment.getTaskId();
+                    }
+                    String name = entryName(attachment, usedNames);
+                    zip.setLevel(COMPRESSED_TYPES.contains(attachment.getFileType())
+                            ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                    ZipEntry entry = new ZipEntry(name);
+                    if (attachment.getUploadedAt() != null) {
+                        entry.setTimeLocal(attachment.getUploadedAt());
+                    }
+                    zip.putNextEntry(entry);
+                    try (InputStream content = attachmentStore.open(attachment.getStorageKey())) {
+                        content.transferTo(zip);
+                    }
+                    zip.closeEntry();
+
+                    manifest.append(csv(name)).append(',')
+                            .append(String.valueOf(attachment.getFileSize())).append(',')
+                            .append(csv(attachment.getChecksum())).append(',')
+                            .append(csv(attachment.getUploadedBy() != null ? attachment.getUploadedBy().getName() : null))
+                            .append(',')
+                            .append(attachment.getUploadedAt() != null ? attachment.getUploadedAt().toString() : "")
+                            .append('\n');
+                }
+                entries += page.size();
+                page = page.size() < PAGE_SIZE ? List.of() : nextPage(archive, page.get(page.size() - 1));
+            }
+
+            if (includeManifest) {
+                manifest.flush();
+                zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(new ZipEntry(MANIFEST_NAME));
+                Files.copy(manifestFile, zip);
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+            logger.info("Streamed attachment archive {} with {} entries", archive.getFileName(), entries);
+        } finally {
+            if (manifestFile != null) {
+                Files.deleteIfExists(manifestFile);
+            }
+        }
+    }
+
+    /**
+     * Next page of the archive's attachments, after the last row of the previous page (null for the first)
+     */
+    private List<AttachmentDownloadResponse> nextPage(AttachmentArchive archive, AttachmentDownloadResponse last) {
+        long afterTaskId = last != null ? last.getTaskId() : 0L;
+        long afterId = last != null ? last.getId() : 0L;
+        PageRequest page = PageRequest.ofSize(PAGE_SIZE);
+        switch (archive.getScope()) {
+            case PROJECT:
+                return attachmentRepository.findDownloadsByProjectId(archive.getScopeId(), afterTaskId, afterId, page);
+            case MILESTONE:
+                return attachmentRepository.findDownloadsByMilestoneId(archive.getScopeId(), afterTaskId, afterId, page);
+            default:
+                return attachmentRepository.findDownloadsByTaskId(archive.getScopeId(), afterId, page);
+        }
+    }
+
+    private void checkAccess() {
+        if (!securityService.isTeamMember()) {
+            throw new UnauthorizedException("Access denied to attachments");
+        }
+    }
+
+    /**
+     * Entry path under the attachment's task folder, with path separators removed from the
+     * file name and a counter added to names already used in the folder
+     */
+    private static String entryName(AttachmentDownloadResponse attachment, Set<String> usedNames) {
+        String fileName = attachment.getFileName().replaceAll("[/\\\\]", "_");
+        if (fileName.isBlank() || fileName.equals(".") || fileName.equals("..")) {
+            fileName = "attachment-" + attachment.getId();
+        }
+        String folder = "task-" + attachment.getTaskId() + "/";
+        String name = folder + fileName;
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        for (int counter = 2; !usedNames.add(name); counter++) {
+            name = folder + base + " (" + counter + ")" + extension;
+        }
+        return name;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
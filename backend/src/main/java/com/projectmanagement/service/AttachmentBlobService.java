@@ -0,0 +1,276 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentStorageReport;
+import com.projectmanagement.entity.AttachmentBlob;
+import com.projectmanagement.exception.ConflictException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.AttachmentBlobRepository;
+import com.projectmanagement.repository.AttachmentRepository;
+import com.projectmanagement.storage.AttachmentStore;
+import com.projectmanagement.storage.StoredObject;
+import com.projectmanagement.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage of attachment contents.
+ * Attachments with the same SHA-256 share one stored object (a blob). Reference counts
+ * change in the caller's transaction, together with the attachment rows, and a blob is
+ * removed from the store once a committed change leaves it unreferenced.
+ */
+@Service
+@Transactional
+public class AttachmentBlobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentBlobService.class);
+
+    // Registrations of new content retried when a concurrently registered blob disappears before it can be referenced
+    private static final int MAX_REGISTER_ATTEMPTS = 3;
+
+    private final AttachmentBlobRepository blobRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentStore attachmentStore;
+    private final TransactionTemplate newTransaction;
+
+    public AttachmentBlobService(AttachmentBlobRepository blobRepository, AttachmentRepository attachmentRepository,
+                                 AttachmentStore attachmentStore, PlatformTransactionManager transactionManager) {
+        this.blobRepository = blobRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.attachmentStore = attachmentStore;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Source of content that is only opened when it has to be written to the store
+     */
+    @FunctionalInterface
+    public interface ContentSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Take a reference to the blob with the given checksum, writing the content to the
+     * store only if no such blob exists yet. A newly written object is removed again
+     * if the caller's transaction rolls back, unless another upload references it by then.
+     *
+     * @param checksum Hex encoded SHA-256 of the content, computed by the caller
+     * @param content Content to write when the checksum is new
+     * @param contentLength Length of the content in bytes
+     * @return The referenced blob
+     */
+    public AttachmentBlob acquire(String checksum, ContentSource content, long contentLength) {
+        // Row lock on an existing blob until commit, so a concurrent collection cannot remove it underneath us
+        if (blobRepository.incrementReferenceCount(checksum) > 0) {
+            AttachmentBlob blob = blobRepository.findByChecksum(checksum)
+                    .orElseThrow(() -> new IllegalStateException("Attachment blob disappeared: " + checksum));
+            logger.info("Reusing stored content {} ({} bytes) for checksum {}", blob.getStorageKey(), blob.getSize(), checksum);
+            return blob;
+        }
+
+        StoredObject stored;
+        try (InputStream in = content.open()) {
+            stored = attachmentStore.store(in, contentLength);
+        } catch (IOException e) {
+            logger.error("Error reading uploaded file: {}", e.getMessage());
+            throw new ValidationException("Error reading file: " + e.getMessage());
+        }
+
+        if (!checksum.equals(stored.getChecksum())) {
+            deleteContentQuietly(stored.getKey());
+            throw new ValidationException("File content changed while it was being uploaded");
+        }
+
+        return register(stored);
+    }
+
+    /**
+     * Take a reference to content that has already been written to the store, such as an
+     * assembled chunked upload. If the same content is stored already, that blob is referenced
+     * and the new object is deleted once the caller's transaction completes; otherwise the new
+     * object becomes the blob and is removed again if the transaction rolls back.
+     *
+     * @return The referenced blob
+     */
+    public AttachmentBlob adopt(StoredObject stored) {
+        if (blobRepository.incrementReferenceCount(stored.getChecksum()) > 0) {
+            return reuse(stored);
+        }
+        return register(stored);
+    }
+
+    /**
+     * Register newly stored content as a blob holding the caller's reference. The blob row is
+     * committed in its own transaction, so a concurrent upload of the same content waits only
+     * for that insert and then references this blob instead of failing on the unique checksum.
+     * If the caller's transaction rolls back, its reference is dropped again and the blob is
+     * collected unless another upload references it by then.
+     */
+    private AttachmentBlob register(StoredObject stored) {
+        for (int attempt = 0; attempt < MAX_REGISTER_ATTEMPTS; attempt++) {
+            try {
+                AttachmentBlob blob = newTransaction.execute(status -> blobRepository.saveAndFlush(
+                        new AttachmentBlob(stored.getChecksum(), stored.getKey(), stored.getSize(), 1)));
+                releaseOnRollback(stored.getKey());
+                return blob;
+            } catch (DataIntegrityViolationException e) {
+                // Another upload of the same content registered it first
+                logger.debug("Checksum {} was registered concurrently", stored.getChecksum());
+            }
+            if (blobRepository.incrementReferenceCount(stored.getChecksum()) > 0) {
+                return reuse(stored);
+            }
+            // The concurrently registered blob was rolled back and collected already; register ours after all
+        }
+        deleteContentQuietly(stored.getKey());
+        throw new ConflictException("The same file is being uploaded concurrently, please retry");
+    }
+
+    /**
+     * The blob with the stored object's checksum, already referenced by the caller; the redundant
+     * copy is deleted once the caller's transaction completes
+     */
+    private AttachmentBlob reuse(StoredObject stored) {
+        AttachmentBlob blob = blobRepository.findByChecksum(stored.getChecksum())
+                .orElseThrow(() -> new IllegalStateException("Attachment blob disappeared: " + stored.getChecksum()));
+        logger.info("Reusing stored content {} for checksum {}, discarding copy {}",
+                blob.getStorageKey(), stored.getChecksum(), stored.getKey());
+        deleteContentAfterCompletion(stored.getKey());
+        return blob;
+    }
+
+    /**
+     * Drop one reference to the blob stored under the given key
+     *
+     * @return true if a blob was referenced, false for content not (yet) registered as a blob
+     */
+    public boolean release(String storageKey) {
+        return blobRepository.decrementReferenceCount(storageKey) > 0;
+    }
+
+    /**
+     * Remove the blob stored under the given key if nothing references it any more.
+     * Runs in its own transaction so it can be called after the releasing transaction commits;
+     * the stored object is deleted only once the blob row is gone.
+     *
+     * @return Number of bytes reclaimed
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long collect(String storageKey) {
+        Long reclaimed = newTransaction.execute(status -> {
+            Optional<AttachmentBlob> blob = blobRepository.findByStorageKey(storageKey);
+            if (blob.isEmpty() || blob.get().getReferenceCount() > 0
+                    || blobRepository.deleteIfUnreferenced(blob.get().getId()) == 0) {
+                return 0L;
+            }
+            deleteContentAfterCommit(blob.get().getStorageKey());
+            for (int size : AttachmentThumbnailService.SIZES) {
+                deleteContentAfterCommit(AttachmentThumbnailService.thumbnailKey(blob.get().getStorageKey(), size));
+            }
+            return blob.get().getSize();
+        });
+        if (reclaimed != null && reclaimed > 0) {
+            logger.info("Reclaimed {} bytes of unreferenced attachment content {}", reclaimed, storageKey);
+        }
+        return reclaimed != null ? reclaimed : 0L;
+    }
+
+    /**
+     * Remove every unreferenced blob, e.g. ones whose collection after a delete failed
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttachmentStorageReport collectGarbage() {
+        logger.info("Collecting unreferenced attachment content");
+
+        List<AttachmentBlob> unreferenced = blobRepository.findUnreferenced();
+        int collected = 0;
+        long reclaimed = 0;
+        for (AttachmentBlob blob : unreferenced) {
+            long bytes = collect(blob.getStorageKey());
+            if (bytes > 0) {
+                collected++;
+                reclaimed += bytes;
+            }
+        }
+
+        logger.info("Collected {} unreferenced attachment contents, reclaimed {} bytes", collected, reclaimed);
+        return buildReport(collected, reclaimed);
+    }
+
+    /**
+     * Report logical and physical attachment storage
+     */
+    @Transactional(readOnly = true)
+    public AttachmentStorageReport getStorageReport() {
+        return buildReport(0, 0);
+    }
+
+    private AttachmentStorageReport buildReport(int collected, long reclaimed) {
+        return new AttachmentStorageReport(
+                attachmentRepository.count(),
+                blobRepository.count(),
+                attachmentRepository.getTotalStorageUsed(),
+                blobRepository.getTotalStoredBytes(),
+                collected,
+                reclaimed
+        );
+    }
+
+    /**
+     * Drop the reference taken on a newly registered blob if the current transaction does not commit,
+     * then collect the blob unless another upload has referenced it in the meantime
+     */
+    private void releaseOnRollback(String storageKey) {
+        TransactionHooks.afterRollback(() -> {
+            try {
+                newTransaction.executeWithoutResult(s -> blobRepository.decrementReferenceCount(storageKey));
+                collect(storageKey);
+            } catch (RuntimeException e) {
+                // Left unreferenced at worst, for the next garbage collection
+                logger.warn("Could not release attachment content {} after rollback: {}",
+                        storageKey, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Delete stored content once the current transaction ends, whether it commits or not
+     */
+    private void deleteContentAfterCompletion(String storageKey) {
+        TransactionHooks.afterCompletion(() -> deleteContentQuietly(storageKey));
+    }
+
+    /**
+     * Delete stored content once the current transaction commits, so a rollback keeps it
+     */
+    private void deleteContentAfterCommit(String storageKey) {
+        TransactionHooks.afterCommit(() -> deleteContentQuietly(storageKey));
+    }
+
+    /**
+     * Delete stored content that no blob tracks, logging instead of failing
+     */
+    public void deleteContentQuietly(String storageKey) {
+        if (storageKey == null) {
+            return;
+        }
+        try {
+            attachmentStore.delete(storageKey);
+        } catch (RuntimeException e) {
+            // An orphaned object only wastes space; the database change has already committed
+            logger.warn("Could not delete attachment content {}: {}", storageKey, e.getMessage());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.projectmanagement.service;
 
 import com.projectmanagement.dto.attachment.*;
 import com.projectmanagement.entity.Attachment;
+import com.projectmanagement.entity.AttachmentBlob;
 import com.projectmanagement.entity.Task;
 import com.projectmanagement.entity.User;
 import com.projectmanagement.exception.ResourceNotFoundException;
@@ -11,17 +12,26 @@ import com.projectmanagement.repository.AttachmentRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.UserRepository;
 import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import com.projectmanagement.storage.Checksums;
+import com.projectmanagement.util.PageCursor;
+import com.projectmanagement.util.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for attachment management functionality
@@ -37,15 +47,23 @@ public class AttachmentService {
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
     private final SecurityService securityService;
+    private final AttachmentStore attachmentStore;
+    private final AttachmentBlobService attachmentBlobService;
+    private final AttachmentThumbnailService attachmentThumbnailService;
 
     public AttachmentService(AttachmentRepository attachmentRepository, TaskRepository taskRepository,
                            UserRepository userRepository, FileStorageService fileStorageService,
-                           SecurityService securityService) {
+                           SecurityService securityService, AttachmentStore attachmentStore,
+                           AttachmentBlobService attachmentBlobService,
+                           AttachmentThumbnailService attachmentThumbnailService) {
         this.attachmentRepository = attachmentRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.fileStorageService = fileStorageService;
         this.securityService = securityService;
+        this.attachmentStore = attachmentStore;
+        this.attachmentBlobService = attachmentBlobService;
+        this.attachmentThumbnailService = attachmentThumbnailService;
     }
 
     /**
@@ -69,23 +87,46 @@ public class AttachmentService {
         // Get current user from security context
         User user = securityService.getCurrentUser();
 
+        // Hash the upload first, so content that is already stored is referenced instead of written again
+        String checksum;
+        try (InputStream content = file.getInputStream()) {
+            checksum = Checksums.sha256(content);
+        } catch (IOException e) {
+            logger.error("Error reading uploaded file: {}", e.getMessage());
+            throw new ValidationException("Error reading file: " + e.getMessage());
+        }
+        AttachmentBlob blob = attachmentBlobService.acquire(checksum, file::getInputStream, file.getSize());
+
+        return createAttachment(task, user, file.getOriginalFilename(), blob);
+    }
+
+    /**
+     * Create an attachment for content that has been stored and referenced, in the caller's transaction.
+     * Shared by direct and chunked uploads; access checks are the caller's responsibility.
+     */
+    public AttachmentResponse createAttachment(Task task, User user, String originalFileName, AttachmentBlob blob) {
         // Generate unique filename
-        String originalFileName = file.getOriginalFilename();
         String uniqueFileName = fileStorageService.generateUniqueFileName(originalFileName);
         String contentType = fileStorageService.getContentType(originalFileName);
-        byte[] fileData = fileStorageService.readFileBytes(file);
 
         // Create and save attachment
         Attachment attachment = new Attachment(
                 uniqueFileName,
                 contentType,
-                file.getSize(),
-                fileData,
+                blob.getSize(),
+                blob.getStorageKey(),
+                blob.getChecksum(),
                 task,
                 user
         );
 
         Attachment savedAttachment = attachmentRepository.save(attachment);
+        taskRepository.adjustAttachmentCount(task.getId(), 1);
+
+        // New image content gets thumbnails in the background, once the content is committed
+        if (fileStorageService.isImage(originalFileName) && blob.getThumbnailStatus() == null) {
+            attachmentThumbnailService.scheduleAfterCommit(blob.getStorageKey());
+        }
 
         logger.info("Attachment uploaded successfully with ID: {}", savedAttachment.getId());
 
@@ -99,7 +140,7 @@ public class AttachmentService {
     public AttachmentDownloadResponse downloadAttachment(Long attachmentId) {
         logger.info("Downloading attachment with ID: {}", attachmentId);
 
-        Attachment attachment = attachmentRepository.findById(attachmentId)
+        AttachmentDownloadResponse download = attachmentRepository.findDownloadById(attachmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with ID: " + attachmentId));
 
         // Check if user has access to the project
@@ -107,21 +148,19 @@ public class AttachmentService {
             throw new UnauthorizedException("Access denied to attachment");
         }
 
-        AttachmentUploaderResponse uploaderResponse = new AttachmentUploaderResponse(
-                attachment.getUploadedById(),
-                attachment.getUploaderName()
-        );
+        return download;
+    }
 
-        return new AttachmentDownloadResponse(
-                attachment.getId(),
-                attachment.getFileName(),
-                attachment.getFileType(),
-                attachment.getFileSize(),
-                attachment.getFileData(),
-                attachment.getTaskId(),
-                uploaderResponse,
-                attachment.getUploadedAt()
-        );
+    /**
+     * Write a byte range of a downloaded attachment's content to a channel.
+     * Runs outside any transaction so no database connection is held while streaming.
+     *
+     * @return Number of bytes written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long transferContent(AttachmentDownloadResponse download, long position, long count,
+                                WritableByteChannel target) {
+        return attachmentStore.transferTo(download.getStorageKey(), position, count, target);
     }
 
     /**
@@ -149,17 +188,13 @@ public class AttachmentService {
             throw new UnauthorizedException("Access denied to task");
         }
 
-        // Get paginated attachments
+        // Get paginated attachment metadata
         Pageable pageable = PageRequest.of(page, size);
-        Page<Attachment> attachmentPage = attachmentRepository.findByTask_IdOrderByUploadedAtDesc(taskId, pageable);
-
-        // Map to response DTOs
-        List<AttachmentResponse> attachments = attachmentPage.getContent().stream()
-                .map(this::mapToAttachmentResponse)
-                .collect(Collectors.toList());
+        Page<AttachmentResponse> attachmentPage = attachmentRepository.findMetadataByTaskId(taskId, pageable);
+        List<AttachmentResponse> attachments = attachmentPage.getContent();
 
         // Get total storage used by task
-        Long totalStorageUsed = attachmentRepository.getTotalStorageUsedByTask(taskId);
+        AttachmentStorageUsage storageUsage = attachmentRepository.getTotalStorageUsedByTask(taskId);
 
         AttachmentListResponse response = new AttachmentListResponse(
                 attachments,
@@ -169,8 +204,70 @@ public class AttachmentService {
                 attachmentPage.getSize(),
                 attachmentPage.hasNext(),
                 attachmentPage.hasPrevious(),
-                totalStorageUsed
+                storageUsage.getLogicalBytes()
+        );
+        response.setPhysicalStorageUsed(storageUsage.getPhysicalBytes());
+
+        logger.info("Retrieved {} attachments for task ID: {}", attachments.size(), taskId);
+
+        return response;
+    }
+
+    /**
+     * Get a page of a task's attachments after a cursor, newest first.
+     * Pages are read by keyset instead of OFFSET; totals (count and storage) are only computed when
+     * requested, otherwise totalElements and totalPages are -1 and the storage totals are null.
+     */
+    @Transactional(readOnly = true)
+    public AttachmentListResponse getTaskAttachmentsByCursor(Long taskId, String cursor, int size,
+                                                             boolean includeTotal) {
+        logger.info("Getting attachments for task ID: {} after cursor: {}, size: {}", taskId, cursor, size);
+
+        if (size <= 0 || size > 100) {
+            throw new ValidationException("Page size must be between 1 and 100");
+        }
+
+        // Check if task exists
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with ID: " + taskId);
+        }
+
+        // Check if user has access to the project
+        if (!securityService.isTeamMember()) {
+            throw new UnauthorizedException("Access denied to task");
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<AttachmentResponse> rows = after == null
+                ? attachmentRepository.findMetadataPageByTaskId(taskId, limit)
+                : attachmentRepository.findMetadataPageByTaskIdAfter(taskId, after.getDateTimeKey(), after.getId(),
+                        limit);
+        String nextCursor = PageCursor.next(rows, size, AttachmentResponse::getUploadedAt, AttachmentResponse::getId);
+        List<AttachmentResponse> attachments = PageCursor.page(rows, size);
+
+        int totalElements = -1;
+        int totalPages = -1;
+        AttachmentStorageUsage storageUsage = null;
+        if (includeTotal) {
+            long total = attachmentRepository.countByTask_Id(taskId);
+            totalElements = (int) total;
+            totalPages = (int) ((total + size - 1) / size);
+            storageUsage = attachmentRepository.getTotalStorageUsedByTask(taskId);
+        }
+
+        AttachmentListResponse response = new AttachmentListResponse(
+                attachments,
+                totalElements,
+                totalPages,
+                0,
+                size,
+                nextCursor != null,
+                after != null,
+                storageUsage != null ? storageUsage.getLogicalBytes() : null
         );
+        response.setPhysicalStorageUsed(storageUsage != null ? storageUsage.getPhysicalBytes() : null);
+        response.setNextCursor(nextCursor);
 
         logger.info("Retrieved {} attachments for task ID: {}", attachments.size(), taskId);
 
@@ -194,13 +291,8 @@ public class AttachmentService {
             throw new UnauthorizedException("Access denied to task");
         }
 
-        // Get all attachments
-        List<Attachment> attachments = attachmentRepository.findByTask_IdOrderByUploadedAtDesc(taskId);
-
-        // Map to response DTOs
-        List<AttachmentResponse> responses = attachments.stream()
-                .map(this::mapToAttachmentResponse)
-                .collect(Collectors.toList());
+        // Get all attachment metadata
+        List<AttachmentResponse> responses = attachmentRepository.findMetadataByTaskId(taskId);
 
         logger.info("Retrieved {} attachments for task ID: {}", responses.size(), taskId);
 
@@ -214,7 +306,7 @@ public class AttachmentService {
     public AttachmentResponse getAttachmentById(Long attachmentId) {
         logger.info("Getting attachment by ID: {}", attachmentId);
 
-        Attachment attachment = attachmentRepository.findById(attachmentId)
+        AttachmentResponse response = attachmentRepository.findMetadataById(attachmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with ID: " + attachmentId));
 
         // Check if user has access to the project
@@ -222,7 +314,7 @@ public class AttachmentService {
             throw new UnauthorizedException("Access denied to attachment");
         }
 
-        return mapToAttachmentResponse(attachment);
+        return response;
     }
 
     /**
@@ -248,10 +340,20 @@ public class AttachmentService {
         }
 
         attachmentRepository.delete(attachment);
+        taskRepository.adjustAttachmentCount(attachment.getTask().getId(), -1);
+        releaseContentAfterCommit(List.of(attachment.getStorageKey()));
 
         logger.info("Attachment deleted successfully with ID: {}", attachmentId);
     }
 
+    /**
+     * Release the stored contents of a task's attachments along with the task deletion.
+     * The attachment rows themselves are removed by the task's cascade.
+     */
+    public void taskDeleted(Task task) {
+        releaseContentAfterCommit(attachmentRepository.findStorageKeysByTaskId(task.getId()));
+    }
+
     /**
      * Get attachment count for a task
      */
@@ -261,10 +363,10 @@ public class AttachmentService {
     }
 
     /**
-     * Get total storage used by task
+     * Get total storage used by task, counting shared contents once for the physical bytes
      */
     @Transactional(readOnly = true)
-    public long getTotalStorageUsedByTask(Long taskId) {
+    public AttachmentStorageUsage getTotalStorageUsedByTask(Long taskId) {
         return attachmentRepository.getTotalStorageUsedByTask(taskId);
     }
 
@@ -279,18 +381,43 @@ public class AttachmentService {
             throw new ValidationException("Limit must be between 1 and 100");
         }
 
-        Pageable pageable = PageRequest.of(0, limit);
-        Page<Attachment> attachmentPage = attachmentRepository.findRecentAttachments(pageable);
-
-        List<AttachmentResponse> responses = attachmentPage.getContent().stream()
-                .map(this::mapToAttachmentResponse)
-                .collect(Collectors.toList());
+        List<AttachmentResponse> responses = attachmentRepository.findRecentMetadata(PageRequest.of(0, limit));
 
         logger.info("Retrieved {} recent attachments", responses.size());
 
         return responses;
     }
 
+    /**
+     * Drop the references to stored contents in the current transaction and, once it commits,
+     * collect contents nothing references any more. Contents not registered as a shared blob
+     * are owned by their attachment and deleted directly.
+     */
+    private void releaseContentAfterCommit(Collection<String> storageKeys) {
+        List<String> shared = new ArrayList<>();
+        List<String> owned = new ArrayList<>();
+        for (String storageKey : storageKeys) {
+            if (attachmentBlobService.release(storageKey)) {
+                shared.add(storageKey);
+            } else {
+                owned.add(storageKey);
+            }
+        }
+
+        Runnable cleanup = () -> {
+            for (String storageKey : shared) {
+                try {
+                    attachmentBlobService.collect(storageKey);
+                } catch (RuntimeException e) {
+                    // Left for the next garbage collection run
+                    logger.warn("Could not collect attachment content {}: {}", storageKey, e.getMessage());
+                }
+            }
+            owned.forEach(attachmentBlobService::deleteContentQuietly);
+        };
+        TransactionHooks.afterCommit(cleanup);
+    }
+
     /**
      * Map Attachment entity to AttachmentResponse DTO
      */
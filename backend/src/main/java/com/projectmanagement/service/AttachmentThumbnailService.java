@@ -0,0 +1,344 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentThumbnailResponse;
+import com.projectmanagement.entity.Attachment;
+import com.projectmanagement.entity.AttachmentBlob;
+import com.projectmanagement.entity.ThumbnailStatus;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.AttachmentBlobRepository;
+import com.projectmanagement.repository.AttachmentRepository;
+import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import com.projectmanagement.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Generates JPEG thumbnails of image attachments at a few fixed sizes.
+ * Thumbnails belong to the stored content, so attachments sharing content share them,
+ * and are kept in the attachment store next to the original under derived keys.
+ * Generation runs on a small bounded pool after the upload commits and is idempotent:
+ * content whose thumbnails exist, or that cannot be decoded, is skipped unless regenerating.
+ * Each content is queued at most once at a time, however often its thumbnail is requested.
+ */
+@Service
+public class AttachmentThumbnailService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentThumbnailService.class);
+
+    /**
+     * Supported thumbnail sizes: maximum width and height in pixels, largest first
+     */
+    public static final List<Integer> SIZES = List.of(512, 256, 128);
+
+    // Larger images are not decoded at all, to bound worker memory
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentBlobRepository blobRepository;
+    private final AttachmentStore attachmentStore;
+    private final FileStorageService fileStorageService;
+    private final SecurityService securityService;
+    private final Executor executor;
+    private final ThreadPoolTaskExecutor ownedPool;
+    // Storage keys queued or being generated
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public AttachmentThumbnailService(AttachmentRepository attachmentRepository, AttachmentBlobRepository blobRepository,
+                                      AttachmentStore attachmentStore, FileStorageService fileStorageService,
+                                      SecurityService securityService,
+                                      @Value("${app.attachments.thumbnails.threads:2}") int threads,
+                                      @Value("${app.attachments.thumbnails.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("thumbnails-");
+        pool.setDaemon(true);
+        // When saturated, drop the job; scheduleMissing picks the content up again later
+        pool.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        pool.initialize();
+
+        this.attachmentRepository = attachmentRepository;
+        this.blobRepository = blobRepository;
+        this.attachmentStore = attachmentStore;
+        this.fileStorageService = fileStorageService;
+        this.securityService = securityService;
+        this.executor = pool;
+        this.ownedPool = pool;
+    }
+
+    public AttachmentThumbnailService(AttachmentRepository attachmentRepository, AttachmentBlobRepository blobRepository,
+                                      AttachmentStore attachmentStore, FileStorageService fileStorageService,
+                                      SecurityService securityService, Executor executor) {
+        this.attachmentRepository = attachmentRepository;
+        this.blobRepository = blobRepository;
+        this.attachmentStore = attachmentStore;
+        this.fileStorageService = fileStorageService;
+        this.securityService = securityService;
+        this.executor = executor;
+        this.ownedPool = null;
+    }
+
+    /**
+     * Key of a thumbnail of the content stored under the given key
+     */
+    public static String thumbnailKey(String storageKey, int size) {
+        return storageKey + ".thumb-" + size + ".jpg";
+    }
+
+    /**
+     * Queue thumbnail generation for newly stored content once the current transaction commits
+     */
+    public void scheduleAfterCommit(String storageKey) {
+        TransactionHooks.afterCommit(() -> submit(storageKey, false));
+    }
+
+    /**
+     * Queue thumbnail generation for every image attachment that has none yet
+     *
+     * @param regenerate Also regenerate existing thumbnails, e.g. after the sizes changed
+     * @return Number of contents queued, not counting contents that were already queued
+     */
+    @Transactional(readOnly = true)
+    public int scheduleMissing(boolean regenerate) {
+        logger.info("Scheduling thumbnail generation (regenerate: {})", regenerate);
+
+        List<String> storageKeys = blobRepository.findImageStorageKeysForThumbnails(regenerate);
+        int scheduled = 0;
+        for (String storageKey : storageKeys) {
+            if (submit(storageKey, regenerate)) {
+                scheduled++;
+            }
+        }
+
+        logger.info("Scheduled thumbnail generation for {} of {} image contents", scheduled, storageKeys.size());
+        return scheduled;
+    }
+
+    /**
+     * Generate the thumbnails of one stored content
+     *
+     * @param regenerate Overwrite thumbnails that already exist
+     * @return true if thumbnails were written
+     */
+    public boolean generate(String storageKey, boolean regenerate) {
+        Optional<AttachmentBlob> blob = blobRepository.findByStorageKey(storageKey);
+        if (blob.isEmpty() || (!regenerate && blob.get().getThumbnailStatus() != null)) {
+            return false;
+        }
+
+        BufferedImage image = readImage(storageKey);
+        if (image == null) {
+            blobRepository.updateThumbnailStatus(storageKey, ThumbnailStatus.UNSUPPORTED);
+            return false;
+        }
+
+        // Each size is scaled down from the previous one, which keeps single-step bilinear scaling sharp
+        BufferedImage source = image;
+        for (int size : SIZES) {
+            source = scale(source, size);
+            byte[] jpeg = encodeJpeg(source);
+            attachmentStore.store(thumbnailKey(storageKey, size), new ByteArrayInputStream(jpeg), jpeg.length);
+        }
+        blobRepository.updateThumbnailStatus(storageKey, ThumbnailStatus.READY);
+
+        logger.info("Generated thumbnails for attachment content {} ({}x{})", storageKey, image.getWidth(), image.getHeight());
+        return true;
+    }
+
+    /**
+     * Get a thumbnail of an image attachment
+     *
+     * @throws ResourceNotFoundException if the thumbnails have not been generated (yet)
+     */
+    @Transactional(readOnly = true)
+    public AttachmentThumbnailResponse getThumbnail(Long attachmentId, int size) {
+        logger.info("Getting {}px thumbnail for attachment ID: {}", size, attachmentId);
+
+        if (!SIZES.contains(size)) {
+            throw new ValidationException("Thumbnail size must be one of " + SIZES);
+        }
+
+        Attachment attachment = attachmentRepository.findById(attachmentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with ID: " + attachmentId));
+
+        // Check if user has access to the project
+        if (!securityService.isTeamMember()) {
+            throw new UnauthorizedException("Access denied to attachment");
+        }
+
+        if (!fileStorageService.isImage(attachment.getFileName())) {
+            throw new ValidationException("Attachment is not an image");
+        }
+
+        AttachmentBlob blob = blobRepository.findByStorageKey(attachment.getStorageKey())
+                .orElseThrow(() -> new ResourceNotFoundException("Thumbnail not available for attachment ID: " + attachmentId));
+        if (blob.getThumbnailStatus() != ThumbnailStatus.READY) {
+            // Content uploaded before thumbnails existed, or whose job was dropped: queue it now
+            if (blob.getThumbnailStatus() == null) {
+                submit(blob.getStorageKey(), false);
+            }
+            throw new ResourceNotFoundException("Thumbnail not available for attachment ID: " + attachmentId);
+        }
+
+        return new AttachmentThumbnailResponse(attachmentId, size, thumbnailKey(blob.getStorageKey(), size),
+                blob.getChecksum());
+    }
+
+    /**
+     * Write a thumbnail to a stream
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void writeThumbnail(AttachmentThumbnailResponse thumbnail, OutputStream target) throws IOException {
+        try (InputStream content = attachmentStore.open(thumbnail.getStorageKey())) {
+            content.transferTo(target);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+
+    private boolean submit(String storageKey, boolean regenerate) {
+        if (!inFlight.add(storageKey)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(storageKey, regenerate);
+                } catch (RuntimeException e) {
+                    // Status stays unset, so the next scheduleMissing run retries it
+                    logger.error("Could not generate thumbnails for attachment content {}", storageKey, e);
+                } finally {
+                    inFlight.remove(storageKey);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(storageKey);
+            logger.warn("Thumbnail queue full, skipping attachment content {} until the next run", storageKey);
+            return false;
+        }
+    }
+
+    /**
+     * Decode stored content as an image, subsampling large images while reading
+     *
+     * @return null if the content is not a decodable image or is too large
+     */
+    private BufferedImage readImage(String storageKey) {
+        try (InputStream content = attachmentStore.open(storageKey);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                logger.info("Attachment content {} is not a supported image format", storageKey);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    logger.warn("Attachment content {} is too large for thumbnails ({}x{})", storageKey, width, height);
+                    return null;
+                }
+
+                // Decode at no less than twice the largest thumbnail, rather than at full resolution
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (2 * SIZES.get(0)));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            logger.warn("Could not decode attachment content {} as an image: {}", storageKey, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scale an image to fit within size x size, never enlarging it.
+     * Transparency is flattened onto white because JPEG has no alpha channel.
+     */
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            // Writing to memory does not fail for I/O reasons
+            throw new IllegalStateException("Could not encode thumbnail", e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
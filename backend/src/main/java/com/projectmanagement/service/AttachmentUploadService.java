@@ -0,0 +1,514 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadChunkResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadInitiateRequest;
+import com.projectmanagement.dto.attachment.AttachmentUploadResponse;
+import com.projectmanagement.entity.AttachmentBlob;
+import com.projectmanagement.entity.AttachmentUploadChunk;
+import com.projectmanagement.entity.AttachmentUploadSession;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.UploadSessionStatus;
+import com.projectmanagement.entity.User;
+import com.projectmanagement.exception.ConflictException;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.AttachmentUploadChunkRepository;
+import com.projectmanagement.repository.AttachmentUploadSessionRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import com.projectmanagement.storage.StoredObject;
+import com.projectmanagement.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Chunked, resumable attachment uploads: initiate a session, PUT numbered chunks (in any order
+ * and in parallel), then complete. Each chunk is streamed straight to the attachment store, so
+ * neither the heap nor a single request has to hold the whole file. Completion assembles the
+ * chunks in the store on a background pool and hands the result to {@link AttachmentService}
+ * like a direct upload; the client polls the session for the outcome, since assembling a
+ * large file takes longer than a request should. Sessions that are not completed in time
+ * are removed together with their chunks.
+ */
+@Service
+@Transactional
+public class AttachmentUploadService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentUploadService.class);
+
+    static final long MIN_CHUNK_SIZE = 256 * 1024L;
+    static final int MAX_CHUNKS = 10_000;
+
+    private final AttachmentUploadSessionRepository sessionRepository;
+    private final AttachmentUploadChunkRepository chunkRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final AttachmentStore attachmentStore;
+    private final AttachmentService attachmentService;
+    private final AttachmentBlobService attachmentBlobService;
+    private final FileStorageService fileStorageService;
+    private final SecurityService securityService;
+    private final TransactionTemplate newTransaction;
+    private final long defaultChunkSize;
+    private final long maxChunkSize;
+    private final long maxFileSize;
+    private final Duration sessionTtl;
+    private final Executor completionExecutor;
+    private ThreadPoolTaskExecutor ownedPool;
+
+    @Autowired
+    public AttachmentUploadService(AttachmentUploadSessionRepository sessionRepository,
+                                   AttachmentUploadChunkRepository chunkRepository,
+                                   TaskRepository taskRepository, UserRepository userRepository,
+                                   AttachmentStore attachmentStore, AttachmentService attachmentService,
+                                   AttachmentBlobService attachmentBlobService, FileStorageService fileStorageService,
+                                   SecurityService securityService, PlatformTransactionManager transactionManager,
+                                   @Value("${app.upload.chunked.chunk-size:8388608}") long defaultChunkSize,
+                                   @Value("${app.upload.chunked.max-chunk-size:67108864}") long maxChunkSize,
+                                   @Value("${app.upload.chunked.max-file-size:5368709120}") long maxFileSize,
+                                   @Value("${app.upload.chunked.session-ttl-hours:24}") long sessionTtlHours,
+                                   @Value("${app.upload.chunked.completion-threads:2}") int completionThreads,
+                                   @Value("${app.upload.chunked.completion-queue-capacity:50}") int completionQueueCapacity) {
+        this(sessionRepository, chunkRepository, taskRepository, userRepository, attachmentStore, attachmentService,
+                attachmentBlobService, fileStorageService, securityService, transactionManager,
+                defaultChunkSize, maxChunkSize, maxFileSize, Duration.ofHours(sessionTtlHours),
+                newCompletionPool(completionThreads, completionQueueCapacity));
+        this.ownedPool = (ThreadPoolTaskExecutor) completionExecutor;
+    }
+
+    public AttachmentUploadService(AttachmentUploadSessionRepository sessionRepository,
+                                   AttachmentUploadChunkRepository chunkRepository,
+                                   TaskRepository taskRepository, UserRepository userRepository,
+                                   AttachmentStore attachmentStore, AttachmentService attachmentService,
+                                   AttachmentBlobService attachmentBlobService, FileStorageService fileStorageService,
+                                   SecurityService securityService, PlatformTransactionManager transactionManager,
+                                   long defaultChunkSize, long maxChunkSize, long maxFileSize, Duration sessionTtl,
+                                   Executor completionExecutor) {
+        this.sessionRepository = sessionRepository;
+        this.chunkRepository = chunkRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.attachmentStore = attachmentStore;
+        this.attachmentService = attachmentService;
+        this.attachmentBlobService = attachmentBlobService;
+        this.fileStorageService = fileStorageService;
+        this.securityService = securityService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxFileSize = maxFileSize;
+        this.sessionTtl = sessionTtl;
+        this.completionExecutor = completionExecutor;
+    }
+
+    private static ThreadPoolTaskExecutor newCompletionPool(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("upload-completion-");
+        pool.setDaemon(true);
+        // When saturated, reject the completion; the session stays active and the client retries
+        pool.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        pool.initialize();
+        return pool;
+    }
+
+    /**
+     * Key of a chunk in the attachment store
+     */
+    static String chunkKey(String uploadId, int chunkNumber) {
+        return "uploads/" + uploadId + "/" + chunkNumber;
+    }
+
+    /**
+     * Start a chunked upload of a file to a task
+     */
+    public AttachmentUploadResponse initiateUpload(Long taskId, AttachmentUploadInitiateRequest request) {
+        logger.info("Initiating chunked upload of {} bytes for task ID: {}", request.getFileSize(), taskId);
+
+        fileStorageService.validateFileName(request.getFileName());
+        long fileSize = request.getFileSize();
+        if (fileSize <= 0) {
+            throw new ValidationException("File cannot be empty");
+        }
+        if (fileSize > maxFileSize) {
+            throw new ValidationException("File size exceeds maximum allowed size of " + fileStorageService.formatFileSize(maxFileSize));
+        }
+
+        long chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > maxChunkSize) {
+            throw new ValidationException("Chunk size must be between " + fileStorageService.formatFileSize(MIN_CHUNK_SIZE)
+                    + " and " + fileStorageService.formatFileSize(maxChunkSize));
+        }
+        long chunkCount = (fileSize + chunkSize - 1) / chunkSize;
+        if (chunkCount > MAX_CHUNKS) {
+            throw new ValidationException("File would need more than " + MAX_CHUNKS + " chunks, use a larger chunk size");
+        }
+
+        // Check if task exists
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + taskId));
+
+        // Check if user has access to the project
+        if (!securityService.isTeamMember()) {
+            throw new UnauthorizedException("Access denied to task");
+        }
+
+        User user = securityService.getCurrentUser();
+
+        AttachmentUploadSession session = sessionRepository.save(new AttachmentUploadSession(
+                UUID.randomUUID().toString(),
+                task.getId(),
+                user.getId(),
+                request.getFileName(),
+                fileSize,
+                chunkSize,
+                (int) chunkCount,
+                LocalDateTime.now().plus(sessionTtl)
+        ));
+
+        logger.info("Chunked upload {} initiated: {} chunks of {} bytes", session.getUploadId(), chunkCount, chunkSize);
+
+        return mapToUploadResponse(session, List.of());
+    }
+
+    /**
+     * Store one chunk of an upload. Chunks may arrive in any order and in parallel;
+     * sending a chunk again replaces it. No transaction is held while the content streams.
+     *
+     * @param chunkNumber 1-based chunk number
+     * @param contentLength Length of the request body, which must match the expected chunk size (-1 if unknown)
+     * @param expectedChecksum Hex encoded SHA-256 the client computed for the chunk, if any
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttachmentUploadChunkResponse uploadChunk(String uploadId, int chunkNumber, InputStream content,
+                                                     long contentLength, String expectedChecksum) {
+        logger.info("Receiving chunk {} of upload {}", chunkNumber, uploadId);
+
+        AttachmentUploadSession session = requireActiveSession(uploadId);
+        if (chunkNumber < 1 || chunkNumber > session.getChunkCount()) {
+            throw new ValidationException("Chunk number must be between 1 and " + session.getChunkCount());
+        }
+        long expectedSize = session.getExpectedChunkSize(chunkNumber);
+        if (contentLength < 0) {
+            throw new ValidationException("Content-Length is required for chunk uploads");
+        }
+        if (contentLength != expectedSize) {
+            throw new ValidationException("Chunk " + chunkNumber + " must be exactly " + expectedSize + " bytes");
+        }
+
+        String key = chunkKey(uploadId, chunkNumber);
+        StoredObject stored = attachmentStore.store(key, content, contentLength);
+        if (stored.getSize() != expectedSize) {
+            attachmentBlobService.deleteContentQuietly(key);
+            throw new ValidationException("Chunk " + chunkNumber + " was truncated, please resend it");
+        }
+        if (expectedChecksum != null && !expectedChecksum.equalsIgnoreCase(stored.getChecksum())) {
+            attachmentBlobService.deleteContentQuietly(key);
+            throw new ValidationException("Checksum mismatch for chunk " + chunkNumber + ", please resend it");
+        }
+
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                AttachmentUploadChunk chunk = chunkRepository.findBySessionIdAndChunkNumber(session.getId(), chunkNumber)
+                        .orElseGet(() -> new AttachmentUploadChunk(session.getId(), chunkNumber, null, null));
+                chunk.setSize(stored.getSize());
+                chunk.setChecksum(stored.getChecksum());
+                chunk.setUploadedAt(LocalDateTime.now());
+                chunkRepository.saveAndFlush(chunk);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // The same chunk sent twice at once, or the session expired meanwhile
+            throw new ConflictException("Chunk " + chunkNumber + " is being uploaded concurrently, please retry", e);
+        }
+
+        return new AttachmentUploadChunkResponse(chunkNumber, stored.getSize(), stored.getChecksum());
+    }
+
+    /**
+     * Get the state of an upload, e.g. to find the chunks still missing when resuming
+     */
+    @Transactional(readOnly = true)
+    public AttachmentUploadResponse getUpload(String uploadId) {
+        logger.info("Getting chunked upload {}", uploadId);
+
+        AttachmentUploadSession session = requireOwnedSession(uploadId);
+        return mapToUploadResponse(session, receivedChunkNumbers(session));
+    }
+
+    /**
+     * Start assembling the chunks of an upload into an attachment in the background.
+     * The session is claimed first, so a concurrent completion or expiry cannot interfere; the
+     * client polls {@link #getUpload} until it is COMPLETED, or ACTIVE again with the reason the
+     * assembly failed, in which case completion can be retried.
+     *
+     * @param expectedChecksum Hex encoded SHA-256 the client computed for the whole file, if any
+     * @return The upload, now COMPLETING
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttachmentUploadResponse completeUpload(String uploadId, String expectedChecksum) {
+        logger.info("Completing chunked upload {}", uploadId);
+
+        AttachmentUploadSession session = requireActiveSession(uploadId);
+        List<Integer> received = receivedChunkNumbers(session);
+        if (received.size() != session.getChunkCount()) {
+            Set<Integer> present = Set.copyOf(received);
+            List<Integer> missing = IntStream.rangeClosed(1, session.getChunkCount())
+                    .filter(number -> !present.contains(number))
+                    .limit(20)
+                    .boxed()
+                    .collect(Collectors.toList());
+            throw new ValidationException("Upload is missing chunks: " + missing);
+        }
+
+        if (sessionRepository.updateStatus(session.getId(), UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING) == 0) {
+            throw new ConflictException("Upload is already being completed");
+        }
+
+        try {
+            completionExecutor.execute(() -> assemble(session, received, expectedChecksum));
+        } catch (RejectedExecutionException e) {
+            sessionRepository.updateStatus(session.getId(), UploadSessionStatus.COMPLETING, UploadSessionStatus.ACTIVE);
+            throw new ServiceUnavailableException("Too many uploads are being completed, please retry later", e);
+        }
+
+        session.setStatus(UploadSessionStatus.COMPLETING);
+        return mapToUploadResponse(session, received);
+    }
+
+    /**
+     * Assemble a claimed upload and create its attachment; on failure the assembled object is
+     * discarded and the session becomes active again with the reason recorded
+     */
+    void assemble(AttachmentUploadSession session, List<Integer> received, String expectedChecksum) {
+        String uploadId = session.getUploadId();
+        StoredObject assembled = null;
+        AtomicBoolean handedOver = new AtomicBoolean();
+        try {
+            List<String> keys = new ArrayList<>(received.size());
+            received.forEach(number -> keys.add(chunkKey(uploadId, number)));
+            assembled = attachmentStore.concatenate(keys, session.getFileSize());
+
+            if (assembled.getSize() != session.getFileSize()) {
+                throw new ValidationException("Assembled upload is " + assembled.getSize() + " bytes, expected "
+                        + session.getFileSize());
+            }
+            if (expectedChecksum != null && !expectedChecksum.equalsIgnoreCase(assembled.getChecksum())) {
+                throw new ValidationException("Checksum mismatch for the assembled file");
+            }
+
+            StoredObject content = assembled;
+            AttachmentResponse response = newTransaction.execute(status -> {
+                Task task = taskRepository.findById(session.getTaskId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + session.getTaskId()));
+                User user = userRepository.findById(session.getUserId())
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + session.getUserId()));
+
+                AttachmentBlob blob = attachmentBlobService.adopt(content);
+                // From here on the blob service cleans up the assembled object if the transaction rolls back
+                handedOver.set(true);
+                AttachmentResponse created = attachmentService.createAttachment(task, user, session.getFileName(), blob);
+                chunkRepository.deleteBySessionId(session.getId());
+                if (sessionRepository.markCompleted(session.getId(), created.getId(), LocalDateTime.now().plus(sessionTtl)) == 0) {
+                    throw new ConflictException("Upload was removed while it was being completed");
+                }
+                deleteChunksAfterCommit(session);
+                return created;
+            });
+
+            logger.info("Chunked upload {} completed as attachment ID: {}", uploadId, response.getId());
+        } catch (RuntimeException e) {
+            logger.warn("Could not complete chunked upload {}", uploadId, e);
+            if (assembled != null && !handedOver.get()) {
+                attachmentBlobService.deleteContentQuietly(assembled.getKey());
+            }
+            try {
+                sessionRepository.markFailed(session.getId(), failureReason(e));
+            } catch (RuntimeException markFailure) {
+                // The sweeper removes the session once the completion counts as stalled
+                logger.error("Could not reactivate chunked upload {}", uploadId, markFailure);
+            }
+        }
+    }
+
+    /**
+     * Abandon an upload and discard its chunks
+     */
+    public void abortUpload(String uploadId) {
+        logger.info("Aborting chunked upload {}", uploadId);
+
+        AttachmentUploadSession session = requireOwnedSession(uploadId);
+        chunkRepository.deleteBySessionId(session.getId());
+        if (sessionRepository.deleteIfStatus(session.getId(), UploadSessionStatus.ACTIVE) == 0) {
+            throw new ConflictException("Upload has been completed and can no longer be aborted");
+        }
+        deleteChunksAfterCommit(session);
+    }
+
+    /**
+     * Remove sessions that expired before completion, completed sessions that are no longer kept,
+     * and completions that stalled, with their chunks
+     *
+     * @return Number of sessions removed
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int expireAbandonedUploads() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AttachmentUploadSession> expired = sessionRepository.findExpired(now, now.minus(sessionTtl));
+
+        int removed = 0;
+        for (AttachmentUploadSession session : expired) {
+            Boolean deleted = newTransaction.execute(status -> {
+                chunkRepository.deleteBySessionId(session.getId());
+                // Skip a session whose state changed since it was read, e.g. a completion that just started
+                if (sessionRepository.deleteIfStatus(session.getId(), session.getStatus()) == 0) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                if (session.getStatus() != UploadSessionStatus.COMPLETED) {
+                    deleteChunksAfterCommit(session);
+                }
+                return true;
+            });
+            if (Boolean.TRUE.equals(deleted)) {
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            logger.info("Removed {} expired chunked uploads", removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownedPool != null) {
+            ownedPool.shutdown();
+        }
+    }
+
+    /**
+     * Scheduled expiry; a failure is logged and the next run retries
+     */
+    @Scheduled(initialDelayString = "${app.upload.chunked.sweep-interval-minutes:15}",
+               fixedRateString = "${app.upload.chunked.sweep-interval-minutes:15}",
+               timeUnit = TimeUnit.MINUTES)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void expireQuietly() {
+        try {
+            expireAbandonedUploads();
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the next run retries
+            logger.error("Could not remove expired chunked uploads", e);
+        }
+    }
+
+    private AttachmentUploadSession requireOwnedSession(String uploadId) {
+        AttachmentUploadSession session = sessionRepository.findByUploadId(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found with ID: " + uploadId));
+
+        // Only the user who started an upload can see or continue it
+        if (!session.getUserId().equals(securityService.getCurrentUserId())) {
+            throw new UnauthorizedException("Access denied to upload");
+        }
+        return session;
+    }
+
+    private AttachmentUploadSession requireActiveSession(String uploadId) {
+        AttachmentUploadSession session = requireOwnedSession(uploadId);
+        if (session.isExpired(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Upload has expired: " + uploadId);
+        }
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) {
+            throw new ConflictException("Upload has already been completed");
+        }
+        if (session.getStatus() != UploadSessionStatus.ACTIVE) {
+            throw new ConflictException("Upload is already being completed");
+        }
+        return session;
+    }
+
+    private List<Integer> receivedChunkNumbers(AttachmentUploadSession session) {
+        return chunkRepository.findBySessionIdOrderByChunkNumber(session.getId()).stream()
+                .map(AttachmentUploadChunk::getChunkNumber)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Message recorded for a failed completion; only validation problems are shown to the client as-is
+     */
+    private static String failureReason(RuntimeException e) {
+        if (e instanceof ValidationException || e instanceof ResourceNotFoundException) {
+            String message = e.getMessage();
+            return message.length() > 500 ? message.substring(0, 500) : message;
+        }
+        return "The upload could not be assembled, please complete it again";
+    }
+
+    /**
+     * Delete every possible chunk object once the session rows are gone, including chunks whose
+     * row was never written because the request failed after the content was stored
+     */
+    private void deleteChunksAfterCommit(AttachmentUploadSession session) {
+        Runnable deleteChunks = () -> {
+            for (int number = 1; number <= session.getChunkCount(); number++) {
+                attachmentBlobService.deleteContentQuietly(chunkKey(session.getUploadId(), number));
+            }
+        };
+        TransactionHooks.afterCommit(deleteChunks);
+    }
+
+    private AttachmentUploadResponse mapToUploadResponse(AttachmentUploadSession session, List<Integer> receivedChunks) {
+        AttachmentUploadResponse response = new AttachmentUploadResponse(
+                session.getUploadId(),
+                session.getTaskId(),
+                session.getFileName(),
+                session.getFileSize(),
+                session.getChunkSize(),
+                session.getChunkCount(),
+                receivedChunks,
+                session.getExpiresAt()
+        );
+        response.setStatus(session.getStatus());
+        response.setAttachmentId(session.getAttachmentId());
+        if (session.getStatus() == UploadSessionStatus.ACTIVE) {
+            response.setFailureReason(session.getFailureReason());
+        }
+        return response;
+    }
+}
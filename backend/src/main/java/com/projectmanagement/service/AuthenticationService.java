@@ -8,11 +8,19 @@ import com.projectmanagement.dto.auth.RegisterResponse;
 import com.projectmanagement.dto.auth.RefreshTokenRequest;
 import com.projectmanagement.dto.auth.RefreshTokenResponse;
 import com.projectmanagement.entity.User;
+import com.projectmanagement.exception.ServiceUnavailableException;
 import com.projectmanagement.exception.UnauthorizedException;
 import com.projectmanagement.exception.ValidationException;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.AuthenticatedUser;
 import com.projectmanagement.security.JwtTokenProvider;
+import com.projectmanagement.security.TokenVersionCache;
+import com.projectmanagement.security.refresh.RefreshTokenRecord;
+import com.projectmanagement.security.refresh.RefreshTokenStore;
+import com.projectmanagement.security.refresh.RotationResult;
 import com.projectmanagement.security.service.SecurityService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,8 +30,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Service for authentication operations
@@ -34,26 +43,29 @@ public class AuthenticationService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
 
-    // In-memory storage for invalidated refresh tokens (in production, use Redis or database)
-    private static final Set<String> invalidatedTokens = new HashSet<>();
-
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final SecurityService securityService;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionCache tokenVersionCache;
+    private final RefreshTokenStore refreshTokenStore;
 
     public AuthenticationService(
             AuthenticationManager authenticationManager,
             UserRepository userRepository,
             SecurityService securityService,
             JwtTokenProvider jwtTokenProvider,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            TokenVersionCache tokenVersionCache,
+            RefreshTokenStore refreshTokenStore) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.securityService = securityService;
         this.jwtTokenProvider = jwtTokenProvider;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionCache = tokenVersionCache;
+        this.refreshTokenStore = refreshTokenStore;
     }
 
     /**
@@ -77,7 +89,10 @@ public class AuthenticationService {
 
             // Generate JWT tokens
             String accessToken = jwtTokenProvider.generateToken(authentication);
-            String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
+            String tokenId = UUID.randomUUID().toString();
+            String familyId = UUID.randomUUID().toString();
+            String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail(), tokenId, familyId);
+            refreshTokenStore.save(refreshTokenRecord(tokenId, familyId, user));
 
             // Create user info for response
             LoginResponse.UserInfo userInfo = new LoginResponse.UserInfo(
@@ -90,6 +105,8 @@ public class AuthenticationService {
 
             return new LoginResponse(accessToken, refreshToken, jwtTokenProvider.getJwtExpirationTime(), userInfo);
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Authentication failed for user: {}", loginRequest.getEmail(), e);
             throw new UnauthorizedException("Invalid email or password");
@@ -140,23 +157,15 @@ public class AuthenticationService {
     public RefreshTokenResponse refreshToken(RefreshTokenRequest refreshRequest) {
         logger.info("Refreshing token");
 
-        String refreshToken = refreshRequest.getRefreshToken();
-
-        // Check if token is invalidated
-        if (invalidatedTokens.contains(refreshToken)) {
-            logger.warn("Attempt to use invalidated refresh token");
-            throw new UnauthorizedException("Refresh token has been invalidated");
-        }
-
         // Validate refresh token
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        Claims claims = parseRefreshToken(refreshRequest.getRefreshToken());
+        if (claims == null) {
             logger.warn("Invalid or expired refresh token provided");
             throw new UnauthorizedException("Invalid or expired refresh token");
         }
 
         try {
-            // Extract username from refresh token
-            String username = jwtTokenProvider.extractUsername(refreshToken);
+            String username = claims.getSubject();
             
             // Verify user still exists and is active
             User user = userRepository.findByEmail(username)
@@ -166,16 +175,21 @@ public class AuthenticationService {
                 throw new UnauthorizedException("User account is deactivated");
             }
 
-            // Generate new tokens
-            String newAccessToken = jwtTokenProvider.generateToken(username);
-            String newRefreshToken = jwtTokenProvider.generateRefreshToken(username);
-
-            // Invalidate old refresh token
-            invalidatedTokens.add(refreshToken);
-            
-            // Clean up old invalidated tokens (keep only last 1000)
-            if (invalidatedTokens.size() > 1000) {
-                invalidatedTokens.clear();
+            // Generate new tokens, the refresh token succeeding the presented one in its family
+            String familyId = claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class);
+            String tokenId = UUID.randomUUID().toString();
+            String newAccessToken = jwtTokenProvider.generateToken(AuthenticatedUser.from(user));
+            String newRefreshToken = jwtTokenProvider.generateRefreshToken(username, tokenId, familyId);
+
+            // Consume the presented refresh token
+            RotationResult result = refreshTokenStore.rotate(RefreshTokenStore.hashTokenId(claims.getId()),
+                    refreshTokenRecord(tokenId, familyId, user), LocalDateTime.now());
+            if (result == RotationResult.REUSED) {
+                logger.warn("Reuse of refresh token detected for user: {}; its session has been revoked", user.getId());
+            }
+            if (result != RotationResult.ROTATED) {
+                logger.warn("Attempt to use invalidated refresh token: {}", result);
+                throw new UnauthorizedException("Refresh token has been invalidated");
             }
 
             logger.info("Token refreshed successfully for user: {}", username);
@@ -195,18 +209,16 @@ public class AuthenticationService {
     public void logout(com.projectmanagement.dto.auth.LogoutRequest logoutRequest) {
         logger.info("Logging out user");
 
-        String refreshToken = logoutRequest.getRefreshToken();
-
         // Validate refresh token
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
+        Claims claims = parseRefreshToken(logoutRequest.getRefreshToken());
+        if (claims == null) {
             throw new UnauthorizedException("Invalid refresh token");
         }
 
-        // Invalidate refresh token
-        invalidatedTokens.add(refreshToken);
+        // Invalidate every refresh token of the session
+        refreshTokenStore.revokeFamily(claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class));
 
-        String username = jwtTokenProvider.extractUsername(refreshToken);
-        logger.info("User logged out successfully: {}", username);
+        logger.info("User logged out successfully: {}", claims.getSubject());
     }
 
     /**
@@ -228,9 +240,12 @@ public class AuthenticationService {
             throw new ValidationException("New password must be different from current password");
         }
 
-        // Update password
+        // Update password and revoke access tokens issued with the old one
         currentUser.setPassword(passwordEncoder.encode(passwordChangeRequest.getNewPassword()));
+        currentUser.setTokenVersion(currentUser.getTokenVersion() + 1);
         userRepository.save(currentUser);
+        tokenVersionCache.evictAfterCommit(currentUser.getId());
+        refreshTokenStore.revokeAllForUser(currentUser.getId());
 
         logger.info("Password changed successfully for user: {}", currentUser.getId());
     }
@@ -250,6 +265,29 @@ public class AuthenticationService {
         );
     }
 
+    /**
+     * Claims of a valid refresh token, or null when it is invalid, expired or not a refresh token
+     */
+    private Claims parseRefreshToken(String refreshToken) {
+        try {
+            Claims claims = jwtTokenProvider.parseClaims(refreshToken);
+            if (claims.getId() == null || claims.get(JwtTokenProvider.CLAIM_FAMILY, String.class) == null) {
+                return null;
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Store record for a newly issued refresh token, expiring with the token itself
+     */
+    private RefreshTokenRecord refreshTokenRecord(String tokenId, String familyId, User user) {
+        return new RefreshTokenRecord(RefreshTokenStore.hashTokenId(tokenId), familyId, user.getId(),
+                LocalDateTime.now().plus(Duration.ofMillis(jwtTokenProvider.getJwtRefreshExpirationTime())));
+    }
+
     /**
      * Validate and normalize user role
      */
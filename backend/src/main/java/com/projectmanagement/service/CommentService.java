@@ -11,6 +11,7 @@ import com.projectmanagement.repository.CommentRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.UserRepository;
 import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -71,6 +72,7 @@ public class CommentService {
         // Create and save comment
         Comment comment = new Comment(request.getContent().trim(), task, user);
         Comment savedComment = commentRepository.save(comment);
+        taskRepository.adjustCommentCount(taskId, 1);
 
         logger.info("Comment created successfully with ID: {}", savedComment.getId());
 
@@ -118,6 +120,64 @@ public class CommentService {
         return response;
     }
 
+    /**
+     * Get a page of a task's comments after a cursor, newest first.
+     * Pages are read by keyset instead of OFFSET; totals are only counted when requested,
+     * otherwise totalElements and totalPages are -1.
+     */
+    @Transactional(readOnly = true)
+    public CommentListResponse getTaskCommentsByCursor(Long taskId, String cursor, int size, boolean includeTotal) {
+        logger.info("Getting comments for task ID: {} after cursor: {}, size: {}", taskId, cursor, size);
+
+        if (size <= 0 || size > 100) {
+            throw new ValidationException("Page size must be between 1 and 100");
+        }
+
+        // Check if task exists
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task not found with ID: " + taskId);
+        }
+
+        // Check if user has access to the project
+        if (!securityService.isTeamMember()) {
+            throw new UnauthorizedException("Access denied to task");
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Comment> rows = after == null
+                ? commentRepository.findPageByTaskId(taskId, limit)
+                : commentRepository.findPageByTaskIdAfter(taskId, after.getDateTimeKey(), after.getId(), limit);
+        String nextCursor = PageCursor.next(rows, size, Comment::getCreatedAt, Comment::getId);
+
+        List<CommentResponse> comments = PageCursor.page(rows, size).stream()
+                .map(this::mapToCommentResponse)
+                .collect(Collectors.toList());
+
+        int totalElements = -1;
+        int totalPages = -1;
+        if (includeTotal) {
+            long total = commentRepository.countByTask_Id(taskId);
+            totalElements = (int) total;
+            totalPages = (int) ((total + size - 1) / size);
+        }
+
+        CommentListResponse response = new CommentListResponse(
+                comments,
+                totalElements,
+                totalPages,
+                0,
+                size,
+                nextCursor != null,
+                after != null
+        );
+        response.setNextCursor(nextCursor);
+
+        logger.info("Retrieved {} comments for task ID: {}", comments.size(), taskId);
+
+        return response;
+    }
+
     /**
      * Get all comments for a task (without pagination)
      */
@@ -189,6 +249,7 @@ public class CommentService {
         }
 
         commentRepository.delete(comment);
+        taskRepository.adjustCommentCount(comment.getTask().getId(), -1);
 
         logger.info("Comment deleted successfully with ID: {}", commentId);
     }
@@ -7,7 +7,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -47,8 +46,14 @@ public class FileStorageService {
             throw new ValidationException("File size exceeds maximum allowed size of " + formatFileSize(maxFileSize));
         }
 
+        validateFileName(file.getOriginalFilename());
+    }
+
+    /**
+     * Validate the name and type of an uploaded file, independent of how its content arrives
+     */
+    public void validateFileName(String originalFilename) {
         // Check file type
-        String originalFilename = file.getOriginalFilename();
         if (originalFilename == null || originalFilename.trim().isEmpty()) {
             throw new ValidationException("File name cannot be empty");
         }
@@ -149,18 +154,6 @@ public class FileStorageService {
         }
     }
 
-    /**
-     * Read file bytes from MultipartFile
-     */
-    public byte[] readFileBytes(MultipartFile file) {
-        try {
-            return file.getBytes();
-        } catch (IOException e) {
-            logger.error("Error reading file bytes: {}", e.getMessage());
-            throw new ValidationException("Error reading file: " + e.getMessage());
-        }
-    }
-
     /**
      * Format file size for display
      */
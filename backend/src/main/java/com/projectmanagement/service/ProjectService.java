@@ -8,6 +8,7 @@ import com.projectmanagement.exception.ValidationException;
 import com.projectmanagement.repository.ProjectMemberRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.ProjectMembershipCache;
 import com.projectmanagement.security.service.SecurityService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,8 +16,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,15 +30,18 @@ public class ProjectService {
     private final ProjectMemberRepository projectMemberRepository;
     private final UserRepository userRepository;
     private final SecurityService securityService;
+    private final ProjectMembershipCache membershipCache;
     
     public ProjectService(ProjectRepository projectRepository, 
                          ProjectMemberRepository projectMemberRepository,
                          UserRepository userRepository,
-                         SecurityService securityService) {
+                         SecurityService securityService,
+                         ProjectMembershipCache membershipCache) {
         this.projectRepository = projectRepository;
         this.projectMemberRepository = projectMemberRepository;
         this.userRepository = userRepository;
         this.securityService = securityService;
+        this.membershipCache = membershipCache;
     }
     
     public ProjectResponse createProject(ProjectCreateRequest request) {
@@ -80,6 +86,8 @@ public class ProjectService {
         // Automatically add the project creator as PROJECT_MANAGER
         ProjectMember creatorMember = new ProjectMember(savedProject, currentUser, ProjectMemberRole.PROJECT_MANAGER);
         projectMemberRepository.save(creatorMember);
+        Set<Long> affectedUserIds = new HashSet<>();
+        affectedUserIds.add(currentUser.getId());
         
         // Add other members if provided
         if (request.getMembers() != null && !request.getMembers().isEmpty()) {
@@ -101,9 +109,11 @@ public class ProjectService {
                     // Create and save member directly (avoiding permission checks)
                     ProjectMember member = new ProjectMember(savedProject, user, role);
                     projectMemberRepository.save(member);
+                    affectedUserIds.add(user.getId());
                 }
             }
         }
+        membershipCache.evictAfterCommit(affectedUserIds);
         
         return convertToProjectResponse(savedProject);
     }
@@ -154,7 +164,7 @@ public class ProjectService {
         // Check if user is a member of the project
         Long currentUserId = securityService.getCurrentUserId();
         if (!securityService.hasRole("ADMIN") && 
-            !projectMemberRepository.existsByProjectIdAndUserId(id, currentUserId)) {
+            !membershipCache.isMember(currentUserId, id)) {
             throw new UnauthorizedException("Access denied. You are not a member of this project. Please contact the project manager to request access.");
         }
         
@@ -214,6 +224,12 @@ public class ProjectService {
             // Get existing members to avoid duplicates
             List<ProjectMember> existingMembers = projectMemberRepository.findByProjectId(id);
             
+            // Removed, added and re-assigned members all need their cached memberships reloaded
+            Set<Long> affectedUserIds = new HashSet<>();
+            existingMembers.forEach(existingMember -> affectedUserIds.add(existingMember.getUser().getId()));
+            request.getMembers().forEach(memberRequest -> affectedUserIds.add(memberRequest.getUserId()));
+            membershipCache.evictAfterCommit(affectedUserIds);
+            
             // Remove members that are no longer in the request
             for (ProjectMember existingMember : existingMembers) {
                 boolean stillExists = request.getMembers().stream()
@@ -316,6 +332,7 @@ public class ProjectService {
         
         ProjectMember member = new ProjectMember(project, user, role);
         ProjectMember savedMember = projectMemberRepository.save(member);
+        membershipCache.evictAfterCommit(List.of(user.getId()));
         
         return convertToProjectMemberResponse(savedMember);
     }
@@ -335,14 +352,12 @@ public class ProjectService {
                 .orElseThrow(() -> new ResourceNotFoundException("Project member not found"));
         
         projectMemberRepository.delete(member);
+        membershipCache.evictAfterCommit(List.of(userId));
     }
     
     private boolean canEditProject(Project project, Long userId) {
         // Check if user is PROJECT_MANAGER or TEAM_LEAD of the project
-        return projectMemberRepository.findByProjectIdAndUserId(project.getId(), userId)
-                .map(member -> member.getRole() == ProjectMemberRole.PROJECT_MANAGER || 
-                              member.getRole() == ProjectMemberRole.TEAM_LEAD)
-                .orElse(false);
+        return membershipCache.canEditProject(userId, project.getId());
     }
     
     private ProjectResponse convertToProjectResponse(Project project) {
@@ -0,0 +1,128 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.search.SearchResponse;
+import com.projectmanagement.dto.search.SearchResultResponse;
+import com.projectmanagement.dto.search.TypeaheadResponse;
+import com.projectmanagement.dto.search.TypeaheadSuggestion;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.search.SearchEngine;
+import com.projectmanagement.search.SearchType;
+import com.projectmanagement.search.SuggestionType;
+import com.projectmanagement.security.service.SecurityService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service for cross-entity search over tasks, comments and projects, and for typeahead
+ * suggestions of users, projects and tasks.
+ * Administrators search every project; other users only the projects they are members of.
+ */
+@Service
+@Transactional
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    static final int MAX_QUERY_LENGTH = 200;
+    static final int MAX_LIMIT = 50;
+    static final int MAX_TYPEAHEAD_LENGTH = 100;
+    static final int MAX_TYPEAHEAD_LIMIT = 20;
+
+    private final SearchEngine searchEngine;
+    private final ProjectRepository projectRepository;
+    private final SecurityService securityService;
+
+    public SearchService(SearchEngine searchEngine, ProjectRepository projectRepository,
+                         SecurityService securityService) {
+        this.searchEngine = searchEngine;
+        this.projectRepository = projectRepository;
+        this.securityService = securityService;
+    }
+
+    /**
+     * Search tasks, comments and projects
+     *
+     * @param query Search text
+     * @param types Comma-separated types to search (task, comment, project); blank for all
+     * @param projectId Restrict the search to one project, or null
+     * @param limit Maximum number of results
+     */
+    @Transactional(readOnly = true)
+    public SearchResponse search(String query, String types, Long projectId, int limit) {
+        logger.info("Searching for '{}' in types: {}, project ID: {}, limit: {}", query, types, projectId, limit);
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query is required");
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("Search query cannot exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Set<SearchType> searchTypes = parseTypes(types, SearchType.class, "search");
+
+        if (projectId != null && !projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId);
+        }
+        Long memberId = securityService.isAdmin() ? null : securityService.getCurrentUserId();
+
+        List<SearchResultResponse> results = searchEngine.search(trimmed, searchTypes, projectId, memberId, limit);
+        return new SearchResponse(trimmed, results);
+    }
+
+    /**
+     * Suggest users, projects and tasks whose name contains the typed text, in one call
+     *
+     * @param query Text typed so far
+     * @param types Comma-separated types to suggest (user, project, task); blank for all
+     * @param limit Maximum number of suggestions per type
+     */
+    @Transactional(readOnly = true)
+    public TypeaheadResponse typeahead(String query, String types, int limit) {
+        logger.info("Typeahead for '{}' in types: {}, limit: {}", query, types, limit);
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Typeahead query is required");
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() > MAX_TYPEAHEAD_LENGTH) {
+            throw new ValidationException("Typeahead query cannot exceed " + MAX_TYPEAHEAD_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_TYPEAHEAD_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_TYPEAHEAD_LIMIT);
+        }
+        Set<SuggestionType> suggestionTypes = parseTypes(types, SuggestionType.class, "typeahead");
+        Long memberId = securityService.isAdmin() ? null : securityService.getCurrentUserId();
+
+        List<TypeaheadSuggestion> suggestions = searchEngine.suggest(trimmed, suggestionTypes, memberId, limit);
+        return new TypeaheadResponse(trimmed, suggestions);
+    }
+
+    private <T extends Enum<T>> Set<T> parseTypes(String types, Class<T> typeClass, String kind) {
+        if (types == null || types.trim().isEmpty()) {
+            return EnumSet.allOf(typeClass);
+        }
+        Set<T> parsed = EnumSet.noneOf(typeClass);
+        for (String type : types.split(",")) {
+            if (type.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                parsed.add(Enum.valueOf(typeClass, type.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Invalid " + kind + " type: " + type.trim());
+            }
+        }
+        return parsed.isEmpty() ? EnumSet.allOf(typeClass) : parsed;
+    }
+}
@@ -0,0 +1,98 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.TaskBoardTombstone;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskBoardTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Maintains the per-project task board revision.
+ * Callers invoke these methods inside their own write transaction, before saving the task,
+ * so the revision bump commits together with the change it describes.
+ */
+@Service
+@Transactional
+public class TaskBoardRevisionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBoardRevisionService.class);
+
+    private final ProjectRepository projectRepository;
+    private final TaskBoardTombstoneRepository tombstoneRepository;
+
+    public TaskBoardRevisionService(ProjectRepository projectRepository,
+                                    TaskBoardTombstoneRepository tombstoneRepository) {
+        this.projectRepository = projectRepository;
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    /**
+     * Stamp a created or updated task with the project's next board revision
+     */
+    public void taskChanged(Task task) {
+        task.setBoardRevision(nextRevision(task.getProject().getId()));
+    }
+
+    /**
+     * Record a task that is about to be deleted under the project's next board revision.
+     * The task is stamped with that revision too, for the deletion event.
+     */
+    public void taskRemoved(Task task) {
+        Long projectId = task.getProject().getId();
+        long revision = nextRevision(projectId);
+        task.setBoardRevision(revision);
+        tombstoneRepository.save(new TaskBoardTombstone(task.getId(), projectId, revision));
+    }
+
+    /**
+     * Current board revision of a project
+     */
+    @Transactional(readOnly = true)
+    public long getRevision(Long projectId) {
+        return projectRepository.findBoardRevision(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Project not found with ID: " + projectId));
+    }
+
+    /**
+     * Newest board revision of a project whose deletions may no longer be reported by a delta
+     */
+    @Transactional(readOnly = true)
+    public long getHorizon(Long projectId) {
+        return projectRepository.findBoardRevisionHorizon(projectId).orElse(0L);
+    }
+
+    /**
+     * Remove tombstones of tasks deleted before the cutoff, first raising each affected
+     * project's horizon past them so older clients get the full board instead of a delta
+     *
+     * @return Number of tombstones removed
+     */
+    public int pruneTombstones(LocalDateTime cutoff) {
+        int projects = projectRepository.raiseBoardRevisionHorizons(cutoff);
+        int removed = tombstoneRepository.deleteDeletedBefore(cutoff);
+        if (removed > 0) {
+            logger.info("Pruned {} task board tombstones older than {} in {} projects", removed, cutoff, projects);
+        }
+        return removed;
+    }
+
+    /**
+     * Increment and return the project's board revision.
+     * The row lock taken by the increment is held until commit, so concurrent writers to the
+     * same project commit in revision order and a reader never skips a lower revision.
+     */
+    private long nextRevision(Long projectId) {
+        if (projectRepository.incrementBoardRevision(projectId) == 0) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId);
+        }
+        long revision = getRevision(projectId);
+        logger.debug("Task board revision for project ID {} is now {}", projectId, revision);
+        return revision;
+    }
+}
@@ -5,6 +5,7 @@ import com.projectmanagement.entity.*;
 import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.exception.UnauthorizedException;
 import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskBoardTombstoneRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.security.service.SecurityService;
 import org.slf4j.Logger;
@@ -13,7 +14,6 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for task board (Kanban) functionality
@@ -26,13 +26,19 @@ public class TaskBoardService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final SecurityService securityService;
+    private final TaskBoardRevisionService taskBoardRevisionService;
+    private final TaskBoardTombstoneRepository tombstoneRepository;
 
     public TaskBoardService(TaskRepository taskRepository, 
                            ProjectRepository projectRepository,
-                           SecurityService securityService) {
+                           SecurityService securityService,
+                           TaskBoardRevisionService taskBoardRevisionService,
+                           TaskBoardTombstoneRepository tombstoneRepository) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.securityService = securityService;
+        this.taskBoardRevisionService = taskBoardRevisionService;
+        this.tombstoneRepository = tombstoneRepository;
     }
 
     /**
@@ -57,16 +63,91 @@ public class TaskBoardService {
             throw new UnauthorizedException("Access denied to project");
         }
 
-        // Normalize groupBy parameter
+        // Read the revision before the tasks so the board is at least as new as the revision it reports
+        long revision = taskBoardRevisionService.getRevision(projectId);
+
+        return buildBoard(projectId, normalizeGroupBy(groupBy), milestoneId, revision);
+    }
+
+    /**
+     * Get the current board revision of a project, for conditional board requests
+     *
+     * @param projectId Project ID
+     * @return Board revision, incremented by every task change in the project
+     */
+    public long getBoardRevision(Long projectId) {
+        long revision = taskBoardRevisionService.getRevision(projectId);
+
+        if (!securityService.isTeamMember()) {
+            throw new UnauthorizedException("Access denied to project");
+        }
+
+        return revision;
+    }
+
+    /**
+     * Get the task board changes since a revision the client already has.
+     * Falls back to the full board when the client's revision is unknown to the server, or older
+     * than the project's horizon, below which deleted tasks are no longer recorded.
+     *
+     * @param projectId Project ID
+     * @param groupBy Grouping criteria (STATUS, PRIORITY, ASSIGNEE)
+     * @param milestoneId Optional milestone filter
+     * @param sinceRevision Revision of the client's current board
+     * @return TaskBoardResponse with changed tasks and removed task IDs
+     */
+    public TaskBoardResponse getTaskBoardDelta(Long projectId, String groupBy, Long milestoneId, Long sinceRevision) {
+        logger.info("Getting task board delta for project ID: {}, groupBy: {}, milestoneId: {}, sinceRevision: {}", 
+                   projectId, groupBy, milestoneId, sinceRevision);
+
+        long revision = getBoardRevision(projectId);
         String normalizedGroupBy = normalizeGroupBy(groupBy);
 
-        // Get all tasks for the project
-        List<Task> tasks = taskRepository.findTasksForBoardByProjectId(projectId, milestoneId);
+        if (sinceRevision == null || sinceRevision < 0 || sinceRevision > revision) {
+            return buildBoard(projectId, normalizedGroupBy, milestoneId, revision);
+        }
+        if (sinceRevision == revision) {
+            return TaskBoardResponse.delta(normalizedGroupBy, revision, sinceRevision, new ArrayList<>(), new ArrayList<>());
+        }
+
+        // Tombstones are read before the horizon, so a concurrent prune at worst forces a full board
+        List<Long> deletedTaskIds = tombstoneRepository.findTaskIdsDeletedSince(projectId, sinceRevision);
+        if (sinceRevision < taskBoardRevisionService.getHorizon(projectId)) {
+            return buildBoard(projectId, normalizedGroupBy, milestoneId, revision);
+        }
 
-        // Group tasks based on criteria
-        List<TaskBoardColumn> columns = groupTasks(tasks, normalizedGroupBy);
+        List<TaskBoardChange> changes = new ArrayList<>();
+        List<Long> removedTaskIds = new ArrayList<>();
+
+        for (Task task : taskRepository.findTasksForBoardByProjectIdChangedSince(projectId, sinceRevision)) {
+            if (milestoneId != null && (task.getMilestone() == null || !milestoneId.equals(task.getMilestone().getId()))) {
+                // Moved out of the filtered milestone
+                removedTaskIds.add(task.getId());
+            } else {
+                changes.add(new TaskBoardChange(
+                    getColumnIdentifier(task, normalizedGroupBy),
+                    getColumnDisplayName(task, normalizedGroupBy),
+                    convertToBoardItem(task)
+                ));
+            }
+        }
+        removedTaskIds.addAll(deletedTaskIds);
 
-        return new TaskBoardResponse(normalizedGroupBy, columns);
+        return TaskBoardResponse.delta(normalizedGroupBy, revision, sinceRevision, changes, removedTaskIds);
+    }
+
+    /**
+     * Load and group all tasks of the board.
+     * Tasks are read as board item projections in a single query and appended
+     * straight into their columns, without loading Task or User entities.
+     */
+    private TaskBoardResponse buildBoard(Long projectId, String groupBy, Long milestoneId, long revision) {
+        List<TaskBoardItem> items = taskRepository.findBoardItemsByProjectId(projectId, milestoneId);
+
+        // Group items based on criteria
+        List<TaskBoardColumn> columns = groupItems(items, groupBy);
+
+        return new TaskBoardResponse(groupBy, columns, revision);
     }
 
     /**
@@ -87,119 +168,96 @@ public class TaskBoardService {
     }
 
     /**
-     * Group tasks based on the specified criteria
+     * Group board items based on the specified criteria
      */
-    private List<TaskBoardColumn> groupTasks(List<Task> tasks, String groupBy) {
+    private List<TaskBoardColumn> groupItems(List<TaskBoardItem> items, String groupBy) {
         switch (groupBy) {
             case "STATUS":
-                return groupByStatus(tasks);
+                return groupByStatus(items);
             case "PRIORITY":
-                return groupByPriority(tasks);
+                return groupByPriority(items);
             case "ASSIGNEE":
-                return groupByAssignee(tasks);
+                return groupByAssignee(items);
             default:
-                return groupByStatus(tasks);
+                return groupByStatus(items);
         }
     }
 
     /**
-     * Group tasks by status
+     * Group board items by status
      */
-    private List<TaskBoardColumn> groupByStatus(List<Task> tasks) {
-        Map<TaskStatus, List<Task>> groupedTasks = tasks.stream()
-                .collect(Collectors.groupingBy(Task::getStatus));
+    private List<TaskBoardColumn> groupByStatus(List<TaskBoardItem> items) {
+        Map<TaskStatus, List<TaskBoardItem>> groupedItems = new EnumMap<>(TaskStatus.class);
+        for (TaskBoardItem item : items) {
+            groupedItems.computeIfAbsent(item.getStatus(), k -> new ArrayList<>()).add(item);
+        }
 
         List<TaskBoardColumn> columns = new ArrayList<>();
 
         // Create columns for all possible statuses
         for (TaskStatus status : TaskStatus.values()) {
-            List<Task> statusTasks = groupedTasks.getOrDefault(status, new ArrayList<>());
-            List<TaskBoardItem> boardItems = convertToBoardItems(statusTasks);
-            
-            TaskBoardColumn column = new TaskBoardColumn(
+            columns.add(new TaskBoardColumn(
                 status.name(),
                 getStatusDisplayName(status),
-                boardItems
-            );
-            columns.add(column);
+                groupedItems.getOrDefault(status, new ArrayList<>())
+            ));
         }
 
         return columns;
     }
 
     /**
-     * Group tasks by priority
+     * Group board items by priority
      */
-    private List<TaskBoardColumn> groupByPriority(List<Task> tasks) {
-        Map<TaskPriority, List<Task>> groupedTasks = tasks.stream()
-                .collect(Collectors.groupingBy(Task::getPriority));
+    private List<TaskBoardColumn> groupByPriority(List<TaskBoardItem> items) {
+        Map<TaskPriority, List<TaskBoardItem>> groupedItems = new EnumMap<>(TaskPriority.class);
+        for (TaskBoardItem item : items) {
+            groupedItems.computeIfAbsent(item.getPriority(), k -> new ArrayList<>()).add(item);
+        }
 
         List<TaskBoardColumn> columns = new ArrayList<>();
 
         // Create columns for all possible priorities
         for (TaskPriority priority : TaskPriority.values()) {
-            List<Task> priorityTasks = groupedTasks.getOrDefault(priority, new ArrayList<>());
-            List<TaskBoardItem> boardItems = convertToBoardItems(priorityTasks);
-            
-            TaskBoardColumn column = new TaskBoardColumn(
+            columns.add(new TaskBoardColumn(
                 priority.name(),
                 getPriorityDisplayName(priority),
-                boardItems
-            );
-            columns.add(column);
+                groupedItems.getOrDefault(priority, new ArrayList<>())
+            ));
         }
 
         return columns;
     }
 
     /**
-     * Group tasks by assignee
+     * Group board items by assignee
      */
-    private List<TaskBoardColumn> groupByAssignee(List<Task> tasks) {
-        Map<String, List<Task>> groupedTasks = new HashMap<>();
+    private List<TaskBoardColumn> groupByAssignee(List<TaskBoardItem> items) {
+        Map<String, List<TaskBoardItem>> groupedItems = new HashMap<>();
 
         // Group by assignee name (or "Unassigned")
-        for (Task task : tasks) {
-            String assigneeKey = task.getAssignee() != null ? 
-                task.getAssignee().getFullName() : "Unassigned";
-            
-            groupedTasks.computeIfAbsent(assigneeKey, k -> new ArrayList<>()).add(task);
+        for (TaskBoardItem item : items) {
+            String assigneeKey = item.getAssignee() != null ? item.getAssignee().getName() : "Unassigned";
+            groupedItems.computeIfAbsent(assigneeKey, k -> new ArrayList<>()).add(item);
         }
 
         List<TaskBoardColumn> columns = new ArrayList<>();
 
         // Sort assignees alphabetically
-        List<String> assigneeKeys = new ArrayList<>(groupedTasks.keySet());
+        List<String> assigneeKeys = new ArrayList<>(groupedItems.keySet());
         assigneeKeys.sort(String::compareToIgnoreCase);
 
         for (String assigneeKey : assigneeKeys) {
-            List<Task> assigneeTasks = groupedTasks.get(assigneeKey);
-            List<TaskBoardItem> boardItems = convertToBoardItems(assigneeTasks);
-            
-            TaskBoardColumn column = new TaskBoardColumn(
-                assigneeKey,
-                assigneeKey,
-                boardItems
-            );
-            columns.add(column);
+            columns.add(new TaskBoardColumn(assigneeKey, assigneeKey, groupedItems.get(assigneeKey)));
         }
 
         return columns;
     }
 
-    /**
-     * Convert tasks to board items
-     */
-    private List<TaskBoardItem> convertToBoardItems(List<Task> tasks) {
-        return tasks.stream()
-                .map(this::convertToBoardItem)
-                .collect(Collectors.toList());
-    }
-
     /**
      * Convert a single task to board item
      */
-    private TaskBoardItem convertToBoardItem(Task task) {
+    public TaskBoardItem convertToBoardItem(Task task) {
         TaskAssigneeResponse assignee = null;
         if (task.getAssignee() != null) {
             assignee = new TaskAssigneeResponse(
@@ -221,6 +279,35 @@ public class TaskBoardService {
         );
     }
 
+    /**
+     * Get the identifier of the column a task belongs to
+     */
+    private String getColumnIdentifier(Task task, String groupBy) {
+        switch (groupBy) {
+            case "PRIORITY": return task.getPriority().name();
+            case "ASSIGNEE": return getAssigneeKey(task);
+            default: return task.getStatus().name();
+        }
+    }
+
+    /**
+     * Get the display name of the column a task belongs to
+     */
+    private String getColumnDisplayName(Task task, String groupBy) {
+        switch (groupBy) {
+            case "PRIORITY": return getPriorityDisplayName(task.getPriority());
+            case "ASSIGNEE": return getAssigneeKey(task);
+            default: return getStatusDisplayName(task.getStatus());
+        }
+    }
+
+    /**
+     * Get the assignee column key (assignee name or "Unassigned")
+     */
+    private String getAssigneeKey(Task task) {
+        return task.getAssignee() != null ? task.getAssignee().getFullName() : "Unassigned";
+    }
+
     /**
      * Get display name for status
      */
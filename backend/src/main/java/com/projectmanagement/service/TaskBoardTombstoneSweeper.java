@@ -0,0 +1,52 @@
+package com.projectmanagement.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically prunes task board tombstones older than the retention period
+ */
+@Component
+public class TaskBoardTombstoneSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBoardTombstoneSweeper.class);
+
+    private final TaskBoardRevisionService taskBoardRevisionService;
+    private final Duration retention;
+
+    public TaskBoardTombstoneSweeper(TaskBoardRevisionService taskBoardRevisionService,
+                                     @Value("${app.board.tombstone-retention-days:30}") long retentionDays) {
+        this.taskBoardRevisionService = taskBoardRevisionService;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    /**
+     * Prune tombstones of tasks deleted before the retention period
+     *
+     * @return Number of tombstones removed
+     */
+    public int sweep() {
+        return taskBoardRevisionService.pruneTombstones(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * Scheduled sweep; a failure is logged and the next run retries
+     */
+    @Scheduled(initialDelayString = "${app.board.tombstone-sweep-interval-minutes:60}",
+               fixedRateString = "${app.board.tombstone-sweep-interval-minutes:60}",
+               timeUnit = TimeUnit.MINUTES)
+    public void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            logger.error("Failed to prune task board tombstones", e);
+        }
+    }
+}
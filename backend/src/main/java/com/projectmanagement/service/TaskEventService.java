@@ -0,0 +1,494 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.task.TaskEvent;
+import com.projectmanagement.dto.task.TaskEventType;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.TaskStatus;
+import com.projectmanagement.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Publishes task events to per-project Server-Sent Events subscribers.
+ * Publishing only enqueues into each subscriber's bounded buffer; a sender pool drains
+ * the buffers, so a slow client never blocks the committing request. A subscriber whose
+ * buffer overflows has its backlog replaced by a single RESYNC event.
+ * SseEmitter only offers blocking writes, so each one runs on a writer thread and the sender waits
+ * for it only up to the write timeout; a client that stalls longer is dropped and its emitter is
+ * completed with an error, and a stalled connection cannot hold a sender thread that other
+ * subscribers need. When every writer thread is taken, items stay buffered and are retried.
+ */
+@Service
+public class TaskEventService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventService.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    // Delay before retrying a drain that found every writer thread busy
+    private static final Duration WRITE_RETRY_DELAY = Duration.ofMillis(500);
+
+    private final TaskBoardService taskBoardService;
+    private final Executor sender;
+    private final int bufferSize;
+    private final Duration emitterTimeout;
+    private final Duration writeTimeout;
+    private final ThreadPoolExecutor writer;
+    private final ThreadPoolTaskExecutor ownedSender;
+    private final ThreadPoolTaskScheduler heartbeatScheduler;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskEventService(TaskBoardService taskBoardService,
+                            @Value("${app.events.sender-threads:4}") int senderThreads,
+                            @Value("${app.events.sender-queue-capacity:10000}") int senderQueueCapacity,
+                            @Value("${app.events.buffer-size:256}") int bufferSize,
+                            @Value("${app.events.heartbeat-seconds:15}") long heartbeatSeconds,
+                            @Value("${app.events.emitter-timeout-minutes:30}") long emitterTimeoutMinutes,
+                            @Value("${app.events.write-timeout-seconds:10}") long writeTimeoutSeconds,
+                            @Value("${app.events.max-stalled-writes:64}") int maxStalledWrites) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(senderThreads);
+        pool.setMaxPoolSize(senderThreads);
+        // A subscriber has at most one pending drain, so this only overflows with that many subscribers
+        pool.setQueueCapacity(senderQueueCapacity);
+        pool.setThreadNamePrefix("task-events-");
+        pool.setDaemon(true);
+        pool.initialize();
+
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("task-events-heartbeat-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+
+        this.taskBoardService = taskBoardService;
+        this.sender = pool;
+        this.bufferSize = bufferSize;
+        this.emitterTimeout = Duration.ofMinutes(emitterTimeoutMinutes);
+        this.writeTimeout = Duration.ofSeconds(writeTimeoutSeconds);
+        this.writer = newWriterPool(senderThreads + maxStalledWrites);
+        this.ownedSender = pool;
+        this.heartbeatScheduler = scheduler;
+
+        scheduler.scheduleAtFixedRate(this::sendHeartbeats, Duration.ofSeconds(heartbeatSeconds));
+    }
+
+    public TaskEventService(TaskBoardService taskBoardService, Executor sender, int bufferSize, Duration emitterTimeout) {
+        this(taskBoardService, sender, bufferSize, emitterTimeout, Duration.ofSeconds(10));
+    }
+
+    public TaskEventService(TaskBoardService taskBoardService, Executor sender, int bufferSize, Duration emitterTimeout,
+                            Duration writeTimeout) {
+        this(taskBoardService, sender, bufferSize, emitterTimeout, writeTimeout, 64);
+    }
+
+    public TaskEventService(TaskBoardService taskBoardService, Executor sender, int bufferSize, Duration emitterTimeout,
+                            Duration writeTimeout, int maxStalledWrites) {
+        this.taskBoardService = taskBoardService;
+        this.sender = sender;
+        this.bufferSize = bufferSize;
+        this.emitterTimeout = emitterTimeout;
+        this.writeTimeout = writeTimeout;
+        this.writer = newWriterPool(1 + maxStalledWrites);
+        this.ownedSender = null;
+        this.heartbeatScheduler = null;
+    }
+
+    /**
+     * Threads for blocking client writes, created on demand: one per write in progress,
+     * plus writes of dropped subscribers that have not failed yet
+     */
+    private static ThreadPoolExecutor newWriterPool(int maxThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "task-events-writer-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Open an event stream for a project
+     *
+     * @param currentRevision Reads the current board revision, sent as the stream's starting point
+     * @param lastEventId Last revision the client received before reconnecting, if any
+     */
+    public SseEmitter subscribe(Long projectId, LongSupplier currentRevision, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        register(projectId, emitter, currentRevision, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Register a subscriber, then read the revision for its first event.
+     * Events committed in between are already buffered and follow the first event, so a client
+     * never starts from a revision older than an event it did not receive.
+     */
+    void register(Long projectId, SseEmitter emitter, LongSupplier currentRevision, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        subscribers.compute(projectId, (id, set) -> {
+            Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+
+        long revision;
+        try {
+            revision = currentRevision.getAsLong();
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+
+        // A reconnecting client that is behind must reload before applying further events
+        TaskEventType type = lastEventId != null && lastEventId < revision
+                ? TaskEventType.RESYNC : TaskEventType.CONNECTED;
+        subscriber.start(new TaskEvent(type, projectId, null, revision, null));
+        logger.debug("Subscribed to task events for project ID: {} ({} subscribers)", projectId, getSubscriberCount(projectId));
+    }
+
+    /**
+     * Publish a created task once the current transaction commits
+     */
+    public void taskCreated(Task task) {
+        publishAfterCommit(taskEvent(TaskEventType.TASK_CREATED, task));
+    }
+
+    /**
+     * Publish an updated task once the current transaction commits
+     *
+     * @param previousStatus Status before the update; a different status publishes TASK_STATUS_CHANGED
+     */
+    public void taskUpdated(Task task, TaskStatus previousStatus) {
+        TaskEventType type = previousStatus != task.getStatus()
+                ? TaskEventType.TASK_STATUS_CHANGED : TaskEventType.TASK_UPDATED;
+        TaskEvent event = taskEvent(type, task);
+        event.setPreviousStatus(previousStatus);
+        publishAfterCommit(event);
+    }
+
+    /**
+     * Publish a deleted task once the current transaction commits
+     */
+    public void taskDeleted(Task task) {
+        publishAfterCommit(new TaskEvent(TaskEventType.TASK_DELETED, task.getProject().getId(), task.getId(),
+                task.getBoardRevision(), null));
+    }
+
+    /**
+     * Deliver an event to the project's subscribers after commit, or immediately without a transaction.
+     * Events of a rolled back transaction are never sent.
+     */
+    public void publishAfterCommit(TaskEvent event) {
+        TransactionHooks.afterCommit(() -> publish(event));
+    }
+
+    /**
+     * Enqueue an event for every subscriber of its project without blocking
+     */
+    public void publish(TaskEvent event) {
+        Set<Subscriber> projectSubscribers = subscribers.get(event.getProjectId());
+        if (projectSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : projectSubscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Send a keep-alive comment to idle subscribers so proxies keep the connections open
+     */
+    public void sendHeartbeats() {
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : projectSubscribers) {
+                subscriber.offerHeartbeat();
+            }
+        }
+    }
+
+    public int getSubscriberCount(Long projectId) {
+        Set<Subscriber> projectSubscribers = subscribers.get(projectId);
+        return projectSubscribers != null ? projectSubscribers.size() : 0;
+    }
+
+    @Override
+    public void destroy() {
+        List<Subscriber> all = new ArrayList<>();
+        subscribers.values().forEach(all::addAll);
+        for (Subscriber subscriber : all) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdown();
+        }
+        if (ownedSender != null) {
+            ownedSender.shutdown();
+        }
+        writer.shutdownNow();
+    }
+
+    private TaskEvent taskEvent(TaskEventType type, Task task) {
+        return new TaskEvent(type, task.getProject().getId(), task.getId(), task.getBoardRevision(),
+                taskBoardService.convertToBoardItem(task));
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.projectId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * One connected client: a bounded buffer drained by at most one sender task at a time
+     */
+    private final class Subscriber {
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final Deque<Object> buffer = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean started;
+        private volatile boolean closed;
+        private volatile boolean writing;
+        private volatile Throwable failure;
+
+        private Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        void offer(TaskEvent event) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    // Too far behind to catch up event by event
+                    buffer.clear();
+                    buffer.add(new TaskEvent(TaskEventType.RESYNC, projectId, null, event.getRevision(), null));
+                    logger.warn("Task event buffer overflow for a subscriber of project ID: {}, sending RESYNC", projectId);
+                } else {
+                    buffer.add(event);
+                }
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Put the first event ahead of anything buffered since registration and begin sending
+         */
+        void start(TaskEvent first) {
+            synchronized (buffer) {
+                buffer.addFirst(first);
+            }
+            started = true;
+            scheduleDrain();
+        }
+
+        void offerHeartbeat() {
+            synchronized (buffer) {
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+                buffer.add(HEARTBEAT);
+            }
+            scheduleDrain();
+        }
+
+        void close() {
+            closed = true;
+            synchronized (buffer) {
+                buffer.clear();
+            }
+            remove(this);
+        }
+
+        /**
+         * Drop a subscriber whose client failed and complete its emitter with the error, so the
+         * container releases the connection. A write still blocked holds the emitter's lock, so
+         * then the completion is left to the writer thread once that write returns.
+         */
+        void drop(Throwable cause) {
+            failure = cause;
+            close();
+            if (!writing) {
+                completeWithFailure();
+            }
+        }
+
+        private void completeWithFailure() {
+            if (completed.compareAndSet(false, true)) {
+                emitter.completeWithError(failure);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!started || closed || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                retryLater();
+            }
+        }
+
+        private void retryLater() {
+            CompletableFuture.delayedExecutor(WRITE_RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS)
+                    .execute(this::scheduleDrain);
+        }
+
+        private void drain() {
+            boolean saturated = false;
+            try {
+                Object next;
+                while (!closed && (next = poll()) != null) {
+                    if (!write(next)) {
+                        // Every writer thread is taken, mostly by stalled clients; this one is not at fault
+                        requeue(next);
+                        saturated = true;
+                        break;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Dropping task event subscriber for project ID: {}: {}", projectId, e.getMessage());
+                drop(e);
+            } catch (TimeoutException e) {
+                logger.warn("Dropping task event subscriber for project ID: {}: write took longer than {} ms",
+                        projectId, writeTimeout.toMillis());
+                drop(e);
+            } finally {
+                draining.set(false);
+            }
+            if (saturated) {
+                retryLater();
+            } else if (!closed && hasPending()) {
+                // An event may have been offered after the last poll but before draining was cleared
+                scheduleDrain();
+            }
+        }
+
+        private Object poll() {
+            synchronized (buffer) {
+                return buffer.poll();
+            }
+        }
+
+        private void requeue(Object item) {
+            synchronized (buffer) {
+                buffer.addFirst(item);
+            }
+        }
+
+        private boolean hasPending() {
+            synchronized (buffer) {
+                return !buffer.isEmpty();
+            }
+        }
+
+        /**
+         * Send an item on a writer thread, waiting for it no longer than the write timeout
+         *
+         * @return false when no writer thread is available and the item was not sent
+         */
+        private boolean write(Object item) throws IOException, TimeoutException {
+            Future<?> write;
+            writing = true;
+            try {
+                write = writer.submit(() -> {
+                    try {
+                        send(item);
+                    } finally {
+                        writeFinished();
+                    }
+                    return null;
+                });
+            } catch (RejectedExecutionException e) {
+                writeFinished();
+                return false;
+            }
+            try {
+                write.get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                write.cancel(true);
+                throw e;
+            } catch (InterruptedException e) {
+                write.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending task event", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Failed to send task event", cause);
+            }
+            return true;
+        }
+
+        /**
+         * Complete the emitter of a subscriber dropped while this write was blocked
+         */
+        private void writeFinished() {
+            writing = false;
+            if (failure != null) {
+                completeWithFailure();
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            TaskEvent event = (TaskEvent) item;
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .name(event.getType().name())
+                    .data(event, MediaType.APPLICATION_JSON);
+            if (event.getRevision() != null) {
+                builder.id(String.valueOf(event.getRevision()));
+            }
+            emitter.send(builder);
+        }
+    }
+}
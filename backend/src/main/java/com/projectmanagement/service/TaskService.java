@@ -8,13 +8,16 @@ import com.projectmanagement.exception.ValidationException;
 import com.projectmanagement.repository.MilestoneRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.TaskSpecifications;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.evaluator.TaskPermissionEvaluator;
 import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,15 +36,27 @@ public class TaskService {
     private final MilestoneRepository milestoneRepository;
     private final UserRepository userRepository;
     private final SecurityService securityService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final TaskBoardRevisionService taskBoardRevisionService;
+    private final TaskEventService taskEventService;
+    private final AttachmentService attachmentService;
+    private final TaskPermissionEvaluator taskPermissionEvaluator;
 
     public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository,
                       MilestoneRepository milestoneRepository, UserRepository userRepository,
-                      SecurityService securityService) {
+                      SecurityService securityService, AnalyticsRollupService analyticsRollupService,
+                      TaskBoardRevisionService taskBoardRevisionService, TaskEventService taskEventService,
+                      AttachmentService attachmentService, TaskPermissionEvaluator taskPermissionEvaluator) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.milestoneRepository = milestoneRepository;
         this.userRepository = userRepository;
         this.securityService = securityService;
+        this.analyticsRollupService = analyticsRollupService;
+        this.taskBoardRevisionService = taskBoardRevisionService;
+        this.taskEventService = taskEventService;
+        this.attachmentService = attachmentService;
+        this.taskPermissionEvaluator = taskPermissionEvaluator;
     }
 
     /**
@@ -109,7 +124,10 @@ public class TaskService {
         task.setStatus(request.getStatus());
         task.setDeadline(request.getDeadline());
 
+        taskBoardRevisionService.taskChanged(task);
         Task savedTask = taskRepository.save(task);
+        analyticsRollupService.taskCreated(savedTask);
+        taskEventService.taskCreated(savedTask);
         logger.info("Created task with ID: {}", savedTask.getId());
 
         return convertToTaskResponse(savedTask);
@@ -129,14 +147,14 @@ public class TaskService {
     }
 
     /**
-     * Get all tasks for a project with optional filtering
+     * Get all tasks for a project, newest first, matching every filter that is set
      */
     @Transactional(readOnly = true)
     public TaskListResponse getProjectTasks(Long projectId, String status, String priority,
-                                         Long assigneeId, Long milestoneId, String search,
-                                         int page, int size) {
-        logger.info("Getting tasks for project ID: {} with filters - status: {}, priority: {}, assigneeId: {}, milestoneId: {}, search: {}, page: {}, size: {}",
-                   projectId, status, priority, assigneeId, milestoneId, search, page, size);
+                                         Long assigneeId, Long milestoneId, LocalDate deadlineFrom,
+                                         LocalDate deadlineTo, String search, int page, int size) {
+        logger.info("Getting tasks for project ID: {} with filters - status: {}, priority: {}, assigneeId: {}, milestoneId: {}, deadline: {} - {}, search: {}, page: {}, size: {}",
+                   projectId, status, priority, assigneeId, milestoneId, deadlineFrom, deadlineTo, search, page, size);
 
         // Validate project exists
         if (!projectRepository.existsById(projectId)) {
@@ -148,33 +166,9 @@ public class TaskService {
         if (size < 1) size = 20;
         if (size > 100) size = 100;
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Task> taskPage;
-
-        // Apply filters
-        if (search != null && !search.trim().isEmpty()) {
-            taskPage = taskRepository.findByProjectIdAndSearchTerm(projectId, search.trim(), pageable);
-        } else if (status != null && !status.trim().isEmpty()) {
-            try {
-                TaskStatus taskStatus = TaskStatus.valueOf(status.toUpperCase());
-                taskPage = taskRepository.findByProjectIdAndStatus(projectId, taskStatus, pageable);
-            } catch (IllegalArgumentException e) {
-                throw new ValidationException("Invalid task status: " + status);
-            }
-        } else if (priority != null && !priority.trim().isEmpty()) {
-            try {
-                TaskPriority taskPriority = TaskPriority.valueOf(priority.toUpperCase());
-                taskPage = taskRepository.findByProjectIdAndPriority(projectId, taskPriority, pageable);
-            } catch (IllegalArgumentException e) {
-                throw new ValidationException("Invalid task priority: " + priority);
-            }
-        } else if (assigneeId != null) {
-            taskPage = taskRepository.findByProjectIdAndAssigneeId(projectId, assigneeId, pageable);
-        } else if (milestoneId != null) {
-            taskPage = taskRepository.findByProjectIdAndMilestoneId(projectId, milestoneId, pageable);
-        } else {
-            taskPage = taskRepository.findByProjectId(projectId, pageable);
-        }
+        TaskFilter filter = buildFilter(status, priority, assigneeId, milestoneId, deadlineFrom, deadlineTo, search);
+        Page<Task> taskPage = taskRepository.findAll(TaskSpecifications.matching(projectId, filter),
+                PageRequest.of(page, size, TaskSpecifications.NEWEST_FIRST));
 
         List<TaskResponse> tasks = taskPage.getContent().stream()
                 .map(this::convertToTaskResponse)
@@ -191,6 +185,62 @@ public class TaskService {
         );
     }
 
+    /**
+     * Get a page of a project's tasks after a cursor, newest first, with the same filters as
+     * {@link #getProjectTasks}. An empty cursor returns the first page; totals are only counted on request.
+     */
+    @Transactional(readOnly = true)
+    public TaskListResponse getProjectTasksByCursor(Long projectId, String status, String priority,
+                                                   Long assigneeId, Long milestoneId, LocalDate deadlineFrom,
+                                                   LocalDate deadlineTo, String search, String cursor, int size,
+                                                   boolean includeTotal) {
+        logger.info("Getting tasks for project ID: {} after cursor: {}, size: {}", projectId, cursor, size);
+
+        // Validate project exists
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project not found with ID: " + projectId);
+        }
+
+        // Validate pagination parameters
+        if (size < 1) size = 20;
+        if (size > 100) size = 100;
+
+        TaskFilter filter = buildFilter(status, priority, assigneeId, milestoneId, deadlineFrom, deadlineTo, search);
+        PageCursor after = PageCursor.decode(cursor);
+        Specification<Task> matching = TaskSpecifications.matching(projectId, filter);
+        Specification<Task> page = after == null
+                ? matching
+                : matching.and(TaskSpecifications.createdBefore(after.getDateTimeKey(), after.getId()));
+        int limit = size + 1;
+        List<Task> rows = taskRepository.findBy(page,
+                query -> query.sortBy(TaskSpecifications.NEWEST_FIRST).limit(limit).all());
+        String nextCursor = PageCursor.next(rows, size, Task::getCreatedAt, Task::getId);
+
+        List<TaskResponse> tasks = PageCursor.page(rows, size).stream()
+                .map(this::convertToTaskResponse)
+                .collect(Collectors.toList());
+
+        int totalElements = -1;
+        int totalPages = -1;
+        if (includeTotal) {
+            long total = taskRepository.count(matching);
+            totalElements = (int) total;
+            totalPages = (int) ((total + size - 1) / size);
+        }
+
+        TaskListResponse response = new TaskListResponse(
+                tasks,
+                totalElements,
+                totalPages,
+                0,
+                size,
+                nextCursor != null,
+                after != null
+        );
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+
     /**
      * Update task
      */
@@ -206,6 +256,12 @@ public class TaskService {
             throw new UnauthorizedException("Insufficient permissions to update tasks");
         }
 
+        // Snapshot completion state for the analytics rollups
+        boolean wasDone = task.getStatus() == TaskStatus.DONE;
+        Long previousAssigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        LocalDate previousCompletedDate = AnalyticsRollupService.completedDate(task);
+        TaskStatus previousStatus = task.getStatus();
+
         // Update fields if provided
         if (request.getTitle() != null && !request.getTitle().trim().isEmpty()) {
             // Check title uniqueness within project
@@ -258,7 +314,10 @@ public class TaskService {
             task.setDeadline(request.getDeadline());
         }
 
+        taskBoardRevisionService.taskChanged(task);
         Task updatedTask = taskRepository.save(task);
+        analyticsRollupService.taskUpdated(updatedTask, wasDone, previousAssigneeId, previousCompletedDate);
+        taskEventService.taskUpdated(updatedTask, previousStatus);
         logger.info("Updated task with ID: {}", updatedTask.getId());
 
         return convertToTaskResponse(updatedTask);
@@ -279,9 +338,17 @@ public class TaskService {
             throw new UnauthorizedException("Insufficient permissions to update task status");
         }
 
+        boolean wasDone = task.getStatus() == TaskStatus.DONE;
+        Long previousAssigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        LocalDate previousCompletedDate = AnalyticsRollupService.completedDate(task);
+        TaskStatus previousStatus = task.getStatus();
+
         task.setStatus(request.getStatus());
 
+        taskBoardRevisionService.taskChanged(task);
         Task updatedTask = taskRepository.save(task);
+        analyticsRollupService.taskUpdated(updatedTask, wasDone, previousAssigneeId, previousCompletedDate);
+        taskEventService.taskUpdated(updatedTask, previousStatus);
         logger.info("Updated task status for task ID: {}", updatedTask.getId());
 
         return convertToTaskResponse(updatedTask);
@@ -301,7 +368,12 @@ public class TaskService {
             throw new UnauthorizedException("Only PROJECT_MANAGER and TEAM_LEAD can delete tasks");
         }
 
+        analyticsRollupService.taskDeleted(task);
+        taskBoardRevisionService.taskRemoved(task);
+        taskEventService.taskDeleted(task);
+        attachmentService.taskDeleted(task);
         taskRepository.delete(task);
+        taskPermissionEvaluator.evictAfterCommit(taskId);
         logger.info("Deleted task with ID: {}", taskId);
     }
 
@@ -341,6 +413,34 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Validate list filter parameters; blank values mean "not filtered"
+     */
+    private TaskFilter buildFilter(String status, String priority, Long assigneeId, Long milestoneId,
+                                   LocalDate deadlineFrom, LocalDate deadlineTo, String search) {
+        TaskStatus taskStatus = null;
+        if (status != null && !status.trim().isEmpty()) {
+            try {
+                taskStatus = TaskStatus.valueOf(status.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Invalid task status: " + status);
+            }
+        }
+        TaskPriority taskPriority = null;
+        if (priority != null && !priority.trim().isEmpty()) {
+            try {
+                taskPriority = TaskPriority.valueOf(priority.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("Invalid task priority: " + priority);
+            }
+        }
+        if (deadlineFrom != null && deadlineTo != null && deadlineFrom.isAfter(deadlineTo)) {
+            throw new ValidationException("Deadline range start cannot be after its end");
+        }
+        String searchTerm = search != null && !search.trim().isEmpty() ? search.trim() : null;
+        return new TaskFilter(taskStatus, taskPriority, assigneeId, milestoneId, deadlineFrom, deadlineTo, searchTerm);
+    }
+
     /**
      * Convert Task entity to TaskResponse DTO
      */
@@ -370,7 +470,7 @@ public class TaskService {
                 task.isOverdue()
         );
 
-        // Set counts and collections (placeholder for now)
+        // Counts and logged hours come from the denormalized task columns, not the lazy collections
         response.setCommentCount(task.getCommentCount());
         response.setAttachmentCount(task.getAttachmentCount());
         response.setTotalTimeLogged(task.getTotalTimeLogged());
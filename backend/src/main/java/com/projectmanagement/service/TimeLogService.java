@@ -13,6 +13,7 @@ import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.TimeLogRepository;
 import com.projectmanagement.repository.UserRepository;
 import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.util.PageCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -39,13 +40,16 @@ public class TimeLogService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final SecurityService securityService;
+    private final AnalyticsRollupService analyticsRollupService;
 
     public TimeLogService(TimeLogRepository timeLogRepository, TaskRepository taskRepository,
-                         UserRepository userRepository, SecurityService securityService) {
+                         UserRepository userRepository, SecurityService securityService,
+                         AnalyticsRollupService analyticsRollupService) {
         this.timeLogRepository = timeLogRepository;
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.securityService = securityService;
+        this.analyticsRollupService = analyticsRollupService;
     }
 
     /**
@@ -88,6 +92,8 @@ public class TimeLogService {
         // Create and save time log
         TimeLog timeLog = new TimeLog(request.getHours(), request.getDate(), task, user);
         TimeLog savedTimeLog = timeLogRepository.save(timeLog);
+        taskRepository.adjustTimeLoggedHours(taskId, savedTimeLog.getHours());
+        analyticsRollupService.timeLogCreated(savedTimeLog);
 
         logger.info("Time log created successfully with ID: {}", savedTimeLog.getId());
 
@@ -268,6 +274,75 @@ public class TimeLogService {
         return response;
     }
 
+    /**
+     * Get a page of a user's time logs after a cursor, newest first, with optional project and date filters.
+     * Pages are read by keyset instead of OFFSET; totals (count and hours) are only computed when
+     * requested, otherwise totalElements and totalPages are -1 and totalHours is null.
+     */
+    @Transactional(readOnly = true)
+    public TimeLogListResponse getUserTimeLogsByCursor(Long userId, LocalDate startDate, LocalDate endDate,
+                                                      Long projectId, String cursor, int size, boolean includeTotal) {
+        logger.info("Getting time logs for user ID: {} after cursor: {}, size: {}", userId, cursor, size);
+
+        if (size <= 0 || size > 100) {
+            throw new ValidationException("Page size must be between 1 and 100");
+        }
+
+        // Validate date range
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new ValidationException("Start date cannot be after end date");
+        }
+
+        // Check if user exists
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with ID: " + userId);
+        }
+
+        // Check if user has access (own logs or PROJECT_MANAGER, TEAM_LEAD)
+        Long currentUserId = securityService.getCurrentUserId();
+        if (!currentUserId.equals(userId) && 
+            !securityService.hasRole("PROJECT_MANAGER") && 
+            !securityService.hasRole("TEAM_LEAD")) {
+            throw new UnauthorizedException("Access denied to user time logs");
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<TimeLog> rows = after == null
+                ? timeLogRepository.findPageByUserId(userId, projectId, startDate, endDate, limit)
+                : timeLogRepository.findPageByUserIdAfter(userId, projectId, startDate, endDate,
+                        after.getDateKey(), after.getId(), limit);
+        String nextCursor = PageCursor.next(rows, size, TimeLog::getDate, TimeLog::getId);
+
+        List<TimeLogResponse> timeLogs = PageCursor.page(rows, size).stream()
+                .map(this::mapToTimeLogResponse)
+                .collect(Collectors.toList());
+
+        int totalElements = -1;
+        int totalPages = -1;
+        BigDecimal totalHours = null;
+        if (includeTotal) {
+            long total = timeLogRepository.countByUserIdAndFilters(userId, projectId, startDate, endDate);
+            totalElements = (int) total;
+            totalPages = (int) ((total + size - 1) / size);
+            totalHours = timeLogRepository.getTotalHoursByUserIdAndFilters(userId, projectId, startDate, endDate);
+        }
+
+        logger.info("Retrieved {} time logs for user ID: {}", timeLogs.size(), userId);
+
+        return new TimeLogListResponse(
+                timeLogs,
+                totalElements,
+                totalPages,
+                0,
+                size,
+                nextCursor != null,
+                after != null,
+                totalHours,
+                nextCursor
+        );
+    }
+
     /**
      * Get time logs for a user with date and project filtering
      */
@@ -384,6 +459,8 @@ public class TimeLogService {
         }
 
         timeLogRepository.delete(timeLog);
+        taskRepository.adjustTimeLoggedHours(timeLog.getTask().getId(), timeLog.getHours().negate());
+        analyticsRollupService.timeLogDeleted(timeLog);
 
         logger.info("Time log deleted successfully with ID: {}", timeLogId);
     }
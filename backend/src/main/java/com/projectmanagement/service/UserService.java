@@ -9,6 +9,7 @@ import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.exception.UnauthorizedException;
 import com.projectmanagement.exception.ValidationException;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.TokenVersionCache;
 import com.projectmanagement.security.service.SecurityService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,12 +37,15 @@ public class UserService {
     private final SecurityService securityService;
     private final PasswordEncoder passwordEncoder;
     private final ObjectMapper objectMapper;
+    private final TokenVersionCache tokenVersionCache;
 
-    public UserService(UserRepository userRepository, SecurityService securityService, PasswordEncoder passwordEncoder, ObjectMapper objectMapper) {
+    public UserService(UserRepository userRepository, SecurityService securityService, PasswordEncoder passwordEncoder,
+                       ObjectMapper objectMapper, TokenVersionCache tokenVersionCache) {
         this.userRepository = userRepository;
         this.securityService = securityService;
         this.passwordEncoder = passwordEncoder;
         this.objectMapper = objectMapper;
+        this.tokenVersionCache = tokenVersionCache;
     }
 
     /**
@@ -104,6 +108,9 @@ public class UserService {
             throw new UnauthorizedException("You can only update your own profile");
         }
 
+        // Email, role and status are carried in or checked against access tokens
+        boolean revokeTokens = false;
+
         // Update fields if provided
         if (updateRequest.getFirstName() != null) {
             user.setFirstName(updateRequest.getFirstName());
@@ -117,6 +124,7 @@ public class UserService {
                 userRepository.existsByEmail(updateRequest.getEmail())) {
                 throw new ValidationException("Email is already taken");
             }
+            revokeTokens |= !updateRequest.getEmail().equals(user.getEmail());
             user.setEmail(updateRequest.getEmail());
         }
         if (updateRequest.getRole() != null) {
@@ -124,6 +132,7 @@ public class UserService {
             if (!securityService.isAdmin()) {
                 throw new UnauthorizedException("Only administrators can change user roles");
             }
+            revokeTokens |= !updateRequest.getRole().equals(user.getRole());
             user.setRole(updateRequest.getRole());
         }
         if (updateRequest.getIsActive() != null) {
@@ -131,9 +140,15 @@ public class UserService {
             if (!securityService.isAdmin()) {
                 throw new UnauthorizedException("Only administrators can change user status");
             }
+            revokeTokens |= !updateRequest.getIsActive().equals(user.getIsActive());
             user.setIsActive(updateRequest.getIsActive());
         }
 
+        if (revokeTokens) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            tokenVersionCache.evictAfterCommit(userId);
+        }
+
         User updatedUser = userRepository.save(user);
         logger.info("User updated successfully: {}", updatedUser.getId());
 
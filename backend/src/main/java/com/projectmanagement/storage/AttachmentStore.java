@@ -0,0 +1,99 @@
+package com.projectmanagement.storage;
+
+import com.projectmanagement.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Storage backend for attachment contents.
+ * Objects are addressed by an opaque key generated when they are written;
+ * the database only keeps the key, size and checksum.
+ */
+public interface AttachmentStore {
+
+    /**
+     * Stream content into a new object, computing its SHA-256 checksum while it is written
+     *
+     * @param content Content to store (closed by the caller)
+     * @param contentLength Length of the content in bytes
+     * @return Key, size and checksum of the stored object
+     */
+    default StoredObject store(InputStream content, long contentLength) {
+        return store(newKey(), content, contentLength);
+    }
+
+    /**
+     * Stream content into an object under the given key, replacing any object already stored there.
+     * Used for content derived from another object, such as thumbnails.
+     *
+     * @param key Object key
+     * @param content Content to store (closed by the caller)
+     * @param contentLength Length of the content in bytes
+     * @return Key, size and checksum of the stored object
+     */
+    StoredObject store(String key, InputStream content, long contentLength);
+
+    /**
+     * Write the concatenation of existing objects into a new object, e.g. to assemble the chunks
+     * of an upload. Parts are opened one at a time and streamed; the parts themselves are kept.
+     *
+     * @param keys Keys of the parts, in order
+     * @param contentLength Combined length of the parts in bytes
+     * @return Key, size and checksum of the new object
+     */
+    default StoredObject concatenate(List<String> keys, long contentLength) {
+        Iterator<String> parts = keys.iterator();
+        Enumeration<InputStream> streams = new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return parts.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return open(parts.next());
+            }
+        };
+        try (InputStream content = new SequenceInputStream(streams)) {
+            return store(content, contentLength);
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Could not assemble attachment content", e);
+        }
+    }
+
+    /**
+     * Write a byte range of an object to a channel without buffering the object in memory
+     *
+     * @param key Object key
+     * @param position Offset of the first byte to write
+     * @param count Maximum number of bytes to write
+     * @param target Channel to write to
+     * @return Number of bytes written
+     */
+    long transferTo(String key, long position, long count, WritableByteChannel target);
+
+    /**
+     * Open an object for sequential reading
+     */
+    InputStream open(String key);
+
+    /**
+     * Delete an object if it exists
+     */
+    void delete(String key);
+
+    /**
+     * Generate a new object key, spread over two directory levels
+     */
+    static String newKey() {
+        String id = UUID.randomUUID().toString();
+        return id.substring(0, 2) + "/" + id.substring(2, 4) + "/" + id;
+    }
+}
@@ -0,0 +1,40 @@
+package com.projectmanagement.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 helpers shared by the attachment stores
+ */
+public final class Checksums {
+
+    private Checksums() {
+    }
+
+    /**
+     * Hex encoded SHA-256 of a stream, read to the end (closed by the caller)
+     */
+    public static String sha256(InputStream content) throws IOException {
+        MessageDigest digest = newDigest();
+        new DigestInputStream(content, digest).transferTo(OutputStream.nullOutputStream());
+        return toHex(digest.digest());
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,199 @@
+package com.projectmanagement.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Brings attachment contents into content-addressed storage on startup.
+ * Contents still held in the legacy attachments.file_data column are moved into the
+ * {@link AttachmentStore} and the column is cleared; contents stored before deduplication
+ * are registered as shared blobs, and duplicates of an already registered content are
+ * repointed to it and deleted. Each row is handled in its own transaction, and nothing
+ * is done once no such rows remain.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.migrate-legacy-blobs", havingValue = "true", matchIfMissing = true)
+public class LegacyAttachmentBlobMigrator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyAttachmentBlobMigrator.class);
+
+    private static final String LEGACY_ROWS =
+            "SELECT id FROM attachments WHERE storage_key IS NULL AND file_data IS NOT NULL AND id > ? " +
+            "ORDER BY id LIMIT ?";
+
+    private static final String UNREGISTERED_ROWS =
+            "SELECT a.id FROM attachments a WHERE a.storage_key IS NOT NULL AND a.checksum IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM attachment_blobs b WHERE b.storage_key = a.storage_key) AND a.id > ? " +
+            "ORDER BY a.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AttachmentStore attachmentStore;
+    private final int batchSize;
+
+    public LegacyAttachmentBlobMigrator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                        AttachmentStore attachmentStore,
+                                        @Value("${app.storage.migration-batch-size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.attachmentStore = attachmentStore;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    /**
+     * Migrate all legacy rows, then register contents stored before deduplication
+     *
+     * @return number of attachments moved to the store or registered as shared blobs
+     */
+    public int migrate() {
+        return migrateRows(LEGACY_ROWS, this::migrateOne, "legacy attachment contents to attachment storage")
+                + migrateRows(UNREGISTERED_ROWS, this::registerOne, "stored attachment contents to shared blobs");
+    }
+
+    private int migrateRows(String idQuery, Predicate<Long> migration, String description) {
+        List<Long> ids;
+        try {
+            ids = findIds(idQuery, 0L);
+        } catch (DataAccessException e) {
+            logger.debug("Attachment storage schema not ready, skipping migration: {}", e.getMessage());
+            return 0;
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        logger.info("Moving {}", description);
+        int migrated = 0;
+        int failed = 0;
+        while (!ids.isEmpty()) {
+            for (Long id : ids) {
+                try {
+                    if (migration.test(id)) {
+                        migrated++;
+                    }
+                } catch (RuntimeException e) {
+                    failed++;
+                    logger.error("Could not migrate attachment ID: {}", id, e);
+                }
+            }
+            // Failed rows are left as they are; continue after them so they are retried on the next startup
+            ids = findIds(idQuery, ids.get(ids.size() - 1));
+        }
+
+        logger.info("Moved {} {} ({} failed)", migrated, description, failed);
+        return migrated;
+    }
+
+    private List<Long> findIds(String idQuery, long afterId) {
+        return jdbcTemplate.queryForList(idQuery, Long.class, afterId, batchSize);
+    }
+
+    /**
+     * Copy one legacy row's content to the store and point the row at it
+     */
+    private boolean migrateOne(Long id) {
+        StoredObject stored = jdbcTemplate.query(
+                "SELECT OCTET_LENGTH(file_data), file_data FROM attachments WHERE id = ? AND storage_key IS NULL",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    long length = rs.getLong(1);
+                    try (InputStream content = rs.getBinaryStream(2)) {
+                        return attachmentStore.store(content, length);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, id);
+        if (stored == null) {
+            return false;
+        }
+
+        String storageKey;
+        try {
+            storageKey = transactionTemplate.execute(status -> {
+                String key = registerBlob(stored.getKey(), stored.getChecksum(), stored.getSize());
+                int updated = jdbcTemplate.update(
+                        "UPDATE attachments SET storage_key = ?, checksum = ?, file_size = ?, file_data = NULL " +
+                        "WHERE id = ? AND storage_key IS NULL",
+                        key, stored.getChecksum(), stored.getSize(), id);
+                if (updated == 0) {
+                    // Migrated concurrently by another instance
+                    status.setRollbackOnly();
+                    return null;
+                }
+                return key;
+            });
+        } catch (RuntimeException e) {
+            attachmentStore.delete(stored.getKey());
+            throw e;
+        }
+        if (!stored.getKey().equals(storageKey)) {
+            // Not migrated, or the same content was already stored under another key
+            attachmentStore.delete(stored.getKey());
+        }
+        return storageKey != null;
+    }
+
+    /**
+     * Register the content of a row stored before deduplication as a shared blob,
+     * repointing the row and deleting its copy if the content is already registered
+     */
+    private boolean registerOne(Long id) {
+        String replacedKey = transactionTemplate.execute(status -> {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT storage_key, checksum, file_size FROM attachments WHERE id = ?", id);
+            String ownKey = (String) row.get("storage_key");
+            String key = registerBlob(ownKey, (String) row.get("checksum"), ((Number) row.get("file_size")).longValue());
+            if (key.equals(ownKey)) {
+                return null;
+            }
+            jdbcTemplate.update("UPDATE attachments SET storage_key = ? WHERE id = ?", key, id);
+            return ownKey;
+        });
+        if (replacedKey != null) {
+            attachmentStore.delete(replacedKey);
+        }
+        return true;
+    }
+
+    /**
+     * Add a reference to the blob with the given checksum, creating it for the given key if there is none
+     *
+     * @return key of the registered blob's content
+     */
+    private String registerBlob(String storageKey, String checksum, long size) {
+        int updated = jdbcTemplate.update(
+                "UPDATE attachment_blobs SET reference_count = reference_count + 1 WHERE checksum = ?", checksum);
+        if (updated > 0) {
+            return jdbcTemplate.queryForObject(
+                    "SELECT storage_key FROM attachment_blobs WHERE checksum = ?", String.class, checksum);
+        }
+        jdbcTemplate.update(
+                "INSERT INTO attachment_blobs (checksum, storage_key, size, reference_count, created_at) " +
+                "VALUES (?, ?, ?, 1, ?)", checksum, storageKey, size, Timestamp.valueOf(LocalDateTime.now()));
+        return storageKey;
+    }
+}
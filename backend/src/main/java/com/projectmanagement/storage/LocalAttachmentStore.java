@@ -0,0 +1,131 @@
+package com.projectmanagement.storage;
+
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+/**
+ * Attachment store on the local filesystem, under app.upload.directory.
+ * Content is written to a temporary file and moved into place once complete,
+ * so a partially written object is never visible under its key.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalAttachmentStore implements AttachmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalAttachmentStore.class);
+
+    private final Path root;
+
+    @Autowired
+    public LocalAttachmentStore(@Value("${app.upload.directory:uploads}") String directory) {
+        this(Paths.get(directory));
+    }
+
+    public LocalAttachmentStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        logger.info("Storing attachments under {}", this.root);
+    }
+
+    @Override
+    public StoredObject store(String key, InputStream content, long contentLength) {
+        Path target = resolve(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+
+            MessageDigest digest = Checksums.newDigest();
+            long size;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                size = new DigestInputStream(content, digest).transferTo(out);
+            }
+
+            // Replaces an existing object in one step, so readers see either the old or the new content
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredObject(key, size, Checksums.toHex(digest.digest()));
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new ServiceUnavailableException("Could not store attachment content", e);
+        }
+    }
+
+    @Override
+    public long transferTo(String key, long position, long count, WritableByteChannel target) {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, channel.size());
+            long offset = position;
+            // transferTo lets the kernel copy straight from the page cache when the target supports it
+            while (offset < end) {
+                offset += channel.transferTo(offset, end - offset, target);
+            }
+            return Math.max(0, end - position);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Attachment content not found: " + key);
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Could not read attachment content", e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("Attachment content not found: " + key);
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Could not read attachment content", e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Could not delete attachment content", e);
+        }
+    }
+
+    /**
+     * Resolve a key under the root directory, rejecting keys that would escape it
+     */
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new ValidationException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary upload file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.projectmanagement.storage;
+
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Attachment store on an S3-compatible object store (AWS S3, MinIO, Ceph RGW, ...).
+ * Talks to the REST API directly with AWS Signature Version 4 and path-style
+ * bucket addressing, streaming request and response bodies.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3AttachmentStore implements AttachmentStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3AttachmentStore.class);
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter DATE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String bucket;
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private final Clock clock;
+
+    @Autowired
+    public S3AttachmentStore(@Value("${app.storage.s3.endpoint}") String endpoint,
+                             @Value("${app.storage.s3.bucket}") String bucket,
+                             @Value("${app.storage.s3.region:us-east-1}") String region,
+                             @Value("${app.storage.s3.access-key}") String accessKey,
+                             @Value("${app.storage.s3.secret-key}") String secretKey) {
+        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build(),
+                URI.create(endpoint), bucket, region, accessKey, secretKey, Clock.systemUTC());
+    }
+
+    public S3AttachmentStore(HttpClient httpClient, URI endpoint, String bucket, String region,
+                             String accessKey, String secretKey, Clock clock) {
+        this.httpClient = httpClient;
+        this.endpoint = endpoint;
+        this.bucket = bucket;
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.clock = clock;
+        logger.info("Storing attachments in bucket {} at {}", bucket, endpoint);
+    }
+
+    @Override
+    public StoredObject store(String key, InputStream content, long contentLength) {
+        MessageDigest digest = Checksums.newDigest();
+        InputStream digestingContent = new DigestInputStream(content, digest);
+
+        // Fixed-length publisher: S3 rejects chunked PUTs without aws-chunked signing
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> digestingContent), contentLength);
+        HttpRequest request = signedRequest("PUT", key, null)
+                .header("Content-Type", "application/octet-stream")
+                .PUT(body)
+                .build();
+
+        HttpResponse<InputStream> response = send(request);
+        try (InputStream ignored = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw new ServiceUnavailableException("Object store rejected upload with status " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Could not store attachment content", e);
+        }
+        return new StoredObject(key, contentLength, Checksums.toHex(digest.digest()));
+    }
+
+    @Override
+    public long transferTo(String key, long position, long count, WritableByteChannel target) {
+        if (count <= 0) {
+            return 0;
+        }
+        String range = "bytes=" + position + "-" + (position + count - 1);
+        HttpRequest request = signedRequest("GET", key, range).GET().build();
+
+        HttpResponse<InputStream> response = send(request);
+        try (InputStream body = response.body()) {
+            checkFound(response, key);
+            if (response.statusCode() == 200 && position > 0) {
+                // Range ignored by the server, skip to the requested offset
+                body.skipNBytes(position);
+            }
+            return copy(Channels.newChannel(body), target, count);
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Could not read attachment content", e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        HttpRequest request = signedRequest("GET", key, null).GET().build();
+
+        HttpResponse<InputStream> response = send(request);
+        if (response.statusCode() / 100 != 2) {
+            try (InputStream ignored = response.body()) {
+                checkFound(response, key);
+            } catch (IOException e) {
+                throw new ServiceUnavailableException("Could not read attachment content", e);
+            }
+        }
+        return response.body();
+    }
+
+    @Override
+    public void delete(String key) {
+        HttpRequest request = signedRequest("DELETE", key, null).DELETE().build();
+
+        HttpResponse<InputStream> response = send(request);
+        try (InputStream ignored = response.body()) {
+            if (response.statusCode() / 100 != 2 && response.statusCode() != 404) {
+                throw new ServiceUnavailableException("Object store rejected delete with status " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Could not delete attachment content", e);
+        }
+    }
+
+    private HttpResponse<InputStream> send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new ServiceUnavailableException("Object store request failed: " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted during object store request", e);
+        }
+    }
+
+    private void checkFound(HttpResponse<?> response, String key) {
+        if (response.statusCode() == 404) {
+            throw new ResourceNotFoundException("Attachment content not found: " + key);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new ServiceUnavailableException("Object store returned status " + response.statusCode());
+        }
+    }
+
+    private long copy(ReadableByteChannel source, WritableByteChannel target, long limit) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+        long written = 0;
+        while (written < limit) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), limit - written));
+            if (source.read(buffer) < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += target.write(buffer);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Build a request for an object, signed with Signature Version 4
+     */
+    private HttpRequest.Builder signedRequest(String method, String key, String range) {
+        URI uri = endpoint.resolve("/" + bucket + "/" + key);
+        ZonedDateTime now = ZonedDateTime.now(clock).withZoneSameInstant(ZoneOffset.UTC);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                .header("x-amz-date", AMZ_DATE.format(now))
+                .header("Authorization", authorization(method, uri, range, UNSIGNED_PAYLOAD, now));
+        if (range != null) {
+            builder.header("Range", range);
+        }
+        return builder;
+    }
+
+    /**
+     * Compute the Authorization header for a request.
+     * Signs the host, range (when present), payload hash and date headers.
+     */
+    String authorization(String method, URI uri, String range, String payloadHash, ZonedDateTime time) {
+        String amzDate = AMZ_DATE.format(time);
+        String dateStamp = DATE_STAMP.format(time);
+        String host = uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+
+        StringBuilder canonicalHeaders = new StringBuilder("host:").append(host).append('\n');
+        String signedHeaders = "host;";
+        if (range != null) {
+            canonicalHeaders.append("range:").append(range).append('\n');
+            signedHeaders += "range;";
+        }
+        canonicalHeaders.append("x-amz-content-sha256:").append(payloadHash).append('\n')
+                .append("x-amz-date:").append(amzDate).append('\n');
+        signedHeaders += "x-amz-content-sha256;x-amz-date";
+
+        String canonicalRequest = method + "\n" +
+                uri.getRawPath() + "\n" +
+                "\n" +
+                canonicalHeaders + "\n" +
+                signedHeaders + "\n" +
+                payloadHash;
+
+        String scope = dateStamp + "/" + region + "/s3/aws4_request";
+        String stringToSign = ALGORITHM + "\n" +
+                amzDate + "\n" +
+                scope + "\n" +
+                Checksums.toHex(Checksums.newDigest().digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, "s3");
+        signingKey = hmac(signingKey, "aws4_request");
+        String signature = Checksums.toHex(hmac(signingKey, stringToSign));
+
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope +
+                ", SignedHeaders=" + signedHeaders +
+                ", Signature=" + signature;
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.projectmanagement.storage;
+
+/**
+ * Result of writing an object to an {@link AttachmentStore}
+ */
+public class StoredObject {
+
+    private final String key;
+    private final long size;
+    private final String checksum;
+
+    public StoredObject(String key, long size, String checksum) {
+        this.key = key;
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Hex encoded SHA-256 of the content
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredObject{" +
+                "key='" + key + '\'' +
+                ", size=" + size +
+                ", checksum='" + checksum + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.projectmanagement.util;
+
+import com.projectmanagement.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset pagination over a (sort key, id) order.
+ * A page is read as "rows after the cursor's position, limited to size + 1": the extra row
+ * only tells whether a next page exists, so neither OFFSET nor COUNT(*) is needed.
+ * Cursors are URL-safe Base64 of the last returned row's sort key and id.
+ */
+public final class PageCursor {
+
+    private final String sortKey;
+    private final long id;
+
+    private PageCursor(String sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Encode the position after a row
+     */
+    public static String encode(Object sortKey, Long id) {
+        String position = sortKey + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from a client; an empty cursor means the first page and decodes to null
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new PageCursor(position.substring(0, separator), Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Cursor for the page after the given rows, which were fetched with a limit of size + 1,
+     * or null when they are the last page
+     */
+    public static <T> String next(List<T> rows, int size, Function<T, ?> sortKey, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return null;
+        }
+        T last = rows.get(size - 1);
+        return encode(sortKey.apply(last), id.apply(last));
+    }
+
+    /**
+     * The rows of the current page, without the extra look-ahead row
+     */
+    public static <T> List<T> page(List<T> rows, int size) {
+        return rows.size() > size ? rows.subList(0, size) : rows;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDateTime getDateTimeKey() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+
+    public LocalDate getDateKey() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.projectmanagement.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache with a fixed time-to-live per entry.
+ * Concurrent misses for the same key share a single load: the first caller
+ * computes the value while the others wait for its result.
+ */
+public class TtlCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier ticker;
+
+    public TtlCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    TtlCache(Duration ttl, int maxEntries, LongSupplier ticker) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Get the cached value for a key, loading it if missing or expired.
+     * Exceptions thrown by the loader are propagated to every waiting caller and nothing is cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        while (true) {
+            long now = ticker.getAsLong();
+            Entry<V> existing = entries.get(key);
+            if (existing != null && !existing.isExpired(now)) {
+                return existing.await();
+            }
+
+            Entry<V> created = new Entry<>();
+            boolean claimed = existing == null
+                    ? entries.putIfAbsent(key, created) == null
+                    : entries.replace(key, existing, created);
+            if (!claimed) {
+                // Another caller started loading this key first
+                continue;
+            }
+
+            evictIfFull(now);
+            return load(key, created, loader);
+        }
+    }
+
+    /**
+     * Get the cached value without loading, or null if missing, expired or still loading
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired(ticker.getAsLong()) || !entry.future.isDone()
+                || entry.future.isCompletedExceptionally()) {
+            return null;
+        }
+        return entry.future.getNow(null);
+    }
+
+    /**
+     * Store a value, replacing any existing entry
+     */
+    public void put(K key, V value) {
+        Entry<V> entry = new Entry<>();
+        entry.complete(value, ticker.getAsLong() + ttlNanos);
+        entries.put(key, entry);
+        evictIfFull(ticker.getAsLong());
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<? super K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private V load(K key, Entry<V> entry, Function<? super K, ? extends V> loader) {
+        try {
+            V value = loader.apply(key);
+            entry.complete(value, ticker.getAsLong() + ttlNanos);
+            return value;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop expired entries, then the entries closest to expiry, until the cache fits
+     */
+    private void evictIfFull(long now) {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        while (entries.size() > maxEntries) {
+            Map.Entry<K, Entry<V>> oldest = null;
+            for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+                if (oldest == null || candidate.getValue().expiresAt < oldest.getValue().expiresAt) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        // Loading entries never expire; the clock starts once the value is available
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        void complete(V value, long expiresAt) {
+            this.expiresAt = expiresAt;
+            future.complete(value);
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0 && expiresAt != Long.MAX_VALUE;
+        }
+
+        V await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
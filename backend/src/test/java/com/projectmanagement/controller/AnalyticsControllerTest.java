@@ -7,6 +7,7 @@ import com.projectmanagement.dto.analytics.ProjectAnalyticsResponse;
 import com.projectmanagement.dto.analytics.UserPerformanceAnalyticsResponse;
 import com.projectmanagement.dto.analytics.UserPerformanceResponse;
 import com.projectmanagement.exception.GlobalExceptionHandler;
+import com.projectmanagement.service.AnalyticsRollupService;
 import com.projectmanagement.service.AnalyticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,9 @@ class AnalyticsControllerTest {
     @Mock
     private AnalyticsService analyticsService;
 
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
     @InjectMocks
     private AnalyticsController analyticsController;
 
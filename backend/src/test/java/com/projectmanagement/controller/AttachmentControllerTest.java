@@ -2,24 +2,44 @@ package com.projectmanagement.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.projectmanagement.dto.ApiResponse;
+import com.projectmanagement.dto.attachment.AttachmentArchive;
 import com.projectmanagement.dto.attachment.AttachmentDownloadResponse;
 import com.projectmanagement.dto.attachment.AttachmentListResponse;
 import com.projectmanagement.dto.attachment.AttachmentResponse;
 import com.projectmanagement.dto.attachment.AttachmentUploaderResponse;
+import com.projectmanagement.dto.attachment.AttachmentStorageReport;
+import com.projectmanagement.dto.attachment.AttachmentThumbnailResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadChunkResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadInitiateRequest;
+import com.projectmanagement.dto.attachment.AttachmentUploadResponse;
+import com.projectmanagement.entity.UploadSessionStatus;
+import com.projectmanagement.service.AttachmentArchiveService;
+import com.projectmanagement.service.AttachmentBlobService;
 import com.projectmanagement.service.AttachmentService;
+import com.projectmanagement.service.AttachmentThumbnailService;
+import com.projectmanagement.service.AttachmentUploadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
-
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -34,6 +54,18 @@ class AttachmentControllerTest {
     @Mock
     private AttachmentService attachmentService;
 
+    @Mock
+    private AttachmentBlobService attachmentBlobService;
+
+    @Mock
+    private AttachmentThumbnailService attachmentThumbnailService;
+
+    @Mock
+    private AttachmentUploadService attachmentUploadService;
+
+    @Mock
+    private AttachmentArchiveService attachmentArchiveService;
+
     @InjectMocks
     private AttachmentController attachmentController;
 
@@ -79,13 +111,83 @@ class AttachmentControllerTest {
     }
 
     @Test
-    void downloadAttachment_Success() {
+    void initiateUpload_Success() {
+        // Arrange
+        AttachmentUploadInitiateRequest request = new AttachmentUploadInitiateRequest("video.mp4", 20_000_000L, null);
+        AttachmentUploadResponse expectedResponse = new AttachmentUploadResponse("upload-1", 1L, "video.mp4",
+                20_000_000L, 8_388_608L, 3, List.of(), LocalDateTime.now().plusDays(1));
+        when(attachmentUploadService.initiateUpload(1L, request)).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<AttachmentUploadResponse>> response = attachmentController.initiateUpload(1L, request);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(expectedResponse, response.getBody().getData());
+    }
+
+    @Test
+    void uploadChunk_PassesBodyAndChecksumToService() {
+        // Arrange
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[1024]);
+        AttachmentUploadChunkResponse chunk = new AttachmentUploadChunkResponse(2, 1024L, "abcd");
+        when(attachmentUploadService.uploadChunk("upload-1", 2, body, 1024L, "abcd")).thenReturn(chunk);
+
+        // Act
+        ResponseEntity<ApiResponse<AttachmentUploadChunkResponse>> response =
+                attachmentController.uploadChunk("upload-1", 2, 1024L, "abcd", body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(chunk, response.getBody().getData());
+    }
+
+    @Test
+    void uploadChunk_WithoutContentLength_PassesUnknownLength() {
+        // Arrange
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+
+        // Act
+        attachmentController.uploadChunk("upload-1", 1, null, null, body);
+
+        // Assert
+        verify(attachmentUploadService).uploadChunk("upload-1", 1, body, -1L, null);
+    }
+
+    @Test
+    void completeUpload_Success_AcceptsForBackgroundAssembly() {
+        // Arrange
+        AttachmentUploadResponse expectedResponse = new AttachmentUploadResponse(
+                "upload-1", 1L, "video.mp4", 20_000_000L, 8_388_608L, 3, List.of(1, 2, 3), LocalDateTime.now()
+        );
+        expectedResponse.setStatus(UploadSessionStatus.COMPLETING);
+        when(attachmentUploadService.completeUpload("upload-1", null)).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<ApiResponse<AttachmentUploadResponse>> response = attachmentController.completeUpload("upload-1", null);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(expectedResponse, response.getBody().getData());
+    }
+
+    @Test
+    void abortUpload_Success() {
+        // Act
+        ResponseEntity<ApiResponse<Void>> response = attachmentController.abortUpload("upload-1");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(attachmentUploadService).abortUpload("upload-1");
+    }
+
+    @Test
+    void downloadAttachment_Success() throws Exception {
         // Arrange
         Long attachmentId = 1L;
-        byte[] fileData = "test content".getBytes();
         
         AttachmentDownloadResponse expectedResponse = new AttachmentDownloadResponse(
-                1L, "test.pdf", "application/pdf", 1024L, fileData, 1L,
+                1L, "test.pdf", "application/pdf", 1024L, "ab/cd/abcd-1234", "6ae8a755", 1L,
                 new AttachmentUploaderResponse(1L, "John Doe"),
                 LocalDateTime.now()
         );
@@ -93,23 +195,206 @@ class AttachmentControllerTest {
         when(attachmentService.downloadAttachment(attachmentId)).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<ByteArrayResource> response = 
-                attachmentController.downloadAttachment(attachmentId);
+        ResponseEntity<StreamingResponseBody> response = 
+                attachmentController.downloadAttachment(attachmentId, downloadRequest(new MockHttpServletRequest()));
+        response.getBody().writeTo(new ByteArrayOutputStream());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(fileData, response.getBody().getByteArray());
+        verify(attachmentService).transferContent(eq(expectedResponse), eq(0L), eq(1024L), any(WritableByteChannel.class));
         
         HttpHeaders headers = response.getHeaders();
         assertEquals(MediaType.parseMediaType("application/pdf"), headers.getContentType());
         assertTrue(headers.getContentDisposition().toString().contains("attachment"));
         assertTrue(headers.getContentDisposition().toString().contains("test.pdf"));
         assertEquals(1024L, headers.getContentLength());
+        assertEquals("\"6ae8a755\"", headers.getETag());
+        assertEquals("bytes", headers.getFirst(HttpHeaders.ACCEPT_RANGES));
 
         verify(attachmentService).downloadAttachment(attachmentId);
     }
 
+    @Test
+    void downloadProjectArchive_StreamsZipWithoutContentLength() throws Exception {
+        // Arrange
+        AttachmentArchive archive = new AttachmentArchive("project-1-attachments.zip", AttachmentArchive.Scope.PROJECT, 1L);
+        when(attachmentArchiveService.getProjectArchive(1L)).thenReturn(archive);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = attachmentController.downloadProjectArchive(1L, false);
+        OutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        HttpHeaders headers = response.getHeaders();
+        assertEquals(MediaType.parseMediaType("application/zip"), headers.getContentType());
+        assertTrue(headers.getContentDisposition().toString().contains("project-1-attachments.zip"));
+        assertEquals(-1L, headers.getContentLength());
+        verify(attachmentArchiveService).writeArchive(archive, false, outputStream);
+    }
+
+    @Test
+    void downloadAttachment_SingleRange_ReturnsPartialContent() throws Exception {
+        // Arrange
+        AttachmentDownloadResponse download = rangeDownload();
+        when(attachmentService.downloadAttachment(1L)).thenReturn(download);
+        stubContent(download);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=6-15");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 6-15/24", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(10L, response.getHeaders().getContentLength());
+        assertEquals("attachment", out.toString(StandardCharsets.UTF_8));
+        verify(attachmentService).transferContent(eq(download), eq(6L), eq(10L), any(WritableByteChannel.class));
+    }
+
+    @Test
+    void downloadAttachment_SuffixRange_ReturnsTail() throws Exception {
+        // Arrange
+        AttachmentDownloadResponse download = rangeDownload();
+        when(attachmentService.downloadAttachment(1L)).thenReturn(download);
+        stubContent(download);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-7");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 17-23/24", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("storage", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void downloadAttachment_MultipleRanges_ReturnsMultipartByteranges() throws Exception {
+        // Arrange
+        AttachmentDownloadResponse download = rangeDownload();
+        when(attachmentService.downloadAttachment(1L)).thenReturn(download);
+        stubContent(download);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-4, 17-23");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        MediaType contentType = response.getHeaders().getContentType();
+        assertEquals("multipart/byteranges", contentType.getType() + "/" + contentType.getSubtype());
+        String boundary = contentType.getParameter("boundary");
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertEquals("\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-4/24\r\n\r\nhello" +
+                "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 17-23/24\r\n\r\nstorage" +
+                "\r\n--" + boundary + "--\r\n", body);
+    }
+
+    @Test
+    void downloadAttachment_UnsatisfiableRange_Returns416() {
+        // Arrange
+        when(attachmentService.downloadAttachment(1L)).thenReturn(rangeDownload());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=24-30");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+
+        // Assert
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */24", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertNull(response.getBody());
+        verify(attachmentService, never()).transferContent(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void downloadAttachment_MalformedRange_ReturnsFullContent() throws Exception {
+        // Arrange
+        AttachmentDownloadResponse download = rangeDownload();
+        when(attachmentService.downloadAttachment(1L)).thenReturn(download);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=abc");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        verify(attachmentService).transferContent(eq(download), eq(0L), eq(24L), any(WritableByteChannel.class));
+    }
+
+    @Test
+    void downloadAttachment_IfRangeMismatch_ReturnsFullContent() throws Exception {
+        // Arrange
+        AttachmentDownloadResponse download = rangeDownload();
+        when(attachmentService.downloadAttachment(1L)).thenReturn(download);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=6-15");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale-checksum\"");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+        response.getBody().writeTo(new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(24L, response.getHeaders().getContentLength());
+        verify(attachmentService).transferContent(eq(download), eq(0L), eq(24L), any(WritableByteChannel.class));
+    }
+
+    @Test
+    void downloadAttachment_IfRangeMatch_ReturnsPartialContent() {
+        // Arrange
+        when(attachmentService.downloadAttachment(1L)).thenReturn(rangeDownload());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, "bytes=6-15");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"6ae8a755\"");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+
+        // Assert
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    }
+
+    @Test
+    void downloadAttachment_MatchingIfNoneMatch_ReturnsNotModified() {
+        // Arrange
+        when(attachmentService.downloadAttachment(1L)).thenReturn(rangeDownload());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/attachments/1/download");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"6ae8a755\"");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response =
+                attachmentController.downloadAttachment(1L, downloadRequest(request));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(attachmentService, never()).transferContent(any(), anyLong(), anyLong(), any());
+    }
+
     @Test
     void deleteAttachment_Success() {
         // Arrange
@@ -152,7 +437,7 @@ class AttachmentControllerTest {
 
         // Act
         ResponseEntity<ApiResponse<AttachmentListResponse>> response = 
-                attachmentController.getTaskAttachments(taskId, page, size);
+                attachmentController.getTaskAttachments(taskId, page, size, null, false);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -220,5 +505,114 @@ class AttachmentControllerTest {
         verify(attachmentService).getRecentAttachments(limit);
     }
 
+    @Test
+    void getStorageReport_Success() {
+        // Arrange
+        AttachmentStorageReport report = new AttachmentStorageReport(10L, 4L, 5000L, 2000L, 0, 0L);
+        when(attachmentBlobService.getStorageReport()).thenReturn(report);
+
+        // Act
+        ResponseEntity<ApiResponse<AttachmentStorageReport>> response = attachmentController.getStorageReport();
 
-} 
\ No newline at end of file
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(report, response.getBody().getData());
+        assertEquals(3000L, response.getBody().getData().getDeduplicatedBytes());
+    }
+
+    @Test
+    void collectGarbage_Success() {
+        // Arrange
+        AttachmentStorageReport report = new AttachmentStorageReport(10L, 2L, 5000L, 1650L, 2, 350L);
+        when(attachmentBlobService.collectGarbage()).thenReturn(report);
+
+        // Act
+        ResponseEntity<ApiResponse<AttachmentStorageReport>> response = attachmentController.collectGarbage();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Unreferenced attachment content collected successfully", response.getBody().getMessage());
+        assertEquals(350L, response.getBody().getData().getBytesReclaimed());
+    }
+
+    @Test
+    void getThumbnail_Success_ReturnsCacheableJpeg() throws Exception {
+        // Arrange
+        AttachmentThumbnailResponse thumbnail = new AttachmentThumbnailResponse(1L, 256, "ab/cd/abcd-1234.thumb-256.jpg", "6ae8a755");
+        when(attachmentThumbnailService.getThumbnail(1L, 256)).thenReturn(thumbnail);
+        doAnswer(invocation -> {
+            ((OutputStream) invocation.getArgument(1)).write(new byte[]{1, 2, 3});
+            return null;
+        }).when(attachmentThumbnailService).writeThumbnail(eq(thumbnail), any());
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = attachmentController.getThumbnail(1L, 256,
+                downloadRequest(new MockHttpServletRequest("GET", "/attachments/1/thumbnail")));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
+        assertEquals("\"6ae8a755-256\"", response.getHeaders().getETag());
+        assertEquals("max-age=31536000, private, immutable", response.getHeaders().getCacheControl());
+        assertEquals(3, body.size());
+    }
+
+    @Test
+    void getThumbnail_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+        // Arrange
+        when(attachmentThumbnailService.getThumbnail(1L, 128))
+                .thenReturn(new AttachmentThumbnailResponse(1L, 128, "ab/cd/abcd-1234.thumb-128.jpg", "6ae8a755"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/attachments/1/thumbnail");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"6ae8a755-128\"");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = attachmentController.getThumbnail(1L, 128,
+                downloadRequest(request));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        verify(attachmentThumbnailService, never()).writeThumbnail(any(), any());
+    }
+
+    @Test
+    void generateThumbnails_Success() {
+        // Arrange
+        when(attachmentThumbnailService.scheduleMissing(false)).thenReturn(7);
+
+        // Act
+        ResponseEntity<ApiResponse<Integer>> response = attachmentController.generateThumbnails(false);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(7, response.getBody().getData());
+    }
+
+    private ServletWebRequest downloadRequest(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    private AttachmentDownloadResponse rangeDownload() {
+        return new AttachmentDownloadResponse(
+                1L, "notes.txt", "text/plain", 24L, "ab/cd/abcd-1234", "6ae8a755", 1L,
+                new AttachmentUploaderResponse(1L, "John Doe"),
+                LocalDateTime.now()
+        );
+    }
+
+    /**
+     * Serve requested ranges of "hello attachment storage" from the mocked service
+     */
+    private void stubContent(AttachmentDownloadResponse download) {
+        byte[] content = "hello attachment storage".getBytes(StandardCharsets.UTF_8);
+        when(attachmentService.transferContent(eq(download), anyLong(), anyLong(), any(WritableByteChannel.class)))
+                .thenAnswer(invocation -> {
+                    int position = ((Long) invocation.getArgument(1)).intValue();
+                    int count = ((Long) invocation.getArgument(2)).intValue();
+                    WritableByteChannel target = invocation.getArgument(3);
+                    return (long) target.write(ByteBuffer.wrap(content, position, count));
+                });
+    }
+}
@@ -125,7 +125,7 @@ class TaskControllerTest {
     @WithMockUser(roles = "PROJECT_MANAGER")
     void testGetProjectTasks_Success() throws Exception {
         // Given
-        when(taskService.getProjectTasks(eq(1L), anyString(), anyString(), any(), any(), anyString(), anyInt(), anyInt()))
+        when(taskService.getProjectTasks(eq(1L), anyString(), anyString(), any(), any(), any(), any(), anyString(), anyInt(), anyInt()))
                 .thenReturn(createTaskListResponse());
 
         // When & Then
@@ -143,7 +143,7 @@ class TaskControllerTest {
     @WithMockUser(roles = "DEVELOPER")
     void testGetProjectTasks_Authorized() throws Exception {
         // Given
-        when(taskService.getProjectTasks(eq(1L), anyString(), anyString(), any(), any(), anyString(), anyInt(), anyInt()))
+        when(taskService.getProjectTasks(eq(1L), anyString(), anyString(), any(), any(), any(), any(), anyString(), anyInt(), anyInt()))
                 .thenReturn(createTaskListResponse());
 
         // When & Then
@@ -156,7 +156,7 @@ class TaskControllerTest {
     @WithMockUser(roles = "PROJECT_MANAGER")
     void testGetProjectTasks_WithFilters() throws Exception {
         // Given
-        when(taskService.getProjectTasks(eq(1L), anyString(), anyString(), any(), any(), anyString(), anyInt(), anyInt()))
+        when(taskService.getProjectTasks(eq(1L), anyString(), anyString(), any(), any(), any(), any(), anyString(), anyInt(), anyInt()))
                 .thenReturn(createTaskListResponse());
 
         // When & Then
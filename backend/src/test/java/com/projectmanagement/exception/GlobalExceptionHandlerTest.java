@@ -103,6 +103,21 @@ class GlobalExceptionHandlerTest {
         assertEquals("Email already exists", response.getBody().getError().getMessage());
     }
 
+    @Test
+    void shouldHandleServiceUnavailableException() {
+        // Given
+        ServiceUnavailableException ex = new ServiceUnavailableException("Analytics section timed out: timeTracking");
+
+        // When
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleServiceUnavailableException(ex, webRequest);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("SERVICE_UNAVAILABLE", response.getBody().getError().getCode());
+        assertEquals("Analytics section timed out: timeTracking", response.getBody().getError().getMessage());
+    }
+
     @Test
     void shouldHandleMethodArgumentNotValidException() {
         // Given
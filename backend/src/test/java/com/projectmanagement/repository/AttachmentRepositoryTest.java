@@ -0,0 +1,238 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.attachment.AttachmentDownloadResponse;
+import com.projectmanagement.dto.attachment.AttachmentResponse;
+import com.projectmanagement.dto.attachment.AttachmentStorageUsage;
+import com.projectmanagement.entity.*;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Storage accounting, metadata projections, blob reference counting and upload session queries
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class AttachmentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+
+    @Autowired
+    private AttachmentBlobRepository blobRepository;
+
+    @Autowired
+    private AttachmentUploadSessionRepository uploadSessionRepository;
+
+    private User testUser;
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setEmail("uploader@example.com");
+        testUser.setPassword("password123");
+        testUser.setFirstName("Upload");
+        testUser.setLastName("Er");
+        testUser.setRole("DEVELOPER");
+        testUser.setIsActive(true);
+        entityManager.persist(testUser);
+
+        Project project = new Project();
+        project.setName("Storage Project");
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setStartDate(LocalDate.now());
+        project.setCreatedBy(testUser);
+        entityManager.persist(project);
+
+        testTask = new Task();
+        testTask.setTitle("Storage Task");
+        testTask.setProject(project);
+        testTask.setCreatedBy(testUser);
+        testTask.setStatus(TaskStatus.TODO);
+        testTask.setPriority(TaskPriority.MEDIUM);
+        entityManager.persist(testTask);
+        entityManager.flush();
+    }
+
+    @Test
+    void getTotalStorageUsedByTask_CountsSharedContentOnceForPhysicalBytes() {
+        // Arrange: two attachments share one content, a third has its own
+        persistAttachment("spec.pdf", 1000L, "aa/aa/shared", "aa");
+        persistAttachment("spec-copy.pdf", 1000L, "aa/aa/shared", "aa");
+        persistAttachment("screenshot.png", 300L, "bb/bb/own", "bb");
+
+        // Act
+        AttachmentStorageUsage usage = attachmentRepository.getTotalStorageUsedByTask(testTask.getId());
+
+        // Assert
+        assertEquals(2300L, usage.getLogicalBytes());
+        assertEquals(1300L, usage.getPhysicalBytes());
+    }
+
+    @Test
+    void getTotalStorageUsedByTask_NoAttachments_ReturnsZero() {
+        // Act
+        AttachmentStorageUsage usage = attachmentRepository.getTotalStorageUsedByTask(testTask.getId());
+
+        // Assert
+        assertEquals(0L, usage.getLogicalBytes());
+        assertEquals(0L, usage.getPhysicalBytes());
+    }
+
+    @Test
+    void referenceCounting_DeletesBlobOnlyWhenUnreferenced() {
+        // Arrange
+        AttachmentBlob blob = blobRepository.saveAndFlush(new AttachmentBlob("aa", "aa/aa/shared", 1000L, 1));
+
+        // Act & Assert
+        assertEquals(1, blobRepository.incrementReferenceCount("aa"));
+        assertEquals(0, blobRepository.incrementReferenceCount("unknown"));
+        assertEquals(1, blobRepository.decrementReferenceCount("aa/aa/shared"));
+        assertEquals(0, blobRepository.deleteIfUnreferenced(blob.getId()));
+
+        assertEquals(1, blobRepository.decrementReferenceCount("aa/aa/shared"));
+        entityManager.clear();
+        assertEquals(1, blobRepository.findUnreferenced().size());
+        assertEquals(1000L, blobRepository.getTotalStoredBytes());
+        assertEquals(1, blobRepository.deleteIfUnreferenced(blob.getId()));
+        assertTrue(blobRepository.findByStorageKey("aa/aa/shared").isEmpty());
+    }
+
+    @Test
+    void findImageStorageKeysForThumbnails_ReturnsImagesWithoutThumbnails() {
+        // Arrange
+        blobRepository.saveAndFlush(new AttachmentBlob("aa", "aa/aa/photo", 1000L, 2));
+        blobRepository.saveAndFlush(new AttachmentBlob("bb", "bb/bb/done", 500L, 1));
+        blobRepository.saveAndFlush(new AttachmentBlob("cc", "cc/cc/spec", 300L, 1));
+        persistAttachment("photo.png", "image/png", 1000L, "aa/aa/photo", "aa");
+        persistAttachment("photo-copy.png", "image/png", 1000L, "aa/aa/photo", "aa");
+        persistAttachment("done.jpg", "image/jpeg", 500L, "bb/bb/done", "bb");
+        persistAttachment("spec.pdf", "application/pdf", 300L, "cc/cc/spec", "cc");
+        blobRepository.updateThumbnailStatus("bb/bb/done", ThumbnailStatus.READY);
+        entityManager.clear();
+
+        // Act & Assert
+        assertEquals(List.of("aa/aa/photo"), blobRepository.findImageStorageKeysForThumbnails(false));
+        assertEquals(2, blobRepository.findImageStorageKeysForThumbnails(true).size());
+        assertEquals(ThumbnailStatus.READY, blobRepository.findByStorageKey("bb/bb/done").get().getThumbnailStatus());
+    }
+
+    @Test
+    void uploadSessions_ExpireWhenActiveOrStalled() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        AttachmentUploadSession active = uploadSessionRepository.saveAndFlush(uploadSession("a", now.plusHours(1)));
+        AttachmentUploadSession expired = uploadSessionRepository.saveAndFlush(uploadSession("b", now.minusHours(1)));
+        AttachmentUploadSession completing = uploadSessionRepository.saveAndFlush(uploadSession("c", now.minusHours(1)));
+        assertEquals(1, uploadSessionRepository.updateStatus(completing.getId(),
+                UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING));
+        assertEquals(0, uploadSessionRepository.updateStatus(completing.getId(),
+                UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING));
+        entityManager.clear();
+
+        // Act & Assert: a completion is only treated as stalled well after expiry
+        assertEquals(List.of(expired.getId()), uploadSessionRepository.findExpired(now, now.minusHours(2)).stream()
+                .map(AttachmentUploadSession::getId).toList());
+        assertEquals(2, uploadSessionRepository.findExpired(now, now).size());
+        assertEquals(0, uploadSessionRepository.deleteIfStatus(completing.getId(), UploadSessionStatus.ACTIVE));
+        assertEquals(1, uploadSessionRepository.deleteIfStatus(expired.getId(), UploadSessionStatus.ACTIVE));
+        assertTrue(uploadSessionRepository.findByUploadId("a").isPresent());
+        assertEquals(active.getId(), uploadSessionRepository.findByUploadId("a").get().getId());
+    }
+
+    @Test
+    void metadataQueries_ReturnUploaderNameWithoutLoadingEntities() {
+        // Arrange
+        persistAttachment("first.pdf", 100L, "aa/aa/first", "aa");
+        persistAttachment("second.pdf", 200L, "bb/bb/second", "bb");
+        entityManager.clear();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+        // Act
+        Page<AttachmentResponse> page = attachmentRepository.findMetadataByTaskId(testTask.getId(), PageRequest.of(0, 1));
+        List<AttachmentResponse> all = attachmentRepository.findMetadataByTaskId(testTask.getId());
+        List<AttachmentResponse> recent = attachmentRepository.findRecentMetadata(PageRequest.of(0, 10));
+        AttachmentResponse byId = attachmentRepository.findMetadataById(all.get(1).getId()).orElseThrow();
+        AttachmentDownloadResponse download = attachmentRepository.findDownloadById(byId.getId()).orElseThrow();
+        List<AttachmentDownloadResponse> projectDownloads =
+                attachmentRepository.findDownloadsByProjectId(testTask.getProject().getId(), 0L, 0L, PageRequest.ofSize(10));
+        List<AttachmentDownloadResponse> nextDownloads = attachmentRepository.findDownloadsByProjectId(
+                testTask.getProject().getId(), testTask.getId(), projectDownloads.get(0).getId(), PageRequest.ofSize(10));
+
+        // Assert
+        assertEquals(2, page.getTotalElements());
+        assertEquals("second.pdf", page.getContent().get(0).getFileName());
+        assertEquals(List.of("second.pdf", "first.pdf"), all.stream().map(AttachmentResponse::getFileName).toList());
+        assertEquals(2, recent.size());
+        assertEquals("first.pdf", byId.getFileName());
+        assertEquals(testTask.getId(), byId.getTaskId());
+        assertEquals("Upload Er", byId.getUploadedBy().getName());
+        assertEquals("aa/aa/first", download.getStorageKey());
+        assertEquals(testUser.getId(), download.getUploadedBy().getId());
+        assertEquals(List.of("first.pdf", "second.pdf"),
+                projectDownloads.stream().map(AttachmentDownloadResponse::getFileName).toList());
+        assertEquals(List.of("second.pdf"), nextDownloads.stream().map(AttachmentDownloadResponse::getFileName).toList());
+        assertEquals(0, session.getStatistics().getEntityCount());
+    }
+
+    @Test
+    void findMetadataPageByTaskIdAfter_WalksEveryAttachmentOnceAcrossEqualTimestamps() {
+        // Arrange: five attachments, three of them uploaded at the same instant
+        LocalDateTime instant = LocalDateTime.of(2024, 5, 1, 12, 0);
+        for (int i = 1; i <= 5; i++) {
+            persistAttachment("file-" + i + ".txt", 10L * i, "aa/aa/file-" + i, "c" + i);
+        }
+        entityManager.getEntityManager().createQuery("UPDATE Attachment a SET a.uploadedAt = " +
+                "CASE WHEN a.fileSize <= 30 THEN :instant ELSE :later END")
+                .setParameter("instant", instant)
+                .setParameter("later", instant.plusHours(1))
+                .executeUpdate();
+        entityManager.clear();
+
+        // Act: pages of two, following the last row of each page
+        List<String> walked = new ArrayList<>();
+        List<AttachmentResponse> page = attachmentRepository.findMetadataPageByTaskId(testTask.getId(),
+                PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(attachment -> walked.add(attachment.getFileName()));
+            AttachmentResponse last = page.get(page.size() - 1);
+            page = attachmentRepository.findMetadataPageByTaskIdAfter(testTask.getId(), last.getUploadedAt(),
+                    last.getId(), PageRequest.of(0, 2));
+        }
+
+        // Assert: newest first, ties broken by descending id, nothing repeated or skipped
+        assertEquals(List.of("file-5.txt", "file-4.txt", "file-3.txt", "file-2.txt", "file-1.txt"), walked);
+    }
+
+    private AttachmentUploadSession uploadSession(String uploadId, LocalDateTime expiresAt) {
+        return new AttachmentUploadSession(uploadId, testTask.getId(), testUser.getId(), "video.mp4", 1024L,
+                1024L, 1, expiresAt);
+    }
+
+    private void persistAttachment(String fileName, long size, String storageKey, String checksum) {
+        persistAttachment(fileName, "application/octet-stream", size, storageKey, checksum);
+    }
+
+    private void persistAttachment(String fileName, String fileType, long size, String storageKey, String checksum) {
+        entityManager.persist(new Attachment(fileName, fileType, size, storageKey, checksum,
+                testTask, testUser));
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,138 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.task.TaskBoardColumn;
+import com.projectmanagement.dto.task.TaskBoardResponse;
+import com.projectmanagement.entity.*;
+import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.service.TaskBoardRevisionService;
+import com.projectmanagement.service.TaskBoardService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Statement counts for loading a large task board
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.org.hibernate.stat=WARN"
+})
+@ActiveProfiles("test")
+class TaskBoardQueryTest {
+
+    private static final int TASK_COUNT = 5000;
+    private static final int ASSIGNEE_COUNT = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskBoardTombstoneRepository tombstoneRepository;
+
+    private TaskBoardService taskBoardService;
+    private Statistics statistics;
+    private Project testProject;
+
+    @BeforeEach
+    void setUp() {
+        SecurityService securityService = mock(SecurityService.class);
+        when(securityService.isTeamMember()).thenReturn(true);
+        taskBoardService = new TaskBoardService(taskRepository, projectRepository, securityService,
+                new TaskBoardRevisionService(projectRepository, tombstoneRepository), tombstoneRepository);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ASSIGNEE_COUNT; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("password123");
+            user.setFirstName("User");
+            user.setLastName("Number" + i);
+            user.setRole("DEVELOPER");
+            user.setIsActive(true);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        testProject = new Project();
+        testProject.setName("Large Board Project");
+        testProject.setStatus(ProjectStatus.ACTIVE);
+        testProject.setStartDate(LocalDate.now());
+        testProject.setCreatedBy(users.get(0));
+        testProject = projectRepository.save(testProject);
+        entityManager.flush();
+
+        // Bulk insert the tasks; every seventh task is unassigned, the rest spread over the users
+        entityManager.getEntityManager().createNativeQuery(
+                "INSERT INTO tasks (project_id, assignee_id, created_by, title, priority, status, deadline, " +
+                "created_at, updated_at, board_revision, comment_count, attachment_count, time_logged_hours) " +
+                "SELECT :projectId, CASE WHEN MOD(X, 7) = 0 THEN NULL ELSE :firstUserId + MOD(X, :userCount) END, " +
+                ":firstUserId, CONCAT('Task ', X), " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'LOW' WHEN 1 THEN 'MEDIUM' WHEN 2 THEN 'HIGH' ELSE 'URGENT' END, " +
+                "CASE MOD(X, 5) WHEN 0 THEN 'TODO' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'REVIEW' " +
+                "WHEN 3 THEN 'DONE' ELSE 'CANCELLED' END, " +
+                "DATEADD('DAY', MOD(X, 60) - 30, CURRENT_DATE), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 0, 0, 0 " +
+                "FROM SYSTEM_RANGE(1, :taskCount)")
+                .setParameter("projectId", testProject.getId())
+                .setParameter("firstUserId", users.get(0).getId())
+                .setParameter("userCount", ASSIGNEE_COUNT)
+                .setParameter("taskCount", TASK_COUNT)
+                .executeUpdate();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getTaskBoard_GroupedByStatus_UsesConstantStatementCount() {
+        // Act
+        TaskBoardResponse board = taskBoardService.getTaskBoard(testProject.getId(), "STATUS", null);
+
+        // Assert
+        assertEquals(TASK_COUNT, board.getColumns().stream().mapToInt(TaskBoardColumn::getTaskCount).sum());
+        assertEquals(TaskStatus.values().length, board.getColumns().size());
+        // Project existence check, revision lookup and the board query itself
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getTaskBoard_GroupedByAssignee_DoesNotLoadAssignees() {
+        // Act
+        TaskBoardResponse board = taskBoardService.getTaskBoard(testProject.getId(), "ASSIGNEE", null);
+
+        // Assert
+        assertEquals(TASK_COUNT, board.getColumns().stream().mapToInt(TaskBoardColumn::getTaskCount).sum());
+        assertEquals(ASSIGNEE_COUNT + 1, board.getColumns().size());
+        assertTrue(board.getColumns().stream().anyMatch(column -> "Unassigned".equals(column.getIdentifier())));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+}
@@ -0,0 +1,132 @@
+package com.projectmanagement.repository;
+
+import com.projectmanagement.dto.task.TaskFilter;
+import com.projectmanagement.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Combined task list filters and keyset positioning
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskSpecificationsTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User assignee;
+    private Project project;
+    private Project otherProject;
+
+    @BeforeEach
+    void setUp() {
+        assignee = new User();
+        assignee.setEmail("filter@example.com");
+        assignee.setPassword("password123");
+        assignee.setFirstName("Filter");
+        assignee.setLastName("User");
+        assignee.setRole("DEVELOPER");
+        assignee.setIsActive(true);
+        entityManager.persist(assignee);
+
+        project = persistProject("Filter Project");
+        otherProject = persistProject("Other Project");
+    }
+
+    @Test
+    void matching_CombinesEveryFilterInOneQuery() {
+        // Arrange
+        Task match = persistTask(project, "Fix login redirect", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                assignee, LocalDate.of(2024, 6, 10), 0);
+        persistTask(project, "Fix login timeout", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                null, LocalDate.of(2024, 6, 10), 1);
+        persistTask(project, "Fix login banner", TaskStatus.TODO, TaskPriority.HIGH,
+                assignee, LocalDate.of(2024, 6, 10), 2);
+        persistTask(project, "Fix login styles", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                assignee, LocalDate.of(2024, 7, 1), 3);
+        persistTask(project, "Write release notes", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                assignee, LocalDate.of(2024, 6, 10), 4);
+        persistTask(otherProject, "Fix login redirect", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                assignee, LocalDate.of(2024, 6, 10), 5);
+        TaskFilter filter = new TaskFilter(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, assignee.getId(), null,
+                LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), "LOGIN");
+
+        // Act
+        Page<Task> page = taskRepository.findAll(TaskSpecifications.matching(project.getId(), filter),
+                PageRequest.of(0, 20, TaskSpecifications.NEWEST_FIRST));
+
+        // Assert
+        assertEquals(1, page.getTotalElements());
+        assertEquals(match.getId(), page.getContent().get(0).getId());
+    }
+
+    @Test
+    void createdBefore_WalksNewestFirstAcrossEqualTimestamps() {
+        // Arrange: the first two tasks share a creation time
+        Task first = persistTask(project, "First", TaskStatus.TODO, TaskPriority.LOW, null, null, 0);
+        Task second = persistTask(project, "Second", TaskStatus.TODO, TaskPriority.LOW, null, null, 0);
+        Task third = persistTask(project, "Third", TaskStatus.TODO, TaskPriority.LOW, null, null, 1);
+        Specification<Task> all = TaskSpecifications.matching(project.getId(),
+                new TaskFilter(null, null, null, null, null, null, null));
+
+        // Act
+        List<Task> firstPage = taskRepository.findBy(all,
+                query -> query.sortBy(TaskSpecifications.NEWEST_FIRST).limit(2).all());
+        Task last = firstPage.get(1);
+        List<Task> secondPage = taskRepository.findBy(
+                all.and(TaskSpecifications.createdBefore(last.getCreatedAt(), last.getId())),
+                query -> query.sortBy(TaskSpecifications.NEWEST_FIRST).limit(2).all());
+
+        // Assert
+        assertEquals(List.of(third.getId(), second.getId()), firstPage.stream().map(Task::getId).toList());
+        assertEquals(List.of(first.getId()), secondPage.stream().map(Task::getId).toList());
+    }
+
+    private Project persistProject(String name) {
+        Project newProject = new Project();
+        newProject.setName(name);
+        newProject.setStatus(ProjectStatus.ACTIVE);
+        newProject.setStartDate(LocalDate.now());
+        newProject.setCreatedBy(assignee);
+        return entityManager.persist(newProject);
+    }
+
+    private Task persistTask(Project owner, String title, TaskStatus status, TaskPriority priority,
+                             User taskAssignee, LocalDate deadline, int minutesAfterBase) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setProject(owner);
+        task.setCreatedBy(assignee);
+        task.setAssignee(taskAssignee);
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setDeadline(deadline);
+        entityManager.persistAndFlush(task);
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Task t SET t.createdAt = :createdAt WHERE t.id = :id")
+                .setParameter("createdAt", BASE_TIME.plusMinutes(minutesAfterBase))
+                .setParameter("id", task.getId())
+                .executeUpdate();
+        entityManager.clear();
+        return task;
+    }
+}
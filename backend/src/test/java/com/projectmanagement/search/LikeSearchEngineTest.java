@@ -0,0 +1,183 @@
+package com.projectmanagement.search;
+
+import com.projectmanagement.dto.search.SearchResultResponse;
+import com.projectmanagement.dto.search.TypeaheadSuggestion;
+import com.projectmanagement.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Search and typeahead queries against the H2 test database through the portable fallback engine
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(LikeSearchEngine.class)
+class LikeSearchEngineTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LikeSearchEngine searchEngine;
+
+    private User member;
+    private Project memberProject;
+    private Task titleMatch;
+    private Task descriptionMatch;
+    private Comment commentMatch;
+
+    @BeforeEach
+    void setUp() {
+        member = persistUser("member@example.com");
+        User outsider = persistUser("outsider@example.com");
+
+        memberProject = persistProject("Checkout", "Payment flows", member);
+        entityManager.persist(new ProjectMember(memberProject, member, ProjectMemberRole.DEVELOPER));
+        Project otherProject = persistProject("Login portal", "Other team", outsider);
+
+        titleMatch = persistTask(memberProject, "Fix login redirect", "Users land on the wrong page", member);
+        descriptionMatch = persistTask(memberProject, "Session cleanup", "Expire tokens after LOGIN changes", member);
+        persistTask(memberProject, "Write release notes", "Summarise the sprint", member);
+        persistTask(otherProject, "Login audit", "Review 100% of logins", outsider);
+        commentMatch = entityManager.persist(new Comment("Login works again on staging", descriptionMatch, member));
+        entityManager.flush();
+    }
+
+    @Test
+    void search_RanksTitleMatchesFirstAndScopesToMemberProjects() {
+        // Act
+        List<SearchResultResponse> results = searchEngine.search("Login", EnumSet.allOf(SearchType.class), null,
+                member.getId(), 10);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(SearchType.TASK, results.get(0).getType());
+        assertEquals(titleMatch.getId(), results.get(0).getId());
+        assertEquals(1.0, results.get(0).getScore());
+        SearchResultResponse comment = results.stream()
+                .filter(result -> result.getType() == SearchType.COMMENT).findFirst().orElseThrow();
+        assertEquals(commentMatch.getId(), comment.getId());
+        assertEquals(descriptionMatch.getId(), comment.getTaskId());
+        assertEquals("Session cleanup", comment.getTitle());
+        assertEquals(memberProject.getId(), comment.getProjectId());
+    }
+
+    @Test
+    void search_WithoutMemberScope_FindsProjectsAndTreatsWildcardsLiterally() {
+        // Act
+        List<SearchResultResponse> projects = searchEngine.search("login", EnumSet.of(SearchType.PROJECT), null,
+                null, 10);
+        List<SearchResultResponse> literal = searchEngine.search("100%", EnumSet.of(SearchType.TASK), null, null, 10);
+        List<SearchResultResponse> limited = searchEngine.search("e", EnumSet.of(SearchType.TASK), null, null, 2);
+
+        // Assert
+        assertEquals(1, projects.size());
+        assertEquals("Login portal", projects.get(0).getTitle());
+        assertNull(projects.get(0).getTaskId());
+        assertEquals(1, literal.size());
+        assertEquals("Login audit", literal.get(0).getTitle());
+        assertEquals(2, limited.size());
+    }
+
+    @Test
+    void suggest_GroupsByTypeAndScopesToMemberProjects() {
+        // Act
+        List<TypeaheadSuggestion> login = searchEngine.suggest("Log", EnumSet.allOf(SuggestionType.class),
+                member.getId(), 5);
+        List<TypeaheadSuggestion> users = searchEngine.suggest("example", EnumSet.of(SuggestionType.USER),
+                member.getId(), 5);
+        List<TypeaheadSuggestion> allProjects = searchEngine.suggest("log", EnumSet.of(SuggestionType.PROJECT),
+                null, 5);
+
+        // Assert
+        assertEquals(1, login.size());
+        assertEquals(SuggestionType.TASK, login.get(0).getType());
+        assertEquals("Fix login redirect", login.get(0).getLabel());
+        assertEquals("Checkout", login.get(0).getDetail());
+        assertEquals(memberProject.getId(), login.get(0).getProjectId());
+        assertEquals(1, users.size());
+        assertEquals(member.getId(), users.get(0).getId());
+        assertEquals("Search User", users.get(0).getLabel());
+        assertNull(users.get(0).getProjectId());
+        assertEquals(1, allProjects.size());
+        assertEquals("Login portal", allProjects.get(0).getLabel());
+    }
+
+    @Test
+    void suggest_RanksPrefixMatchesFirst() {
+        // Arrange
+        persistTask(memberProject, "Hotfix deploy", null, member);
+        entityManager.flush();
+
+        // Act
+        List<TypeaheadSuggestion> suggestions = searchEngine.suggest("fix", EnumSet.of(SuggestionType.TASK),
+                member.getId(), 5);
+
+        // Assert
+        assertEquals(2, suggestions.size());
+        assertEquals(titleMatch.getId(), suggestions.get(0).getId());
+        assertEquals(1.0, suggestions.get(0).getScore());
+        assertEquals("Hotfix deploy", suggestions.get(1).getLabel());
+        assertEquals(0.5, suggestions.get(1).getScore());
+    }
+
+    @Test
+    void suggest_ShortTerm_MatchesPrefixesOnlyInNameOrder() {
+        // Arrange
+        Task hotfix = persistTask(memberProject, "Hotfix deploy", null, member);
+        Task fixture = persistTask(memberProject, "Fixtures for checkout", null, member);
+        entityManager.flush();
+
+        // Act
+        List<TypeaheadSuggestion> suggestions = searchEngine.suggest("fi", EnumSet.of(SuggestionType.TASK),
+                member.getId(), 5);
+
+        // Assert
+        assertEquals(List.of(titleMatch.getId(), fixture.getId()),
+                suggestions.stream().map(TypeaheadSuggestion::getId).toList());
+        assertTrue(suggestions.stream().noneMatch(suggestion -> suggestion.getId().equals(hotfix.getId())));
+    }
+
+    private User persistUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setFirstName("Search");
+        user.setLastName("User");
+        user.setRole("DEVELOPER");
+        user.setIsActive(true);
+        return entityManager.persist(user);
+    }
+
+    private Project persistProject(String name, String description, User creator) {
+        Project project = new Project();
+        project.setName(name);
+        project.setDescription(description);
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setStartDate(LocalDate.now());
+        project.setCreatedBy(creator);
+        return entityManager.persist(project);
+    }
+
+    private Task persistTask(Project project, String title, String description, User creator) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setProject(project);
+        task.setCreatedBy(creator);
+        task.setStatus(TaskStatus.TODO);
+        task.setPriority(TaskPriority.MEDIUM);
+        return entityManager.persist(task);
+    }
+}
@@ -0,0 +1,210 @@
+package com.projectmanagement.search;
+
+import com.projectmanagement.entity.*;
+import com.projectmanagement.repository.ProjectMemberRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load benchmark for typeahead: concurrent clients each issue one suggestion call per keystroke
+ * against a seeded catalogue, and the p99 latency must stay under the budget.
+ * Disabled by default; run with
+ * mvn test -Dtest=TypeaheadBenchmarkTest -Dbenchmark=true [-Dbenchmark.clients=16] [-Dbenchmark.p99-ms=100]
+ * [-Dbenchmark.tasks=5000]
+ * By default it measures the LIKE engine on H2, which says nothing about production. Add
+ * -Dbenchmark.engine=postgres to measure the PostgreSQL engine with its indexes against the
+ * database of the benchmark-postgres profile, seeded with -Dbenchmark.tasks rows.
+ */
+@DataJpaTest
+@ActiveProfiles(resolver = TypeaheadBenchmarkTest.EngineProfiles.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LikeSearchEngine.class, PostgresSearchEngine.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TypeaheadBenchmarkTest {
+
+    private static final int USERS = 1_000;
+    private static final int PROJECTS = 200;
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 5_000);
+    // Two clients per core by default, so the measured latency includes contention but not an idle queue
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients",
+            2 * Runtime.getRuntime().availableProcessors());
+    private static final int KEYSTROKES_PER_CLIENT = 250;
+    private static final String[] WORDS = {"login", "checkout", "report", "billing", "onboarding", "search",
+            "export", "invoice", "profile", "dashboard", "migration", "payment", "release", "archive", "upload"};
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SearchEngine searchEngine;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Project> projects = new ArrayList<>();
+    private final List<ProjectMember> members = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        Random random = new Random(42);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("bench" + i + "@example.com");
+            user.setPassword("password123");
+            user.setFirstName(capitalize(word(random)));
+            user.setLastName(capitalize(word(random)) + i);
+            user.setRole("DEVELOPER");
+            user.setIsActive(true);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        for (int i = 0; i < PROJECTS; i++) {
+            Project project = new Project();
+            project.setName(capitalize(word(random)) + " " + word(random) + " " + i);
+            project.setStatus(ProjectStatus.ACTIVE);
+            project.setStartDate(LocalDate.now());
+            project.setCreatedBy(users.get(i));
+            projects.add(project);
+            members.add(new ProjectMember(project, users.get(i), ProjectMemberRole.DEVELOPER));
+            if (i > 0) {
+                members.add(new ProjectMember(project, users.get(0), ProjectMemberRole.DEVELOPER));
+            }
+        }
+        projectRepository.saveAll(projects);
+        projectMemberRepository.saveAll(members);
+
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle(capitalize(word(random)) + " " + word(random) + " task " + i);
+            task.setProject(projects.get(i % PROJECTS));
+            task.setCreatedBy(users.get(i % USERS));
+            task.setStatus(TaskStatus.TODO);
+            task.setPriority(TaskPriority.MEDIUM);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        if (searchEngine instanceof PostgresSearchEngine) {
+            // Fresh statistics, so the planner sees the seeded row counts
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAllByIdInBatch(tasks.stream().map(Task::getId).toList());
+        projectMemberRepository.deleteAllByIdInBatch(members.stream().map(ProjectMember::getId).toList());
+        projectRepository.deleteAllByIdInBatch(projects.stream().map(Project::getId).toList());
+        userRepository.deleteAllByIdInBatch(users.stream().map(User::getId).toList());
+    }
+
+    @Test
+    void typeahead_P99UnderLoadStaysWithinBudget() throws Exception {
+        long budgetMillis = Long.getLong("benchmark.p99-ms", 100);
+        Long memberId = users.get(0).getId();
+        for (int i = 0; i < 200; i++) {
+            searchEngine.suggest(WORDS[i % WORDS.length].substring(0, 2), EnumSet.allOf(SuggestionType.class),
+                    memberId, 5);
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            Random random = new Random(client);
+            Long clientMemberId = client % 2 == 0 ? memberId : null;
+            results.add(clients.submit(() -> {
+                long[] latencies = new long[KEYSTROKES_PER_CLIENT];
+                for (int i = 0; i < KEYSTROKES_PER_CLIENT; i++) {
+                    String word = word(random);
+                    String typed = word.substring(0, 1 + random.nextInt(word.length()));
+                    long start = System.nanoTime();
+                    searchEngine.suggest(typed, EnumSet.allOf(SuggestionType.class), clientMemberId, 5);
+                    latencies[i] = System.nanoTime() - start;
+                }
+                return latencies;
+            }));
+        }
+
+        long[] all = new long[CLIENTS * KEYSTROKES_PER_CLIENT];
+        int offset = 0;
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        clients.shutdown();
+        Arrays.sort(all);
+
+        double p50 = percentileMillis(all, 0.50);
+        double p99 = percentileMillis(all, 0.99);
+        System.out.printf("Typeahead benchmark (%s, %d tasks): %d calls from %d clients, p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                searchEngine.getClass().getSimpleName(), TASKS, all.length, CLIENTS, p50, p99,
+                all[all.length - 1] / 1_000_000.0);
+        assertTrue(p99 <= budgetMillis, "p99 " + p99 + " ms exceeds budget of " + budgetMillis + " ms");
+    }
+
+    /**
+     * The test profile, plus the PostgreSQL profile when -Dbenchmark.engine=postgres
+     */
+    static class EngineProfiles implements ActiveProfilesResolver {
+
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return "postgres".equals(System.getProperty("benchmark.engine"))
+                    ? new String[] {"test", "benchmark-postgres"}
+                    : new String[] {"test"};
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(rank, 0)] / 1_000_000.0;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -210,6 +210,30 @@ class JwtTokenProviderTest {
         assertEquals(TEST_USERNAME, jwtTokenProvider.extractUsername(token));
     }
 
+    @Test
+    void shouldCarryUserClaimsInAccessToken() {
+        // Given
+        AuthenticatedUser user = new AuthenticatedUser(42L, TEST_USERNAME, "hash", "PROJECT_MANAGER", 3, true);
+
+        // When
+        AuthenticatedUser principal = jwtTokenProvider.getAuthenticatedUser(jwtTokenProvider.generateToken(user));
+
+        // Then
+        assertNotNull(principal);
+        assertEquals(42L, principal.getId());
+        assertEquals(TEST_USERNAME, principal.getUsername());
+        assertEquals(3, principal.getTokenVersion());
+        assertEquals("ROLE_PROJECT_MANAGER", principal.getAuthorities().iterator().next().getAuthority());
+        assertNull(principal.getPassword());
+    }
+
+    @Test
+    void shouldNotReadPrincipalFromTokenWithoutUserClaims() {
+        // When & Then
+        assertNull(jwtTokenProvider.getAuthenticatedUser(jwtTokenProvider.generateRefreshToken(TEST_USERNAME)));
+        assertNull(jwtTokenProvider.getAuthenticatedUser("invalid.token.here"));
+    }
+
     @Test
     void shouldGetExpirationTimes() {
         // When
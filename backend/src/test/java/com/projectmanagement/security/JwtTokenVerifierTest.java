@@ -0,0 +1,82 @@
+package com.projectmanagement.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtTokenVerifier
+ */
+class JwtTokenVerifierTest {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtTokenVerifier jwtTokenVerifier;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", "test-secret-key-with-at-least-256-bits-for-testing");
+        ReflectionTestUtils.setField(provider, "jwtExpirationTime", 3600000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationTime", 86400000L);
+        jwtTokenProvider = spy(provider);
+        jwtTokenVerifier = new JwtTokenVerifier(jwtTokenProvider, Duration.ofMinutes(5), 100);
+        token = provider.generateToken(new AuthenticatedUser(5L, "dev@example.com", null, "DEVELOPER", 0, true));
+    }
+
+    @Test
+    void verify_RepeatedToken_ParsesOnce() {
+        // Act
+        AuthenticatedUser first = jwtTokenVerifier.verify(token);
+        AuthenticatedUser second = jwtTokenVerifier.verify(token);
+
+        // Assert
+        assertEquals(5L, first.getId());
+        assertSame(first, second);
+        verify(jwtTokenProvider, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    void verify_ForgedPayloadWithCachedSignature_IsRejected() {
+        // Arrange
+        jwtTokenVerifier.verify(token);
+        String[] parts = token.split("\\.");
+        String otherPayload = jwtTokenProvider.generateToken(
+                new AuthenticatedUser(1L, "admin@example.com", null, "ADMIN", 0, true)).split("\\.")[1];
+
+        // Act
+        AuthenticatedUser principal = jwtTokenVerifier.verify(parts[0] + "." + otherPayload + "." + parts[2]);
+
+        // Assert
+        assertNull(principal);
+    }
+
+    @Test
+    void verify_Request_KeepsPrincipalForTheRequest() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        // Act
+        AuthenticatedUser principal = jwtTokenVerifier.verify(request, token);
+
+        // Assert
+        assertSame(principal, request.getAttribute(JwtTokenVerifier.PRINCIPAL_ATTRIBUTE));
+        assertSame(principal, jwtTokenVerifier.verify(request, token));
+        verify(jwtTokenProvider, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    void verify_InvalidOrRefreshToken_ReturnsNull() {
+        // Act & Assert
+        assertNull(jwtTokenVerifier.verify("not-a-token"));
+        assertNull(jwtTokenVerifier.verify("a.b.c"));
+        assertNull(jwtTokenVerifier.verify(jwtTokenProvider.generateRefreshToken("dev@example.com")));
+    }
+}
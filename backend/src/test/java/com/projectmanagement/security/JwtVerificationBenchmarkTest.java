@@ -0,0 +1,83 @@
+package com.projectmanagement.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Micro-benchmark of per-request access token verification, before and after caching the
+ * signing key, the parser and recently verified tokens. Each variant is warmed up, then
+ * timed over the same set of tokens; the average cost per request is printed.
+ * Disabled by default; run with
+ * mvn test -Dtest=JwtVerificationBenchmarkTest -Dbenchmark=true [-Dbenchmark.iterations=200000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret-key-with-at-least-256-bits-of-entropy";
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200_000);
+    // Distinct users sending requests, each reusing its own token
+    private static final int TOKENS = 500;
+
+    @Test
+    void cachedVerification_IsCheaperPerRequest() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationTime", 3600000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationTime", 86400000L);
+        JwtTokenVerifier verifier = new JwtTokenVerifier(provider, Duration.ofMinutes(5), 10_000);
+
+        String[] tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = provider.generateToken(new AuthenticatedUser((long) i, "user" + i + "@example.com", null,
+                    "DEVELOPER", 0, true));
+        }
+
+        // Previous filter: key and parser rebuilt per parse, token parsed twice (validate, then subject)
+        double uncached = measure(tokens, token -> {
+            parseWithNewParser(token);
+            return parseWithNewParser(token).getSubject();
+        });
+        double cachedParser = measure(tokens, token -> provider.toAuthenticatedUser(provider.parseClaims(token)));
+        double cachedTokens = measure(tokens, verifier::verify);
+
+        System.out.printf("JWT verification per request: uncached %.0f ns, cached parser %.0f ns, "
+                + "verified-token cache %.0f ns%n", uncached, cachedParser, cachedTokens);
+        assertTrue(cachedParser < uncached);
+        assertTrue(cachedTokens < cachedParser);
+    }
+
+    private static Claims parseWithNewParser(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    /**
+     * Average nanoseconds per call after an equal number of warm-up calls
+     */
+    private static double measure(String[] tokens, Function<String, Object> verification) {
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = verification.apply(tokens[i % tokens.length]);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = verification.apply(tokens[i % tokens.length]);
+        }
+        long elapsed = System.nanoTime() - start;
+        assertNotNull(sink);
+        return (double) elapsed / ITERATIONS;
+    }
+}
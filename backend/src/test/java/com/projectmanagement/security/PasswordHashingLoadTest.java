@@ -0,0 +1,141 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of password checks during a login burst, as after a deploy: many request threads
+ * verify passwords at once, either hashing on the request threads (the previous behaviour) or
+ * through the bounded hashing pool. Prints login throughput, login latency and the latency of
+ * cheap requests served during the burst; with a short queue, excess logins are rejected.
+ * Disabled by default; run with
+ * mvn test -Dtest=PasswordHashingLoadTest -Dbenchmark=true [-Dbenchmark.logins=200] [-Dbenchmark.strength=10]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordHashingLoadTest {
+
+    private static final int LOGINS = Integer.getInteger("benchmark.logins", 200);
+    private static final int STRENGTH = Integer.getInteger("benchmark.strength", 10);
+    // Request threads of the servlet container
+    private static final int REQUEST_THREADS = 64;
+    private static final int CPUS = Runtime.getRuntime().availableProcessors();
+
+    @Test
+    void loginBurst_ThroughBoundedPool() throws Exception {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(STRENGTH);
+        String hash = bcrypt.encode("password123");
+        bcrypt.matches("password123", hash);
+
+        Result inline = burst(bcrypt, hash);
+
+        ExecutorService pool = new ThreadPoolExecutor(CPUS, CPUS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(LOGINS));
+        Result pooled = burst(new PooledPasswordEncoder(bcrypt, pool, Duration.ofMinutes(5)), hash);
+        pool.shutdown();
+
+        ExecutorService shortQueue = new ThreadPoolExecutor(CPUS, CPUS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(CPUS * 4));
+        Result shed = burst(new PooledPasswordEncoder(bcrypt, shortQueue, Duration.ofSeconds(2)), hash);
+        shortQueue.shutdown();
+
+        System.out.printf("Login burst of %d at strength %d, %d request threads, %d CPUs%n",
+                LOGINS, STRENGTH, REQUEST_THREADS, CPUS);
+        System.out.println("  request threads: " + inline);
+        System.out.println("  bounded pool:    " + pooled);
+        System.out.println("  short queue:     " + shed);
+
+        assertEquals(LOGINS, inline.succeeded);
+        assertEquals(LOGINS, pooled.succeeded);
+        assertTrue(shed.rejected > 0);
+        assertEquals(LOGINS, shed.succeeded + shed.rejected);
+    }
+
+    /**
+     * Run all logins at once from the request threads while a probe thread times cheap requests
+     */
+    private static Result burst(PasswordEncoder encoder, String hash) throws Exception {
+        ExecutorService requestThreads = Executors.newFixedThreadPool(REQUEST_THREADS);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(LOGINS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            requestThreads.execute(() -> {
+                long loginStart = System.nanoTime();
+                try {
+                    if (encoder.matches("password123", hash)) {
+                        succeeded.incrementAndGet();
+                        latencies.add(System.nanoTime() - loginStart);
+                    }
+                } catch (ServiceUnavailableException e) {
+                    rejected.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        List<Long> probes = new ArrayList<>();
+        while (done.getCount() > 0) {
+            long probeStart = System.nanoTime();
+            cheapRequest();
+            probes.add(System.nanoTime() - probeStart);
+            Thread.sleep(5);
+        }
+        long elapsed = System.nanoTime() - start;
+        requestThreads.shutdown();
+        assertTrue(requestThreads.awaitTermination(1, TimeUnit.MINUTES));
+
+        return new Result(succeeded.get(), rejected.get(), succeeded.get() / (elapsed / 1e9),
+                percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(probes, 0.99));
+    }
+
+    /**
+     * Stand-in for a request that needs a little CPU, such as serving a cached page
+     */
+    private static void cheapRequest() {
+        long sum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sum += i % 7;
+        }
+        assertTrue(sum > 0);
+    }
+
+    private static double percentile(List<Long> nanos, double percentile) {
+        if (nanos.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(nanos);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.floor(percentile * sorted.size()))) / 1e6;
+    }
+
+    private record Result(int succeeded, int rejected, double loginsPerSecond, double p50Millis,
+                          double p99Millis, double probeP99Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%d ok, %d rejected, %.1f logins/s, login p50 %.0f ms, p99 %.0f ms, "
+                    + "cheap request p99 %.1f ms", succeeded, rejected, loginsPerSecond, p50Millis, p99Millis,
+                    probeP99Millis);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PooledPasswordEncoder
+ */
+class PooledPasswordEncoderTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encodeAndMatches_HashOnPool() {
+        // Arrange
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(4), executor,
+                Duration.ofSeconds(5));
+
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void encode_QueueFull_ThrowsServiceUnavailable() throws InterruptedException {
+        // Arrange - one hash running and one queued
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(blockingEncoder(started, release), executor,
+                Duration.ofSeconds(5));
+        Thread running = new Thread(() -> encoder.encode("first"));
+        Thread queued = new Thread(() -> encoder.encode("second"));
+        running.start();
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        queued.start();
+        waitUntilQueued();
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+        release.countDown();
+        running.join(2000);
+        queued.join(2000);
+    }
+
+    @Test
+    void matches_HashDoesNotStartInTime_ThrowsServiceUnavailable() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(blockingEncoder(started, release), executor,
+                Duration.ofMillis(100));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> encoder.matches("password123", "hash"));
+        release.countDown();
+    }
+
+    @Test
+    void upgradeEncoding_WeakerHash_IsUpgraded() {
+        // Arrange
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(5), executor,
+                Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password123")));
+    }
+
+    @Test
+    void calibrateStrength_StaysWithinBounds() {
+        assertEquals(10, PooledPasswordEncoder.calibrateStrength(10, 16, Duration.ZERO));
+        assertEquals(4, PooledPasswordEncoder.calibrateStrength(4, 4, Duration.ofSeconds(1)));
+        assertEquals(4, PooledPasswordEncoder.calibrateStrength(4, 31, Duration.ofNanos(1)));
+        assertEquals(6, PooledPasswordEncoder.calibrateStrength(4, 6, Duration.ofHours(1)));
+    }
+
+    @Test
+    void median_IgnoresOutliers() {
+        assertEquals(20, PooledPasswordEncoder.median(new long[] {20, 400, 18, 21, 2}));
+        assertEquals(7, PooledPasswordEncoder.median(new long[] {7}));
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        for (int i = 0; i < 200 && pool.getQueue().isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.getQueue().size());
+    }
+
+    /**
+     * Encoder whose hashes block until released
+     */
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                await(release);
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                await(release);
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.entity.ProjectMemberRole;
+import com.projectmanagement.repository.ProjectMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectMembershipCache
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectMembershipCacheTest {
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    private ProjectMembershipCache membershipCache;
+
+    @BeforeEach
+    void setUp() {
+        membershipCache = new ProjectMembershipCache(projectMemberRepository, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void isMember_LoadsMembershipsOncePerUser() {
+        // Arrange
+        when(projectMemberRepository.findProjectRolesByUserId(1L)).thenReturn(List.of(
+                new Object[]{10L, ProjectMemberRole.DEVELOPER},
+                new Object[]{11L, ProjectMemberRole.PROJECT_MANAGER}));
+
+        // Act & Assert
+        assertTrue(membershipCache.isMember(1L, 10L));
+        assertTrue(membershipCache.isMember(1L, 11L));
+        assertFalse(membershipCache.isMember(1L, 12L));
+        verify(projectMemberRepository, times(1)).findProjectRolesByUserId(1L);
+    }
+
+    @Test
+    void canEditProject_OnlyManagersAndTeamLeads() {
+        // Arrange
+        when(projectMemberRepository.findProjectRolesByUserId(1L)).thenReturn(List.of(
+                new Object[]{10L, ProjectMemberRole.DEVELOPER},
+                new Object[]{11L, ProjectMemberRole.PROJECT_MANAGER},
+                new Object[]{12L, ProjectMemberRole.TEAM_LEAD}));
+
+        // Act & Assert
+        assertFalse(membershipCache.canEditProject(1L, 10L));
+        assertTrue(membershipCache.canEditProject(1L, 11L));
+        assertTrue(membershipCache.canEditProject(1L, 12L));
+        assertFalse(membershipCache.canEditProject(1L, 13L));
+    }
+
+    @Test
+    void evict_ReloadsChangedMemberships() {
+        // Arrange
+        when(projectMemberRepository.findProjectRolesByUserId(1L)).thenReturn(
+                List.<Object[]>of(),
+                List.<Object[]>of(new Object[]{10L, ProjectMemberRole.DEVELOPER}));
+        assertFalse(membershipCache.isMember(1L, 10L));
+
+        // Act
+        membershipCache.evictAfterCommit(List.of(1L));
+
+        // Assert
+        assertTrue(membershipCache.isMember(1L, 10L));
+    }
+}
@@ -0,0 +1,67 @@
+package com.projectmanagement.security;
+
+import com.projectmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TokenVersionCache
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionCache tokenVersionCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionCache = new TokenVersionCache(userRepository, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void isCurrent_LoadsVersionOncePerUser() {
+        // Arrange
+        when(userRepository.findActiveTokenVersionById(1L)).thenReturn(Optional.of(2));
+
+        // Act & Assert
+        assertTrue(tokenVersionCache.isCurrent(1L, 2));
+        assertTrue(tokenVersionCache.isCurrent(1L, 2));
+        assertFalse(tokenVersionCache.isCurrent(1L, 1));
+        verify(userRepository, times(1)).findActiveTokenVersionById(1L);
+    }
+
+    @Test
+    void isCurrent_InactiveOrMissingUser_RejectsEveryVersion() {
+        // Arrange
+        when(userRepository.findActiveTokenVersionById(1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(tokenVersionCache.isCurrent(1L, 0));
+        assertFalse(tokenVersionCache.isCurrent(1L, TokenVersionCache.REVOKED));
+    }
+
+    @Test
+    void evict_ReloadsBumpedVersion() {
+        // Arrange
+        when(userRepository.findActiveTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertTrue(tokenVersionCache.isCurrent(1L, 0));
+
+        // Act
+        tokenVersionCache.evictAfterCommit(1L);
+
+        // Assert
+        assertFalse(tokenVersionCache.isCurrent(1L, 0));
+        assertTrue(tokenVersionCache.isCurrent(1L, 1));
+    }
+}
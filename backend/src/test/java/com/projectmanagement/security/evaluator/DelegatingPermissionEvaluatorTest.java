@@ -0,0 +1,68 @@
+package com.projectmanagement.security.evaluator;
+
+import com.projectmanagement.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DelegatingPermissionEvaluator
+ */
+@ExtendWith(MockitoExtension.class)
+class DelegatingPermissionEvaluatorTest {
+
+    @Mock
+    private ProjectPermissionEvaluator projectPermissionEvaluator;
+
+    @Mock
+    private TaskPermissionEvaluator taskPermissionEvaluator;
+
+    @Mock
+    private Authentication authentication;
+
+    private DelegatingPermissionEvaluator permissionEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        permissionEvaluator = new DelegatingPermissionEvaluator(projectPermissionEvaluator, taskPermissionEvaluator);
+    }
+
+    @Test
+    void hasPermission_Task_UsesTaskEvaluator() {
+        // Arrange
+        Task task = new Task();
+        when(taskPermissionEvaluator.hasPermission(authentication, task, "EDIT")).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(permissionEvaluator.hasPermission(authentication, task, "EDIT"));
+        verifyNoInteractions(projectPermissionEvaluator);
+    }
+
+    @Test
+    void hasPermission_ProjectId_UsesProjectEvaluator() {
+        // Arrange
+        when(projectPermissionEvaluator.hasPermission(authentication, 5L, "VIEW")).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(permissionEvaluator.hasPermission(authentication, 5L, "VIEW"));
+        verifyNoInteractions(taskPermissionEvaluator);
+    }
+
+    @Test
+    void hasPermission_TargetType_RoutesByType() {
+        // Arrange
+        when(taskPermissionEvaluator.hasPermission(authentication, 7L, "Task", "EDIT")).thenReturn(true);
+        when(projectPermissionEvaluator.hasPermission(any(), any(), eq("Project"), any())).thenReturn(false);
+
+        // Act & Assert
+        assertTrue(permissionEvaluator.hasPermission(authentication, 7L, "Task", "EDIT"));
+        assertFalse(permissionEvaluator.hasPermission(authentication, 7L, "Project", "EDIT"));
+        verify(taskPermissionEvaluator, never()).hasPermission(any(), any(), eq("Project"), any());
+    }
+}
@@ -0,0 +1,89 @@
+package com.projectmanagement.security.refresh;
+
+import com.projectmanagement.entity.User;
+import com.projectmanagement.repository.RefreshTokenRepository;
+import com.projectmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DatabaseRefreshTokenStore against the test database.
+ * Runs without a test transaction because rotation commits in its own transaction.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(DatabaseRefreshTokenStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseRefreshTokenStoreTest {
+
+    @Autowired
+    private DatabaseRefreshTokenStore store;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("refresh@example.com", "password", "Refresh", "Tester", "DEVELOPER"));
+        now = LocalDateTime.now();
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void rotate_ThenReplay_RevokesFamily() {
+        // Arrange
+        store.save(token("a", "family"));
+
+        // Act
+        RotationResult first = store.rotate("a", token("b", "family"), now);
+        RotationResult replay = store.rotate("a", token("x", "family"), now);
+
+        // Assert
+        assertEquals(RotationResult.ROTATED, first);
+        assertEquals(RotationResult.REUSED, replay);
+        assertEquals(RotationResult.REVOKED, store.rotate("b", token("c", "family"), now));
+        assertFalse(refreshTokenRepository.existsById("x"));
+    }
+
+    @Test
+    void revokeAllForUser_AndDeleteExpired() {
+        // Arrange
+        store.save(token("a", "first"));
+        store.save(new RefreshTokenRecord("old", "second", user.getId(), now.minusMinutes(1)));
+
+        // Act
+        store.revokeAllForUser(user.getId());
+        int removed = store.deleteExpired(now);
+
+        // Assert
+        assertEquals(1, removed);
+        assertEquals(RotationResult.REVOKED, store.rotate("a", token("b", "first"), now));
+        assertEquals(RotationResult.UNKNOWN, store.rotate("old", token("c", "second"), now));
+    }
+
+    private RefreshTokenRecord token(String hash, String familyId) {
+        return new RefreshTokenRecord(hash, familyId, user.getId(), now.plusDays(7));
+    }
+}
@@ -0,0 +1,116 @@
+package com.projectmanagement.security.refresh;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryRefreshTokenStore
+ */
+class InMemoryRefreshTokenStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+    @Test
+    void rotate_ActiveToken_StoresSuccessor() {
+        // Arrange
+        store.save(token("a", "family", 1L, NOW.plusDays(7)));
+
+        // Act & Assert
+        assertEquals(RotationResult.ROTATED, store.rotate("a", token("b", "family", 1L, NOW.plusDays(7)), NOW));
+        assertEquals(RotationResult.ROTATED, store.rotate("b", token("c", "family", 1L, NOW.plusDays(7)), NOW));
+        assertEquals(RotationResult.UNKNOWN, store.rotate("unknown", token("d", "family", 1L, NOW.plusDays(7)), NOW));
+    }
+
+    @Test
+    void rotate_UsedToken_RevokesFamily() {
+        // Arrange
+        store.save(token("a", "family", 1L, NOW.plusDays(7)));
+        store.rotate("a", token("b", "family", 1L, NOW.plusDays(7)), NOW);
+
+        // Act
+        RotationResult replay = store.rotate("a", token("x", "family", 1L, NOW.plusDays(7)), NOW);
+
+        // Assert
+        assertEquals(RotationResult.REUSED, replay);
+        assertEquals(RotationResult.REVOKED, store.rotate("b", token("c", "family", 1L, NOW.plusDays(7)), NOW));
+    }
+
+    @Test
+    void rotate_ConcurrentUseOfOneToken_RotatesOnce() throws Exception {
+        // Arrange
+        store.save(token("a", "family", 1L, NOW.plusDays(7)));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RotationResult>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < 8; i++) {
+                String successor = "b" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.rotate("a", token(successor, "family", 1L, NOW.plusDays(7)), NOW);
+                }));
+            }
+            start.countDown();
+
+            // Assert
+            int rotated = 0;
+            for (Future<RotationResult> result : results) {
+                if (result.get() == RotationResult.ROTATED) {
+                    rotated++;
+                }
+            }
+            assertEquals(1, rotated);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void revoke_FamilyAndUser() {
+        // Arrange
+        store.save(token("a", "first", 1L, NOW.plusDays(7)));
+        store.save(token("b", "second", 1L, NOW.plusDays(7)));
+        store.save(token("c", "third", 2L, NOW.plusDays(7)));
+
+        // Act
+        store.revokeFamily("first");
+        store.revokeAllForUser(2L);
+
+        // Assert
+        assertEquals(RotationResult.REVOKED, store.rotate("a", token("a2", "first", 1L, NOW.plusDays(7)), NOW));
+        assertEquals(RotationResult.ROTATED, store.rotate("b", token("b2", "second", 1L, NOW.plusDays(7)), NOW));
+        assertEquals(RotationResult.REVOKED, store.rotate("c", token("c2", "third", 2L, NOW.plusDays(7)), NOW));
+    }
+
+    @Test
+    void deleteExpired_RemovesOnlyExpiredTokens() {
+        // Arrange
+        store.save(token("old", "first", 1L, NOW.minusMinutes(1)));
+        store.save(token("new", "second", 1L, NOW.plusDays(7)));
+
+        // Act
+        int removed = store.deleteExpired(NOW);
+
+        // Assert
+        assertEquals(1, removed);
+        assertEquals(RotationResult.UNKNOWN, store.rotate("old", token("x", "first", 1L, NOW.plusDays(7)), NOW));
+        assertEquals(RotationResult.ROTATED, store.rotate("new", token("y", "second", 1L, NOW.plusDays(7)), NOW));
+    }
+
+    private static RefreshTokenRecord token(String hash, String familyId, Long userId, LocalDateTime expiresAt) {
+        return new RefreshTokenRecord(hash, familyId, userId, expiresAt);
+    }
+}
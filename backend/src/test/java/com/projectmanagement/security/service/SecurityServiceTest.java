@@ -2,6 +2,7 @@ package com.projectmanagement.security.service;
 
 import com.projectmanagement.exception.UnauthorizedException;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.AuthenticatedUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -255,4 +256,22 @@ class SecurityServiceTest {
             assertThrows(UnauthorizedException.class, () -> securityService.validateAnyRole("TEAM_MEMBER", "ADMIN"));
         }
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldReadCurrentUserIdFromTokenPrincipal() {
+        // Given
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "dev@example.com", null, "DEVELOPER", 0, true);
+        Authentication authentication = new TestingAuthenticationToken(principal, null, "ROLE_DEVELOPER");
+
+        try (MockedStatic<SecurityContextHolder> mockedStatic = Mockito.mockStatic(SecurityContextHolder.class)) {
+            SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+            when(securityContext.getAuthentication()).thenReturn(authentication);
+            mockedStatic.when(SecurityContextHolder::getContext).thenReturn(securityContext);
+
+            // When & Then - No database lookup is needed
+            assertEquals(7L, securityService.getCurrentUserId());
+            assertEquals("dev@example.com", securityService.getCurrentUsername());
+            Mockito.verifyNoInteractions(userRepository);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.projectmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsCacheTest {
+
+    private AnalyticsCache analyticsCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        analyticsCache = new AnalyticsCache(Duration.ofMinutes(1), 100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void evict_WriteToProject_EvictsOnlyThatProjectAndGlobalEntries() {
+        // Arrange
+        AnalyticsCache.Key project1 = AnalyticsCache.Key.forProject("analytics", 1L);
+        AnalyticsCache.Key project2 = AnalyticsCache.Key.forProject("analytics", 2L);
+        AnalyticsCache.Key allProjects = AnalyticsCache.Key.forProject("analytics", null);
+        reloads(project1);
+        reloads(project2);
+        reloads(allProjects);
+
+        // Act
+        analyticsCache.evict(1L, List.of());
+
+        // Assert
+        assertTrue(reloads(project1));
+        assertFalse(reloads(project2));
+        assertTrue(reloads(allProjects));
+    }
+
+    @Test
+    void evict_UserWritesInAnotherProject_EvictsUserEntryScopedToProject() {
+        // Arrange - the user's response for project 1 also lists the user's other projects
+        AnalyticsCache.Key userInProject1 = AnalyticsCache.Key.forUser("userPerformance", 7L, 1L);
+        AnalyticsCache.Key otherUser = AnalyticsCache.Key.forUser("userPerformance", 8L, 2L);
+        reloads(userInProject1);
+        reloads(otherUser);
+
+        // Act
+        analyticsCache.evict(2L, List.of(7L));
+
+        // Assert
+        assertTrue(reloads(userInProject1));
+        assertFalse(reloads(otherUser));
+    }
+
+    /**
+     * Read an entry, reporting whether it had to be computed
+     */
+    private boolean reloads(AnalyticsCache.Key key) {
+        int before = loads.get();
+        analyticsCache.get(key, loads::incrementAndGet);
+        return loads.get() > before;
+    }
+}
@@ -0,0 +1,105 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalyticsExecutorTest {
+
+    private AnalyticsExecutor analyticsExecutor;
+
+    @BeforeEach
+    void setUp() {
+        analyticsExecutor = new AnalyticsExecutor(2, 10, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyticsExecutor.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void submit_PropagatesSecurityContext() {
+        // Arrange
+        Authentication authentication = new UsernamePasswordAuthenticationToken("pm@example.com", null, Collections.emptyList());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        // Act
+        CompletableFuture<String> section = analyticsExecutor.submit(() -> {
+            assertNotEquals("main", Thread.currentThread().getName());
+            return SecurityContextHolder.getContext().getAuthentication().getName();
+        });
+
+        // Assert
+        assertEquals("pm@example.com", analyticsExecutor.await(section, "user"));
+    }
+
+    @Test
+    void submit_RunsSectionsConcurrently() {
+        // Arrange
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // Act - each section only finishes once the other one has started
+        CompletableFuture<Boolean> first = analyticsExecutor.submit(() -> awaitLatch(bothStarted));
+        CompletableFuture<Boolean> second = analyticsExecutor.submit(() -> awaitLatch(bothStarted));
+
+        // Assert
+        assertTrue(analyticsExecutor.await(first, "first"));
+        assertTrue(analyticsExecutor.await(second, "second"));
+    }
+
+    @Test
+    void await_SectionTimesOut_ThrowsServiceUnavailable() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> section = analyticsExecutor.submit(() -> {
+            try {
+                return release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+
+        // Act & Assert
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> analyticsExecutor.await(section, "slowSection"));
+        assertEquals("Analytics section timed out: slowSection", exception.getMessage());
+        release.countDown();
+    }
+
+    @Test
+    void await_SectionFails_RethrowsOriginalException() {
+        // Arrange
+        CompletableFuture<Object> section = analyticsExecutor.submit(() -> {
+            throw new ResourceNotFoundException("Project not found with ID: 1");
+        });
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> analyticsExecutor.await(section, "project"));
+    }
+
+    private static boolean awaitLatch(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.entity.AnalyticsDailyRollup;
+import com.projectmanagement.entity.Project;
+import com.projectmanagement.entity.ProjectStatus;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.TaskStatus;
+import com.projectmanagement.entity.User;
+import com.projectmanagement.repository.AnalyticsDailyRollupRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent rollup maintenance against the test database.
+ * Runs without a test transaction so each writer commits in its own transaction.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AnalyticsRollupService.class, AnalyticsCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnalyticsRollupConcurrencyTest {
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private AnalyticsDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("rollup@example.com", "password", "Rollup", "Tester", "DEVELOPER"));
+        project = projectRepository.save(new Project("Rollup race", null, ProjectStatus.ACTIVE, null, null, user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        projectRepository.delete(project);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void concurrentFirstWrites_UnassignedTask_MergeIntoOneRow() throws Exception {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstWritten = new CountDownLatch(1);
+
+        // Act - the first writer holds its transaction open while the second one writes the same row
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            analyticsRollupService.taskCreated(completedUnassignedTask());
+            firstWritten.countDown();
+            sleep(300);
+        }));
+        assertTrue(firstWritten.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(
+                status -> analyticsRollupService.taskCreated(completedUnassignedTask())));
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        // Assert
+        List<AnalyticsDailyRollup> rollups = rollupRepository.findAll();
+        assertEquals(1, rollups.size());
+        assertNull(rollups.get(0).getUserId());
+        assertEquals(2, rollups.get(0).getTasksCompleted());
+    }
+
+    private Task completedUnassignedTask() {
+        Task task = new Task();
+        task.setProject(project);
+        task.setStatus(TaskStatus.DONE);
+        task.setCompletedAt(LocalDateTime.of(LocalDate.of(2024, 3, 1), LocalTime.NOON));
+        return task;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
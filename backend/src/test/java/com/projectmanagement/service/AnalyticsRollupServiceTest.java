@@ -0,0 +1,272 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.entity.AnalyticsDailyRollup;
+import com.projectmanagement.entity.Project;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.TaskStatus;
+import com.projectmanagement.entity.TimeLog;
+import com.projectmanagement.entity.User;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.repository.AnalyticsDailyRollupRepository;
+import com.projectmanagement.repository.TimeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsRollupServiceTest {
+
+    @Mock
+    private AnalyticsDailyRollupRepository rollupRepository;
+
+    @Mock
+    private TimeLogRepository timeLogRepository;
+
+    @Mock
+    private AnalyticsCache analyticsCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AnalyticsRollupService analyticsRollupService;
+
+    private Project testProject;
+    private User testUser;
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        testProject = new Project();
+        testProject.setId(1L);
+
+        testUser = new User();
+        testUser.setId(2L);
+
+        testTask = new Task();
+        testTask.setId(3L);
+        testTask.setProject(testProject);
+        testTask.setAssignee(testUser);
+        testTask.setStatus(TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void timeLogCreated_UpdatesExistingRow() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 10);
+        TimeLog timeLog = new TimeLog(new BigDecimal("2.50"), date, testTask, testUser);
+        when(rollupRepository.applyDelta(date, 1L, 2L, new BigDecimal("2.50"), 1, 0)).thenReturn(1);
+
+        // Act
+        analyticsRollupService.timeLogCreated(timeLog);
+
+        // Assert
+        verify(rollupRepository).applyDelta(date, 1L, 2L, new BigDecimal("2.50"), 1, 0);
+        verify(rollupRepository, never()).saveAndFlush(any());
+        verify(analyticsCache).evictAfterCommit(1L, List.of(2L));
+    }
+
+    @Test
+    void timeLogCreated_InsertsMissingRowThenUpdatesIt() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 10);
+        TimeLog timeLog = new TimeLog(new BigDecimal("2.50"), date, testTask, testUser);
+        when(rollupRepository.applyDelta(date, 1L, 2L, new BigDecimal("2.50"), 1, 0)).thenReturn(0, 1);
+
+        // Act
+        analyticsRollupService.timeLogCreated(timeLog);
+
+        // Assert - the row is created empty in its own transaction and then updated like an existing one
+        ArgumentCaptor<AnalyticsDailyRollup> captor = ArgumentCaptor.forClass(AnalyticsDailyRollup.class);
+        InOrder inOrder = inOrder(transactionManager, rollupRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(rollupRepository).saveAndFlush(captor.capture());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(rollupRepository).applyDelta(date, 1L, 2L, new BigDecimal("2.50"), 1, 0);
+        AnalyticsDailyRollup rollup = captor.getValue();
+        assertEquals(date, rollup.getRollupDate());
+        assertEquals(1L, rollup.getProjectId());
+        assertEquals(2L, rollup.getUserId());
+        assertEquals(BigDecimal.ZERO, rollup.getHoursLogged());
+        assertEquals(0, rollup.getTimeLogCount());
+        assertEquals(0, rollup.getTasksCompleted());
+    }
+
+    @Test
+    void timeLogCreated_RowCreatedConcurrently_UpdatesIt() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 10);
+        TimeLog timeLog = new TimeLog(new BigDecimal("2.50"), date, testTask, testUser);
+        when(rollupRepository.applyDelta(date, 1L, 2L, new BigDecimal("2.50"), 1, 0)).thenReturn(0, 1);
+        when(rollupRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act
+        analyticsRollupService.timeLogCreated(timeLog);
+
+        // Assert
+        verify(rollupRepository, times(2)).applyDelta(date, 1L, 2L, new BigDecimal("2.50"), 1, 0);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void timeLogDeleted_SubtractsHours() {
+        // Arrange
+        LocalDate date = LocalDate.of(2024, 1, 10);
+        TimeLog timeLog = new TimeLog(new BigDecimal("2.50"), date, testTask, testUser);
+        when(rollupRepository.applyDelta(date, 1L, 2L, new BigDecimal("-2.50"), -1, 0)).thenReturn(1);
+
+        // Act
+        analyticsRollupService.timeLogDeleted(timeLog);
+
+        // Assert
+        verify(rollupRepository).applyDelta(date, 1L, 2L, new BigDecimal("-2.50"), -1, 0);
+        verify(rollupRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void taskCreated_UnassignedDoneTask_CountsCompletionWithoutUser() {
+        // Arrange
+        testTask.setAssignee(null);
+        testTask.setStatus(TaskStatus.DONE);
+        when(rollupRepository.applyDeltaWithoutUser(LocalDate.now(), 1L, BigDecimal.ZERO, 0, 1)).thenReturn(1);
+
+        // Act
+        analyticsRollupService.taskCreated(testTask);
+
+        // Assert
+        verify(rollupRepository).applyDeltaWithoutUser(LocalDate.now(), 1L, BigDecimal.ZERO, 0, 1);
+        verify(rollupRepository, never()).applyDelta(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void taskCreated_OpenTask_DoesNothing() {
+        // Act
+        analyticsRollupService.taskCreated(testTask);
+
+        // Assert
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void taskUpdated_Reopened_RemovesPreviousCompletion() {
+        // Arrange
+        LocalDate completedOn = LocalDate.of(2024, 1, 5);
+        when(rollupRepository.applyDelta(completedOn, 1L, 2L, BigDecimal.ZERO, 0, -1)).thenReturn(1);
+
+        // Act
+        analyticsRollupService.taskUpdated(testTask, true, 2L, completedOn);
+
+        // Assert
+        verify(rollupRepository).applyDelta(completedOn, 1L, 2L, BigDecimal.ZERO, 0, -1);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void taskUpdated_Completed_AddsCompletionToday() {
+        // Arrange
+        testTask.setStatus(TaskStatus.DONE);
+        when(rollupRepository.applyDelta(LocalDate.now(), 1L, 2L, BigDecimal.ZERO, 0, 1)).thenReturn(1);
+
+        // Act
+        analyticsRollupService.taskUpdated(testTask, false, 2L, LocalDate.of(2024, 1, 5));
+
+        // Assert
+        verify(rollupRepository).applyDelta(LocalDate.now(), 1L, 2L, BigDecimal.ZERO, 0, 1);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void taskUpdated_StillDoneSameAssignee_LeavesCompletion() {
+        // Arrange
+        testTask.setStatus(TaskStatus.DONE);
+        testTask.setCompletedAt(LocalDateTime.of(2024, 1, 5, 14, 0));
+
+        // Act
+        analyticsRollupService.taskUpdated(testTask, true, 2L, LocalDate.of(2024, 1, 5));
+
+        // Assert
+        verifyNoInteractions(rollupRepository);
+        verify(analyticsCache).evictAfterCommit(eq(1L), anyCollection());
+    }
+
+    @Test
+    void taskUpdated_DoneTaskReassigned_MovesCompletionOnSameDay() {
+        // Arrange
+        testTask.setStatus(TaskStatus.DONE);
+        testTask.setCompletedAt(LocalDateTime.of(2024, 1, 5, 14, 0));
+        when(rollupRepository.applyDelta(any(), any(), any(), any(), anyInt(), anyInt())).thenReturn(1);
+
+        // Act
+        analyticsRollupService.taskUpdated(testTask, true, 7L, LocalDate.of(2024, 1, 5));
+
+        // Assert
+        verify(rollupRepository).applyDelta(LocalDate.of(2024, 1, 5), 1L, 7L, BigDecimal.ZERO, 0, -1);
+        verify(rollupRepository).applyDelta(LocalDate.of(2024, 1, 5), 1L, 2L, BigDecimal.ZERO, 0, 1);
+    }
+
+    @Test
+    void taskDeleted_ReversesCompletionAndTimeLogs() {
+        // Arrange
+        testTask.setStatus(TaskStatus.DONE);
+        testTask.setCompletedAt(LocalDateTime.of(2024, 1, 5, 14, 0));
+        when(timeLogRepository.getHoursPerDayAndUserByTask(3L)).thenReturn(Arrays.asList(
+                new Object[]{LocalDate.of(2024, 1, 3), 2L, new BigDecimal("4.00"), 1L},
+                new Object[]{LocalDate.of(2024, 1, 4), 5L, new BigDecimal("1.50"), 1L}));
+        when(rollupRepository.applyDelta(any(), any(), any(), any(), anyInt(), anyInt())).thenReturn(1);
+
+        // Act
+        analyticsRollupService.taskDeleted(testTask);
+
+        // Assert
+        verify(rollupRepository).applyDelta(LocalDate.of(2024, 1, 5), 1L, 2L, BigDecimal.ZERO, 0, -1);
+        verify(rollupRepository).applyDelta(LocalDate.of(2024, 1, 3), 1L, 2L, new BigDecimal("-4.00"), -1, 0);
+        verify(rollupRepository).applyDelta(LocalDate.of(2024, 1, 4), 1L, 5L, new BigDecimal("-1.50"), -1, 0);
+        verify(rollupRepository, never()).saveAndFlush(any());
+        verify(analyticsCache).evictAfterCommit(1L, List.of(2L, 2L, 5L));
+    }
+
+    @Test
+    void rebuild_ReplacesAllRows() {
+        // Arrange
+        when(rollupRepository.backfillFromSourceTables()).thenReturn(12);
+
+        // Act
+        int rows = analyticsRollupService.rebuild();
+
+        // Assert
+        assertEquals(12, rows);
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockForRebuild();
+        inOrder.verify(rollupRepository).deleteAllInBatch();
+        inOrder.verify(rollupRepository).backfillFromSourceTables();
+        verify(analyticsCache).evictAllAfterCommit();
+    }
+
+    @Test
+    void rebuild_WritersDoNotFinishInTime_ThrowsServiceUnavailable() {
+        // Arrange
+        doThrow(new CannotAcquireLockException("lock timeout")).when(rollupRepository).lockForRebuild();
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> analyticsRollupService.rebuild());
+        verify(rollupRepository, never()).deleteAllInBatch();
+    }
+}
@@ -7,6 +7,7 @@ import com.projectmanagement.entity.TaskStatus;
 import com.projectmanagement.entity.User;
 import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.repository.AnalyticsDailyRollupRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.TimeLogRepository;
@@ -17,10 +18,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -45,9 +48,18 @@ class AnalyticsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AnalyticsDailyRollupRepository rollupRepository;
+
     @Mock
     private SecurityService securityService;
 
+    @Spy
+    private AnalyticsCache analyticsCache = new AnalyticsCache(Duration.ofMinutes(1), 100);
+
+    @Spy
+    private AnalyticsExecutor analyticsExecutor = new AnalyticsExecutor(Runnable::run, Duration.ofSeconds(5));
+
     @InjectMocks
     private AnalyticsService analyticsService;
 
@@ -328,4 +340,161 @@ class AnalyticsServiceTest {
         assertEquals(5, response.getCompletedTasks());
         assertEquals(1, response.getOverdueTasks());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getTimeTrackingData_SingleGroupedQueryFillsMissingDays() {
+        // Arrange
+        Long projectId = 1L;
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 5);
+
+        when(timeLogRepository.getHoursPerDayByProjectAndDateRange(projectId, startDate, endDate))
+                .thenReturn(Arrays.asList(
+                        new Object[]{LocalDate.of(2024, 1, 2), new BigDecimal("3.50")},
+                        new Object[]{LocalDate.of(2024, 1, 4), new BigDecimal("1.25")}));
+
+        // Act
+        AnalyticsDataResponse.TimeTrackingData response = analyticsService.getTimeTrackingData(startDate, endDate, projectId);
+
+        // Assert
+        assertEquals(List.of("2024-01-01", "2024-01-02", "2024-01-03", "2024-01-04", "2024-01-05"), response.getLabels());
+        assertEquals(List.of(BigDecimal.ZERO, new BigDecimal("3.50"), BigDecimal.ZERO, new BigDecimal("1.25"), BigDecimal.ZERO),
+                response.getDatasets().get(0).getData());
+
+        verify(timeLogRepository).getHoursPerDayByProjectAndDateRange(projectId, startDate, endDate);
+        verifyNoMoreInteractions(timeLogRepository);
+    }
+
+    @Test
+    void getTaskCompletionData_WeeklyBuckets() {
+        // Arrange - 2024-01-01 is a Monday
+        LocalDate startDate = LocalDate.of(2024, 1, 3);
+        LocalDate endDate = LocalDate.of(2024, 1, 16);
+
+        when(rollupRepository.getCompletedTasksPerDayByDateRange(startDate, endDate))
+                .thenReturn(Arrays.asList(
+                        new Object[]{LocalDate.of(2024, 1, 3), 2L},
+                        new Object[]{LocalDate.of(2024, 1, 7), 1L},
+                        new Object[]{LocalDate.of(2024, 1, 15), 4L}));
+
+        // Act
+        AnalyticsDataResponse.TaskCompletionData response =
+                analyticsService.getTaskCompletionData(startDate, endDate, null, TimeBucket.WEEK);
+
+        // Assert
+        assertEquals(List.of("2024-01-01", "2024-01-08", "2024-01-15"), response.getLabels());
+        assertEquals(List.of(3L, 0L, 4L), response.getDatasets().get(0).getData());
+
+        verify(rollupRepository).getCompletedTasksPerDayByDateRange(startDate, endDate);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTimeTrackingData_MonthlyBuckets() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 30);
+        LocalDate endDate = LocalDate.of(2024, 2, 2);
+
+        when(timeLogRepository.getHoursPerDayByDateRange(startDate, endDate))
+                .thenReturn(Arrays.asList(
+                        new Object[]{LocalDate.of(2024, 1, 30), new BigDecimal("2.00")},
+                        new Object[]{LocalDate.of(2024, 1, 31), new BigDecimal("1.00")},
+                        new Object[]{LocalDate.of(2024, 2, 2), new BigDecimal("4.00")}));
+
+        // Act
+        AnalyticsDataResponse.TimeTrackingData response =
+                analyticsService.getTimeTrackingData(startDate, endDate, null, TimeBucket.MONTH);
+
+        // Assert
+        assertEquals(List.of("2024-01", "2024-02"), response.getLabels());
+        assertEquals(List.of(new BigDecimal("3.00"), new BigDecimal("4.00")), response.getDatasets().get(0).getData());
+    }
+
+    @Test
+    void getPerformanceMetrics_ComputesCompletionMetricsFromAggregates() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        LocalDateTime start = startDate.atStartOfDay();
+        LocalDateTime end = endDate.atTime(23, 59, 59);
+        when(timeLogRepository.getTotalHoursByProjectAndDateRange(1L, startDate, endDate)).thenReturn(new BigDecimal("40.00"));
+        when(taskRepository.getCompletionSummaryByProjectAndCompletedAtBetween(1L, start, end))
+                .thenReturn(List.<Object[]>of(new Object[]{4L, 27000.0, 3L}));
+        when(taskRepository.getCompletionTimePercentilesByProjectAndCompletedAtBetween(1L, start, end))
+                .thenReturn(List.<Object[]>of(new Object[]{18000L, 54000L}));
+
+        // Act
+        AnalyticsDataResponse.PerformanceData performance = analyticsService.getPerformanceMetrics(startDate, endDate, 1L);
+
+        // Assert
+        assertEquals(new BigDecimal("40.00"), performance.getTotalHours());
+        assertEquals(4, performance.getCompletedTasks());
+        assertEquals(new BigDecimal("7.50"), performance.getAverageCompletionTime());
+        assertEquals(new BigDecimal("75.00"), performance.getProductivityScore());
+        assertEquals(new BigDecimal("5.00"), performance.getMedianCompletionTime());
+        assertEquals(new BigDecimal("15.00"), performance.getP90CompletionTime());
+    }
+
+    @Test
+    void getPerformanceMetrics_NoCompletedTasks_ReturnsZeroMetrics() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        when(taskRepository.getCompletionSummaryByCompletedAtBetween(any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{0L, null, null}));
+
+        // Act
+        AnalyticsDataResponse.PerformanceData performance = analyticsService.getPerformanceMetrics(startDate, endDate, null);
+
+        // Assert
+        assertEquals(0, performance.getCompletedTasks());
+        assertEquals(BigDecimal.ZERO, performance.getAverageCompletionTime());
+        assertEquals(BigDecimal.ZERO, performance.getProductivityScore());
+        assertEquals(BigDecimal.ZERO, performance.getMedianCompletionTime());
+    }
+
+    @Test
+    void getPerformanceMetrics_CachesUntilProjectEvicted() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        when(timeLogRepository.getTotalHoursByProjectAndDateRange(1L, startDate, endDate))
+                .thenReturn(new BigDecimal("10.00"), new BigDecimal("12.00"));
+
+        // Act
+        AnalyticsDataResponse.PerformanceData first = analyticsService.getPerformanceMetrics(startDate, endDate, 1L);
+        AnalyticsDataResponse.PerformanceData second = analyticsService.getPerformanceMetrics(startDate, endDate, 1L);
+        analyticsCache.evict(2L, List.of());
+        AnalyticsDataResponse.PerformanceData afterOtherProjectWrite = analyticsService.getPerformanceMetrics(startDate, endDate, 1L);
+        analyticsCache.evict(1L, List.of());
+        AnalyticsDataResponse.PerformanceData afterProjectWrite = analyticsService.getPerformanceMetrics(startDate, endDate, 1L);
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first, afterOtherProjectWrite);
+        assertEquals(new BigDecimal("12.00"), afterProjectWrite.getTotalHours());
+        verify(timeLogRepository, times(2)).getTotalHoursByProjectAndDateRange(1L, startDate, endDate);
+    }
+
+    @Test
+    void getUserPerformance_EvictedOnlyForAffectedUser() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(timeLogRepository.getTotalHoursByUserAndDateRange(1L, startDate, endDate)).thenReturn(BigDecimal.ZERO);
+        when(timeLogRepository.getDailyPerformanceByUserAndDateRange(1L, startDate, endDate)).thenReturn(List.of());
+        when(timeLogRepository.getProjectPerformanceByUserAndDateRange(1L, startDate, endDate)).thenReturn(List.of());
+
+        // Act
+        analyticsService.getUserPerformance(1L, startDate, endDate, null);
+        analyticsCache.evict(5L, List.of(2L));
+        analyticsService.getUserPerformance(1L, startDate, endDate, null);
+        analyticsCache.evict(5L, List.of(1L));
+        analyticsService.getUserPerformance(1L, startDate, endDate, null);
+
+        // Assert
+        verify(timeLogRepository, times(2)).getTotalHoursByUserAndDateRange(1L, startDate, endDate);
+    }
+}
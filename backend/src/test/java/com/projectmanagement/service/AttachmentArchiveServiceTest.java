@@ -0,0 +1,196 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentArchive;
+import com.projectmanagement.dto.attachment.AttachmentDownloadResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploaderResponse;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.repository.AttachmentRepository;
+import com.projectmanagement.repository.MilestoneRepository;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentArchiveServiceTest {
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private MilestoneRepository milestoneRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SecurityService securityService;
+
+    @Mock
+    private AttachmentStore attachmentStore;
+
+    @InjectMocks
+    private AttachmentArchiveService archiveService;
+
+    @Test
+    void getProjectArchive_Success() {
+        // Arrange
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(securityService.isTeamMember()).thenReturn(true);
+
+        // Act
+        AttachmentArchive archive = archiveService.getProjectArchive(1L);
+
+        // Assert
+        assertEquals("project-1-attachments.zip", archive.getFileName());
+        assertEquals(AttachmentArchive.Scope.PROJECT, archive.getScope());
+        assertEquals(1L, archive.getScopeId());
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void getMilestoneArchive_NotFound() {
+        // Arrange
+        when(milestoneRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> archiveService.getMilestoneArchive(999L));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void getTaskArchive_AccessDenied() {
+        // Arrange
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(securityService.isTeamMember()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> archiveService.getTaskArchive(1L));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void writeArchive_WritesEntriesPerTaskAndManifest() throws Exception {
+        // Arrange
+        AttachmentArchive archive = new AttachmentArchive("project-1-attachments.zip", AttachmentArchive.Scope.PROJECT, 1L);
+        when(attachmentRepository.findDownloadsByProjectId(1L, 0L, 0L, firstPage())).thenReturn(List.of(
+                attachment(1L, 10L, "spec.pdf", "application/pdf"),
+                attachment(2L, 10L, "spec.pdf", "application/pdf"),
+                attachment(3L, 11L, "photo.jpg", "image/jpeg")));
+        when(attachmentStore.open("key-1")).thenReturn(content("first spec"));
+        when(attachmentStore.open("key-2")).thenReturn(content("second spec"));
+        when(attachmentStore.open("key-3")).thenReturn(content("jpeg bytes"));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.writeArchive(archive, true, out);
+
+        // Assert
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(List.of("task-10/spec.pdf", "task-10/spec (2).pdf", "task-11/photo.jpg",
+                AttachmentArchiveService.MANIFEST_NAME), new ArrayList<>(entries.keySet()));
+        assertEquals("first spec", entries.get("task-10/spec.pdf"));
+        assertEquals("second spec", entries.get("task-10/spec (2).pdf"));
+        String[] manifest = entries.get(AttachmentArchiveService.MANIFEST_NAME).split("\n");
+        assertEquals(4, manifest.length);
+        assertTrue(manifest[2].startsWith("task-10/spec (2).pdf,1024,checksum-2,\"Doe, John\","));
+    }
+
+    @Test
+    void writeArchive_WithoutManifest_OpensContentsOneAtATime() throws Exception {
+        // Arrange
+        AttachmentArchive archive = new AttachmentArchive("task-10-attachments.zip", AttachmentArchive.Scope.TASK, 10L);
+        when(attachmentRepository.findDownloadsByTaskId(10L, 0L, firstPage())).thenReturn(List.of(
+                attachment(1L, 10L, "../../etc/passwd", "text/plain"),
+                attachment(2L, 10L, "notes.txt", "text/plain")));
+        when(attachmentStore.open("key-1")).thenReturn(content("one"));
+        when(attachmentStore.open("key-2")).thenReturn(content("two"));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.writeArchive(archive, false, out);
+
+        // Assert
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(List.of("task-10/.._.._etc_passwd", "task-10/notes.txt"), new ArrayList<>(entries.keySet()));
+        verify(attachmentStore, times(2)).open(anyString());
+    }
+
+    @Test
+    void writeArchive_ManyAttachments_ReadsPagesAfterTheLastRow() throws Exception {
+        // Arrange
+        AttachmentArchive archive = new AttachmentArchive("milestone-3-attachments.zip",
+                AttachmentArchive.Scope.MILESTONE, 3L);
+        List<AttachmentDownloadResponse> fullPage = new ArrayList<>();
+        for (long id = 1; id <= AttachmentArchiveService.PAGE_SIZE; id++) {
+            fullPage.add(attachment(id, 10L, "notes.txt", "text/plain"));
+        }
+        long lastId = AttachmentArchiveService.PAGE_SIZE;
+        when(attachmentRepository.findDownloadsByMilestoneId(3L, 0L, 0L, firstPage())).thenReturn(fullPage);
+        when(attachmentRepository.findDownloadsByMilestoneId(3L, 10L, lastId, firstPage()))
+                .thenReturn(List.of(attachment(lastId + 1, 11L, "notes.txt", "text/plain")));
+        when(attachmentStore.open(anyString())).thenAnswer(invocation -> content("text"));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.writeArchive(archive, true, out);
+
+        // Assert
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(AttachmentArchiveService.PAGE_SIZE + 2, entries.size());
+        assertTrue(entries.containsKey("task-10/notes (" + lastId + ").txt"));
+        assertTrue(entries.containsKey("task-11/notes.txt"));
+        assertEquals(AttachmentArchiveService.PAGE_SIZE + 2,
+                entries.get(AttachmentArchiveService.MANIFEST_NAME).split("\n").length);
+        verify(attachmentRepository, times(2)).findDownloadsByMilestoneId(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    private PageRequest firstPage() {
+        return PageRequest.ofSize(AttachmentArchiveService.PAGE_SIZE);
+    }
+
+    private AttachmentDownloadResponse attachment(Long id, Long taskId, String fileName, String fileType) {
+        return new AttachmentDownloadResponse(id, fileName, fileType, 1024L, "key-" + id, "checksum-" + id, taskId,
+                new AttachmentUploaderResponse(1L, "Doe, John"), LocalDateTime.of(2024, 1, 15, 10, 30));
+    }
+
+    private ByteArrayInputStream content(String value) {
+        return new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, String> unzip(byte[] bytes) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
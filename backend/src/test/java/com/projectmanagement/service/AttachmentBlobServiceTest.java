@@ -0,0 +1,263 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentStorageReport;
+import com.projectmanagement.entity.AttachmentBlob;
+import com.projectmanagement.exception.ConflictException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.AttachmentBlobRepository;
+import com.projectmanagement.repository.AttachmentRepository;
+import com.projectmanagement.storage.AttachmentStore;
+import com.projectmanagement.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentBlobServiceTest {
+
+    private static final String CHECKSUM = "6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72";
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentStore attachmentStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AttachmentBlobService attachmentBlobService;
+
+    @BeforeEach
+    void setUp() {
+        attachmentBlobService = new AttachmentBlobService(blobRepository, attachmentRepository, attachmentStore,
+                transactionManager);
+    }
+
+    @Test
+    void acquire_KnownChecksum_ReusesBlobWithoutWriting() {
+        // Arrange
+        AttachmentBlob existing = new AttachmentBlob(CHECKSUM, "ab/cd/existing", 12L, 1);
+        when(blobRepository.incrementReferenceCount(CHECKSUM)).thenReturn(1);
+        when(blobRepository.findByChecksum(CHECKSUM)).thenReturn(Optional.of(existing));
+
+        // Act
+        AttachmentBlob blob = attachmentBlobService.acquire(CHECKSUM, () -> {
+            throw new AssertionError("content must not be read");
+        }, 12L);
+
+        // Assert
+        assertSame(existing, blob);
+        verifyNoInteractions(attachmentStore);
+        verify(blobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void acquire_NewChecksum_StoresContentAndCreatesBlob() {
+        // Arrange
+        when(blobRepository.incrementReferenceCount(CHECKSUM)).thenReturn(0);
+        when(attachmentStore.store(any(InputStream.class), eq(12L)))
+                .thenReturn(new StoredObject("ab/cd/new", 12L, CHECKSUM));
+        when(blobRepository.saveAndFlush(any(AttachmentBlob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        AttachmentBlob blob = attachmentBlobService.acquire(CHECKSUM,
+                () -> new ByteArrayInputStream("test content".getBytes()), 12L);
+
+        // Assert
+        assertEquals("ab/cd/new", blob.getStorageKey());
+        assertEquals(CHECKSUM, blob.getChecksum());
+        assertEquals(12L, blob.getSize());
+        assertEquals(1, blob.getReferenceCount());
+    }
+
+    @Test
+    void acquire_ContentChangedAfterHashing_ThrowsValidationException() {
+        // Arrange
+        when(blobRepository.incrementReferenceCount(CHECKSUM)).thenReturn(0);
+        when(attachmentStore.store(any(InputStream.class), eq(12L)))
+                .thenReturn(new StoredObject("ab/cd/new", 12L, "0000"));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> attachmentBlobService.acquire(CHECKSUM,
+                () -> new ByteArrayInputStream("test content".getBytes()), 12L));
+        verify(blobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void acquire_ConcurrentUploadOfSameContent_ReferencesWinningBlobAndDiscardsCopy() {
+        // Arrange - the other upload registers the checksum between our lookup and our insert
+        AttachmentBlob winner = new AttachmentBlob(CHECKSUM, "ab/cd/winner", 12L, 2);
+        when(blobRepository.incrementReferenceCount(CHECKSUM)).thenReturn(0, 1);
+        when(attachmentStore.store(any(InputStream.class), eq(12L)))
+                .thenReturn(new StoredObject("ab/cd/new", 12L, CHECKSUM));
+        when(blobRepository.saveAndFlush(any(AttachmentBlob.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_attachment_blobs_checksum"));
+        when(blobRepository.findByChecksum(CHECKSUM)).thenReturn(Optional.of(winner));
+
+        // Act
+        AttachmentBlob blob = attachmentBlobService.acquire(CHECKSUM,
+                () -> new ByteArrayInputStream("test content".getBytes()), 12L);
+
+        // Assert
+        assertSame(winner, blob);
+        verify(attachmentStore).delete("ab/cd/new");
+    }
+
+    @Test
+    void acquire_ConcurrentBlobKeepsDisappearing_ThrowsConflictException() {
+        // Arrange
+        when(blobRepository.incrementReferenceCount(CHECKSUM)).thenReturn(0);
+        when(attachmentStore.store(any(InputStream.class), eq(12L)))
+                .thenReturn(new StoredObject("ab/cd/new", 12L, CHECKSUM));
+        when(blobRepository.saveAndFlush(any(AttachmentBlob.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_attachment_blobs_checksum"));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> attachmentBlobService.acquire(CHECKSUM,
+                () -> new ByteArrayInputStream("test content".getBytes()), 12L));
+        verify(attachmentStore).delete("ab/cd/new");
+    }
+
+    @Test
+    void adopt_KnownChecksum_ReferencesExistingBlobAndDiscardsCopy() {
+        // Arrange
+        AttachmentBlob existing = new AttachmentBlob(CHECKSUM, "ab/cd/existing", 12L, 1);
+        when(blobRepository.incrementReferenceCount(CHECKSUM)).thenReturn(1);
+        when(blobRepository.findByChecksum(CHECKSUM)).thenReturn(Optional.of(existing));
+
+        // Act
+        AttachmentBlob blob = attachmentBlobService.adopt(new StoredObject("ef/gh/assembled", 12L, CHECKSUM));
+
+        // Assert
+        assertSame(existing, blob);
+        verify(attachmentStore).delete("ef/gh/assembled");
+        verify(blobRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void adopt_NewChecksum_RegistersStoredObject() {
+        // Arrange
+        when(blobRepository.incrementReferenceCount(CHECKSUM)).thenReturn(0);
+        when(blobRepository.saveAndFlush(any(AttachmentBlob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        AttachmentBlob blob = attachmentBlobService.adopt(new StoredObject("ef/gh/assembled", 12L, CHECKSUM));
+
+        // Assert
+        assertEquals("ef/gh/assembled", blob.getStorageKey());
+        assertEquals(1, blob.getReferenceCount());
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void release_RegisteredContent_ReturnsTrue() {
+        // Arrange
+        when(blobRepository.decrementReferenceCount("ab/cd/existing")).thenReturn(1);
+
+        // Act & Assert
+        assertTrue(attachmentBlobService.release("ab/cd/existing"));
+    }
+
+    @Test
+    void collect_UnreferencedBlob_DeletesRowThenContent() {
+        // Arrange
+        AttachmentBlob blob = new AttachmentBlob(CHECKSUM, "ab/cd/existing", 12L, 0);
+        blob.setId(5L);
+        when(blobRepository.findByStorageKey("ab/cd/existing")).thenReturn(Optional.of(blob));
+        when(blobRepository.deleteIfUnreferenced(5L)).thenReturn(1);
+
+        // Act
+        long reclaimed = attachmentBlobService.collect("ab/cd/existing");
+
+        // Assert
+        assertEquals(12L, reclaimed);
+        verify(attachmentStore).delete("ab/cd/existing");
+    }
+
+    @Test
+    void collect_BlobStillReferenced_KeepsContent() {
+        // Arrange
+        AttachmentBlob blob = new AttachmentBlob(CHECKSUM, "ab/cd/existing", 12L, 2);
+        blob.setId(5L);
+        when(blobRepository.findByStorageKey("ab/cd/existing")).thenReturn(Optional.of(blob));
+
+        // Act
+        long reclaimed = attachmentBlobService.collect("ab/cd/existing");
+
+        // Assert
+        assertEquals(0L, reclaimed);
+        verify(blobRepository, never()).deleteIfUnreferenced(any());
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void collect_ReReferencedConcurrently_KeepsContent() {
+        // Arrange
+        AttachmentBlob blob = new AttachmentBlob(CHECKSUM, "ab/cd/existing", 12L, 0);
+        blob.setId(5L);
+        when(blobRepository.findByStorageKey("ab/cd/existing")).thenReturn(Optional.of(blob));
+        when(blobRepository.deleteIfUnreferenced(5L)).thenReturn(0);
+
+        // Act
+        long reclaimed = attachmentBlobService.collect("ab/cd/existing");
+
+        // Assert
+        assertEquals(0L, reclaimed);
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void collectGarbage_ReportsReclaimedSpace() {
+        // Arrange
+        AttachmentBlob first = new AttachmentBlob("aa", "aa/aa/first", 100L, 0);
+        first.setId(1L);
+        AttachmentBlob second = new AttachmentBlob("bb", "bb/bb/second", 250L, 0);
+        second.setId(2L);
+        when(blobRepository.findUnreferenced()).thenReturn(List.of(first, second));
+        when(blobRepository.findByStorageKey("aa/aa/first")).thenReturn(Optional.of(first));
+        when(blobRepository.findByStorageKey("bb/bb/second")).thenReturn(Optional.of(second));
+        when(blobRepository.deleteIfUnreferenced(anyLong())).thenReturn(1);
+        when(attachmentRepository.count()).thenReturn(10L);
+        when(blobRepository.count()).thenReturn(4L);
+        when(attachmentRepository.getTotalStorageUsed()).thenReturn(5000L);
+        when(blobRepository.getTotalStoredBytes()).thenReturn(2000L);
+
+        // Act
+        AttachmentStorageReport report = attachmentBlobService.collectGarbage();
+
+        // Assert
+        assertEquals(2, report.getBlobsCollected());
+        assertEquals(350L, report.getBytesReclaimed());
+        assertEquals(5000L, report.getLogicalBytes());
+        assertEquals(2000L, report.getPhysicalBytes());
+        assertEquals(3000L, report.getDeduplicatedBytes());
+        verify(attachmentStore).delete("aa/aa/first");
+        verify(attachmentStore).delete("bb/bb/second");
+    }
+
+    @Test
+    void deleteContentQuietly_StoreFailure_DoesNotThrow() {
+        // Arrange
+        doThrow(new RuntimeException("unavailable")).when(attachmentStore).delete("ab/cd/existing");
+
+        // Act & Assert
+        assertDoesNotThrow(() -> attachmentBlobService.deleteContentQuietly("ab/cd/existing"));
+    }
+}
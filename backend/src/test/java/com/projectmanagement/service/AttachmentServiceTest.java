@@ -3,9 +3,12 @@ package com.projectmanagement.service;
 import com.projectmanagement.dto.attachment.AttachmentDownloadResponse;
 import com.projectmanagement.dto.attachment.AttachmentListResponse;
 import com.projectmanagement.dto.attachment.AttachmentResponse;
+import com.projectmanagement.dto.attachment.AttachmentStorageUsage;
 import com.projectmanagement.dto.attachment.AttachmentUploaderResponse;
 import com.projectmanagement.entity.Attachment;
+import com.projectmanagement.entity.AttachmentBlob;
 import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.ThumbnailStatus;
 import com.projectmanagement.entity.User;
 import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.exception.UnauthorizedException;
@@ -14,6 +17,8 @@ import com.projectmanagement.repository.AttachmentRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.UserRepository;
 import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import com.projectmanagement.util.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +31,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -38,6 +46,10 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AttachmentServiceTest {
 
+    // SHA-256 of "test content"
+    private static final String TEST_CONTENT_SHA256 =
+            "6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72";
+
     @Mock
     private AttachmentRepository attachmentRepository;
 
@@ -53,6 +65,15 @@ class AttachmentServiceTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private AttachmentStore attachmentStore;
+
+    @Mock
+    private AttachmentBlobService attachmentBlobService;
+
+    @Mock
+    private AttachmentThumbnailService attachmentThumbnailService;
+
     @InjectMocks
     private AttachmentService attachmentService;
 
@@ -79,7 +100,8 @@ class AttachmentServiceTest {
         testAttachment.setFileName("test.pdf");
         testAttachment.setFileType("application/pdf");
         testAttachment.setFileSize(1024L);
-        testAttachment.setFileData("test content".getBytes());
+        testAttachment.setStorageKey("ab/cd/abcd-1234");
+        testAttachment.setChecksum(TEST_CONTENT_SHA256);
         testAttachment.setTask(testTask);
         testAttachment.setUploadedBy(testUser);
         testAttachment.setUploadedAt(LocalDateTime.now());
@@ -102,7 +124,8 @@ class AttachmentServiceTest {
         doNothing().when(fileStorageService).validateFile(any(MockMultipartFile.class));
         when(fileStorageService.generateUniqueFileName(anyString())).thenReturn("test_unique.pdf");
         when(fileStorageService.getContentType("test.pdf")).thenReturn("application/pdf");
-        when(fileStorageService.readFileBytes(any(MockMultipartFile.class))).thenReturn("test content".getBytes());
+        when(attachmentBlobService.acquire(eq(TEST_CONTENT_SHA256), any(), eq(12L)))
+                .thenReturn(new AttachmentBlob(TEST_CONTENT_SHA256, "ab/cd/abcd-1234", 12L, 1));
         when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
 
         // Act
@@ -119,8 +142,51 @@ class AttachmentServiceTest {
         verify(fileStorageService).validateFile(testFile);
         verify(fileStorageService).generateUniqueFileName("test.pdf");
         verify(fileStorageService).getContentType("test.pdf");
-        verify(fileStorageService).readFileBytes(testFile);
-        verify(attachmentRepository).save(any(Attachment.class));
+        verify(attachmentBlobService).acquire(eq(TEST_CONTENT_SHA256), any(), eq(12L));
+        verify(attachmentRepository).save(argThat(saved ->
+                "ab/cd/abcd-1234".equals(saved.getStorageKey()) && TEST_CONTENT_SHA256.equals(saved.getChecksum())));
+        verify(taskRepository).adjustAttachmentCount(taskId, 1);
+    }
+
+    @Test
+    void uploadAttachment_NewImage_SchedulesThumbnails() {
+        // Arrange
+        MockMultipartFile image = new MockMultipartFile("file", "photo.png", "image/png", "test content".getBytes());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(fileStorageService.generateUniqueFileName("photo.png")).thenReturn("photo_unique.png");
+        when(fileStorageService.getContentType("photo.png")).thenReturn("image/png");
+        when(fileStorageService.isImage("photo.png")).thenReturn(true);
+        when(attachmentBlobService.acquire(eq(TEST_CONTENT_SHA256), any(), eq(12L)))
+                .thenReturn(new AttachmentBlob(TEST_CONTENT_SHA256, "ab/cd/abcd-1234", 12L, 1));
+        when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
+
+        // Act
+        attachmentService.uploadAttachment(1L, image);
+
+        // Assert
+        verify(attachmentThumbnailService).scheduleAfterCommit("ab/cd/abcd-1234");
+    }
+
+    @Test
+    void uploadAttachment_KnownImageContent_DoesNotRescheduleThumbnails() {
+        // Arrange
+        MockMultipartFile image = new MockMultipartFile("file", "photo.png", "image/png", "test content".getBytes());
+        AttachmentBlob existing = new AttachmentBlob(TEST_CONTENT_SHA256, "ab/cd/abcd-1234", 12L, 2);
+        existing.setThumbnailStatus(ThumbnailStatus.READY);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(fileStorageService.generateUniqueFileName("photo.png")).thenReturn("photo_unique.png");
+        when(fileStorageService.getContentType("photo.png")).thenReturn("image/png");
+        when(fileStorageService.isImage("photo.png")).thenReturn(true);
+        when(attachmentBlobService.acquire(eq(TEST_CONTENT_SHA256), any(), eq(12L))).thenReturn(existing);
+        when(attachmentRepository.save(any(Attachment.class))).thenReturn(testAttachment);
+
+        // Act
+        attachmentService.uploadAttachment(1L, image);
+
+        // Assert
+        verifyNoInteractions(attachmentThumbnailService);
     }
 
     @Test
@@ -150,7 +216,7 @@ class AttachmentServiceTest {
     void downloadAttachment_Success() {
         // Arrange
         Long attachmentId = 1L;
-        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(testAttachment));
+        when(attachmentRepository.findDownloadById(attachmentId)).thenReturn(Optional.of(downloadOf(testAttachment)));
         when(securityService.isTeamMember()).thenReturn(true);
 
         // Act
@@ -162,7 +228,8 @@ class AttachmentServiceTest {
         assertEquals(testAttachment.getFileName(), response.getFileName());
         assertEquals(testAttachment.getFileType(), response.getFileType());
         assertEquals(testAttachment.getFileSize(), response.getFileSize());
-        assertEquals(testAttachment.getFileData(), response.getFileData());
+        assertEquals(testAttachment.getStorageKey(), response.getStorageKey());
+        assertEquals(testAttachment.getChecksum(), response.getChecksum());
         assertEquals(testAttachment.getTaskId(), response.getTaskId());
         assertNotNull(response.getUploadedBy());
         assertEquals(testAttachment.getUploadedAt(), response.getUploadedAt());
@@ -172,7 +239,7 @@ class AttachmentServiceTest {
     void downloadAttachment_NotFound() {
         // Arrange
         Long attachmentId = 999L;
-        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.empty());
+        when(attachmentRepository.findDownloadById(attachmentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> 
@@ -183,7 +250,7 @@ class AttachmentServiceTest {
     void downloadAttachment_AccessDenied() {
         // Arrange
         Long attachmentId = 1L;
-        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(testAttachment));
+        when(attachmentRepository.findDownloadById(attachmentId)).thenReturn(Optional.of(downloadOf(testAttachment)));
         when(securityService.isTeamMember()).thenReturn(false);
 
         // Act & Assert
@@ -198,14 +265,14 @@ class AttachmentServiceTest {
         int page = 0;
         int size = 20;
 
-        List<Attachment> attachments = Arrays.asList(testAttachment);
-        Page<Attachment> attachmentPage = new PageImpl<>(attachments, PageRequest.of(page, size), 1);
+        List<AttachmentResponse> attachments = Arrays.asList(metadataOf(testAttachment));
+        Page<AttachmentResponse> attachmentPage = new PageImpl<>(attachments, PageRequest.of(page, size), 1);
 
         when(taskRepository.existsById(taskId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(attachmentRepository.findByTask_IdOrderByUploadedAtDesc(eq(taskId), any(Pageable.class)))
+        when(attachmentRepository.findMetadataByTaskId(eq(taskId), any(Pageable.class)))
                 .thenReturn(attachmentPage);
-        when(attachmentRepository.getTotalStorageUsedByTask(taskId)).thenReturn(1024L);
+        when(attachmentRepository.getTotalStorageUsedByTask(taskId)).thenReturn(new AttachmentStorageUsage(3072L, 1024L));
 
         // Act
         AttachmentListResponse response = attachmentService.getTaskAttachments(taskId, page, size);
@@ -219,7 +286,8 @@ class AttachmentServiceTest {
         assertEquals(20, response.getPageSize());
         assertFalse(response.isHasNext());
         assertFalse(response.isHasPrevious());
-        assertEquals(1024L, response.getTotalStorageUsed());
+        assertEquals(3072L, response.getTotalStorageUsed());
+        assertEquals(1024L, response.getPhysicalStorageUsed());
     }
 
     @Test
@@ -265,11 +333,11 @@ class AttachmentServiceTest {
     void getAllTaskAttachments_Success() {
         // Arrange
         Long taskId = 1L;
-        List<Attachment> attachments = Arrays.asList(testAttachment);
+        List<AttachmentResponse> attachments = Arrays.asList(metadataOf(testAttachment));
 
         when(taskRepository.existsById(taskId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(attachmentRepository.findByTask_IdOrderByUploadedAtDesc(taskId)).thenReturn(attachments);
+        when(attachmentRepository.findMetadataByTaskId(taskId)).thenReturn(attachments);
 
         // Act
         List<AttachmentResponse> response = attachmentService.getAllTaskAttachments(taskId);
@@ -308,7 +376,7 @@ class AttachmentServiceTest {
     void getAttachmentById_Success() {
         // Arrange
         Long attachmentId = 1L;
-        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(testAttachment));
+        when(attachmentRepository.findMetadataById(attachmentId)).thenReturn(Optional.of(metadataOf(testAttachment)));
         when(securityService.isTeamMember()).thenReturn(true);
 
         // Act
@@ -327,7 +395,7 @@ class AttachmentServiceTest {
     void getAttachmentById_NotFound() {
         // Arrange
         Long attachmentId = 999L;
-        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.empty());
+        when(attachmentRepository.findMetadataById(attachmentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> 
@@ -338,7 +406,7 @@ class AttachmentServiceTest {
     void getAttachmentById_AccessDenied() {
         // Arrange
         Long attachmentId = 1L;
-        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(testAttachment));
+        when(attachmentRepository.findMetadataById(attachmentId)).thenReturn(Optional.of(metadataOf(testAttachment)));
         when(securityService.isTeamMember()).thenReturn(false);
 
         // Act & Assert
@@ -359,6 +427,72 @@ class AttachmentServiceTest {
 
         // Assert
         verify(attachmentRepository).delete(testAttachment);
+        verify(taskRepository).adjustAttachmentCount(testTask.getId(), -1);
+        verify(attachmentBlobService).release("ab/cd/abcd-1234");
+    }
+
+    @Test
+    void deleteAttachment_SharedContent_CollectsBlob() {
+        // Arrange
+        when(attachmentRepository.findById(1L)).thenReturn(Optional.of(testAttachment));
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(securityService.getCurrentUserId()).thenReturn(1L);
+        when(attachmentBlobService.release("ab/cd/abcd-1234")).thenReturn(true);
+
+        // Act
+        attachmentService.deleteAttachment(1L);
+
+        // Assert
+        verify(attachmentBlobService).collect("ab/cd/abcd-1234");
+        verify(attachmentBlobService, never()).deleteContentQuietly(anyString());
+    }
+
+    @Test
+    void deleteAttachment_UnregisteredContent_DeletesContent() {
+        // Arrange
+        when(attachmentRepository.findById(1L)).thenReturn(Optional.of(testAttachment));
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(securityService.getCurrentUserId()).thenReturn(1L);
+        when(attachmentBlobService.release("ab/cd/abcd-1234")).thenReturn(false);
+
+        // Act
+        attachmentService.deleteAttachment(1L);
+
+        // Assert
+        verify(attachmentBlobService).deleteContentQuietly("ab/cd/abcd-1234");
+        verify(attachmentBlobService, never()).collect(anyString());
+    }
+
+    @Test
+    void transferContent_StreamsFromStore() {
+        // Arrange
+        AttachmentDownloadResponse download = new AttachmentDownloadResponse(
+                1L, "test.pdf", "application/pdf", 1024L, "ab/cd/abcd-1234", "6ae8a755", 1L,
+                new AttachmentUploaderResponse(1L, "John Doe"), LocalDateTime.now());
+        WritableByteChannel target = Channels.newChannel(new ByteArrayOutputStream());
+        when(attachmentStore.transferTo("ab/cd/abcd-1234", 0L, 1024L, target)).thenReturn(1024L);
+
+        // Act
+        long written = attachmentService.transferContent(download, 0L, 1024L, target);
+
+        // Assert
+        assertEquals(1024L, written);
+    }
+
+    @Test
+    void taskDeleted_ReleasesStoredContents() {
+        // Arrange
+        when(attachmentRepository.findStorageKeysByTaskId(1L)).thenReturn(List.of("ab/cd/one", "ef/gh/two"));
+        when(attachmentBlobService.release("ab/cd/one")).thenReturn(true);
+        when(attachmentBlobService.release("ef/gh/two")).thenReturn(true);
+        when(attachmentBlobService.collect("ab/cd/one")).thenThrow(new RuntimeException("unavailable"));
+
+        // Act
+        attachmentService.taskDeleted(testTask);
+
+        // Assert
+        verify(attachmentBlobService).collect("ab/cd/one");
+        verify(attachmentBlobService).collect("ef/gh/two");
     }
 
     @Test
@@ -402,13 +536,14 @@ class AttachmentServiceTest {
     void getTotalStorageUsedByTask_Success() {
         // Arrange
         Long taskId = 1L;
-        when(attachmentRepository.getTotalStorageUsedByTask(taskId)).thenReturn(10240L);
+        when(attachmentRepository.getTotalStorageUsedByTask(taskId)).thenReturn(new AttachmentStorageUsage(10240L, 4096L));
 
         // Act
-        long storageUsed = attachmentService.getTotalStorageUsedByTask(taskId);
+        AttachmentStorageUsage storageUsed = attachmentService.getTotalStorageUsedByTask(taskId);
 
         // Assert
-        assertEquals(10240L, storageUsed);
+        assertEquals(10240L, storageUsed.getLogicalBytes());
+        assertEquals(4096L, storageUsed.getPhysicalBytes());
         verify(attachmentRepository).getTotalStorageUsedByTask(taskId);
     }
 
@@ -416,10 +551,9 @@ class AttachmentServiceTest {
     void getRecentAttachments_Success() {
         // Arrange
         int limit = 10;
-        List<Attachment> attachments = Arrays.asList(testAttachment);
-        Page<Attachment> attachmentPage = new PageImpl<>(attachments, PageRequest.of(0, limit), 1);
+        List<AttachmentResponse> attachments = Arrays.asList(metadataOf(testAttachment));
 
-        when(attachmentRepository.findRecentAttachments(any(Pageable.class))).thenReturn(attachmentPage);
+        when(attachmentRepository.findRecentMetadata(any(Pageable.class))).thenReturn(attachments);
 
         // Act
         List<AttachmentResponse> response = attachmentService.getRecentAttachments(limit);
@@ -428,7 +562,7 @@ class AttachmentServiceTest {
         assertNotNull(response);
         assertEquals(1, response.size());
         assertEquals(testAttachment.getId(), response.get(0).getId());
-        verify(attachmentRepository).findRecentAttachments(any(Pageable.class));
+        verify(attachmentRepository).findRecentMetadata(PageRequest.of(0, limit));
     }
 
     @Test
@@ -437,4 +571,41 @@ class AttachmentServiceTest {
         assertThrows(ValidationException.class, () -> attachmentService.getRecentAttachments(0));
         assertThrows(ValidationException.class, () -> attachmentService.getRecentAttachments(101));
     }
-} 
\ No newline at end of file
+
+    private AttachmentResponse metadataOf(Attachment attachment) {
+        return new AttachmentResponse(attachment.getId(), attachment.getFileName(), attachment.getFileType(),
+                attachment.getFileSize(), attachment.getTaskId(), attachment.getUploadedById(),
+                testUser.getFirstName(), testUser.getLastName(), attachment.getUploadedAt());
+    }
+
+    private AttachmentDownloadResponse downloadOf(Attachment attachment) {
+        return new AttachmentDownloadResponse(attachment.getId(), attachment.getFileName(), attachment.getFileType(),
+                attachment.getFileSize(), attachment.getStorageKey(), attachment.getChecksum(), attachment.getTaskId(),
+                attachment.getUploadedById(), testUser.getFirstName(), testUser.getLastName(),
+                attachment.getUploadedAt());
+    }
+
+    @Test
+    void getTaskAttachmentsByCursor_WithTotals_ReturnsCountsAndStorage() {
+        // Arrange
+        Long taskId = 1L;
+        List<AttachmentResponse> rows = Arrays.asList(metadataOf(testAttachment), metadataOf(testAttachment));
+        when(taskRepository.existsById(taskId)).thenReturn(true);
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(attachmentRepository.findMetadataPageByTaskId(taskId, PageRequest.of(0, 2))).thenReturn(rows);
+        when(attachmentRepository.countByTask_Id(taskId)).thenReturn(5L);
+        when(attachmentRepository.getTotalStorageUsedByTask(taskId)).thenReturn(new AttachmentStorageUsage(5120L, 2048L));
+
+        // Act
+        AttachmentListResponse response = attachmentService.getTaskAttachmentsByCursor(taskId, "", 1, true);
+
+        // Assert
+        assertEquals(1, response.getAttachments().size());
+        assertTrue(response.isHasNext());
+        assertEquals(PageCursor.encode(testAttachment.getUploadedAt(), testAttachment.getId()), response.getNextCursor());
+        assertEquals(5, response.getTotalElements());
+        assertEquals(5, response.getTotalPages());
+        assertEquals(5120L, response.getTotalStorageUsed());
+        assertEquals(2048L, response.getPhysicalStorageUsed());
+    }
+}
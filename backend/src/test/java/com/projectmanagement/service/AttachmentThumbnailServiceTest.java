@@ -0,0 +1,224 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentThumbnailResponse;
+import com.projectmanagement.entity.Attachment;
+import com.projectmanagement.entity.AttachmentBlob;
+import com.projectmanagement.entity.ThumbnailStatus;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.AttachmentBlobRepository;
+import com.projectmanagement.repository.AttachmentRepository;
+import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentThumbnailServiceTest {
+
+    private static final String STORAGE_KEY = "ab/cd/abcd-1234";
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private AttachmentStore attachmentStore;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private SecurityService securityService;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private AttachmentThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = queued::add;
+        thumbnailService = new AttachmentThumbnailService(attachmentRepository, blobRepository, attachmentStore,
+                fileStorageService, securityService, executor);
+    }
+
+    @Test
+    void generate_Image_StoresEverySizeAndMarksReady() throws Exception {
+        // Arrange
+        when(blobRepository.findByStorageKey(STORAGE_KEY)).thenReturn(Optional.of(blob(null)));
+        when(attachmentStore.open(STORAGE_KEY)).thenReturn(new ByteArrayInputStream(png(1600, 800)));
+        List<BufferedImage> thumbnails = new ArrayList<>();
+        when(attachmentStore.store(startsWith(STORAGE_KEY + ".thumb-"), any(InputStream.class), anyLong()))
+                .thenAnswer(invocation -> {
+                    thumbnails.add(ImageIO.read((InputStream) invocation.getArgument(1)));
+                    return null;
+                });
+
+        // Act
+        boolean generated = thumbnailService.generate(STORAGE_KEY, false);
+
+        // Assert
+        assertTrue(generated);
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(attachmentStore, times(3)).store(keys.capture(), any(InputStream.class), anyLong());
+        assertEquals(List.of(STORAGE_KEY + ".thumb-512.jpg", STORAGE_KEY + ".thumb-256.jpg",
+                STORAGE_KEY + ".thumb-128.jpg"), keys.getAllValues());
+        assertEquals(512, thumbnails.get(0).getWidth());
+        assertEquals(256, thumbnails.get(0).getHeight());
+        assertEquals(128, thumbnails.get(2).getWidth());
+        assertEquals(64, thumbnails.get(2).getHeight());
+        verify(blobRepository).updateThumbnailStatus(STORAGE_KEY, ThumbnailStatus.READY);
+    }
+
+    @Test
+    void generate_SmallImage_IsNotEnlarged() throws Exception {
+        // Arrange
+        when(blobRepository.findByStorageKey(STORAGE_KEY)).thenReturn(Optional.of(blob(null)));
+        when(attachmentStore.open(STORAGE_KEY)).thenReturn(new ByteArrayInputStream(png(100, 40)));
+        List<BufferedImage> thumbnails = new ArrayList<>();
+        when(attachmentStore.store(anyString(), any(InputStream.class), anyLong())).thenAnswer(invocation -> {
+            thumbnails.add(ImageIO.read((InputStream) invocation.getArgument(1)));
+            return null;
+        });
+
+        // Act
+        thumbnailService.generate(STORAGE_KEY, false);
+
+        // Assert
+        assertEquals(3, thumbnails.size());
+        thumbnails.forEach(thumbnail -> assertEquals(100, thumbnail.getWidth()));
+    }
+
+    @Test
+    void generate_NotAnImage_MarksUnsupported() {
+        // Arrange
+        when(blobRepository.findByStorageKey(STORAGE_KEY)).thenReturn(Optional.of(blob(null)));
+        when(attachmentStore.open(STORAGE_KEY)).thenReturn(new ByteArrayInputStream("not an image".getBytes()));
+
+        // Act
+        boolean generated = thumbnailService.generate(STORAGE_KEY, false);
+
+        // Assert
+        assertFalse(generated);
+        verify(blobRepository).updateThumbnailStatus(STORAGE_KEY, ThumbnailStatus.UNSUPPORTED);
+        verify(attachmentStore, never()).store(anyString(), any(InputStream.class), anyLong());
+    }
+
+    @Test
+    void generate_AlreadyGenerated_IsSkippedUnlessRegenerating() throws Exception {
+        // Arrange
+        when(blobRepository.findByStorageKey(STORAGE_KEY)).thenReturn(Optional.of(blob(ThumbnailStatus.READY)));
+
+        // Act & Assert
+        assertFalse(thumbnailService.generate(STORAGE_KEY, false));
+        verifyNoInteractions(attachmentStore);
+
+        when(attachmentStore.open(STORAGE_KEY)).thenReturn(new ByteArrayInputStream(png(300, 300)));
+        assertTrue(thumbnailService.generate(STORAGE_KEY, true));
+    }
+
+    @Test
+    void scheduleMissing_QueuesEachContent() {
+        // Arrange
+        when(blobRepository.findImageStorageKeysForThumbnails(false)).thenReturn(List.of("aa/aa/one", "bb/bb/two"));
+
+        // Act
+        int scheduled = thumbnailService.scheduleMissing(false);
+
+        // Assert
+        assertEquals(2, scheduled);
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    void getThumbnail_Ready_ReturnsThumbnailKey() {
+        // Arrange
+        stubImageAttachment();
+        when(blobRepository.findByStorageKey(STORAGE_KEY)).thenReturn(Optional.of(blob(ThumbnailStatus.READY)));
+
+        // Act
+        AttachmentThumbnailResponse response = thumbnailService.getThumbnail(1L, 256);
+
+        // Assert
+        assertEquals(STORAGE_KEY + ".thumb-256.jpg", response.getStorageKey());
+        assertEquals("6ae8a755", response.getChecksum());
+    }
+
+    @Test
+    void getThumbnail_NotGeneratedYet_QueuesGenerationAndThrows() {
+        // Arrange
+        stubImageAttachment();
+        when(blobRepository.findByStorageKey(STORAGE_KEY)).thenReturn(Optional.of(blob(null)));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> thumbnailService.getThumbnail(1L, 256));
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void getThumbnail_RequestedAgainWhileQueued_QueuesGenerationOnce() throws Exception {
+        // Arrange
+        stubImageAttachment();
+        when(blobRepository.findByStorageKey(STORAGE_KEY)).thenReturn(Optional.of(blob(null)));
+        when(attachmentStore.open(STORAGE_KEY)).thenReturn(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> thumbnailService.getThumbnail(1L, 256));
+        assertThrows(ResourceNotFoundException.class, () -> thumbnailService.getThumbnail(1L, 128));
+        assertEquals(1, queued.size());
+
+        // Once the job has run, the content can be queued again
+        queued.remove(0).run();
+        assertThrows(ResourceNotFoundException.class, () -> thumbnailService.getThumbnail(1L, 256));
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void getThumbnail_UnsupportedSize_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> thumbnailService.getThumbnail(1L, 300));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    private void stubImageAttachment() {
+        Attachment attachment = new Attachment();
+        attachment.setId(1L);
+        attachment.setFileName("photo.png");
+        attachment.setStorageKey(STORAGE_KEY);
+        when(attachmentRepository.findById(1L)).thenReturn(Optional.of(attachment));
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(fileStorageService.isImage("photo.png")).thenReturn(true);
+    }
+
+    private AttachmentBlob blob(ThumbnailStatus status) {
+        AttachmentBlob blob = new AttachmentBlob("6ae8a755", STORAGE_KEY, 1024L, 1);
+        blob.setThumbnailStatus(status);
+        return blob;
+    }
+
+    private byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+}
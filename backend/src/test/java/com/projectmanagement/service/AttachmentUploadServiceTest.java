@@ -0,0 +1,381 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.attachment.AttachmentResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadChunkResponse;
+import com.projectmanagement.dto.attachment.AttachmentUploadInitiateRequest;
+import com.projectmanagement.dto.attachment.AttachmentUploadResponse;
+import com.projectmanagement.entity.AttachmentBlob;
+import com.projectmanagement.entity.AttachmentUploadChunk;
+import com.projectmanagement.entity.AttachmentUploadSession;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.UploadSessionStatus;
+import com.projectmanagement.entity.User;
+import com.projectmanagement.exception.ConflictException;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ServiceUnavailableException;
+import com.projectmanagement.exception.UnauthorizedException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.AttachmentUploadChunkRepository;
+import com.projectmanagement.repository.AttachmentUploadSessionRepository;
+import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.storage.AttachmentStore;
+import com.projectmanagement.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentUploadServiceTest {
+
+    private static final long MB = 1024 * 1024L;
+    private static final String UPLOAD_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    @Mock
+    private AttachmentUploadSessionRepository sessionRepository;
+
+    @Mock
+    private AttachmentUploadChunkRepository chunkRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AttachmentStore attachmentStore;
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    @Mock
+    private AttachmentBlobService attachmentBlobService;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private SecurityService securityService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AttachmentUploadService uploadService;
+
+    private Task testTask;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new AttachmentUploadService(sessionRepository, chunkRepository, taskRepository, userRepository,
+                attachmentStore, attachmentService, attachmentBlobService, fileStorageService, securityService,
+                transactionManager, 8 * MB, 64 * MB, 5 * 1024 * MB, Duration.ofHours(24), Runnable::run);
+
+        testUser = new User();
+        testUser.setId(1L);
+
+        testTask = new Task();
+        testTask.setId(1L);
+    }
+
+    @Test
+    void initiateUpload_Success_SplitsFileIntoChunks() {
+        // Arrange
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(securityService.getCurrentUser()).thenReturn(testUser);
+        when(sessionRepository.save(any(AttachmentUploadSession.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        AttachmentUploadResponse response = uploadService.initiateUpload(1L,
+                new AttachmentUploadInitiateRequest("video.mp4", 20 * MB + 5, null));
+
+        // Assert
+        assertNotNull(response.getUploadId());
+        assertEquals(8 * MB, response.getChunkSize());
+        assertEquals(3, response.getChunkCount());
+        assertTrue(response.getReceivedChunks().isEmpty());
+        verify(fileStorageService).validateFileName("video.mp4");
+    }
+
+    @Test
+    void initiateUpload_ChunkSizeTooSmall_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> uploadService.initiateUpload(1L,
+                new AttachmentUploadInitiateRequest("video.mp4", 20 * MB, 1024L)));
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void initiateUpload_FileTooLarge_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> uploadService.initiateUpload(1L,
+                new AttachmentUploadInitiateRequest("video.mp4", 6 * 1024 * MB, null)));
+        verifyNoInteractions(sessionRepository);
+    }
+
+    @Test
+    void uploadChunk_Success_StoresContentAndRecordsChunk() {
+        // Arrange
+        AttachmentUploadSession session = stubSession(3 * MB + 1024);
+        byte[] content = new byte[1024];
+        when(attachmentStore.store(eq(AttachmentUploadService.chunkKey(UPLOAD_ID, 2)), any(InputStream.class), eq(1024L)))
+                .thenReturn(new StoredObject(AttachmentUploadService.chunkKey(UPLOAD_ID, 2), 1024L, "abcd"));
+        when(chunkRepository.findBySessionIdAndChunkNumber(session.getId(), 2)).thenReturn(Optional.empty());
+
+        // Act
+        AttachmentUploadChunkResponse response = uploadService.uploadChunk(UPLOAD_ID, 2,
+                new ByteArrayInputStream(content), 1024L, "ABCD");
+
+        // Assert
+        assertEquals(2, response.getChunkNumber());
+        assertEquals("abcd", response.getChecksum());
+        ArgumentCaptor<AttachmentUploadChunk> chunk = ArgumentCaptor.forClass(AttachmentUploadChunk.class);
+        verify(chunkRepository).saveAndFlush(chunk.capture());
+        assertEquals(2, chunk.getValue().getChunkNumber());
+        assertEquals(1024L, chunk.getValue().getSize());
+    }
+
+    @Test
+    void uploadChunk_WrongSize_ThrowsValidationExceptionWithoutStoring() {
+        // Arrange
+        stubSession(3 * MB);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> uploadService.uploadChunk(UPLOAD_ID, 1,
+                new ByteArrayInputStream(new byte[10]), 10L, null));
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void uploadChunk_ChecksumMismatch_DiscardsChunk() {
+        // Arrange
+        stubSession(3 * MB + 1024);
+        String key = AttachmentUploadService.chunkKey(UPLOAD_ID, 2);
+        when(attachmentStore.store(eq(key), any(InputStream.class), eq(1024L)))
+                .thenReturn(new StoredObject(key, 1024L, "abcd"));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> uploadService.uploadChunk(UPLOAD_ID, 2,
+                new ByteArrayInputStream(new byte[1024]), 1024L, "ffff"));
+        verify(attachmentBlobService).deleteContentQuietly(key);
+        verify(chunkRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void uploadChunk_OtherUsersUpload_ThrowsUnauthorizedException() {
+        // Arrange
+        AttachmentUploadSession session = session(3 * MB);
+        when(sessionRepository.findByUploadId(UPLOAD_ID)).thenReturn(Optional.of(session));
+        when(securityService.getCurrentUserId()).thenReturn(2L);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> uploadService.uploadChunk(UPLOAD_ID, 1,
+                new ByteArrayInputStream(new byte[10]), 10L, null));
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void completeUpload_MissingChunks_ThrowsValidationException() {
+        // Arrange
+        AttachmentUploadSession session = stubSession(3 * MB + 1024);
+        when(chunkRepository.findBySessionIdOrderByChunkNumber(session.getId()))
+                .thenReturn(List.of(new AttachmentUploadChunk(session.getId(), 2, 1024L, "abcd")));
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> uploadService.completeUpload(UPLOAD_ID, null));
+        assertTrue(exception.getMessage().contains("[1]"));
+        verify(sessionRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void completeUpload_Success_AssemblesChunksIntoAttachmentInBackground() {
+        // Arrange
+        AttachmentUploadSession session = stubCompleteSession();
+        StoredObject assembled = new StoredObject("ef/gh/assembled", 3 * MB + 1024, "abcd");
+        when(attachmentStore.concatenate(List.of(AttachmentUploadService.chunkKey(UPLOAD_ID, 1),
+                AttachmentUploadService.chunkKey(UPLOAD_ID, 2)), 3 * MB + 1024)).thenReturn(assembled);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        AttachmentBlob blob = new AttachmentBlob("abcd", "ef/gh/assembled", 3 * MB + 1024, 1);
+        when(attachmentBlobService.adopt(assembled)).thenReturn(blob);
+        AttachmentResponse created = new AttachmentResponse();
+        created.setId(9L);
+        when(attachmentService.createAttachment(testTask, testUser, "video.mp4", blob)).thenReturn(created);
+        when(sessionRepository.markCompleted(eq(session.getId()), eq(9L), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        AttachmentUploadResponse response = uploadService.completeUpload(UPLOAD_ID, "ABCD");
+
+        // Assert
+        assertEquals(UploadSessionStatus.COMPLETING, response.getStatus());
+        verify(chunkRepository).deleteBySessionId(session.getId());
+        verify(sessionRepository, never()).deleteById(any());
+        verify(attachmentBlobService).deleteContentQuietly(AttachmentUploadService.chunkKey(UPLOAD_ID, 1));
+        verify(attachmentBlobService).deleteContentQuietly(AttachmentUploadService.chunkKey(UPLOAD_ID, 2));
+        verify(sessionRepository, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void completeUpload_ChecksumMismatch_DiscardsAssemblyAndReactivatesSession() {
+        // Arrange
+        AttachmentUploadSession session = stubCompleteSession();
+        when(attachmentStore.concatenate(anyList(), eq(3 * MB + 1024)))
+                .thenReturn(new StoredObject("ef/gh/assembled", 3 * MB + 1024, "abcd"));
+
+        // Act
+        uploadService.completeUpload(UPLOAD_ID, "ffff");
+
+        // Assert
+        verify(attachmentBlobService).deleteContentQuietly("ef/gh/assembled");
+        verify(sessionRepository).markFailed(session.getId(), "Checksum mismatch for the assembled file");
+        verifyNoInteractions(attachmentService);
+    }
+
+    @Test
+    void completeUpload_TaskDeletedDuringUpload_DiscardsAssemblyAndReactivatesSession() {
+        // Arrange
+        AttachmentUploadSession session = stubCompleteSession();
+        when(attachmentStore.concatenate(anyList(), eq(3 * MB + 1024)))
+                .thenReturn(new StoredObject("ef/gh/assembled", 3 * MB + 1024, "abcd"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // Act
+        uploadService.completeUpload(UPLOAD_ID, null);
+
+        // Assert
+        verify(attachmentBlobService, never()).adopt(any());
+        verify(attachmentBlobService).deleteContentQuietly("ef/gh/assembled");
+        verify(sessionRepository).markFailed(session.getId(), "Task not found with ID: 1");
+    }
+
+    @Test
+    void completeUpload_CompletionQueueFull_ReactivatesSessionAndThrowsServiceUnavailable() {
+        // Arrange
+        uploadService = new AttachmentUploadService(sessionRepository, chunkRepository, taskRepository, userRepository,
+                attachmentStore, attachmentService, attachmentBlobService, fileStorageService, securityService,
+                transactionManager, 8 * MB, 64 * MB, 5 * 1024 * MB, Duration.ofHours(24), task -> {
+                    throw new RejectedExecutionException("queue full");
+                });
+        AttachmentUploadSession session = stubCompleteSession();
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> uploadService.completeUpload(UPLOAD_ID, null));
+        verify(sessionRepository).updateStatus(session.getId(), UploadSessionStatus.COMPLETING, UploadSessionStatus.ACTIVE);
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void getUpload_CompletedInBackground_ReportsAttachment() {
+        // Arrange
+        AttachmentUploadSession session = stubSession(3 * MB + 1024);
+        session.setStatus(UploadSessionStatus.COMPLETED);
+        session.setAttachmentId(9L);
+        session.setFailureReason("Checksum mismatch for the assembled file");
+
+        // Act
+        AttachmentUploadResponse response = uploadService.getUpload(UPLOAD_ID);
+
+        // Assert
+        assertEquals(UploadSessionStatus.COMPLETED, response.getStatus());
+        assertEquals(9L, response.getAttachmentId());
+        assertNull(response.getFailureReason());
+    }
+
+    @Test
+    void completeUpload_AlreadyCompleting_ThrowsConflictException() {
+        // Arrange
+        AttachmentUploadSession session = stubSession(1024L);
+        when(chunkRepository.findBySessionIdOrderByChunkNumber(session.getId()))
+                .thenReturn(List.of(new AttachmentUploadChunk(session.getId(), 1, 1024L, "abcd")));
+        when(sessionRepository.updateStatus(session.getId(), UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING))
+                .thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> uploadService.completeUpload(UPLOAD_ID, null));
+        verifyNoInteractions(attachmentStore);
+    }
+
+    @Test
+    void expireAbandonedUploads_RemovesSessionsAndChunks() {
+        // Arrange
+        AttachmentUploadSession expired = session(3 * MB + 1024);
+        when(sessionRepository.findExpired(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(expired));
+        when(sessionRepository.deleteIfStatus(expired.getId(), UploadSessionStatus.ACTIVE)).thenReturn(1);
+
+        // Act
+        int removed = uploadService.expireAbandonedUploads();
+
+        // Assert
+        assertEquals(1, removed);
+        verify(chunkRepository).deleteBySessionId(expired.getId());
+        verify(attachmentBlobService).deleteContentQuietly(AttachmentUploadService.chunkKey(UPLOAD_ID, 1));
+        verify(attachmentBlobService).deleteContentQuietly(AttachmentUploadService.chunkKey(UPLOAD_ID, 2));
+    }
+
+    @Test
+    void expireAbandonedUploads_CompletionStartedMeanwhile_KeepsSession() {
+        // Arrange
+        AttachmentUploadSession expired = session(3 * MB + 1024);
+        when(sessionRepository.findExpired(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(List.of(expired));
+        when(sessionRepository.deleteIfStatus(expired.getId(), UploadSessionStatus.ACTIVE)).thenReturn(0);
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+
+        // Act
+        int removed = uploadService.expireAbandonedUploads();
+
+        // Assert
+        assertEquals(0, removed);
+        assertTrue(transaction.isRollbackOnly());
+        verifyNoInteractions(attachmentBlobService);
+    }
+
+    /**
+     * Session of a file uploaded as 3 MB chunks
+     */
+    private AttachmentUploadSession session(long fileSize) {
+        long chunkSize = 3 * MB;
+        AttachmentUploadSession session = new AttachmentUploadSession(UPLOAD_ID, 1L, 1L, "video.mp4", fileSize,
+                chunkSize, (int) ((fileSize + chunkSize - 1) / chunkSize), LocalDateTime.now().plusHours(1));
+        session.setId(5L);
+        return session;
+    }
+
+    private AttachmentUploadSession stubSession(long fileSize) {
+        AttachmentUploadSession session = session(fileSize);
+        when(sessionRepository.findByUploadId(UPLOAD_ID)).thenReturn(Optional.of(session));
+        when(securityService.getCurrentUserId()).thenReturn(1L);
+        return session;
+    }
+
+    private AttachmentUploadSession stubCompleteSession() {
+        AttachmentUploadSession session = stubSession(3 * MB + 1024);
+        when(chunkRepository.findBySessionIdOrderByChunkNumber(session.getId())).thenReturn(List.of(
+                new AttachmentUploadChunk(session.getId(), 1, 3 * MB, "aaaa"),
+                new AttachmentUploadChunk(session.getId(), 2, 1024L, "bbbb")));
+        when(sessionRepository.updateStatus(session.getId(), UploadSessionStatus.ACTIVE, UploadSessionStatus.COMPLETING))
+                .thenReturn(1);
+        return session;
+    }
+}
@@ -15,6 +15,7 @@ import com.projectmanagement.repository.CommentRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.repository.UserRepository;
 import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.util.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -108,6 +109,7 @@ class CommentServiceTest {
         verify(taskRepository).findById(1L);
         verify(securityService).isTeamMember();
         verify(userRepository).findById(1L);
+        verify(taskRepository).adjustCommentCount(1L, 1);
         verify(commentRepository).save(any(Comment.class));
     }
 
@@ -319,6 +321,7 @@ class CommentServiceTest {
         verify(commentRepository).findById(1L);
         verify(securityService).isTeamMember();
         verify(commentRepository).delete(testComment);
+        verify(taskRepository).adjustCommentCount(testTask.getId(), -1);
     }
 
     @Test
@@ -377,4 +380,35 @@ class CommentServiceTest {
         assertThrows(ValidationException.class, () -> commentService.getRecentComments(0));
         assertThrows(ValidationException.class, () -> commentService.getRecentComments(101));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getTaskCommentsByCursor_FollowsCursorToLastPage() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 4, 1, 10, 0);
+        testComment.setCreatedAt(createdAt);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(commentRepository.findPageByTaskIdAfter(1L, createdAt.plusHours(1), 9L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(testComment));
+
+        // Act
+        CommentListResponse response = commentService.getTaskCommentsByCursor(1L,
+                PageCursor.encode(createdAt.plusHours(1), 9L), 20, false);
+
+        // Assert
+        assertEquals(1, response.getComments().size());
+        assertFalse(response.isHasNext());
+        assertTrue(response.isHasPrevious());
+        assertNull(response.getNextCursor());
+        assertEquals(-1, response.getTotalElements());
+        verify(commentRepository, never()).countByTask_Id(any());
+        verify(commentRepository, never()).findByTask_IdOrderByCreatedAtDesc(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getTaskCommentsByCursor_InvalidSize_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> commentService.getTaskCommentsByCursor(1L, "", 0, false));
+        assertThrows(ValidationException.class, () -> commentService.getTaskCommentsByCursor(1L, "", 101, false));
+    }
+}
@@ -0,0 +1,123 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.search.SearchResponse;
+import com.projectmanagement.dto.search.SearchResultResponse;
+import com.projectmanagement.dto.search.TypeaheadResponse;
+import com.projectmanagement.dto.search.TypeaheadSuggestion;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ValidationException;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.search.SearchEngine;
+import com.projectmanagement.search.SearchType;
+import com.projectmanagement.search.SuggestionType;
+import com.projectmanagement.security.service.SecurityService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    @Mock
+    private SearchEngine searchEngine;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private SecurityService securityService;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    void search_NonAdmin_IsScopedToMemberProjects() {
+        // Arrange
+        List<SearchResultResponse> results = List.of(
+                new SearchResultResponse(SearchType.TASK, 5L, "Fix login", "login redirect", 1L, 5L, 0.9));
+        when(securityService.isAdmin()).thenReturn(false);
+        when(securityService.getCurrentUserId()).thenReturn(7L);
+        when(searchEngine.search("login", EnumSet.of(SearchType.TASK, SearchType.COMMENT), null, 7L, 20))
+                .thenReturn(results);
+
+        // Act
+        SearchResponse response = searchService.search("  login ", "task, Comment", null, 20);
+
+        // Assert
+        assertEquals("login", response.getQuery());
+        assertEquals(results, response.getResults());
+    }
+
+    @Test
+    void search_AdminInProject_SearchesAllTypesWithoutMemberScope() {
+        // Arrange
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(securityService.isAdmin()).thenReturn(true);
+        when(searchEngine.search("release", EnumSet.allOf(SearchType.class), 1L, null, 5)).thenReturn(List.of());
+
+        // Act
+        SearchResponse response = searchService.search("release", null, 1L, 5);
+
+        // Assert
+        assertTrue(response.getResults().isEmpty());
+        verify(securityService, never()).getCurrentUserId();
+    }
+
+    @Test
+    void search_InvalidParameters_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> searchService.search(" ", null, null, 20));
+        assertThrows(ValidationException.class, () -> searchService.search("x".repeat(201), null, null, 20));
+        assertThrows(ValidationException.class, () -> searchService.search("login", null, null, 51));
+        assertThrows(ValidationException.class, () -> searchService.search("login", "task,user", null, 20));
+        verifyNoInteractions(searchEngine);
+    }
+
+    @Test
+    void search_UnknownProject_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(projectRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> searchService.search("login", null, 999L, 20));
+        verify(searchEngine, never()).search(anyString(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void typeahead_NonAdmin_SuggestsRequestedTypesInOneCall() {
+        // Arrange
+        List<TypeaheadSuggestion> suggestions = List.of(
+                new TypeaheadSuggestion(SuggestionType.USER, 3L, "Jane Doe", "jane@example.com", null, 1.0),
+                new TypeaheadSuggestion(SuggestionType.TASK, 8L, "Janitor job", "Ops", 2L, 1.0));
+        when(securityService.isAdmin()).thenReturn(false);
+        when(securityService.getCurrentUserId()).thenReturn(7L);
+        when(searchEngine.suggest("jan", EnumSet.of(SuggestionType.USER, SuggestionType.TASK), 7L, 5))
+                .thenReturn(suggestions);
+
+        // Act
+        TypeaheadResponse response = searchService.typeahead(" jan", "task,user", 5);
+
+        // Assert
+        assertEquals("jan", response.getQuery());
+        assertEquals(suggestions, response.getSuggestions());
+    }
+
+    @Test
+    void typeahead_InvalidParameters_ThrowsValidationException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> searchService.typeahead("", null, 5));
+        assertThrows(ValidationException.class, () -> searchService.typeahead("x".repeat(101), null, 5));
+        assertThrows(ValidationException.class, () -> searchService.typeahead("jan", null, 21));
+        assertThrows(ValidationException.class, () -> searchService.typeahead("jan", "comment", 5));
+        verifyNoInteractions(searchEngine);
+    }
+}
@@ -0,0 +1,116 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.entity.Project;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.TaskBoardTombstone;
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskBoardTombstoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBoardRevisionServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskBoardTombstoneRepository tombstoneRepository;
+
+    @InjectMocks
+    private TaskBoardRevisionService taskBoardRevisionService;
+
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project();
+        project.setId(1L);
+
+        testTask = new Task();
+        testTask.setId(3L);
+        testTask.setProject(project);
+    }
+
+    @Test
+    void taskChanged_StampsNextRevision() {
+        // Arrange
+        when(projectRepository.incrementBoardRevision(1L)).thenReturn(1);
+        when(projectRepository.findBoardRevision(1L)).thenReturn(Optional.of(8L));
+
+        // Act
+        taskBoardRevisionService.taskChanged(testTask);
+
+        // Assert
+        assertEquals(8L, testTask.getBoardRevision());
+        verify(projectRepository).incrementBoardRevision(1L);
+    }
+
+    @Test
+    void taskRemoved_WritesTombstoneAtNextRevision() {
+        // Arrange
+        when(projectRepository.incrementBoardRevision(1L)).thenReturn(1);
+        when(projectRepository.findBoardRevision(1L)).thenReturn(Optional.of(9L));
+
+        // Act
+        taskBoardRevisionService.taskRemoved(testTask);
+
+        // Assert
+        ArgumentCaptor<TaskBoardTombstone> captor = ArgumentCaptor.forClass(TaskBoardTombstone.class);
+        verify(tombstoneRepository).save(captor.capture());
+        assertEquals(3L, captor.getValue().getTaskId());
+        assertEquals(1L, captor.getValue().getProjectId());
+        assertEquals(9L, captor.getValue().getRevision());
+        assertEquals(9L, testTask.getBoardRevision());
+    }
+
+    @Test
+    void taskChanged_ProjectMissing_ThrowsNotFound() {
+        // Arrange
+        when(projectRepository.incrementBoardRevision(1L)).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskBoardRevisionService.taskChanged(testTask));
+        verify(projectRepository, never()).findBoardRevision(any());
+    }
+
+    @Test
+    void getRevision_ProjectMissing_ThrowsNotFound() {
+        // Arrange
+        when(projectRepository.findBoardRevision(2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskBoardRevisionService.getRevision(2L));
+    }
+
+    @Test
+    void pruneTombstones_RaisesHorizonBeforeDeleting() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.of(2024, 3, 1, 0, 0);
+        when(projectRepository.raiseBoardRevisionHorizons(cutoff)).thenReturn(2);
+        when(tombstoneRepository.deleteDeletedBefore(cutoff)).thenReturn(5);
+
+        // Act
+        int removed = taskBoardRevisionService.pruneTombstones(cutoff);
+
+        // Assert
+        assertEquals(5, removed);
+        InOrder inOrder = inOrder(projectRepository, tombstoneRepository);
+        inOrder.verify(projectRepository).raiseBoardRevisionHorizons(cutoff);
+        inOrder.verify(tombstoneRepository).deleteDeletedBefore(cutoff);
+    }
+}
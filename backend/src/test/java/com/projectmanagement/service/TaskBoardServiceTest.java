@@ -1,5 +1,6 @@
 package com.projectmanagement.service;
 
+import com.projectmanagement.dto.task.TaskBoardChange;
 import com.projectmanagement.dto.task.TaskBoardColumn;
 import com.projectmanagement.dto.task.TaskBoardItem;
 import com.projectmanagement.dto.task.TaskBoardResponse;
@@ -8,6 +9,7 @@ import com.projectmanagement.entity.*;
 import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.exception.UnauthorizedException;
 import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskBoardTombstoneRepository;
 import com.projectmanagement.repository.TaskRepository;
 import com.projectmanagement.security.service.SecurityService;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,10 +23,13 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +44,12 @@ class TaskBoardServiceTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private TaskBoardRevisionService taskBoardRevisionService;
+
+    @Mock
+    private TaskBoardTombstoneRepository tombstoneRepository;
+
     @InjectMocks
     private TaskBoardService taskBoardService;
 
@@ -105,8 +116,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1, testTask2, testTask3));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1, testTask2, testTask3));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -156,8 +167,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1, testTask2, testTask3));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1, testTask2, testTask3));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -205,8 +216,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1, testTask2, testTask3));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1, testTask2, testTask3));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -245,8 +256,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1, testTask2));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1, testTask2));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -275,8 +286,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1, testTask2, testTask3));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1, testTask2, testTask3));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -295,8 +306,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1, testTask2, testTask3));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1, testTask2, testTask3));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -346,8 +357,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList());
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems());
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -374,8 +385,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -414,8 +425,8 @@ class TaskBoardServiceTest {
 
         when(projectRepository.existsById(projectId)).thenReturn(true);
         when(securityService.isTeamMember()).thenReturn(true);
-        when(taskRepository.findTasksForBoardByProjectId(projectId, milestoneId))
-                .thenReturn(Arrays.asList(testTask1));
+        when(taskRepository.findBoardItemsByProjectId(projectId, milestoneId))
+                .thenReturn(boardItems(testTask1));
 
         // When
         TaskBoardResponse result = taskBoardService.getTaskBoard(projectId, groupBy, milestoneId);
@@ -431,4 +442,147 @@ class TaskBoardServiceTest {
         TaskBoardItem item = todoColumn.getTasks().get(0);
         assertTrue(item.isOverdue());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testGetTaskBoard_IncludesRevision() {
+        // Given
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(taskBoardRevisionService.getRevision(1L)).thenReturn(42L);
+        when(taskRepository.findBoardItemsByProjectId(1L, null)).thenReturn(boardItems(testTask1));
+
+        // When
+        TaskBoardResponse result = taskBoardService.getTaskBoard(1L, "STATUS", null);
+
+        // Then
+        assertEquals(42L, result.getRevision());
+        assertNull(result.getSinceRevision());
+        assertNull(result.getChanges());
+    }
+
+    @Test
+    void testGetTaskBoardDelta_ReturnsChangedAndRemovedTasks() {
+        // Given
+        when(taskBoardRevisionService.getRevision(1L)).thenReturn(12L);
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(taskRepository.findTasksForBoardByProjectIdChangedSince(1L, 10L))
+                .thenReturn(Arrays.asList(testTask2, testTask3));
+        when(tombstoneRepository.findTaskIdsDeletedSince(1L, 10L)).thenReturn(Arrays.asList(7L));
+
+        // When
+        TaskBoardResponse result = taskBoardService.getTaskBoardDelta(1L, "STATUS", null, 10L);
+
+        // Then
+        assertEquals(12L, result.getRevision());
+        assertEquals(10L, result.getSinceRevision());
+        assertNull(result.getColumns());
+        assertEquals(2, result.getChanges().size());
+        TaskBoardChange change = result.getChanges().get(0);
+        assertEquals("IN_PROGRESS", change.getColumnIdentifier());
+        assertEquals("In Progress", change.getColumnDisplayName());
+        assertEquals(2L, change.getTask().getId());
+        assertEquals("DONE", result.getChanges().get(1).getColumnIdentifier());
+        assertEquals(Arrays.asList(7L), result.getRemovedTaskIds());
+        verify(taskRepository, never()).findBoardItemsByProjectId(any(), any());
+    }
+
+    @Test
+    void testGetTaskBoardDelta_TaskMovedOutOfMilestone_ReportedAsRemoved() {
+        // Given
+        Milestone milestone = new Milestone();
+        milestone.setId(5L);
+        Milestone otherMilestone = new Milestone();
+        otherMilestone.setId(6L);
+        testTask1.setMilestone(milestone);
+        testTask2.setMilestone(otherMilestone);
+
+        when(taskBoardRevisionService.getRevision(1L)).thenReturn(12L);
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(taskRepository.findTasksForBoardByProjectIdChangedSince(1L, 10L))
+                .thenReturn(Arrays.asList(testTask1, testTask2, testTask3));
+
+        // When
+        TaskBoardResponse result = taskBoardService.getTaskBoardDelta(1L, "ASSIGNEE", 5L, 10L);
+
+        // Then
+        assertEquals(1, result.getChanges().size());
+        assertEquals("John Doe", result.getChanges().get(0).getColumnIdentifier());
+        assertEquals(Arrays.asList(2L, 3L), result.getRemovedTaskIds());
+    }
+
+    @Test
+    void testGetTaskBoardDelta_UpToDate_SkipsQueries() {
+        // Given
+        when(taskBoardRevisionService.getRevision(1L)).thenReturn(12L);
+        when(securityService.isTeamMember()).thenReturn(true);
+
+        // When
+        TaskBoardResponse result = taskBoardService.getTaskBoardDelta(1L, "STATUS", null, 12L);
+
+        // Then
+        assertTrue(result.getChanges().isEmpty());
+        assertTrue(result.getRemovedTaskIds().isEmpty());
+        verify(taskRepository, never()).findTasksForBoardByProjectIdChangedSince(any(), any());
+    }
+
+    @Test
+    void testGetTaskBoardDelta_UnknownRevision_ReturnsFullBoard() {
+        // Given
+        when(taskBoardRevisionService.getRevision(1L)).thenReturn(12L);
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(taskRepository.findBoardItemsByProjectId(1L, null)).thenReturn(boardItems(testTask1));
+
+        // When
+        TaskBoardResponse result = taskBoardService.getTaskBoardDelta(1L, "STATUS", null, 99L);
+
+        // Then
+        assertEquals(5, result.getColumns().size());
+        assertEquals(12L, result.getRevision());
+        assertNull(result.getChanges());
+    }
+
+    @Test
+    void testGetTaskBoardDelta_OlderThanHorizon_ReturnsFullBoard() {
+        // Given
+        when(taskBoardRevisionService.getRevision(1L)).thenReturn(12L);
+        when(taskBoardRevisionService.getHorizon(1L)).thenReturn(8L);
+        when(securityService.isTeamMember()).thenReturn(true);
+        when(taskRepository.findBoardItemsByProjectId(1L, null)).thenReturn(boardItems(testTask1));
+
+        // When
+        TaskBoardResponse result = taskBoardService.getTaskBoardDelta(1L, "STATUS", null, 5L);
+
+        // Then
+        assertEquals(5, result.getColumns().size());
+        assertEquals(12L, result.getRevision());
+        assertNull(result.getChanges());
+        verify(taskRepository, never()).findTasksForBoardByProjectIdChangedSince(any(), any());
+    }
+
+    @Test
+    void testGetBoardRevision_Unauthorized() {
+        // Given
+        when(taskBoardRevisionService.getRevision(1L)).thenReturn(3L);
+        when(securityService.isTeamMember()).thenReturn(false);
+
+        // When & Then
+        assertThrows(UnauthorizedException.class, () -> taskBoardService.getBoardRevision(1L));
+    }
+
+    /**
+     * Build the projections the board query returns for the given tasks
+     */
+    private List<TaskBoardItem> boardItems(Task... tasks) {
+        return Arrays.stream(tasks)
+                .map(task -> new TaskBoardItem(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getPriority(),
+                    task.getStatus(),
+                    task.getAssignee() != null ? task.getAssignee().getId() : null,
+                    task.getAssignee() != null ? task.getAssignee().getFirstName() : null,
+                    task.getAssignee() != null ? task.getAssignee().getLastName() : null,
+                    task.getDeadline()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,75 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.entity.Project;
+import com.projectmanagement.entity.ProjectStatus;
+import com.projectmanagement.entity.TaskBoardTombstone;
+import com.projectmanagement.entity.User;
+import com.projectmanagement.repository.ProjectRepository;
+import com.projectmanagement.repository.TaskBoardTombstoneRepository;
+import com.projectmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tombstone pruning and the board revision horizon against the test database
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TaskBoardRevisionService.class)
+class TaskBoardTombstonePruningTest {
+
+    @Autowired
+    private TaskBoardRevisionService taskBoardRevisionService;
+
+    @Autowired
+    private TaskBoardTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void pruneTombstones_RaisesHorizonToNewestPrunedRevision() {
+        // Arrange
+        User user = userRepository.save(new User("board@example.com", "password", "Board", "Tester", "DEVELOPER"));
+        Project pruned = projectRepository.save(new Project("Pruned", null, ProjectStatus.ACTIVE, null, null, user));
+        Project recent = projectRepository.save(new Project("Recent", null, ProjectStatus.ACTIVE, null, null, user));
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        tombstone(pruned, 10L, 3L, cutoff.minusDays(2));
+        tombstone(pruned, 11L, 5L, cutoff.minusDays(1));
+        tombstone(pruned, 12L, 8L, cutoff.plusDays(1));
+        tombstone(recent, 13L, 4L, cutoff.plusDays(1));
+        entityManager.flush();
+
+        // Act
+        int removed = taskBoardRevisionService.pruneTombstones(cutoff);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(2, removed);
+        assertEquals(5L, taskBoardRevisionService.getHorizon(pruned.getId()));
+        assertEquals(0L, taskBoardRevisionService.getHorizon(recent.getId()));
+        assertEquals(List.of(12L), tombstoneRepository.findTaskIdsDeletedSince(pruned.getId(), 0L));
+        assertEquals(List.of(13L), tombstoneRepository.findTaskIdsDeletedSince(recent.getId(), 0L));
+    }
+
+    private void tombstone(Project project, Long taskId, Long revision, LocalDateTime deletedAt) {
+        TaskBoardTombstone tombstone = new TaskBoardTombstone(taskId, project.getId(), revision);
+        tombstone.setDeletedAt(deletedAt);
+        tombstoneRepository.save(tombstone);
+    }
+}
@@ -0,0 +1,341 @@
+package com.projectmanagement.service;
+
+import com.projectmanagement.dto.task.TaskBoardItem;
+import com.projectmanagement.dto.task.TaskEvent;
+import com.projectmanagement.dto.task.TaskEventType;
+import com.projectmanagement.entity.Project;
+import com.projectmanagement.entity.Task;
+import com.projectmanagement.entity.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskEventServiceTest {
+
+    @Mock
+    private TaskBoardService taskBoardService;
+
+    private TaskEventService taskEventService;
+
+    @BeforeEach
+    void setUp() {
+        taskEventService = new TaskEventService(taskBoardService, Runnable::run, 16, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void register_SendsConnectedWithCurrentRevision() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        taskEventService.register(1L, emitter, () -> 5L, null);
+
+        // Assert
+        assertEquals(1, emitter.events().size());
+        assertEquals(TaskEventType.CONNECTED, emitter.events().get(0).getType());
+        assertEquals(5L, emitter.events().get(0).getRevision());
+        assertEquals(1, taskEventService.getSubscriberCount(1L));
+    }
+
+    @Test
+    void register_ClientBehind_SendsResync() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act
+        taskEventService.register(1L, emitter, () -> 5L, 3L);
+
+        // Assert
+        assertEquals(TaskEventType.RESYNC, emitter.events().get(0).getType());
+    }
+
+    @Test
+    void register_EventCommittedBeforeRevisionIsRead_FollowsFirstEvent() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        // Act - an event is published after registration but before the revision is read
+        taskEventService.register(1L, emitter, () -> {
+            taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 10L, 6L, null));
+            return 6L;
+        }, null);
+
+        // Assert
+        List<TaskEvent> events = emitter.events();
+        assertEquals(2, events.size());
+        assertEquals(TaskEventType.CONNECTED, events.get(0).getType());
+        assertEquals(6L, events.get(0).getRevision());
+        assertEquals(TaskEventType.TASK_DELETED, events.get(1).getType());
+    }
+
+    @Test
+    void publish_DeliversOnlyToSubscribersOfProject() {
+        // Arrange
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter otherProject = new RecordingEmitter();
+        taskEventService.register(1L, first, () -> 5L, null);
+        taskEventService.register(1L, second, () -> 5L, null);
+        taskEventService.register(2L, otherProject, () -> 9L, null);
+
+        // Act
+        taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 10L, 6L, null));
+
+        // Assert
+        assertEquals(TaskEventType.TASK_DELETED, first.events().get(1).getType());
+        assertEquals(TaskEventType.TASK_DELETED, second.events().get(1).getType());
+        assertEquals(1, otherProject.events().size());
+    }
+
+    @Test
+    void publish_BufferOverflow_ReplacesBacklogWithResync() {
+        // Arrange
+        List<Runnable> pendingSends = new ArrayList<>();
+        taskEventService = new TaskEventService(taskBoardService, pendingSends::add, 2, Duration.ofMinutes(1));
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskEventService.register(1L, emitter, () -> 5L, null);
+
+        // Act
+        taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 10L, 6L, null));
+        taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 11L, 7L, null));
+        taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 12L, 8L, null));
+        pendingSends.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(1, pendingSends.size());
+        List<TaskEvent> events = emitter.events();
+        assertEquals(2, events.size());
+        assertEquals(TaskEventType.RESYNC, events.get(0).getType());
+        assertEquals(7L, events.get(0).getRevision());
+        assertEquals(12L, events.get(1).getTaskId());
+    }
+
+    @Test
+    void publish_SendFails_RemovesSubscriber() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskEventService.register(1L, emitter, () -> 5L, null);
+        emitter.fail = true;
+
+        // Act
+        taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 10L, 6L, null));
+
+        // Assert
+        assertEquals(0, taskEventService.getSubscriberCount(1L));
+        assertInstanceOf(IOException.class, emitter.failure);
+    }
+
+    @Test
+    void publish_StalledClient_IsDroppedWithoutBlockingOtherSubscribers() throws InterruptedException {
+        // Arrange - a single sender thread, shared by a client that stopped reading and a healthy one
+        ExecutorService singleSender = Executors.newSingleThreadExecutor();
+        taskEventService = new TaskEventService(taskBoardService, singleSender, 16, Duration.ofMinutes(1),
+                Duration.ofMillis(200));
+        CountDownLatch unblock = new CountDownLatch(1);
+        BlockedEmitter stalled = new BlockedEmitter(unblock);
+        RecordingEmitter healthy = new RecordingEmitter();
+        try {
+            taskEventService.register(1L, stalled, () -> 5L, null);
+            taskEventService.register(1L, healthy, () -> 5L, null);
+
+            // Act
+            taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 10L, 6L, null));
+            taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 11L, 7L, null));
+
+            // Assert
+            for (int i = 0; i < 200 && healthy.events().size() < 3; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, healthy.events().size());
+            assertEquals(11L, healthy.events().get(2).getTaskId());
+            assertEquals(1, taskEventService.getSubscriberCount(1L));
+            assertNull(stalled.failure);
+
+            // The blocked write returns once the connection is gone; only then can the emitter complete
+            unblock.countDown();
+            for (int i = 0; i < 200 && stalled.failure == null; i++) {
+                Thread.sleep(10);
+            }
+            assertInstanceOf(TimeoutException.class, stalled.failure);
+        } finally {
+            unblock.countDown();
+            singleSender.shutdownNow();
+            taskEventService.destroy();
+        }
+    }
+
+    @Test
+    void publish_EveryWriterStalled_KeepsHealthySubscriberAndRetries() throws InterruptedException {
+        // Arrange - a single writer thread, taken by a client that stopped reading
+        ExecutorService singleSender = Executors.newSingleThreadExecutor();
+        taskEventService = new TaskEventService(taskBoardService, singleSender, 16, Duration.ofMinutes(1),
+                Duration.ofMillis(100), 0);
+        CountDownLatch unblock = new CountDownLatch(1);
+        BlockedEmitter stalled = new BlockedEmitter(unblock);
+        RecordingEmitter healthy = new RecordingEmitter();
+        try {
+            taskEventService.register(1L, stalled, () -> 5L, null);
+            Thread.sleep(300);
+            taskEventService.register(1L, healthy, () -> 5L, null);
+
+            // Act
+            taskEventService.publish(new TaskEvent(TaskEventType.TASK_DELETED, 1L, 10L, 6L, null));
+            Thread.sleep(300);
+
+            // Assert - the healthy client waits for a writer instead of being dropped
+            assertEquals(0, healthy.events().size());
+            assertEquals(1, taskEventService.getSubscriberCount(1L));
+            assertNull(healthy.failure);
+
+            unblock.countDown();
+            for (int i = 0; i < 300 && healthy.events().size() < 2; i++) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, healthy.events().size());
+            assertEquals(10L, healthy.events().get(1).getTaskId());
+        } finally {
+            unblock.countDown();
+            singleSender.shutdownNow();
+            taskEventService.destroy();
+        }
+    }
+
+    @Test
+    void sendHeartbeats_SendsCommentToIdleSubscribers() {
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskEventService.register(1L, emitter, () -> 5L, null);
+
+        // Act
+        taskEventService.sendHeartbeats();
+
+        // Assert
+        assertEquals("heartbeat", emitter.sent.get(emitter.sent.size() - 1));
+    }
+
+    @Test
+    void taskUpdated_StatusChanged_PublishesStatusChangeAfterCommit() {
+        // Arrange
+        Project project = new Project();
+        project.setId(1L);
+        Task task = new Task();
+        task.setId(10L);
+        task.setProject(project);
+        task.setStatus(TaskStatus.DONE);
+        task.setBoardRevision(6L);
+        TaskBoardItem item = new TaskBoardItem();
+        when(taskBoardService.convertToBoardItem(task)).thenReturn(item);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        taskEventService.register(1L, emitter, () -> 5L, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            taskEventService.taskUpdated(task, TaskStatus.REVIEW);
+            int sentBeforeCommit = emitter.events().size();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertEquals(1, sentBeforeCommit);
+            TaskEvent event = emitter.events().get(1);
+            assertEquals(TaskEventType.TASK_STATUS_CHANGED, event.getType());
+            assertEquals(TaskStatus.REVIEW, event.getPreviousStatus());
+            assertEquals(6L, event.getRevision());
+            assertSame(item, event.getTask());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Emitter whose writes block, like a client whose TCP window is full; like a socket write, interrupts do not end them
+     */
+    private static class BlockedEmitter extends SseEmitter {
+        private final CountDownLatch unblock;
+        private volatile Throwable failure;
+
+        BlockedEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    unblock.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+    }
+
+    /**
+     * Emitter that records what would be written to the client
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Object> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean fail;
+        private volatile Throwable failure;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof TaskEvent) {
+                    sent.add(data.getData());
+                } else if (data.getData().toString().startsWith(":heartbeat")) {
+                    sent.add("heartbeat");
+                }
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+
+        List<TaskEvent> events() {
+            List<TaskEvent> events = new ArrayList<>();
+            for (Object item : sent) {
+                if (item instanceof TaskEvent) {
+                    events.add((TaskEvent) item);
+                }
+            }
+            return events;
+        }
+    }
+}
@@ -12,8 +12,11 @@ import com.projectmanagement.exception.ValidationException;
 import com.projectmanagement.repository.MilestoneRepository;
 import com.projectmanagement.repository.ProjectRepository;
 import com.projectmanagement.repository.TaskRepository;
+import com.projectmanagement.repository.TaskSpecifications;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.evaluator.TaskPermissionEvaluator;
 import com.projectmanagement.security.service.SecurityService;
+import com.projectmanagement.util.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,8 +27,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -52,6 +58,21 @@ class TaskServiceTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Mock
+    private TaskBoardRevisionService taskBoardRevisionService;
+
+    @Mock
+    private TaskEventService taskEventService;
+
+    @Mock
+    private AttachmentService attachmentService;
+
+    @Mock
+    private TaskPermissionEvaluator taskPermissionEvaluator;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -284,6 +305,23 @@ class TaskServiceTest {
         assertEquals(testTask.getTitle(), response.getTitle());
     }
 
+    @Test
+    void testGetTaskById_ReturnsActivityTotals() {
+        // Given
+        testTask.setCommentCount(3);
+        testTask.setAttachmentCount(2);
+        testTask.setTotalTimeLogged(new BigDecimal("7.50"));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+
+        // When
+        TaskResponse response = taskService.getTaskById(1L);
+
+        // Then
+        assertEquals(3, response.getCommentCount());
+        assertEquals(2, response.getAttachmentCount());
+        assertEquals(new BigDecimal("7.50"), response.getTotalTimeLogged());
+    }
+
     @Test
     void testGetTaskById_NotFound() {
         // Given
@@ -302,10 +340,10 @@ class TaskServiceTest {
         Page<Task> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 20), 1);
 
         when(projectRepository.existsById(1L)).thenReturn(true);
-        when(taskRepository.findByProjectId(eq(1L), any(Pageable.class))).thenReturn(taskPage);
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(taskPage);
 
         // When
-        TaskListResponse response = taskService.getProjectTasks(1L, null, null, null, null, null, 0, 20);
+        TaskListResponse response = taskService.getProjectTasks(1L, null, null, null, null, null, null, null, 0, 20);
 
         // Then
         assertNotNull(response);
@@ -320,11 +358,10 @@ class TaskServiceTest {
         Page<Task> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 20), 1);
 
         when(projectRepository.existsById(1L)).thenReturn(true);
-        when(taskRepository.findByProjectIdAndStatus(eq(1L), eq(TaskStatus.IN_PROGRESS), any(Pageable.class)))
-                .thenReturn(taskPage);
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(taskPage);
 
         // When
-        TaskListResponse response = taskService.getProjectTasks(1L, "IN_PROGRESS", null, null, null, null, 0, 20);
+        TaskListResponse response = taskService.getProjectTasks(1L, "IN_PROGRESS", null, null, null, null, null, null, 0, 20);
 
         // Then
         assertNotNull(response);
@@ -338,11 +375,10 @@ class TaskServiceTest {
         Page<Task> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 20), 1);
 
         when(projectRepository.existsById(1L)).thenReturn(true);
-        when(taskRepository.findByProjectIdAndPriority(eq(1L), eq(TaskPriority.HIGH), any(Pageable.class)))
-                .thenReturn(taskPage);
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(taskPage);
 
         // When
-        TaskListResponse response = taskService.getProjectTasks(1L, null, "HIGH", null, null, null, 0, 20);
+        TaskListResponse response = taskService.getProjectTasks(1L, null, "HIGH", null, null, null, null, null, 0, 20);
 
         // Then
         assertNotNull(response);
@@ -356,11 +392,10 @@ class TaskServiceTest {
         Page<Task> taskPage = new PageImpl<>(tasks, PageRequest.of(0, 20), 1);
 
         when(projectRepository.existsById(1L)).thenReturn(true);
-        when(taskRepository.findByProjectIdAndSearchTerm(eq(1L), eq("login"), any(Pageable.class)))
-                .thenReturn(taskPage);
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(taskPage);
 
         // When
-        TaskListResponse response = taskService.getProjectTasks(1L, null, null, null, null, "login", 0, 20);
+        TaskListResponse response = taskService.getProjectTasks(1L, null, null, null, null, null, null, "login", 0, 20);
 
         // Then
         assertNotNull(response);
@@ -374,7 +409,7 @@ class TaskServiceTest {
 
         // When & Then
         assertThrows(ValidationException.class, () -> {
-            taskService.getProjectTasks(1L, "INVALID_STATUS", null, null, null, null, 0, 20);
+            taskService.getProjectTasks(1L, "INVALID_STATUS", null, null, null, null, null, null, 0, 20);
         });
     }
 
@@ -385,7 +420,7 @@ class TaskServiceTest {
 
         // When & Then
         assertThrows(ValidationException.class, () -> {
-            taskService.getProjectTasks(1L, null, "INVALID_PRIORITY", null, null, null, 0, 20);
+            taskService.getProjectTasks(1L, null, "INVALID_PRIORITY", null, null, null, null, null, 0, 20);
         });
     }
 
@@ -396,7 +431,7 @@ class TaskServiceTest {
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> {
-            taskService.getProjectTasks(1L, null, null, null, null, null, 0, 20);
+            taskService.getProjectTasks(1L, null, null, null, null, null, null, null, 0, 20);
         });
     }
 
@@ -473,6 +508,40 @@ class TaskServiceTest {
         verify(taskRepository).save(any(Task.class));
     }
 
+    @Test
+    void testUpdateTaskStatus_ToDone_RecordsCompletionTime() {
+        // Given
+        testTask.setStatus(TaskStatus.IN_PROGRESS);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(securityService.hasRole("PROJECT_MANAGER")).thenReturn(true);
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        // When
+        taskService.updateTaskStatus(1L, statusUpdateRequest);
+
+        // Then
+        assertNotNull(testTask.getCompletedAt());
+        verify(analyticsRollupService).taskUpdated(testTask, false, testAssignee.getId(), LocalDate.now());
+    }
+
+    @Test
+    void testUpdateTaskStatus_Reopened_ClearsCompletionTime() {
+        // Given
+        testTask.setStatus(TaskStatus.DONE);
+        testTask.setCompletedAt(LocalDateTime.of(2024, 1, 5, 10, 0));
+        statusUpdateRequest.setStatus(TaskStatus.IN_PROGRESS);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(testTask));
+        when(securityService.hasRole("PROJECT_MANAGER")).thenReturn(true);
+        when(taskRepository.save(any(Task.class))).thenReturn(testTask);
+
+        // When
+        taskService.updateTaskStatus(1L, statusUpdateRequest);
+
+        // Then
+        assertNull(testTask.getCompletedAt());
+        verify(analyticsRollupService).taskUpdated(testTask, true, testAssignee.getId(), LocalDate.of(2024, 1, 5));
+    }
+
     @Test
     void testUpdateTaskStatus_NotFound() {
         // Given
@@ -511,7 +580,9 @@ class TaskServiceTest {
         taskService.deleteTask(1L);
 
         // Then
+        verify(attachmentService).taskDeleted(testTask);
         verify(taskRepository).delete(testTask);
+        verify(taskPermissionEvaluator).evictAfterCommit(1L);
     }
 
     @Test
@@ -523,7 +594,7 @@ class TaskServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> {
             taskService.deleteTask(1L);
         });
-        verify(taskRepository, never()).delete(any());
+        verify(taskRepository, never()).delete(any(Task.class));
     }
 
     @Test
@@ -537,7 +608,7 @@ class TaskServiceTest {
         assertThrows(UnauthorizedException.class, () -> {
             taskService.deleteTask(1L);
         });
-        verify(taskRepository, never()).delete(any());
+        verify(taskRepository, never()).delete(any(Task.class));
     }
 
     @Test
@@ -616,4 +687,92 @@ class TaskServiceTest {
         assertEquals(testTask.getAssignee().getId(), response.getAssignee().getId());
         assertEquals(testTask.getAssignee().getFullName(), response.getAssignee().getName());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getProjectTasks_CombinedFilters_RunsOneSortedQuery() {
+        // Arrange
+        Page<Task> taskPage = new PageImpl<>(List.of(testTask), PageRequest.of(0, 20), 1);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(taskPage);
+
+        // Act
+        TaskListResponse response = taskService.getProjectTasks(1L, "in_progress", "high", 2L, 3L,
+                LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), "login", 0, 20);
+
+        // Assert
+        assertEquals(1, response.getTasks().size());
+        verify(taskRepository).findAll(any(Specification.class),
+                eq(PageRequest.of(0, 20, TaskSpecifications.NEWEST_FIRST)));
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void getProjectTasks_InvertedDeadlineRange_ThrowsValidationException() {
+        // Arrange
+        when(projectRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> taskService.getProjectTasks(1L, null, null, null, null,
+                LocalDate.of(2024, 7, 1), LocalDate.of(2024, 6, 1), null, 0, 20));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getProjectTasksByCursor_FirstPage_ReturnsNextCursorWithoutCounting() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 4, 1, 10, 0);
+        testTask.setCreatedAt(createdAt);
+        Task olderTask = new Task();
+        olderTask.setId(2L);
+        olderTask.setProject(testProject);
+        olderTask.setTitle("Older task");
+        olderTask.setCreatedAt(createdAt.minusDays(1));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findBy(any(Specification.class), any())).thenReturn(Arrays.asList(testTask, olderTask));
+
+        // Act
+        TaskListResponse response = taskService.getProjectTasksByCursor(1L, "in_progress", null, 2L, null,
+                null, null, " ", "", 1, false);
+
+        // Assert
+        assertEquals(1, response.getTasks().size());
+        assertEquals(testTask.getId(), response.getTasks().get(0).getId());
+        assertTrue(response.isHasNext());
+        assertFalse(response.isHasPrevious());
+        assertEquals(-1, response.getTotalElements());
+        assertEquals(PageCursor.encode(createdAt, 1L), response.getNextCursor());
+        verify(taskRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void getProjectTasksByCursor_AfterCursor_SeeksPastPositionAndCounts() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 4, 1, 10, 0);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testTask));
+        when(taskRepository.count(any(Specification.class))).thenReturn(21L);
+
+        // Act
+        TaskListResponse response = taskService.getProjectTasksByCursor(1L, null, null, null, null, null, null,
+                "login", PageCursor.encode(createdAt, 5L), 20, true);
+
+        // Assert
+        assertEquals(1, response.getTasks().size());
+        assertFalse(response.isHasNext());
+        assertTrue(response.isHasPrevious());
+        assertNull(response.getNextCursor());
+        assertEquals(21, response.getTotalElements());
+        assertEquals(2, response.getTotalPages());
+    }
+
+    @Test
+    void getProjectTasksByCursor_InvalidCursor_ThrowsValidationException() {
+        // Arrange
+        when(projectRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () ->
+                taskService.getProjectTasksByCursor(1L, null, null, null, null, null, null, null, "%%%", 20, false));
+        verifyNoInteractions(taskRepository);
+    }
+}
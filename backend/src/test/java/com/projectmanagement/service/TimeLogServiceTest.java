@@ -50,6 +50,9 @@ class TimeLogServiceTest {
     @Mock
     private SecurityService securityService;
 
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
     @InjectMocks
     private TimeLogService timeLogService;
 
@@ -107,6 +110,7 @@ class TimeLogServiceTest {
         verify(userRepository).findById(1L);
         verify(timeLogRepository).existsByTaskIdAndUserIdAndDate(taskId, 1L, testRequest.getDate());
         verify(timeLogRepository).save(any(TimeLog.class));
+        verify(taskRepository).adjustTimeLoggedHours(taskId, testTimeLog.getHours());
     }
 
     @Test
@@ -389,6 +393,7 @@ class TimeLogServiceTest {
         verify(timeLogRepository).findById(timeLogId);
         verify(securityService).isTeamMember();
         verify(timeLogRepository).delete(testTimeLog);
+        verify(taskRepository).adjustTimeLoggedHours(testTask.getId(), testTimeLog.getHours().negate());
     }
 
     @Test
@@ -8,6 +8,7 @@ import com.projectmanagement.exception.ResourceNotFoundException;
 import com.projectmanagement.exception.UnauthorizedException;
 import com.projectmanagement.exception.ValidationException;
 import com.projectmanagement.repository.UserRepository;
+import com.projectmanagement.security.TokenVersionCache;
 import com.projectmanagement.security.service.SecurityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,6 +43,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionCache tokenVersionCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -190,6 +194,38 @@ class UserServiceTest {
         verify(userRepository).save(any(User.class));
     }
 
+    @Test
+    void testUpdateUser_ChangeRole_RevokesTokens() {
+        // Given
+        UserUpdateRequest updateRequest = new UserUpdateRequest(null, null, null, "ADMIN", null);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        when(securityService.isAdmin()).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        userService.updateUser(2L, updateRequest);
+
+        // Then
+        assertEquals(1, user2.getTokenVersion());
+        verify(tokenVersionCache).evictAfterCommit(2L);
+    }
+
+    @Test
+    void testUpdateUser_NameOnly_KeepsTokens() {
+        // Given
+        UserUpdateRequest updateRequest = new UserUpdateRequest("Janet", null, null, null, null);
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user2));
+        when(securityService.getCurrentUserId()).thenReturn(2L);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        userService.updateUser(2L, updateRequest);
+
+        // Then
+        assertEquals(0, user2.getTokenVersion());
+        verifyNoInteractions(tokenVersionCache);
+    }
+
     @Test
     void testUpdateUser_NotFound() {
         // Given
@@ -0,0 +1,121 @@
+package com.projectmanagement.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LegacyAttachmentBlobMigrator against an in-memory database
+ */
+class LegacyAttachmentBlobMigratorTest {
+
+    @TempDir
+    Path root;
+
+    private JdbcTemplate jdbcTemplate;
+    private LocalAttachmentStore store;
+    private LegacyAttachmentBlobMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migrator-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE attachments (id BIGINT PRIMARY KEY, file_size BIGINT NOT NULL, " +
+                "file_data BLOB, storage_key VARCHAR(512), checksum VARCHAR(64))");
+        jdbcTemplate.execute("CREATE TABLE attachment_blobs (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "checksum VARCHAR(64) NOT NULL UNIQUE, storage_key VARCHAR(512) NOT NULL UNIQUE, size BIGINT NOT NULL, " +
+                "reference_count INTEGER DEFAULT 0 NOT NULL, created_at TIMESTAMP NOT NULL)");
+
+        store = new LocalAttachmentStore(root);
+        migrator = new LegacyAttachmentBlobMigrator(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), store, 2);
+    }
+
+    @Test
+    void migrate_LegacyRows_MovesContentAndSharesDuplicates() throws Exception {
+        // Arrange
+        insertLegacy(1L, "same content");
+        insertLegacy(2L, "same content");
+        insertLegacy(3L, "other content");
+
+        // Act
+        int migrated = migrator.migrate();
+
+        // Assert
+        assertEquals(3, migrated);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM attachments WHERE file_data IS NOT NULL", Integer.class));
+        String first = storageKey(1L);
+        assertEquals(first, storageKey(2L));
+        assertNotEquals(first, storageKey(3L));
+        assertEquals("same content", Files.readString(root.resolve(first)));
+
+        Map<String, Object> shared = jdbcTemplate.queryForMap(
+                "SELECT reference_count, size FROM attachment_blobs WHERE storage_key = ?", first);
+        assertEquals(2, ((Number) shared.get("reference_count")).intValue());
+        assertEquals(12L, ((Number) shared.get("size")).longValue());
+        assertEquals(2, countStoredObjects());
+    }
+
+    @Test
+    void migrate_ContentStoredBeforeDeduplication_RegistersAndRemovesCopies() throws Exception {
+        // Arrange
+        StoredObject original = storeContent("shared spec");
+        StoredObject copy = storeContent("shared spec");
+        insertStored(1L, original);
+        insertStored(2L, copy);
+
+        // Act
+        int migrated = migrator.migrate();
+
+        // Assert
+        assertEquals(2, migrated);
+        assertEquals(original.getKey(), storageKey(1L));
+        assertEquals(original.getKey(), storageKey(2L));
+        assertFalse(Files.exists(root.resolve(copy.getKey())));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT reference_count FROM attachment_blobs WHERE storage_key = ?", Integer.class, original.getKey()));
+
+        // A second run finds nothing left to do
+        assertEquals(0, migrator.migrate());
+    }
+
+    private void insertLegacy(long id, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        jdbcTemplate.update("INSERT INTO attachments (id, file_size, file_data) VALUES (?, ?, ?)", id, bytes.length, bytes);
+    }
+
+    private void insertStored(long id, StoredObject stored) {
+        jdbcTemplate.update("INSERT INTO attachments (id, file_size, storage_key, checksum) VALUES (?, ?, ?, ?)",
+                id, stored.getSize(), stored.getKey(), stored.getChecksum());
+    }
+
+    private StoredObject storeContent(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return store.store(new ByteArrayInputStream(bytes), bytes.length);
+    }
+
+    private String storageKey(long id) {
+        return jdbcTemplate.queryForObject("SELECT storage_key FROM attachments WHERE id = ?", String.class, id);
+    }
+
+    private long countStoredObjects() throws Exception {
+        try (var files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.projectmanagement.storage;
+
+import com.projectmanagement.exception.ResourceNotFoundException;
+import com.projectmanagement.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LocalAttachmentStore
+ */
+class LocalAttachmentStoreTest {
+
+    private static final byte[] CONTENT = "hello attachment storage".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path root;
+
+    private LocalAttachmentStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalAttachmentStore(root);
+    }
+
+    @Test
+    void store_WritesContentAndComputesChecksum() throws Exception {
+        // Act
+        StoredObject stored = store.store(new ByteArrayInputStream(CONTENT), CONTENT.length);
+
+        // Assert
+        assertEquals(CONTENT.length, stored.getSize());
+        assertEquals(Checksums.toHex(Checksums.newDigest().digest(CONTENT)), stored.getChecksum());
+        assertArrayEquals(CONTENT, Files.readAllBytes(root.resolve(stored.getKey())));
+        try (var files = Files.walk(root)) {
+            assertTrue(files.noneMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void concatenate_WritesPartsInOrderAndKeepsThem() throws Exception {
+        // Arrange
+        store.store("uploads/abc/1", new ByteArrayInputStream(CONTENT, 0, 10), 10);
+        store.store("uploads/abc/2", new ByteArrayInputStream(CONTENT, 10, CONTENT.length - 10), CONTENT.length - 10);
+
+        // Act
+        StoredObject assembled = store.concatenate(List.of("uploads/abc/1", "uploads/abc/2"), CONTENT.length);
+
+        // Assert
+        assertArrayEquals(CONTENT, Files.readAllBytes(root.resolve(assembled.getKey())));
+        assertEquals(Checksums.toHex(Checksums.newDigest().digest(CONTENT)), assembled.getChecksum());
+        assertTrue(Files.exists(root.resolve("uploads/abc/1")));
+    }
+
+    @Test
+    void transferTo_WritesRequestedRange() {
+        // Arrange
+        StoredObject stored = store.store(new ByteArrayInputStream(CONTENT), CONTENT.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = store.transferTo(stored.getKey(), 6, 10, Channels.newChannel(out));
+
+        // Assert
+        assertEquals(10, written);
+        assertEquals("attachment", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void transferTo_RangePastEnd_StopsAtEndOfObject() {
+        // Arrange
+        StoredObject stored = store.store(new ByteArrayInputStream(CONTENT), CONTENT.length);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long written = store.transferTo(stored.getKey(), 17, 100, Channels.newChannel(out));
+
+        // Assert
+        assertEquals(7, written);
+        assertEquals("storage", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void open_ReadsWholeObject() throws Exception {
+        // Arrange
+        StoredObject stored = store.store(new ByteArrayInputStream(CONTENT), CONTENT.length);
+
+        // Act
+        byte[] read;
+        try (InputStream in = store.open(stored.getKey())) {
+            read = in.readAllBytes();
+        }
+
+        // Assert
+        assertArrayEquals(CONTENT, read);
+    }
+
+    @Test
+    void delete_RemovesObject() {
+        // Arrange
+        StoredObject stored = store.store(new ByteArrayInputStream(CONTENT), CONTENT.length);
+
+        // Act
+        store.delete(stored.getKey());
+
+        // Assert
+        assertFalse(Files.exists(root.resolve(stored.getKey())));
+        assertThrows(ResourceNotFoundException.class, () -> store.open(stored.getKey()));
+        store.delete(stored.getKey());
+    }
+
+    @Test
+    void open_KeyOutsideRoot_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> store.open("../outside.txt"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.projectmanagement.util;
+
+import com.projectmanagement.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PageCursor
+ */
+class PageCursorTest {
+
+    @Test
+    void encodeAndDecode_RoundTripsSortKeyAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 15, 30, 123456000);
+
+        PageCursor cursor = PageCursor.decode(PageCursor.encode(createdAt, 42L));
+
+        assertEquals(createdAt, cursor.getDateTimeKey());
+        assertEquals(42L, cursor.getId());
+        assertEquals(LocalDate.of(2024, 3, 1), PageCursor.decode(PageCursor.encode(LocalDate.of(2024, 3, 1), 7L))
+                .getDateKey());
+    }
+
+    @Test
+    void decode_EmptyCursor_MeansFirstPage() {
+        assertNull(PageCursor.decode(""));
+        assertNull(PageCursor.decode(null));
+    }
+
+    @Test
+    void decode_Tampered_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(ValidationException.class, () -> PageCursor.decode(PageCursor.encode("2024-03-01", null)));
+        assertThrows(ValidationException.class, () -> PageCursor.decode(PageCursor.encode("yesterday", 1L))
+                .getDateTimeKey());
+    }
+
+    @Test
+    void next_UsesLookAheadRowToDetectLastPage() {
+        List<Long> rows = List.of(30L, 20L, 10L);
+
+        String next = PageCursor.next(rows, 2, Function.identity(), Function.identity());
+
+        assertEquals(List.of(30L, 20L), PageCursor.page(rows, 2));
+        assertEquals(20L, PageCursor.decode(next).getId());
+        assertNull(PageCursor.next(rows, 3, Function.identity(), Function.identity()));
+        assertEquals(rows, PageCursor.page(rows, 3));
+    }
+}
@@ -0,0 +1,127 @@
+package com.projectmanagement.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TtlCache
+ */
+class TtlCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void get_WithinTtl_ReturnsCachedValue() {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", k -> loads.incrementAndGet());
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        int value = cache.get("a", k -> loads.incrementAndGet());
+
+        assertEquals(1, value);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_AfterTtl_Reloads() {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", k -> loads.incrementAndGet());
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        int value = cache.get("a", k -> loads.incrementAndGet());
+
+        assertEquals(2, value);
+    }
+
+    @Test
+    void get_WhenLoaderThrows_DoesNotCacheFailure() {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+
+        assertThrows(IllegalStateException.class, () -> cache.get("a", k -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(0, cache.size());
+        assertEquals(7, cache.get("a", k -> 7));
+    }
+
+    @Test
+    void get_WhenFull_EvictsEntryClosestToExpiry() {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofSeconds(10), 2, clock::get);
+
+        cache.get("a", k -> 1);
+        clock.incrementAndGet();
+        cache.get("b", k -> 2);
+        clock.incrementAndGet();
+        cache.get("c", k -> 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(2, cache.getIfPresent("b"));
+        assertEquals(3, cache.getIfPresent("c"));
+    }
+
+    @Test
+    void invalidateIf_RemovesOnlyMatchingKeys() {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofSeconds(10), 10, clock::get);
+        cache.put("project-1", 1);
+        cache.put("project-2", 2);
+
+        cache.invalidateIf(key -> key.endsWith("1"));
+
+        assertNull(cache.getIfPresent("project-1"));
+        assertEquals(2, cache.getIfPresent("project-2"));
+    }
+
+    @Test
+    void get_ConcurrentMisses_LoadOnce() throws Exception {
+        TtlCache<String, Integer> cache = new TtlCache<>(Duration.ofSeconds(10), 10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("a", k -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return loads.incrementAndGet();
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get("a", k -> loads.incrementAndGet())));
+            }
+            releaseLoader.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -24,6 +24,8 @@ export interface AnalyticsData {
     completedTasks: number;
     averageCompletionTime: number;
     productivityScore: number;
+    medianCompletionTime: number;
+    p90CompletionTime: number;
   };
 }
 